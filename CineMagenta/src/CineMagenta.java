@@ -3,8 +3,19 @@
  * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Main.java to edit this template
  */
 
+import dao.MigradorEsquema;
+import service.PeliculaService;
+import util.AlmacenMiniaturas;
+import util.ManejadorLogAsincrono;
+import util.Metricas;
+import util.MonitorEDT;
 import view.MainFrame;
 
+import java.io.File;
+import java.sql.SQLException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
 /**
  * Clase principal del sistema CineMagenta.
  * Inicia la aplicación gráfica cargando la ventana principal {@link MainFrame}.
@@ -13,10 +24,29 @@ import view.MainFrame;
  * que la interfaz se construya en el hilo de eventos de Swing, asegurando compatibilidad
  * con el look and feel nativo del sistema operativo.</p>
  * 
+ * <p>Antes de mostrar la ventana aplica las migraciones de esquema pendientes
+ * ({@link MigradorEsquema}). Si la base de datos no está disponible se registra el error
+ * y la aplicación continúa; las migraciones se reintentan en el siguiente inicio.</p>
+ * 
+ * <p>Registra las métricas de la aplicación en JMX ({@link Metricas}); con la propiedad
+ * {@code cinemagenta.metricas.archivo} se escriben además en ese archivo al cerrar.</p>
+ * 
+ * <p>Los manejadores del log raíz se reemplazan por versiones asíncronas ({@link ManejadorLogAsincrono})
+ * con capacidad {@code cinemagenta.log.capacidad}, para que registrar un mensaje no espere la escritura.
+ * Con {@code -Dcinemagenta.log.asincrono=false} se conservan los manejadores originales.</p>
+ * 
+ * <p>Instala {@link MonitorEDT}, que registra los bloqueos del hilo de eventos de Swing y la duración
+ * de cada despacho (se desactiva con {@code -Dcinemagenta.edt.monitor=false}).</p>
+ * 
+ * <p>Al iniciar genera en segundo plano las miniaturas de portadas que falten
+ * y elimina las portadas que ninguna película referencia.</p>
+ * 
  * @author Miguel
  */
 public class CineMagenta {
 
+    private static final Logger logger = Logger.getLogger(CineMagenta.class.getName());
+
     /**
      * Método principal que lanza la aplicación.
      * Crea y muestra la ventana principal del sistema.
@@ -24,6 +54,22 @@ public class CineMagenta {
      * @param args argumentos de línea de comandos (no utilizados)
      */
     public static void main(String[] args) {
+        if (Boolean.parseBoolean(System.getProperty("cinemagenta.log.asincrono", "true"))) {
+            ManejadorLogAsincrono.instalar(Logger.getLogger(""), Integer.getInteger("cinemagenta.log.capacidad", 8_192));
+        }
+        Metricas.registrarJmx();
+        try {
+            MigradorEsquema.migrar();
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "No se pudieron aplicar las migraciones de esquema", e);
+        }
+        AlmacenMiniaturas.generarPendientesEnSegundoPlano(new File("docs/portadas"));
+        Thread recoleccion = new Thread(() -> new PeliculaService().recolectarPortadas(), "recoleccion-portadas");
+        recoleccion.setDaemon(true);
+        recoleccion.start();
+        if (Boolean.parseBoolean(System.getProperty("cinemagenta.edt.monitor", "true"))) {
+            MonitorEDT.instalar();
+        }
         javax.swing.SwingUtilities.invokeLater(() -> {
             new MainFrame();
         });
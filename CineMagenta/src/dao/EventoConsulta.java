@@ -0,0 +1,79 @@
+package dao;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de Java Flight Recorder emitido por cada llamada pública de {@link PeliculaDAO}.
+ * Registra la operación, la forma de la sentencia SQL (con sus parámetros como {@code ?}),
+ * las filas obtenidas o afectadas y si terminó con error, de modo que una grabación muestre
+ * qué consulta estaba en curso durante una pausa.
+ *
+ * <p>Si JFR no está grabando, {@link #iniciar(String, String)} y {@link #terminar(long)} no
+ * hacen trabajo apreciable.</p>
+ *
+ * @author Miguel
+ */
+@Name("cinemagenta.dao.Consulta")
+@Label("Consulta DAO")
+@Category({"CineMagenta", "Base de datos"})
+@Description("Llamada a PeliculaDAO con la forma de la sentencia SQL y las filas obtenidas o afectadas")
+@StackTrace(false)
+final class EventoConsulta extends Event {
+
+    @Label("Operación")
+    String operacion;
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Filas")
+    long filas;
+
+    @Label("Exitosa")
+    boolean exitosa;
+
+    /**
+     * Crea el evento y comienza a medir su duración.
+     *
+     * @param operacion Nombre del método del DAO
+     * @param sql       Sentencia ejecutada, o {@code null} si se respondió sin consultar la base de datos
+     * @return evento en curso
+     */
+    static EventoConsulta iniciar(String operacion, String sql) {
+        EventoConsulta evento = new EventoConsulta();
+        evento.operacion = operacion;
+        evento.sql = sql;
+        evento.begin();
+        return evento;
+    }
+
+    /**
+     * Finaliza el evento de una llamada exitosa y lo emite si supera el umbral configurado.
+     *
+     * @param filas Filas obtenidas o afectadas
+     */
+    void terminar(long filas) {
+        cerrar(filas, true);
+    }
+
+    /**
+     * Finaliza el evento de una llamada que terminó con error.
+     */
+    void fallar() {
+        cerrar(0, false);
+    }
+
+    private void cerrar(long filas, boolean exitosa) {
+        end();
+        if (shouldCommit()) {
+            this.filas = filas;
+            this.exitosa = exitosa;
+            commit();
+        }
+    }
+}
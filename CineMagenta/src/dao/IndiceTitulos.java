@@ -0,0 +1,299 @@
+package dao;
+
+import model.Pelicula;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice en memoria de trigramas sobre los títulos de la cartelera.
+ *
+ * <p>Permite responder búsquedas parciales por título sin recorrer la tabla: cada título
+ * normalizado (minúsculas y sin tildes) se descompone en secuencias de tres caracteres y se
+ * guarda, para cada trigrama, el conjunto de IDs que lo contienen. Una búsqueda intersecta
+ * los conjuntos de los trigramas del texto buscado y confirma cada candidato con
+ * {@link String#contains(CharSequence)}.</p>
+ *
+ * <p>El índice comienza "frío" y solo responde consultas después de {@link #cargar}.
+ * Las escrituras realizadas mientras se carga invalidan esa carga, de modo que nunca se
+ * publica un índice al que le falte una modificación.</p>
+ *
+ * @author Miguel
+ */
+public class IndiceTitulos {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Comparator<Pelicula> POR_TITULO =
+            Comparator.comparing(Pelicula::getTitulo, String.CASE_INSENSITIVE_ORDER).thenComparingInt(Pelicula::getId);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Integer, Pelicula> peliculas = new HashMap<>();
+    private Map<Integer, String> normalizados = new HashMap<>();
+    private Map<String, Set<Integer>> trigramas = new HashMap<>();
+    private boolean cargado;
+    private long version;
+    private long cargadoEn;
+
+    /**
+     * Normaliza un texto para compararlo sin distinguir mayúsculas ni tildes
+     * (por ejemplo, "Amélie" se convierte en "amelie").
+     *
+     * @param texto Texto a normalizar
+     * @return Texto en minúsculas y sin marcas diacríticas
+     */
+    public static String normalizar(String texto) {
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        return MARCAS_DIACRITICAS.matcher(descompuesto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return {@code true} si el índice fue cargado y puede responder consultas
+     */
+    public boolean estaCargado() {
+        lock.readLock().lock();
+        try {
+            return cargado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return momento de la última carga completa, en milisegundos, o {@code 0} si nunca se cargó
+     */
+    public long getCargadoEn() {
+        lock.readLock().lock();
+        try {
+            return cargadoEn;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve la versión actual del índice. Se incrementa con cada modificación y debe
+     * obtenerse antes de leer los datos que se entregarán a {@link #cargar}.
+     *
+     * @return versión actual
+     */
+    public long getVersion() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reemplaza el contenido del índice con el catálogo completo.
+     * La carga se descarta si hubo modificaciones desde que se obtuvo {@code versionLeida}.
+     *
+     * @param catalogo    Todas las películas de la cartelera
+     * @param versionLeida Versión obtenida con {@link #getVersion()} antes de leer el catálogo
+     * @return {@code true} si la carga se publicó
+     */
+    public boolean cargar(Collection<Pelicula> catalogo, long versionLeida) {
+        Map<Integer, Pelicula> nuevasPeliculas = new HashMap<>(catalogo.size() * 2);
+        Map<Integer, String> nuevosNormalizados = new HashMap<>(catalogo.size() * 2);
+        Map<String, Set<Integer>> nuevosTrigramas = new HashMap<>();
+        for (Pelicula p : catalogo) {
+            indexar(copiar(p), nuevasPeliculas, nuevosNormalizados, nuevosTrigramas);
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (version != versionLeida) {
+                return false;
+            }
+            peliculas = nuevasPeliculas;
+            normalizados = nuevosNormalizados;
+            trigramas = nuevosTrigramas;
+            cargado = true;
+            cargadoEn = System.currentTimeMillis();
+            version++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Agrega una película recién insertada (debe tener su ID asignado).
+     *
+     * @param p Película a agregar
+     */
+    public void agregar(Pelicula p) {
+        lock.writeLock().lock();
+        try {
+            version++;
+            indexar(copiar(p), peliculas, normalizados, trigramas);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reemplaza los datos de una película existente, identificada por su ID.
+     *
+     * @param p Película con los datos actualizados
+     */
+    public void actualizar(Pelicula p) {
+        lock.writeLock().lock();
+        try {
+            version++;
+            quitar(p.getId());
+            indexar(copiar(p), peliculas, normalizados, trigramas);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita las películas cuyo título coincide con el indicado sin distinguir mayúsculas ni tildes,
+     * del mismo modo en que la base de datos compara títulos.
+     *
+     * @param titulo Título de las películas eliminadas
+     */
+    public void eliminarPorTitulo(String titulo) {
+        String buscado = normalizar(titulo.trim());
+        lock.writeLock().lock();
+        try {
+            version++;
+            List<Integer> ids = new ArrayList<>();
+            for (Map.Entry<Integer, String> e : normalizados.entrySet()) {
+                if (e.getValue().equals(buscado)) {
+                    ids.add(e.getKey());
+                }
+            }
+            ids.forEach(this::quitar);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marca el índice como frío; las consultas deberán resolverse en la base de datos hasta la próxima carga.
+     */
+    public void invalidar() {
+        lock.writeLock().lock();
+        try {
+            version++;
+            cargado = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca las películas cuyo título contiene el texto, sin distinguir mayúsculas ni tildes.
+     *
+     * @param texto Texto a buscar dentro del título
+     * @return Películas encontradas ordenadas por título, o lista vacía si el índice no está cargado
+     */
+    public List<Pelicula> buscar(String texto) {
+        String buscado = normalizar(texto);
+        List<Pelicula> resultados = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            if (!cargado) {
+                return resultados;
+            }
+            if (buscado.length() < 3) {
+                for (Map.Entry<Integer, String> e : normalizados.entrySet()) {
+                    if (e.getValue().contains(buscado)) {
+                        resultados.add(copiar(peliculas.get(e.getKey())));
+                    }
+                }
+            } else {
+                for (Integer id : candidatos(buscado)) {
+                    if (normalizados.get(id).contains(buscado)) {
+                        resultados.add(copiar(peliculas.get(id)));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        resultados.sort(POR_TITULO);
+        return resultados;
+    }
+
+    /**
+     * Intersecta los conjuntos de IDs de cada trigrama del texto, comenzando por el más pequeño.
+     */
+    private Set<Integer> candidatos(String buscado) {
+        List<Set<Integer>> conjuntos = new ArrayList<>();
+        for (int i = 0; i + 3 <= buscado.length(); i++) {
+            Set<Integer> ids = trigramas.get(buscado.substring(i, i + 3));
+            if (ids == null) {
+                return Set.of();
+            }
+            conjuntos.add(ids);
+        }
+        conjuntos.sort(Comparator.comparingInt(Set::size));
+
+        Set<Integer> resultado = new HashSet<>(conjuntos.get(0));
+        for (int i = 1; i < conjuntos.size() && !resultado.isEmpty(); i++) {
+            resultado.retainAll(conjuntos.get(i));
+        }
+        return resultado;
+    }
+
+    private static void indexar(Pelicula p, Map<Integer, Pelicula> peliculas,
+                                Map<Integer, String> normalizados, Map<String, Set<Integer>> trigramas) {
+        String normalizado = normalizar(p.getTitulo());
+        peliculas.put(p.getId(), p);
+        normalizados.put(p.getId(), normalizado);
+        for (int i = 0; i + 3 <= normalizado.length(); i++) {
+            trigramas.computeIfAbsent(normalizado.substring(i, i + 3), k -> new HashSet<>()).add(p.getId());
+        }
+    }
+
+    private void quitar(int id) {
+        String normalizado = normalizados.remove(id);
+        peliculas.remove(id);
+        if (normalizado == null) {
+            return;
+        }
+        for (int i = 0; i + 3 <= normalizado.length(); i++) {
+            String trigrama = normalizado.substring(i, i + 3);
+            Set<Integer> ids = trigramas.get(trigrama);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                trigramas.remove(trigrama);
+            }
+        }
+    }
+
+    /**
+     * El índice guarda y entrega copias, ya que {@link Pelicula} es mutable.
+     */
+    private static Pelicula copiar(Pelicula p) {
+        return new Pelicula(p.getId(), p.getTitulo(), p.getDirector(), p.getAnno(),
+                p.getDuracion(), p.getGenero(), p.getRutaPortada());
+    }
+
+    /**
+     * @return cantidad de películas indexadas
+     */
+    public int getTamano() {
+        lock.readLock().lock();
+        try {
+            return peliculas.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
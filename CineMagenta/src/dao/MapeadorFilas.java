@@ -0,0 +1,168 @@
+package dao;
+
+import model.Genero;
+import model.Pelicula;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Convierte las filas de un {@link ResultSet} en objetos, a partir de una lista explícita de columnas.
+ *
+ * <p>La lista de columnas ({@link #getColumnas()}) se usa para armar el {@code SELECT}, de modo que
+ * solo viajan por la red las columnas que se leen. Las posiciones de esas columnas se resuelven
+ * por nombre una sola vez por {@link ResultSet} y cada fila se lee luego por posición.</p>
+ *
+ * <p>{@link #PELICULA} lee la película completa; las proyecciones como {@link #TITULO} o
+ * {@link #ID_TITULO} leen solo lo necesario para listas de títulos o de portadas.</p>
+ *
+ * @param <T> Tipo de objeto que produce cada fila
+ * @author Miguel
+ */
+public final class MapeadorFilas<T> {
+
+    /**
+     * Lee una fila ya posicionada.
+     *
+     * @param <T> Tipo de objeto producido
+     */
+    @FunctionalInterface
+    public interface Lector<T> {
+
+        /**
+         * @param rs       Resultado posicionado en la fila a leer
+         * @param columnas Posición de cada columna, en el orden en que se declararon en el mapeador
+         * @return Objeto construido a partir de la fila
+         * @throws SQLException si no se puede leer alguna columna
+         */
+        T leer(ResultSet rs, int[] columnas) throws SQLException;
+    }
+
+    /**
+     * Película completa. Si la fila no tiene {@code genero_id}, porque la agregó un equipo con la versión
+     * anterior, el género se obtiene de la etiqueta en {@code genero}.
+     */
+    public static final MapeadorFilas<Pelicula> PELICULA = new MapeadorFilas<>(
+            (rs, c) -> new Pelicula(
+                    rs.getInt(c[0]),
+                    rs.getString(c[1]),
+                    rs.getString(c[2]),
+                    rs.getInt(c[3]),
+                    rs.getInt(c[4]),
+                    leerGenero(rs, c[5], c[7]),
+                    rs.getString(c[6])),
+            "id", "titulo", "director", "anno", "duracion", "genero_id", "ruta_portada", "genero");
+
+    /** Solo el título. */
+    public static final MapeadorFilas<String> TITULO = new MapeadorFilas<>(
+            (rs, c) -> rs.getString(c[0]), "titulo");
+
+    /** ID y título, como una película sin el resto de los datos. */
+    public static final MapeadorFilas<Pelicula> ID_TITULO = new MapeadorFilas<>(
+            (rs, c) -> new Pelicula(rs.getInt(c[0]), rs.getString(c[1]), null, 0, 0, null, null),
+            "id", "titulo");
+
+    /** Solo la ruta de la portada. */
+    public static final MapeadorFilas<String> RUTA_PORTADA = new MapeadorFilas<>(
+            (rs, c) -> rs.getString(c[0]), "ruta_portada");
+
+    private static Genero leerGenero(ResultSet rs, int codigo, int etiqueta) throws SQLException {
+        Genero genero = Genero.desdeCodigo(rs.getInt(codigo));
+        if (genero != null) {
+            return genero;
+        }
+        String texto = rs.getString(etiqueta);
+        return texto == null ? null : Genero.desdeEtiqueta(texto);
+    }
+
+    private final Lector<T> lector;
+    private final String[] nombres;
+    private final String columnas;
+
+    /**
+     * Crea un mapeador para las columnas indicadas.
+     *
+     * @param lector   Construye el objeto a partir de las posiciones resueltas
+     * @param columnas Nombres de las columnas que lee {@code lector}, en ese orden
+     */
+    public MapeadorFilas(Lector<T> lector, String... columnas) {
+        this.lector = lector;
+        this.nombres = columnas.clone();
+        this.columnas = String.join(", ", columnas);
+    }
+
+    /**
+     * @return columnas separadas por comas, para usar en la cláusula {@code SELECT}
+     */
+    public String getColumnas() {
+        return columnas;
+    }
+
+    /**
+     * Busca la posición de cada columna del mapeador en el resultado.
+     *
+     * @param rs Resultado de una consulta que incluye las columnas del mapeador
+     * @return Posición (desde 1) de cada columna
+     * @throws SQLException si falta alguna columna
+     */
+    public int[] resolver(ResultSet rs) throws SQLException {
+        int[] posiciones = new int[nombres.length];
+        for (int i = 0; i < nombres.length; i++) {
+            posiciones[i] = rs.findColumn(nombres[i]);
+        }
+        return posiciones;
+    }
+
+    /**
+     * Lee la fila actual con posiciones ya resueltas, para recorridos que el llamador controla.
+     *
+     * @param rs         Resultado posicionado en una fila
+     * @param posiciones Posiciones obtenidas con {@link #resolver(ResultSet)} para este resultado
+     * @return Objeto construido a partir de la fila
+     * @throws SQLException si ocurre un error al leer
+     */
+    public T leer(ResultSet rs, int[] posiciones) throws SQLException {
+        return lector.leer(rs, posiciones);
+    }
+
+    /**
+     * @param rs Resultado sin recorrer
+     * @return Objeto de la primera fila, o {@code null} si no hay filas
+     * @throws SQLException si ocurre un error al leer
+     */
+    public T primera(ResultSet rs) throws SQLException {
+        return rs.next() ? lector.leer(rs, resolver(rs)) : null;
+    }
+
+    /**
+     * @param rs Resultado sin recorrer
+     * @return Objetos de todas las filas, en orden
+     * @throws SQLException si ocurre un error al leer
+     */
+    public List<T> todas(ResultSet rs) throws SQLException {
+        List<T> filas = new ArrayList<>();
+        recorrer(rs, filas::add);
+        return filas;
+    }
+
+    /**
+     * Entrega cada fila al consumidor sin acumularlas.
+     *
+     * @param rs         Resultado sin recorrer
+     * @param consumidor Recibe el objeto de cada fila
+     * @return Cantidad de filas leídas
+     * @throws SQLException si ocurre un error al leer
+     */
+    public int recorrer(ResultSet rs, Consumer<? super T> consumidor) throws SQLException {
+        int[] posiciones = resolver(rs);
+        int filas = 0;
+        while (rs.next()) {
+            consumidor.accept(lector.leer(rs, posiciones));
+            filas++;
+        }
+        return filas;
+    }
+}
@@ -0,0 +1,294 @@
+package dao;
+
+import model.Genero;
+import util.ConexionDB;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Aplica al iniciar la aplicación los cambios de esquema de la base de datos que aún no se aplicaron.
+ *
+ * <p>Cada cambio es una {@link Migracion} numerada. Las versiones aplicadas se registran en la tabla
+ * {@value #TABLA_VERSIONES}, por lo que ejecutar el migrador nuevamente no repite cambios. Para que
+ * varios equipos puedan iniciar a la vez, la aplicación se serializa con un bloqueo con nombre de
+ * MySQL ({@code GET_LOCK}) y cada paso verifica en {@code information_schema} si su cambio ya existe,
+ * de modo que un índice creado a mano tampoco provoca un error.</p>
+ *
+ * <p>Los índices creados respaldan las consultas de {@link PeliculaDAO}; {@link VerificadorPlanes}
+ * comprueba que dichas consultas efectivamente los utilicen.</p>
+ *
+ * @author Miguel
+ */
+public final class MigradorEsquema {
+
+    private static final Logger logger = Logger.getLogger(MigradorEsquema.class.getName());
+
+    /** Tabla que registra las versiones de esquema aplicadas. */
+    public static final String TABLA_VERSIONES = "esquema_version";
+
+    private static final String BLOQUEO = "cinemagenta.migraciones";
+    private static final int ESPERA_BLOQUEO_S = Integer.getInteger("cinemagenta.migraciones.esperaS", 60);
+
+    private static final String SQL_CREAR_TABLA_VERSIONES =
+            "CREATE TABLE IF NOT EXISTS " + TABLA_VERSIONES + " ("
+                    + "version INT PRIMARY KEY, "
+                    + "descripcion VARCHAR(200) NOT NULL, "
+                    + "aplicada_en TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)";
+    private static final String SQL_VERSIONES =
+            "SELECT version FROM " + TABLA_VERSIONES;
+    private static final String SQL_REGISTRAR_VERSION =
+            "INSERT INTO " + TABLA_VERSIONES + " (version, descripcion) VALUES (?, ?)";
+    private static final String SQL_EXISTE_COLUMNA =
+            "SELECT 1 FROM information_schema.columns "
+                    + "WHERE table_schema = DATABASE() AND LOWER(table_name) = LOWER(?) AND LOWER(column_name) = LOWER(?) LIMIT 1";
+    private static final String SQL_EXISTE_INDICE =
+            "SELECT 1 FROM information_schema.statistics "
+                    + "WHERE table_schema = DATABASE() AND LOWER(table_name) = LOWER(?) AND index_name = ? LIMIT 1";
+
+    /**
+     * Paso de una migración.
+     */
+    interface Paso {
+        void aplicar(Connection conn) throws SQLException;
+    }
+
+    /**
+     * Cambio de esquema identificado por un número de versión creciente.
+     */
+    static final class Migracion {
+        final int version;
+        final String descripcion;
+        final Paso paso;
+
+        Migracion(int version, String descripcion, Paso paso) {
+            this.version = version;
+            this.descripcion = descripcion;
+            this.paso = paso;
+        }
+    }
+
+    /**
+     * Migraciones conocidas, en orden de versión. Una migración publicada no debe modificarse:
+     * los cambios posteriores se agregan con una versión nueva.
+     *
+     * <p>Los cambios que rompen a los equipos con la versión anterior se hacen en dos publicaciones:
+     * la columna {@code genero} con la etiqueta del género se conserva (y la aplicación la sigue
+     * escribiendo) junto a {@code genero_id}, y se eliminará en una migración posterior, cuando ya
+     * ningún equipo use una versión que la lea.</p>
+     */
+    static final List<Migracion> MIGRACIONES = List.of(
+            new Migracion(1, "Índice por título",
+                    conn -> crearIndice(conn, "cartelera", "idx_cartelera_titulo", "titulo")),
+            new Migracion(2, "Índice por género, año y título",
+                    conn -> crearIndice(conn, "cartelera", "idx_cartelera_genero_anno_titulo", "genero, anno, titulo")),
+            new Migracion(3, "Índice por año",
+                    conn -> crearIndice(conn, "cartelera", "idx_cartelera_anno", "anno")),
+            // La versión 4 (índice por ruta de portada) se retiró antes de publicarse: ninguna consulta lo usa
+            new Migracion(5, "Código entero de género",
+                    MigradorEsquema::agregarCodigoGenero),
+            new Migracion(6, "Índice por código de género",
+                    conn -> crearIndice(conn, "cartelera", "idx_cartelera_genero_id_anno_titulo", "genero_id, anno, titulo"))
+    );
+
+    /**
+     * Constructor privado para evitar instanciación de la clase utilitaria.
+     */
+    private MigradorEsquema() {
+
+    }
+
+    /**
+     * Aplica las migraciones pendientes usando una conexión del pool.
+     *
+     * @return Cantidad de migraciones aplicadas
+     * @throws SQLException si no se obtiene el bloqueo o falla alguna migración
+     */
+    public static int migrar() throws SQLException {
+        try (Connection conn = ConexionDB.getConnection()) {
+            return migrar(conn);
+        }
+    }
+
+    /**
+     * Aplica las migraciones pendientes en orden, registrando cada versión al terminarla.
+     * Si una migración falla, las siguientes no se aplican y se reintentan en el próximo inicio.
+     *
+     * @param conn Conexión a utilizar
+     * @return Cantidad de migraciones aplicadas
+     * @throws SQLException si no se obtiene el bloqueo o falla alguna migración
+     */
+    public static int migrar(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(SQL_CREAR_TABLA_VERSIONES);
+        }
+        bloquear(conn);
+        try {
+            List<Migracion> pendientes = pendientes(versionesAplicadas(conn));
+            for (Migracion m : pendientes) {
+                long inicio = System.nanoTime();
+                m.paso.aplicar(conn);
+                try (PreparedStatement stmt = conn.prepareStatement(SQL_REGISTRAR_VERSION)) {
+                    stmt.setInt(1, m.version);
+                    stmt.setString(2, m.descripcion);
+                    stmt.executeUpdate();
+                }
+                logger.info("Migración " + m.version + " aplicada (" + m.descripcion + ") en "
+                        + (System.nanoTime() - inicio) / 1_000_000 + " ms");
+            }
+            if (pendientes.isEmpty()) {
+                logger.info("Esquema al día, sin migraciones pendientes");
+            }
+            int completadas = completarCodigoGenero(conn);
+            if (completadas > 0) {
+                logger.info(completadas + " película(s) agregadas por equipos sin código de género completadas");
+            }
+            return pendientes.size();
+        } finally {
+            desbloquear(conn);
+        }
+    }
+
+    /**
+     * @param aplicadas Versiones ya registradas
+     * @return Migraciones aún no aplicadas, en orden de versión
+     */
+    static List<Migracion> pendientes(Set<Integer> aplicadas) {
+        List<Migracion> pendientes = new ArrayList<>();
+        for (Migracion m : MIGRACIONES) {
+            if (!aplicadas.contains(m.version)) {
+                pendientes.add(m);
+            }
+        }
+        return pendientes;
+    }
+
+    private static Set<Integer> versionesAplicadas(Connection conn) throws SQLException {
+        Set<Integer> versiones = new HashSet<>();
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_VERSIONES);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                versiones.add(rs.getInt(1));
+            }
+        }
+        return versiones;
+    }
+
+    /**
+     * Espera el bloqueo con nombre, de modo que un solo equipo aplique migraciones a la vez.
+     * Los demás, al obtenerlo, encuentran las versiones ya registradas.
+     */
+    private static void bloquear(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            stmt.setString(1, BLOQUEO);
+            stmt.setInt(2, ESPERA_BLOQUEO_S);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("No se obtuvo el bloqueo de migraciones en " + ESPERA_BLOQUEO_S + " s");
+                }
+            }
+        }
+    }
+
+    private static void desbloquear(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            stmt.setString(1, BLOQUEO);
+            stmt.executeQuery().close();
+        }
+    }
+
+    /**
+     * @return {@code true} si la tabla ya tiene un índice con ese nombre
+     */
+    static boolean existeIndice(Connection conn, String tabla, String indice) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_EXISTE_INDICE)) {
+            stmt.setString(1, tabla);
+            stmt.setString(2, indice);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} si la tabla tiene una columna con ese nombre
+     */
+    static boolean existeColumna(Connection conn, String tabla, String columna) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_EXISTE_COLUMNA)) {
+            stmt.setString(1, tabla);
+            stmt.setString(2, columna);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Agrega la columna {@code genero_id} y la completa a partir de la etiqueta guardada en {@code genero},
+     * con el código de {@link Genero#getCodigo()}. Las filas con una etiqueta desconocida quedan sin género,
+     * igual que antes al leerlas. La columna {@code genero} se conserva.
+     */
+    private static void agregarCodigoGenero(Connection conn) throws SQLException {
+        if (!existeColumna(conn, "cartelera", "genero_id")) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("ALTER TABLE cartelera ADD COLUMN genero_id TINYINT UNSIGNED NULL");
+            }
+        }
+        if (completarCodigoGenero(conn) < 0) {
+            return;
+        }
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT DISTINCT genero FROM cartelera WHERE genero_id IS NULL")) {
+            while (rs.next()) {
+                logger.warning("Etiqueta de género desconocida, las películas quedan sin género: " + rs.getString(1));
+            }
+        }
+    }
+
+    /**
+     * Completa {@code genero_id} en las filas que solo tienen la etiqueta, como las que agregan los equipos
+     * con la versión anterior. Se repite en cada inicio mientras exista la columna {@code genero}.
+     *
+     * @return Filas completadas, o {@code -1} si la tabla ya no tiene la columna {@code genero}
+     */
+    static int completarCodigoGenero(Connection conn) throws SQLException {
+        if (!existeColumna(conn, "cartelera", "genero")) {
+            return -1;
+        }
+        int completadas = 0;
+        // La comparación usa la collation de la columna, que no distingue mayúsculas
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "UPDATE cartelera SET genero_id = ? WHERE genero_id IS NULL AND TRIM(genero) = ?")) {
+            for (Genero g : Genero.values()) {
+                stmt.setInt(1, g.getCodigo());
+                stmt.setString(2, g.getEtiqueta());
+                stmt.addBatch();
+            }
+            for (int filas : stmt.executeBatch()) {
+                completadas += Math.max(filas, 0);
+            }
+        }
+        return completadas;
+    }
+
+    /**
+     * Crea un índice si no existe. Se crea en línea, sin bloquear lecturas ni escrituras de la tabla.
+     */
+    private static void crearIndice(Connection conn, String tabla, String indice, String columnas) throws SQLException {
+        if (existeIndice(conn, tabla, indice)) {
+            logger.info("El índice " + indice + " ya existe");
+            return;
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE " + tabla + " ADD INDEX " + indice + " (" + columnas + "), ALGORITHM=INPLACE, LOCK=NONE");
+        }
+    }
+}
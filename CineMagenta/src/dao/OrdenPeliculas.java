@@ -0,0 +1,166 @@
+package dao;
+
+import model.Pelicula;
+
+import java.util.Comparator;
+
+/**
+ * Criterio de ordenamiento de los listados de películas: una columna permitida y una dirección.
+ *
+ * <p>Solo las columnas de {@link Columna} pueden usarse, por lo que el texto SQL se arma a partir
+ * de nombres conocidos y nunca de datos ingresados por el usuario. El ID se agrega como segundo
+ * criterio para que el orden sea total y la paginación por cursor no omita ni repita filas.</p>
+ *
+ * <p>Las instancias son inmutables y se obtienen con {@link #de(Columna, boolean)}.</p>
+ *
+ * @author Miguel
+ */
+public final class OrdenPeliculas {
+
+    /**
+     * Columnas por las que se puede ordenar, en el mismo orden que las columnas de las tablas.
+     */
+    public enum Columna {
+        ID("id", Comparator.comparingInt(Pelicula::getId)),
+        TITULO("titulo", Comparator.comparing(Pelicula::getTitulo, String.CASE_INSENSITIVE_ORDER)),
+        DIRECTOR("director", Comparator.comparing(Pelicula::getDirector, String.CASE_INSENSITIVE_ORDER)),
+        ANNO("anno", Comparator.comparingInt(Pelicula::getAnno)),
+        DURACION("duracion", Comparator.comparingInt(Pelicula::getDuracion)),
+        GENERO("genero_id", Comparator.comparingInt(p -> p.getGenero().getCodigo()));
+
+        private final String sql;
+        private final Comparator<Pelicula> comparador;
+
+        Columna(String sql, Comparator<Pelicula> comparador) {
+            this.sql = sql;
+            this.comparador = comparador;
+        }
+
+        /**
+         * @return nombre de la columna en la tabla {@code cartelera}
+         */
+        public String getSql() {
+            return sql;
+        }
+
+        /**
+         * Valor de la columna para una película, tal como se guarda en la base de datos.
+         *
+         * @param p Película
+         * @return Valor utilizado como cursor de paginación
+         */
+        Object valor(Pelicula p) {
+            switch (this) {
+                case ID: return p.getId();
+                case TITULO: return p.getTitulo();
+                case DIRECTOR: return p.getDirector();
+                case ANNO: return p.getAnno();
+                case DURACION: return p.getDuracion();
+                default: return p.getGenero().getCodigo();
+            }
+        }
+    }
+
+    private static final OrdenPeliculas[] INSTANCIAS = new OrdenPeliculas[Columna.values().length * 2];
+
+    static {
+        for (Columna c : Columna.values()) {
+            INSTANCIAS[c.ordinal() * 2] = new OrdenPeliculas(c, true);
+            INSTANCIAS[c.ordinal() * 2 + 1] = new OrdenPeliculas(c, false);
+        }
+    }
+
+    /** Orden por título ascendente, utilizado por defecto en los listados. */
+    public static final OrdenPeliculas PREDETERMINADO = de(Columna.TITULO, true);
+
+    private final Columna columna;
+    private final boolean ascendente;
+    private final Comparator<Pelicula> comparador;
+
+    private OrdenPeliculas(Columna columna, boolean ascendente) {
+        this.columna = columna;
+        this.ascendente = ascendente;
+        Comparator<Pelicula> base = columna == Columna.ID
+                ? columna.comparador
+                : columna.comparador.thenComparingInt(Pelicula::getId);
+        this.comparador = ascendente ? base : base.reversed();
+    }
+
+    /**
+     * Obtiene el criterio para una columna y dirección.
+     *
+     * @param columna    Columna a ordenar
+     * @param ascendente {@code true} para orden ascendente
+     * @return Criterio de ordenamiento
+     */
+    public static OrdenPeliculas de(Columna columna, boolean ascendente) {
+        return INSTANCIAS[columna.ordinal() * 2 + (ascendente ? 0 : 1)];
+    }
+
+    /**
+     * @return cantidad de criterios distintos (columnas por direcciones)
+     */
+    static int cantidad() {
+        return INSTANCIAS.length;
+    }
+
+    /**
+     * @return posición del criterio entre {@code 0} y {@link #cantidad()} - 1
+     */
+    int indice() {
+        return columna.ordinal() * 2 + (ascendente ? 0 : 1);
+    }
+
+    /**
+     * @return columna ordenada
+     */
+    public Columna getColumna() {
+        return columna;
+    }
+
+    /**
+     * @return {@code true} si el orden es ascendente
+     */
+    public boolean isAscendente() {
+        return ascendente;
+    }
+
+    /**
+     * @return el mismo criterio en la dirección opuesta
+     */
+    public OrdenPeliculas invertir() {
+        return de(columna, !ascendente);
+    }
+
+    /**
+     * @return comparador equivalente al orden SQL, para ordenar resultados en memoria
+     */
+    public Comparator<Pelicula> comparador() {
+        return comparador;
+    }
+
+    /**
+     * @return cláusula {@code ORDER BY} con el ID como desempate
+     */
+    String orderBy() {
+        String direccion = ascendente ? " ASC" : " DESC";
+        return columna == Columna.ID
+                ? " ORDER BY id" + direccion
+                : " ORDER BY " + columna.sql + direccion + ", id" + direccion;
+    }
+
+    /**
+     * @return condición que selecciona las filas posteriores al cursor según este orden
+     */
+    String condicionCursor() {
+        String operador = ascendente ? " > " : " < ";
+        return columna == Columna.ID
+                ? " AND id" + operador + "?"
+                : " AND (" + columna.sql + ", id)" + operador + "(?, ?)";
+    }
+
+    @Override
+    public String toString() {
+        return columna.sql + (ascendente ? " ASC" : " DESC");
+    }
+}
@@ -0,0 +1,51 @@
+package dao;
+
+import java.util.List;
+
+/**
+ * Página de resultados obtenida mediante paginación por clave (keyset).
+ * Contiene los elementos de la página y si existen más resultados después del último.
+ *
+ * <p>Para pedir la página siguiente se entrega el último elemento ({@link #getUltimo()})
+ * como cursor a la consulta paginada.</p>
+ *
+ * @param <T> Tipo de los elementos de la página
+ * @author Miguel
+ */
+public class Pagina<T> {
+
+    private final List<T> elementos;
+    private final boolean haySiguiente;
+
+    /**
+     * Crea una página.
+     *
+     * @param elementos    Elementos de la página, en el orden de la consulta
+     * @param haySiguiente {@code true} si existen más resultados después de esta página
+     */
+    public Pagina(List<T> elementos, boolean haySiguiente) {
+        this.elementos = elementos;
+        this.haySiguiente = haySiguiente;
+    }
+
+    /**
+     * @return elementos de la página
+     */
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    /**
+     * @return {@code true} si existen más resultados después de esta página
+     */
+    public boolean haySiguiente() {
+        return haySiguiente;
+    }
+
+    /**
+     * @return último elemento de la página (cursor para la siguiente), o {@code null} si está vacía
+     */
+    public T getUltimo() {
+        return elementos.isEmpty() ? null : elementos.get(elementos.size() - 1);
+    }
+}
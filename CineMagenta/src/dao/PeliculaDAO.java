@@ -1,14 +1,25 @@
 package dao;
 
 import model.*;
+import util.AlmacenPortadas;
 import util.ConexionDB;
+import util.MetricaOperacion;
+import util.Metricas;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -17,6 +28,9 @@ import java.util.logging.Logger;
  * Encapsula todas las operaciones de persistencia contra la base de datos.
  *
  * Utiliza JDBC para ejecutar consultas SQL y {@link Logger} para registrar eventos importantes.
+ * Cada método público registra su latencia, errores y filas en una {@link MetricaOperacion} ({@code dao.*})
+ * y emite un evento JFR {@link EventoConsulta} con la forma de la sentencia ejecutada.
+ * Las que superan un umbral se registran además en un log propio ({@link RegistroConsultasLentas}).
  *
  * Métodos principales:
  * - Insertar, actualizar, eliminar películas
@@ -24,7 +38,28 @@ import java.util.logging.Logger;
  * - Listar películas con filtros
  * - Obtener todos los títulos
  *
- * Los errores se registran en logs con nivel SEVERE.
+ * Los textos SQL son constantes para que cada consulta se prepare una sola vez por conexión
+ * (ver {@link util.CacheSentencias}, que informa aciertos y fallos de la caché).
+ * Las consultas seleccionan columnas explícitas y las filas se convierten con los
+ * {@link MapeadorFilas} correspondientes, que resuelven las columnas una vez por resultado.
+ *
+ * Las búsquedas parciales por título se responden desde un {@link IndiceTitulos} compartido,
+ * que se carga en segundo plano la primera vez y se mantiene sincronizado con las inserciones,
+ * actualizaciones y eliminaciones realizadas por esta clase. Mientras el índice está frío
+ * las búsquedas se resuelven con SQL.
+ *
+ * Las portadas almacenadas por contenido (ver {@link AlmacenPortadas}) que quedan sin referencias al
+ * eliminar o modificar películas no se borran aquí: las elimina la recolección que se ejecuta al iniciar
+ * la aplicación ({@code PeliculaService.recolectarPortadas}), que respeta un período de gracia para no
+ * borrar una portada recién importada cuya película aún no se guardó.
+ *
+ * Las búsquedas por título, los filtros por género y año y el orden por título se apoyan en
+ * los índices que crea {@link MigradorEsquema} al iniciar la aplicación.
+ *
+ * Cada operación se registra con nivel FINE mediante mensajes diferidos, que no se arman si ese nivel
+ * está deshabilitado; el servicio registra el mismo evento con nivel INFO. Los errores que se propagan
+ * al llamador también se registran con nivel FINE, ya que quien los recibe los informa; los que este
+ * DAO absorbe (y convierte en {@code false} o una lista vacía) se registran con nivel SEVERE.
  *
  * @author Miguel
  */
@@ -32,6 +67,214 @@ public class PeliculaDAO {
 
     private static final Logger logger = Logger.getLogger(PeliculaDAO.class.getName());
 
+    private static final MetricaOperacion M_INSERTAR = Metricas.operacion("dao.insertar");
+    private static final MetricaOperacion M_INSERTAR_LOTE = Metricas.operacion("dao.insertarLote");
+    private static final MetricaOperacion M_EXISTE_ID = Metricas.operacion("dao.existeId");
+    private static final MetricaOperacion M_BUSCAR_TITULO = Metricas.operacion("dao.buscarPorTitulo");
+    private static final MetricaOperacion M_BUSCAR_PARCIAL = Metricas.operacion("dao.buscarPorTituloParcial");
+    private static final MetricaOperacion M_ELIMINAR = Metricas.operacion("dao.eliminarPorTitulo");
+    private static final MetricaOperacion M_RUTAS_PORTADA = Metricas.operacion("dao.obtenerRutasPortada");
+    private static final MetricaOperacion M_ACTUALIZAR = Metricas.operacion("dao.actualizarPelicula");
+    private static final MetricaOperacion M_TITULOS = Metricas.operacion("dao.obtenerTodosLosTitulos");
+    private static final MetricaOperacion M_LISTAR = Metricas.operacion("dao.listarPeliculas");
+    private static final MetricaOperacion M_PAGINA = Metricas.operacion("dao.listarPagina");
+    private static final MetricaOperacion M_DESDE = Metricas.operacion("dao.listarDesde");
+    private static final MetricaOperacion M_CONTAR = Metricas.operacion("dao.contarPeliculas");
+    private static final MetricaOperacion M_RECORRER = Metricas.operacion("dao.recorrerPeliculas");
+
+    private static final String SQL_INSERTAR =
+            "INSERT INTO Cartelera (titulo, director, anno, duracion, genero_id, genero, ruta_portada) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_EXISTE_ID =
+            "SELECT id FROM Cartelera WHERE id = ?";
+    private static final String SELECT_PELICULA =
+            "SELECT " + MapeadorFilas.PELICULA.getColumnas() + " FROM cartelera";
+    private static final String SQL_BUSCAR_TITULO =
+            SELECT_PELICULA + " WHERE TITULO = ?";
+    private static final String SQL_BUSCAR_PARCIAL =
+            SELECT_PELICULA + " WHERE LOWER(TITULO) LIKE ?";
+    private static final String SQL_ELIMINAR =
+            "DELETE FROM cartelera WHERE TITULO = ?";
+    private static final String SQL_ACTUALIZAR =
+            "UPDATE cartelera SET titulo=?, director=?, anno=?, duracion=?, genero_id=?, genero=?, ruta_portada=? WHERE id=?";
+    private static final String SQL_TITULOS =
+            "SELECT " + MapeadorFilas.TITULO.getColumnas() + " FROM cartelera ORDER BY TITULO ASC";
+    private static final String SQL_PORTADAS =
+            "SELECT DISTINCT " + MapeadorFilas.RUTA_PORTADA.getColumnas() + " FROM cartelera WHERE RUTA_PORTADA IS NOT NULL";
+
+    /**
+     * Índice de títulos compartido por todas las instancias del DAO.
+     */
+    private static final IndiceTitulos INDICE = new IndiceTitulos();
+
+    /**
+     * Registro de las consultas que superan {@code cinemagenta.consultasLentas.umbralMs},
+     * compartido por todas las instancias.
+     */
+    private static final RegistroConsultasLentas LENTAS = RegistroConsultasLentas.desdePropiedades();
+    private static final AtomicBoolean INDICE_CARGANDO = new AtomicBoolean();
+
+    /**
+     * Antigüedad tras la cual el índice se recarga en segundo plano para incorporar cambios
+     * hechos desde otros equipos. Mientras se recarga sigue respondiendo con los datos actuales.
+     */
+    private static final long REFRESCO_INDICE_MS = Long.getLong("cinemagenta.indice.refrescoMs", 300_000L);
+
+    private static final int FILTRO_GENERO = 1;
+    private static final int FILTRO_DESDE = 2;
+    private static final int FILTRO_HASTA = 4;
+
+    /**
+     * Las 8 formas posibles de la consulta de {@link #listarPeliculas}, indexadas por la máscara de filtros.
+     * Se construyen una sola vez para que el texto SQL sea idéntico en cada llamada y la
+     * sentencia preparada se reutilice desde la caché de la conexión.
+     */
+    private static final String[] SQL_LISTAR = new String[8];
+
+    /**
+     * Formas de la consulta paginada, indexadas por criterio de orden ({@link OrdenPeliculas})
+     * y luego por las 8 combinaciones de filtros sin cursor (primera página) y con cursor
+     * {@code (columna, id) > (?, ?)} (páginas siguientes).
+     */
+    private static final String[][] SQL_PAGINA = new String[OrdenPeliculas.cantidad()][16];
+    private static final int CON_CURSOR = 8;
+
+    /**
+     * Formas de la consulta por desplazamiento ({@code OFFSET}), usada solo para saltar
+     * directamente a una posición sin cursor conocido, y del conteo de resultados.
+     */
+    private static final String[][] SQL_DESPLAZAR = new String[OrdenPeliculas.cantidad()][8];
+    private static final String[] SQL_CONTAR = new String[8];
+
+    /**
+     * Cantidad de filas que el driver trae por viaje al recorrer listados completos.
+     */
+    private static final int FILAS_POR_VIAJE = 500;
+
+    static {
+        for (int filtros = 0; filtros < SQL_LISTAR.length; filtros++) {
+            String where = construirWhere(filtros);
+            SQL_LISTAR[filtros] = SELECT_PELICULA + where + " ORDER BY titulo ASC";
+            SQL_CONTAR[filtros] = "SELECT COUNT(*) FROM cartelera" + where;
+            for (OrdenPeliculas.Columna columna : OrdenPeliculas.Columna.values()) {
+                for (boolean ascendente : new boolean[]{true, false}) {
+                    OrdenPeliculas orden = OrdenPeliculas.de(columna, ascendente);
+                    String[] pagina = SQL_PAGINA[orden.indice()];
+                    pagina[filtros] = SELECT_PELICULA + where + orden.orderBy() + " LIMIT ?";
+                    pagina[filtros | CON_CURSOR] = SELECT_PELICULA + where
+                            + orden.condicionCursor() + orden.orderBy() + " LIMIT ?";
+                    SQL_DESPLAZAR[orden.indice()][filtros] = SELECT_PELICULA + where
+                            + orden.orderBy() + " LIMIT ? OFFSET ?";
+                }
+            }
+        }
+    }
+
+    private static String construirWhere(int filtros) {
+        StringBuilder sql = new StringBuilder(" WHERE 1=1");
+        if ((filtros & FILTRO_GENERO) != 0) sql.append(" AND genero_id = ?");
+        if ((filtros & FILTRO_DESDE) != 0) sql.append(" AND anno >= ?");
+        if ((filtros & FILTRO_HASTA) != 0) sql.append(" AND anno <= ?");
+        return sql.toString();
+    }
+
+    /**
+     * Consultas que deben resolverse mediante un índice, con parámetros de ejemplo.
+     * Las comprueba {@link VerificadorPlanes}. La búsqueda parcial ({@code LIKE '%texto%'}),
+     * los listados sin filtros y las rutas de portada para la recolección leen la tabla completa
+     * por definición y no se incluyen.
+     *
+     * @return Texto SQL de cada consulta asociado a sus parámetros
+     */
+    static Map<String, List<Object>> consultasConIndice() {
+        int genero = Genero.DRAMA.getCodigo();
+        String[] porTitulo = SQL_PAGINA[OrdenPeliculas.PREDETERMINADO.indice()];
+        Map<String, List<Object>> consultas = new LinkedHashMap<>();
+        consultas.put(SQL_EXISTE_ID, List.of(1));
+        consultas.put(SQL_BUSCAR_TITULO, List.of("Matrix"));
+        consultas.put(SQL_ELIMINAR, List.of("Matrix"));
+        consultas.put(SQL_TITULOS, List.of());
+        consultas.put(SQL_LISTAR[FILTRO_GENERO], List.of(genero));
+        consultas.put(SQL_LISTAR[FILTRO_DESDE | FILTRO_HASTA], List.of(1990, 1999));
+        consultas.put(SQL_LISTAR[FILTRO_GENERO | FILTRO_DESDE | FILTRO_HASTA], List.of(genero, 1990, 1999));
+        consultas.put(SQL_CONTAR[FILTRO_GENERO], List.of(genero));
+        consultas.put(SQL_CONTAR[FILTRO_DESDE | FILTRO_HASTA], List.of(1990, 1999));
+        consultas.put(porTitulo[FILTRO_GENERO], List.of(genero, 200));
+        consultas.put(porTitulo[FILTRO_GENERO | CON_CURSOR], List.of(genero, "Matrix", 1, 200));
+        return consultas;
+    }
+
+    /**
+     * Devuelve el registro de consultas lentas, para consultar su resumen por forma de sentencia.
+     *
+     * @return registro de consultas lentas compartido
+     */
+    public static RegistroConsultasLentas getConsultasLentas() {
+        return LENTAS;
+    }
+
+    /*
+     * Parámetros enlazados de cada sentencia, en el mismo orden que en el SQL. Solo se arman
+     * para registrar una consulta lenta.
+     */
+
+    private static List<Object> parametrosPelicula(Pelicula p) {
+        return Arrays.asList(p.getTitulo(), p.getDirector(), p.getAnno(), p.getDuracion(),
+                p.getGenero().getCodigo(), p.getGenero().getEtiqueta(), p.getRutaPortada());
+    }
+
+    private static List<Object> parametrosActualizacion(Pelicula p) {
+        List<Object> parametros = new ArrayList<>(parametrosPelicula(p));
+        parametros.add(p.getId());
+        return parametros;
+    }
+
+    private static List<Object> parametrosFiltros(Genero genero, Integer annoDesde, Integer annoHasta) {
+        List<Object> parametros = new ArrayList<>(3);
+        if (genero != null) parametros.add(genero.getCodigo());
+        if (annoDesde != null) parametros.add(annoDesde);
+        if (annoHasta != null) parametros.add(annoHasta);
+        return parametros;
+    }
+
+    private static List<Object> parametrosPagina(Genero genero, Integer annoDesde, Integer annoHasta,
+                                                 OrdenPeliculas orden, Pelicula despuesDe, int tamano) {
+        List<Object> parametros = parametrosFiltros(genero, annoDesde, annoHasta);
+        if (despuesDe != null) {
+            if (orden.getColumna() != OrdenPeliculas.Columna.ID) {
+                parametros.add(orden.getColumna().valor(despuesDe));
+            }
+            parametros.add(despuesDe.getId());
+        }
+        parametros.add(tamano + 1);
+        return parametros;
+    }
+
+    private static List<Object> parametrosDesde(Genero genero, Integer annoDesde, Integer annoHasta, int desde, int cantidad) {
+        List<Object> parametros = parametrosFiltros(genero, annoDesde, annoHasta);
+        parametros.add(cantidad);
+        parametros.add(desde);
+        return parametros;
+    }
+
+    private static int mascaraFiltros(Genero genero, Integer annoDesde, Integer annoHasta) {
+        return (genero != null ? FILTRO_GENERO : 0)
+                | (annoDesde != null ? FILTRO_DESDE : 0)
+                | (annoHasta != null ? FILTRO_HASTA : 0);
+    }
+
+    /**
+     * Asigna los parámetros de los filtros presentes, en el mismo orden en que aparecen en el SQL.
+     *
+     * @return índice del siguiente parámetro libre
+     */
+    private static int asignarFiltros(PreparedStatement stmt, Genero genero, Integer annoDesde, Integer annoHasta) throws SQLException {
+        int index = 1;
+        if (genero != null) stmt.setInt(index++, genero.getCodigo());
+        if (annoDesde != null) stmt.setInt(index++, annoDesde);
+        if (annoHasta != null) stmt.setInt(index++, annoHasta);
+        return index;
+    }
+
     /**
      * Inserta una nueva película en la base de datos.
      * Registra el resultado en el log.
@@ -41,26 +284,110 @@ public class PeliculaDAO {
      * @throws SQLException si ocurre un error al ejecutar la consulta SQL
      */
     public boolean insertar(Pelicula p) throws SQLException {
-        String sql = "INSERT INTO Cartelera (titulo, director, anno, duracion, genero, ruta_portada) VALUES (?, ?, ?, ?, ?, ?)";
+        long inicio = System.nanoTime();
+        EventoConsulta evento = EventoConsulta.iniciar("insertar", SQL_INSERTAR);
         try (Connection conn = ConexionDB.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
 
             stmt.setString(1, p.getTitulo());
             stmt.setString(2, p.getDirector());
             stmt.setInt(3, p.getAnno());
             stmt.setInt(4, p.getDuracion());
-            stmt.setString(5, p.getGenero().getEtiqueta());
-            stmt.setString(6, p.getRutaPortada());
+            stmt.setInt(5, p.getGenero().getCodigo());
+            stmt.setString(6, p.getGenero().getEtiqueta());
+            stmt.setString(7, p.getRutaPortada());
 
             int filas = stmt.executeUpdate();
-            logger.info("Película insertada: " + p.getTitulo() + " (" + filas + " fila(s) afectada(s))");
+            ResultSet claves = stmt.getGeneratedKeys();
+            if (claves.next()) {
+                p.setId(claves.getInt(1));
+                INDICE.agregar(p);
+            } else {
+                INDICE.invalidar();
+            }
+            logger.fine(() -> "Película insertada: " + p.getTitulo() + " (" + filas + " fila(s) afectada(s))");
+            M_INSERTAR.registrar(inicio, filas);
+            evento.terminar(filas);
+            if (LENTAS.esLenta(inicio)) {
+                LENTAS.registrar("insertar", SQL_INSERTAR, inicio, filas, parametrosPelicula(p));
+            }
             return filas > 0;
         } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Error al insertar película: " + p.getTitulo(), e);
+            M_INSERTAR.registrarError(inicio);
+            evento.fallar();
+            logger.log(Level.FINE, e, () -> "Error al insertar película: " + p.getTitulo());
+            throw e;
+        }
+    }
+
+    /**
+     * Inserta un lote de películas en una sola transacción usando un batch JDBC.
+     * Si alguna fila falla se revierte el lote completo.
+     * Registra el resultado en el log.
+     *
+     * @param lote Películas a insertar (ya validadas)
+     * @return Cantidad de filas afectadas por cada película del lote, en el mismo orden
+     * @throws SQLException si ocurre un error al ejecutar el batch; en ese caso no se inserta ninguna fila del lote
+     */
+    public int[] insertarLote(List<Pelicula> lote) throws SQLException {
+        if (lote.isEmpty()) {
+            return new int[0];
+        }
+        long inicio = System.nanoTime();
+        EventoConsulta evento = EventoConsulta.iniciar("insertarLote", SQL_INSERTAR);
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
+
+            conn.setAutoCommit(false);
+            try {
+                for (Pelicula p : lote) {
+                    stmt.setString(1, p.getTitulo());
+                    stmt.setString(2, p.getDirector());
+                    stmt.setInt(3, p.getAnno());
+                    stmt.setInt(4, p.getDuracion());
+                    stmt.setInt(5, p.getGenero().getCodigo());
+                    stmt.setString(6, p.getGenero().getEtiqueta());
+                    stmt.setString(7, p.getRutaPortada());
+                    stmt.addBatch();
+                }
+                int[] filas = stmt.executeBatch();
+                conn.commit();
+                indexarLote(lote, stmt.getGeneratedKeys());
+                logger.fine(() -> "Lote insertado: " + lote.size() + " película(s)");
+                M_INSERTAR_LOTE.registrar(inicio, lote.size());
+                evento.terminar(lote.size());
+                if (LENTAS.esLenta(inicio)) {
+                    LENTAS.registrar("insertarLote", SQL_INSERTAR, inicio, lote.size(), parametrosPelicula(lote.get(0)));
+                }
+                return filas;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            M_INSERTAR_LOTE.registrarError(inicio);
+            evento.fallar();
+            logger.log(Level.FINE, e, () -> "Error al insertar lote de " + lote.size() + " película(s)");
             throw e;
         }
     }
 
+    /**
+     * Asigna los IDs generados a las películas del lote y las agrega al índice de títulos.
+     * Si el driver no entrega una clave por fila, el índice se invalida para recargarlo completo.
+     */
+    private static void indexarLote(List<Pelicula> lote, ResultSet claves) throws SQLException {
+        int i = 0;
+        while (claves.next() && i < lote.size()) {
+            lote.get(i++).setId(claves.getInt(1));
+        }
+        if (i < lote.size()) {
+            INDICE.invalidar();
+            return;
+        }
+        lote.forEach(INDICE::agregar);
+    }
+
     /**
      * Verifica si existe una película con el ID especificado en la tabla Cartelera.
      * Registra el resultado en el log.
@@ -70,15 +397,25 @@ public class PeliculaDAO {
      * @throws SQLException si ocurre un error al ejecutar la consulta SQL
      */
     public boolean existeId(int id) throws SQLException {
-        String sql = "SELECT id FROM Cartelera WHERE id = ?";
+        long inicio = System.nanoTime();
+        EventoConsulta evento = EventoConsulta.iniciar("existeId", SQL_EXISTE_ID);
         try (Connection conn = ConexionDB.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_EXISTE_ID)) {
 
             stmt.setInt(1, id);
             ResultSet rs = stmt.executeQuery();
             boolean existe = rs.next();
-            logger.info("Verificación de existencia ID=" + id + " → " + existe);
+            logger.fine(() -> "Verificación de existencia ID=" + id + " → " + existe);
+            M_EXISTE_ID.registrar(inicio, existe ? 1 : 0);
+            evento.terminar(existe ? 1 : 0);
+            if (LENTAS.esLenta(inicio)) {
+                LENTAS.registrar("existeId", SQL_EXISTE_ID, inicio, existe ? 1 : 0, List.of(id));
+            }
             return existe;
+        } catch (SQLException e) {
+            M_EXISTE_ID.registrarError(inicio);
+            evento.fallar();
+            throw e;
         }
     }
 
@@ -88,67 +425,76 @@ public class PeliculaDAO {
      *
      * @param titulo Título de la película a buscar
      * @return Instancia de {@link Pelicula} si se encuentra, {@code null} si no existe
+     * @throws SQLException si ocurre un error al ejecutar la consulta SQL
      */
-    public Pelicula buscarPorTitulo(String titulo) {
+    public Pelicula buscarPorTitulo(String titulo) throws SQLException {
         Pelicula resultado = null;
-        String sql = "SELECT * FROM cartelera WHERE TITULO = ?";
+        long inicio = System.nanoTime();
+        EventoConsulta evento = EventoConsulta.iniciar("buscarPorTitulo", SQL_BUSCAR_TITULO);
         try (Connection conn = ConexionDB.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_BUSCAR_TITULO)) {
 
             stmt.setString(1, titulo);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                resultado = new Pelicula(
-                        rs.getInt("ID"),
-                        rs.getString("TITULO"),
-                        rs.getString("DIRECTOR"),
-                        rs.getInt("ANNO"),
-                        rs.getInt("DURACION"),
-                        Genero.desdeEtiqueta(rs.getString("GENERO")),
-                        rs.getString("RUTA_PORTADA")
-                );
-                logger.info("Película encontrada: " + titulo);
+            resultado = MapeadorFilas.PELICULA.primera(stmt.executeQuery());
+            if (resultado != null) {
+                logger.fine(() -> "Película encontrada: " + titulo);
             }
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Error al buscar película: " + titulo, e);
+            M_BUSCAR_TITULO.registrar(inicio, resultado != null ? 1 : 0);
+            evento.terminar(resultado != null ? 1 : 0);
+            if (LENTAS.esLenta(inicio)) {
+                LENTAS.registrar("buscarPorTitulo", SQL_BUSCAR_TITULO, inicio, resultado != null ? 1 : 0, Arrays.asList(titulo));
+            }
+        } catch (SQLException e) {
+            M_BUSCAR_TITULO.registrarError(inicio);
+            evento.fallar();
+            logger.log(Level.FINE, e, () -> "Error al buscar película: " + titulo);
+            throw e;
         }
         return resultado;
     }
 
     /**
-     * Busca películas cuyo título contenga el texto indicado (búsqueda parcial).
+     * Busca películas cuyo título contenga el texto indicado (búsqueda parcial),
+     * sin distinguir mayúsculas ni tildes. Se responde desde el índice de títulos en memoria;
+     * solo si el índice aún no está cargado se consulta la base de datos.
      * Registra la cantidad de resultados en el log.
      *
      * @param texto Texto a buscar dentro del título
      * @return Lista de películas que coinciden parcial o totalmente
      */
     public List<Pelicula> buscarPorTituloParcial(String texto) {
-        List<Pelicula> resultados = new ArrayList<>();
-        String sql = "SELECT * FROM cartelera WHERE LOWER(TITULO) LIKE ?";
-        try (Connection conn = ConexionDB.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        long inicio = System.nanoTime();
+        // Sin SQL mientras la búsqueda se responda desde el índice
+        EventoConsulta evento = EventoConsulta.iniciar("buscarPorTituloParcial", null);
+        calentarIndice();
+        if (INDICE.estaCargado()) {
+            List<Pelicula> resultados = INDICE.buscar(texto);
+            logger.fine(() -> "Búsqueda parcial por título='" + texto + "' (índice), resultados=" + resultados.size());
+            M_BUSCAR_PARCIAL.registrar(inicio, resultados.size());
+            evento.terminar(resultados.size());
+            return resultados;
+        }
 
-            stmt.setString(1, "%" + texto.toLowerCase() + "%");
-            ResultSet rs = stmt.executeQuery();
+        evento.sql = SQL_BUSCAR_PARCIAL;
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQL_BUSCAR_PARCIAL)) {
 
-            while (rs.next()) {
-                Pelicula p = new Pelicula(
-                        rs.getInt("ID"),
-                        rs.getString("TITULO"),
-                        rs.getString("DIRECTOR"),
-                        rs.getInt("ANNO"),
-                        rs.getInt("DURACION"),
-                        Genero.desdeEtiqueta(rs.getString("GENERO")),
-                        rs.getString("RUTA_PORTADA")
-                );
-                resultados.add(p);
+            String patron = "%" + texto.toLowerCase() + "%";
+            stmt.setString(1, patron);
+            List<Pelicula> resultados = MapeadorFilas.PELICULA.todas(stmt.executeQuery());
+            logger.fine(() -> "Búsqueda parcial por título='" + texto + "', resultados=" + resultados.size());
+            M_BUSCAR_PARCIAL.registrar(inicio, resultados.size());
+            evento.terminar(resultados.size());
+            if (LENTAS.esLenta(inicio)) {
+                LENTAS.registrar("buscarPorTituloParcial", SQL_BUSCAR_PARCIAL, inicio, resultados.size(), List.of(patron));
             }
-            logger.info("Búsqueda parcial por título='" + texto + "', resultados=" + resultados.size());
+            return resultados;
         } catch (Exception e) {
-            logger.log(Level.SEVERE, "Error en búsqueda parcial por título: " + texto, e);
+            M_BUSCAR_PARCIAL.registrarError(inicio);
+            evento.fallar();
+            logger.log(Level.SEVERE, e, () -> "Error en búsqueda parcial por título: " + texto);
+            return new ArrayList<>();
         }
-        return resultados;
     }
 
     /**
@@ -159,20 +505,61 @@ public class PeliculaDAO {
      * @return {@code true} si la eliminación fue exitosa; {@code false} si no se encontró o no se pudo eliminar
      */
     public boolean eliminarPorTitulo(String titulo) {
-        String sql = "DELETE FROM cartelera WHERE TITULO = ?";
+        long inicio = System.nanoTime();
+        EventoConsulta evento = EventoConsulta.iniciar("eliminarPorTitulo", SQL_ELIMINAR);
         try (Connection conn = ConexionDB.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_ELIMINAR)) {
 
             stmt.setString(1, titulo);
             int filasAfectadas = stmt.executeUpdate();
-            logger.info("Película eliminada: " + titulo + " (" + filasAfectadas + " fila(s) afectada(s))");
+            if (filasAfectadas > 0) {
+                INDICE.eliminarPorTitulo(titulo);
+            }
+            logger.fine(() -> "Película eliminada: " + titulo + " (" + filasAfectadas + " fila(s) afectada(s))");
+            M_ELIMINAR.registrar(inicio, filasAfectadas);
+            evento.terminar(filasAfectadas);
+            if (LENTAS.esLenta(inicio)) {
+                LENTAS.registrar("eliminarPorTitulo", SQL_ELIMINAR, inicio, filasAfectadas, Arrays.asList(titulo));
+            }
             return filasAfectadas > 0;
         } catch (Exception e) {
-            logger.log(Level.SEVERE, "Error al eliminar película: " + titulo, e);
+            M_ELIMINAR.registrarError(inicio);
+            evento.fallar();
+            logger.log(Level.SEVERE, e, () -> "Error al eliminar película: " + titulo);
             return false;
         }
     }
 
+    /**
+     * Obtiene las rutas de portada referenciadas por al menos una película.
+     *
+     * @return Conjunto de rutas de portada distintas
+     * @throws SQLException si ocurre un error al ejecutar la consulta SQL
+     */
+    public Set<String> obtenerRutasPortada() throws SQLException {
+        Set<String> rutas = new HashSet<>();
+        long inicio = System.nanoTime();
+        EventoConsulta evento = EventoConsulta.iniciar("obtenerRutasPortada", SQL_PORTADAS);
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQL_PORTADAS);
+             ResultSet rs = stmt.executeQuery()) {
+
+            int filas = MapeadorFilas.RUTA_PORTADA.recorrer(rs, rutas::add);
+            logger.fine(() -> "Se obtuvieron " + rutas.size() + " rutas de portada referenciadas.");
+            M_RUTAS_PORTADA.registrar(inicio, filas);
+            evento.terminar(filas);
+            if (LENTAS.esLenta(inicio)) {
+                LENTAS.registrar("obtenerRutasPortada", SQL_PORTADAS, inicio, filas, List.of());
+            }
+        } catch (SQLException e) {
+            M_RUTAS_PORTADA.registrarError(inicio);
+            evento.fallar();
+            logger.log(Level.FINE, "Error al obtener las rutas de portada", e);
+            throw e;
+        }
+        return rutas;
+    }
+
     /**
      * Actualiza los datos de una película existente en la tabla Cartelera.
      * Registra el resultado en el log.
@@ -181,23 +568,35 @@ public class PeliculaDAO {
      * @return {@code true} si la actualización fue exitosa; {@code false} si no se encontró o no se pudo actualizar
      */
     public boolean actualizarPelicula(Pelicula p) {
-        String sql = "UPDATE cartelera SET titulo=?, director=?, anno=?, duracion=?, genero=?, ruta_portada=? WHERE id=?";
+        long inicio = System.nanoTime();
+        EventoConsulta evento = EventoConsulta.iniciar("actualizarPelicula", SQL_ACTUALIZAR);
         try (Connection conn = ConexionDB.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(SQL_ACTUALIZAR)) {
 
             stmt.setString(1, p.getTitulo());
             stmt.setString(2, p.getDirector());
             stmt.setInt(3, p.getAnno());
             stmt.setInt(4, p.getDuracion());
-            stmt.setString(5, p.getGenero().getEtiqueta());
-            stmt.setString(6, p.getRutaPortada());
-            stmt.setInt(7, p.getId());
+            stmt.setInt(5, p.getGenero().getCodigo());
+            stmt.setString(6, p.getGenero().getEtiqueta());
+            stmt.setString(7, p.getRutaPortada());
+            stmt.setInt(8, p.getId());
 
             int filas = stmt.executeUpdate();
-            logger.info("Película actualizada: " + p.getTitulo() + " (" + filas + " fila(s) afectada(s))");
+            if (filas > 0) {
+                INDICE.actualizar(p);
+            }
+            logger.fine(() -> "Película actualizada: " + p.getTitulo() + " (" + filas + " fila(s) afectada(s))");
+            M_ACTUALIZAR.registrar(inicio, filas);
+            evento.terminar(filas);
+            if (LENTAS.esLenta(inicio)) {
+                LENTAS.registrar("actualizarPelicula", SQL_ACTUALIZAR, inicio, filas, parametrosActualizacion(p));
+            }
             return filas > 0;
         } catch (Exception e) {
-            logger.log(Level.SEVERE, "Error al actualizar película: " + p.getTitulo(), e);
+            M_ACTUALIZAR.registrarError(inicio);
+            evento.fallar();
+            logger.log(Level.SEVERE, e, () -> "Error al actualizar película: " + p.getTitulo());
             return false;
         }
     }
@@ -207,20 +606,28 @@ public class PeliculaDAO {
      * Registra la cantidad de títulos obtenidos en el log.
      *
      * @return Lista de títulos de películas; lista vacía si no hay películas
+     * @throws SQLException si ocurre un error al ejecutar la consulta SQL
      */
-    public List<String> obtenerTodosLosTitulos() {
+    public List<String> obtenerTodosLosTitulos() throws SQLException {
         List<String> titulos = new ArrayList<>();
-        String sql = "SELECT TITULO FROM cartelera ORDER BY TITULO ASC";
+        long inicio = System.nanoTime();
+        EventoConsulta evento = EventoConsulta.iniciar("obtenerTodosLosTitulos", SQL_TITULOS);
         try (Connection conn = ConexionDB.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
+             PreparedStatement stmt = conn.prepareStatement(SQL_TITULOS);
              ResultSet rs = stmt.executeQuery()) {
 
-            while (rs.next()) {
-                titulos.add(rs.getString("TITULO"));
+            MapeadorFilas.TITULO.recorrer(rs, titulos::add);
+            logger.fine(() -> "Se obtuvieron " + titulos.size() + " títulos de películas.");
+            M_TITULOS.registrar(inicio, titulos.size());
+            evento.terminar(titulos.size());
+            if (LENTAS.esLenta(inicio)) {
+                LENTAS.registrar("obtenerTodosLosTitulos", SQL_TITULOS, inicio, titulos.size(), List.of());
             }
-            logger.info("Se obtuvieron " + titulos.size() + " títulos de películas.");
         } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Error al obtener los títulos de películas", e);
+            M_TITULOS.registrarError(inicio);
+            evento.fallar();
+            logger.log(Level.FINE, "Error al obtener los títulos de películas", e);
+            throw e;
         }
         return titulos;
     }
@@ -233,41 +640,276 @@ public class PeliculaDAO {
      * @param annoDesde  Año inicial del rango (puede ser {@code null} para no aplicar filtro)
      * @param annoHasta  Año final del rango (puede ser {@code null} para no aplicar filtro)
      * @return Lista de películas que cumplen con los filtros especificados
+     * @throws SQLException si ocurre un error al ejecutar la consulta SQL
+     */
+    public List<Pelicula> listarPeliculas(Genero genero, Integer annoDesde, Integer annoHasta) throws SQLException {
+        List<Pelicula> peliculas;
+        String sql = SQL_LISTAR[mascaraFiltros(genero, annoDesde, annoHasta)];
+        long inicio = System.nanoTime();
+        EventoConsulta evento = EventoConsulta.iniciar("listarPeliculas", sql);
+
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            asignarFiltros(stmt, genero, annoDesde, annoHasta);
+            peliculas = MapeadorFilas.PELICULA.todas(stmt.executeQuery());
+            logger.fine(() -> "Listado de películas con filtros: genero=" + genero + ", desde=" + annoDesde + ", hasta=" + annoHasta + " → resultados=" + peliculas.size());
+            M_LISTAR.registrar(inicio, peliculas.size());
+            evento.terminar(peliculas.size());
+            if (LENTAS.esLenta(inicio)) {
+                LENTAS.registrar("listarPeliculas", sql, inicio, peliculas.size(), parametrosFiltros(genero, annoDesde, annoHasta));
+            }
+        } catch (SQLException e) {
+            M_LISTAR.registrarError(inicio);
+            evento.fallar();
+            logger.log(Level.FINE, "Error al listar películas", e);
+            throw e;
+        }
+        return peliculas;
+    }
+
+    /**
+     * Obtiene una página de películas ordenadas por título e ID, con los mismos filtros opcionales
+     * que {@link #listarPeliculas}. Utiliza paginación por clave sobre {@code (titulo, id)}, por lo que
+     * el costo de cada página no depende de cuántas páginas se recorrieron antes.
+     *
+     * @param genero     Género a filtrar (puede ser {@code null})
+     * @param annoDesde  Año inicial del rango (puede ser {@code null})
+     * @param annoHasta  Año final del rango (puede ser {@code null})
+     * @param despuesDe  Última película de la página anterior, o {@code null} para la primera página
+     * @param tamano     Cantidad máxima de películas de la página
+     * @return Página con las películas encontradas
+     * @throws SQLException si ocurre un error al ejecutar la consulta SQL
      */
-    public List<Pelicula> listarPeliculas(Genero genero, Integer annoDesde, Integer annoHasta) {
-        List<Pelicula> peliculas = new ArrayList<>();
-        StringBuilder sql = new StringBuilder("SELECT * FROM cartelera WHERE 1=1");
+    public Pagina<Pelicula> listarPagina(Genero genero, Integer annoDesde, Integer annoHasta,
+                                         Pelicula despuesDe, int tamano) throws SQLException {
+        return listarPagina(genero, annoDesde, annoHasta, OrdenPeliculas.PREDETERMINADO, despuesDe, tamano);
+    }
 
-        if (genero != null) sql.append(" AND genero = ?");
-        if (annoDesde != null) sql.append(" AND anno >= ?");
-        if (annoHasta != null) sql.append(" AND anno <= ?");
-        sql.append(" ORDER BY titulo ASC");
+    /**
+     * Obtiene una página de películas en el orden indicado, con filtros opcionales.
+     * Utiliza paginación por clave sobre {@code (columna, id)}; el ID desempata las filas con igual valor.
+     *
+     * @param genero     Género a filtrar (puede ser {@code null})
+     * @param annoDesde  Año inicial del rango (puede ser {@code null})
+     * @param annoHasta  Año final del rango (puede ser {@code null})
+     * @param orden      Columna y dirección del ordenamiento
+     * @param despuesDe  Última película de la página anterior en el mismo orden, o {@code null} para la primera página
+     * @param tamano     Cantidad máxima de películas de la página
+     * @return Página con las películas encontradas
+     * @throws SQLException si ocurre un error al ejecutar la consulta SQL
+     */
+    public Pagina<Pelicula> listarPagina(Genero genero, Integer annoDesde, Integer annoHasta, OrdenPeliculas orden,
+                                         Pelicula despuesDe, int tamano) throws SQLException {
+        int forma = mascaraFiltros(genero, annoDesde, annoHasta) | (despuesDe != null ? CON_CURSOR : 0);
+        List<Pelicula> peliculas = new ArrayList<>(tamano);
+        String sql = SQL_PAGINA[orden.indice()][forma];
+        long inicio = System.nanoTime();
+        EventoConsulta evento = EventoConsulta.iniciar("listarPagina", sql);
 
         try (Connection conn = ConexionDB.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            int index = 1;
-            if (genero != null) stmt.setString(index++, genero.getEtiqueta());
-            if (annoDesde != null) stmt.setInt(index++, annoDesde);
-            if (annoHasta != null) stmt.setInt(index++, annoHasta);
+            int index = asignarFiltros(stmt, genero, annoDesde, annoHasta);
+            if (despuesDe != null) {
+                if (orden.getColumna() != OrdenPeliculas.Columna.ID) {
+                    stmt.setObject(index++, orden.getColumna().valor(despuesDe));
+                }
+                stmt.setInt(index++, despuesDe.getId());
+            }
+            // Se pide una fila extra para saber si existe una página siguiente
+            stmt.setInt(index, tamano + 1);
 
             ResultSet rs = stmt.executeQuery();
+            int[] columnas = MapeadorFilas.PELICULA.resolver(rs);
+            boolean haySiguiente = false;
             while (rs.next()) {
-                Pelicula p = new Pelicula(
-                        rs.getInt("ID"),
-                        rs.getString("TITULO"),
-                        rs.getString("DIRECTOR"),
-                        rs.getInt("ANNO"),
-                        rs.getInt("DURACION"),
-                        Genero.desdeEtiqueta(rs.getString("GENERO")),
-                        rs.getString("RUTA_PORTADA")
-                );
-                peliculas.add(p);
+                if (peliculas.size() == tamano) {
+                    haySiguiente = true;
+                    break;
+                }
+                peliculas.add(MapeadorFilas.PELICULA.leer(rs, columnas));
             }
-            logger.info("Listado de películas con filtros: genero=" + genero + ", desde=" + annoDesde + ", hasta=" + annoHasta + " → resultados=" + peliculas.size());
+            logger.fine(() -> "Página de películas: genero=" + genero + ", desde=" + annoDesde + ", hasta=" + annoHasta
+                    + ", orden=" + orden + ", cursor=" + (despuesDe != null ? despuesDe.getId() : "inicio") + " → " + peliculas.size() + " resultado(s)");
+            M_PAGINA.registrar(inicio, peliculas.size());
+            evento.terminar(peliculas.size());
+            if (LENTAS.esLenta(inicio)) {
+                LENTAS.registrar("listarPagina", sql, inicio, peliculas.size(), parametrosPagina(genero, annoDesde, annoHasta, orden, despuesDe, tamano));
+            }
+            return new Pagina<>(peliculas, haySiguiente);
         } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Error al listar películas", e);
+            M_PAGINA.registrarError(inicio);
+            evento.fallar();
+            logger.log(Level.FINE, "Error al obtener página de películas", e);
+            throw e;
         }
-        return peliculas;
     }
-}
\ No newline at end of file
+
+    /**
+     * Obtiene las películas a partir de una posición del listado ordenado por título, sin cursor.
+     * La base de datos debe recorrer las filas anteriores, por lo que conviene usar
+     * {@link #listarPagina} cuando se conoce la película previa y reservar este método para saltos.
+     *
+     * @param genero    Género a filtrar (puede ser {@code null})
+     * @param annoDesde Año inicial del rango (puede ser {@code null})
+     * @param annoHasta Año final del rango (puede ser {@code null})
+     * @param desde     Posición de la primera película, comenzando en 0
+     * @param cantidad  Cantidad máxima de películas
+     * @return Películas en orden de título
+     * @throws SQLException si ocurre un error al ejecutar la consulta SQL
+     */
+    public List<Pelicula> listarDesde(Genero genero, Integer annoDesde, Integer annoHasta,
+                                      int desde, int cantidad) throws SQLException {
+        return listarDesde(genero, annoDesde, annoHasta, OrdenPeliculas.PREDETERMINADO, desde, cantidad);
+    }
+
+    /**
+     * Obtiene las películas a partir de una posición del listado en el orden indicado, sin cursor.
+     *
+     * @param genero    Género a filtrar (puede ser {@code null})
+     * @param annoDesde Año inicial del rango (puede ser {@code null})
+     * @param annoHasta Año final del rango (puede ser {@code null})
+     * @param orden     Columna y dirección del ordenamiento
+     * @param desde     Posición de la primera película, comenzando en 0
+     * @param cantidad  Cantidad máxima de películas
+     * @return Películas en el orden indicado
+     * @throws SQLException si ocurre un error al ejecutar la consulta SQL
+     */
+    public List<Pelicula> listarDesde(Genero genero, Integer annoDesde, Integer annoHasta, OrdenPeliculas orden,
+                                      int desde, int cantidad) throws SQLException {
+        List<Pelicula> peliculas = new ArrayList<>(cantidad);
+        String sql = SQL_DESPLAZAR[orden.indice()][mascaraFiltros(genero, annoDesde, annoHasta)];
+        long inicio = System.nanoTime();
+        EventoConsulta evento = EventoConsulta.iniciar("listarDesde", sql);
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = asignarFiltros(stmt, genero, annoDesde, annoHasta);
+            stmt.setInt(index++, cantidad);
+            stmt.setInt(index, desde);
+
+            MapeadorFilas.PELICULA.recorrer(stmt.executeQuery(), peliculas::add);
+            logger.fine(() -> "Películas desde la posición " + desde + " (orden=" + orden + ") → " + peliculas.size() + " resultado(s)");
+            M_DESDE.registrar(inicio, peliculas.size());
+            evento.terminar(peliculas.size());
+            if (LENTAS.esLenta(inicio)) {
+                LENTAS.registrar("listarDesde", sql, inicio, peliculas.size(), parametrosDesde(genero, annoDesde, annoHasta, desde, cantidad));
+            }
+            return peliculas;
+        } catch (SQLException e) {
+            M_DESDE.registrarError(inicio);
+            evento.fallar();
+            logger.log(Level.FINE, e, () -> "Error al obtener películas desde la posición " + desde);
+            throw e;
+        }
+    }
+
+    /**
+     * Cuenta las películas que cumplen los filtros.
+     *
+     * @param genero    Género a filtrar (puede ser {@code null})
+     * @param annoDesde Año inicial del rango (puede ser {@code null})
+     * @param annoHasta Año final del rango (puede ser {@code null})
+     * @return Cantidad de películas
+     * @throws SQLException si ocurre un error al ejecutar la consulta SQL
+     */
+    public int contarPeliculas(Genero genero, Integer annoDesde, Integer annoHasta) throws SQLException {
+        String sql = SQL_CONTAR[mascaraFiltros(genero, annoDesde, annoHasta)];
+        long inicio = System.nanoTime();
+        EventoConsulta evento = EventoConsulta.iniciar("contarPeliculas", sql);
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            asignarFiltros(stmt, genero, annoDesde, annoHasta);
+            ResultSet rs = stmt.executeQuery();
+            int total = rs.next() ? rs.getInt(1) : 0;
+            logger.fine(() -> "Conteo de películas: genero=" + genero + ", desde=" + annoDesde + ", hasta=" + annoHasta + " → " + total);
+            M_CONTAR.registrar(inicio, 1);
+            evento.terminar(1);
+            if (LENTAS.esLenta(inicio)) {
+                LENTAS.registrar("contarPeliculas", sql, inicio, 1, parametrosFiltros(genero, annoDesde, annoHasta));
+            }
+            return total;
+        } catch (SQLException e) {
+            M_CONTAR.registrarError(inicio);
+            evento.fallar();
+            logger.log(Level.FINE, "Error al contar películas", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Recorre todas las películas que cumplen los filtros, entregándolas al consumidor a medida que
+     * llegan desde la base de datos en lugar de acumularlas en una lista. El driver trae las filas
+     * en bloques de {@value #FILAS_POR_VIAJE} mediante un cursor del servidor.
+     *
+     * <p>El consumidor se ejecuta mientras la conexión está abierta, por lo que debe ser rápido
+     * y no debe realizar otras consultas.</p>
+     *
+     * @param genero     Género a filtrar (puede ser {@code null})
+     * @param annoDesde  Año inicial del rango (puede ser {@code null})
+     * @param annoHasta  Año final del rango (puede ser {@code null})
+     * @param consumidor Recibe cada película en orden de título
+     * @return Cantidad de películas entregadas
+     * @throws SQLException si ocurre un error al ejecutar la consulta SQL
+     */
+    public int recorrerPeliculas(Genero genero, Integer annoDesde, Integer annoHasta,
+                                 Consumer<Pelicula> consumidor) throws SQLException {
+        String sql = SQL_LISTAR[mascaraFiltros(genero, annoDesde, annoHasta)];
+        long inicio = System.nanoTime();
+        EventoConsulta evento = EventoConsulta.iniciar("recorrerPeliculas", sql);
+        try (Connection conn = ConexionDB.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            asignarFiltros(stmt, genero, annoDesde, annoHasta);
+            stmt.setFetchSize(FILAS_POR_VIAJE);
+
+            int total = MapeadorFilas.PELICULA.recorrer(stmt.executeQuery(), consumidor);
+            logger.fine(() -> "Recorrido de películas: genero=" + genero + ", desde=" + annoDesde + ", hasta=" + annoHasta + " → " + total + " resultado(s)");
+            M_RECORRER.registrar(inicio, total);
+            evento.terminar(total);
+            if (LENTAS.esLenta(inicio)) {
+                LENTAS.registrar("recorrerPeliculas", sql, inicio, total, parametrosFiltros(genero, annoDesde, annoHasta));
+            }
+            return total;
+        } catch (SQLException e) {
+            M_RECORRER.registrarError(inicio);
+            evento.fallar();
+            logger.log(Level.FINE, "Error al recorrer películas", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Carga el índice de títulos en segundo plano si está frío o si su última carga es más antigua
+     * que el intervalo de refresco. Solo se ejecuta una carga a la vez.
+     */
+    private void calentarIndice() {
+        boolean vigente = INDICE.estaCargado()
+                && System.currentTimeMillis() - INDICE.getCargadoEn() < REFRESCO_INDICE_MS;
+        if (vigente || !INDICE_CARGANDO.compareAndSet(false, true)) {
+            return;
+        }
+        Thread carga = new Thread(() -> {
+            try {
+                // Si hubo escrituras durante la lectura se reintenta con datos frescos
+                for (int intento = 0; intento < 3; intento++) {
+                    long version = INDICE.getVersion();
+                    List<Pelicula> catalogo = new ArrayList<>();
+                    recorrerPeliculas(null, null, null, catalogo::add);
+                    if (INDICE.cargar(catalogo, version)) {
+                        logger.info(() -> "Índice de títulos cargado: " + catalogo.size() + " película(s)");
+                        return;
+                    }
+                }
+            } catch (SQLException e) {
+                logger.log(Level.WARNING, "No se pudo cargar el índice de títulos", e);
+            } finally {
+                INDICE_CARGANDO.set(false);
+            }
+        }, "indice-titulos-carga");
+        carga.setDaemon(true);
+        carga.start();
+    }
+}
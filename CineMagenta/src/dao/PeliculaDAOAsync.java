@@ -0,0 +1,149 @@
+package dao;
+
+import model.Genero;
+import model.Pelicula;
+import util.ConexionDB;
+import util.EjecutorAcotado;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Variante asíncrona de {@link PeliculaDAO}: cada operación se ejecuta en un hilo virtual y
+ * devuelve un {@link CompletableFuture} con su resultado.
+ *
+ * <p>Las operaciones se delegan en un {@link PeliculaDAO} bloqueante mediante un
+ * {@link EjecutorAcotado}; el ejecutor predeterminado ({@link ConexionDB#getEjecutor()}) admite
+ * tantas operaciones simultáneas como conexiones tiene el pool. Si una operación falla, el
+ * futuro se completa con la {@link java.sql.SQLException} original.</p>
+ *
+ * <p>Permite lanzar varias consultas independientes a la vez sin bloquear hilos de plataforma,
+ * por ejemplo {@link #existenIds(Collection)}.</p>
+ *
+ * @author Miguel
+ */
+public class PeliculaDAOAsync {
+
+    private final PeliculaDAO dao;
+    private final EjecutorAcotado ejecutor;
+
+    /**
+     * Crea la variante asíncrona del DAO real, con el ejecutor compartido de base de datos.
+     */
+    public PeliculaDAOAsync() {
+        this(new PeliculaDAO(), ConexionDB.getEjecutor());
+    }
+
+    /**
+     * Constructor alternativo para pruebas, permite inyectar el DAO y el ejecutor.
+     *
+     * @param dao      DAO bloqueante al que se delegan las operaciones
+     * @param ejecutor Ejecutor que limita las operaciones simultáneas
+     */
+    public PeliculaDAOAsync(PeliculaDAO dao, EjecutorAcotado ejecutor) {
+        this.dao = dao;
+        this.ejecutor = ejecutor;
+    }
+
+    /** @see PeliculaDAO#insertar(Pelicula) */
+    public CompletableFuture<Boolean> insertar(Pelicula p) {
+        return ejecutor.enviar(() -> dao.insertar(p));
+    }
+
+    /** @see PeliculaDAO#insertarLote(List) */
+    public CompletableFuture<int[]> insertarLote(List<Pelicula> lote) {
+        return ejecutor.enviar(() -> dao.insertarLote(lote));
+    }
+
+    /** @see PeliculaDAO#existeId(int) */
+    public CompletableFuture<Boolean> existeId(int id) {
+        return ejecutor.enviar(() -> dao.existeId(id));
+    }
+
+    /**
+     * Verifica la existencia de varios IDs consultándolos en paralelo, dentro del límite del ejecutor.
+     * Los IDs repetidos se consultan una sola vez.
+     *
+     * @param ids IDs a verificar
+     * @return Futuro con la existencia de cada ID, en el orden de entrada; falla si falla alguna consulta
+     */
+    public CompletableFuture<Map<Integer, Boolean>> existenIds(Collection<Integer> ids) {
+        Map<Integer, CompletableFuture<Boolean>> consultas = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            consultas.computeIfAbsent(id, this::existeId);
+        }
+        return CompletableFuture.allOf(consultas.values().toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> {
+                    Map<Integer, Boolean> existencia = new LinkedHashMap<>();
+                    consultas.forEach((id, consulta) -> existencia.put(id, consulta.join()));
+                    return existencia;
+                });
+    }
+
+    /** @see PeliculaDAO#buscarPorTitulo(String) */
+    public CompletableFuture<Pelicula> buscarPorTitulo(String titulo) {
+        return ejecutor.enviar(() -> dao.buscarPorTitulo(titulo));
+    }
+
+    /** @see PeliculaDAO#buscarPorTituloParcial(String) */
+    public CompletableFuture<List<Pelicula>> buscarPorTituloParcial(String texto) {
+        return ejecutor.enviar(() -> dao.buscarPorTituloParcial(texto));
+    }
+
+    /** @see PeliculaDAO#eliminarPorTitulo(String) */
+    public CompletableFuture<Boolean> eliminarPorTitulo(String titulo) {
+        return ejecutor.enviar(() -> dao.eliminarPorTitulo(titulo));
+    }
+
+    /** @see PeliculaDAO#obtenerRutasPortada() */
+    public CompletableFuture<Set<String>> obtenerRutasPortada() {
+        return ejecutor.enviar(dao::obtenerRutasPortada);
+    }
+
+    /** @see PeliculaDAO#actualizarPelicula(Pelicula) */
+    public CompletableFuture<Boolean> actualizarPelicula(Pelicula p) {
+        return ejecutor.enviar(() -> dao.actualizarPelicula(p));
+    }
+
+    /** @see PeliculaDAO#obtenerTodosLosTitulos() */
+    public CompletableFuture<List<String>> obtenerTodosLosTitulos() {
+        return ejecutor.enviar(dao::obtenerTodosLosTitulos);
+    }
+
+    /** @see PeliculaDAO#listarPeliculas(Genero, Integer, Integer) */
+    public CompletableFuture<List<Pelicula>> listarPeliculas(Genero genero, Integer annoDesde, Integer annoHasta) {
+        return ejecutor.enviar(() -> dao.listarPeliculas(genero, annoDesde, annoHasta));
+    }
+
+    /** @see PeliculaDAO#listarPagina(Genero, Integer, Integer, OrdenPeliculas, Pelicula, int) */
+    public CompletableFuture<Pagina<Pelicula>> listarPagina(Genero genero, Integer annoDesde, Integer annoHasta,
+                                                            OrdenPeliculas orden, Pelicula despuesDe, int tamano) {
+        return ejecutor.enviar(() -> dao.listarPagina(genero, annoDesde, annoHasta, orden, despuesDe, tamano));
+    }
+
+    /** @see PeliculaDAO#listarDesde(Genero, Integer, Integer, OrdenPeliculas, int, int) */
+    public CompletableFuture<List<Pelicula>> listarDesde(Genero genero, Integer annoDesde, Integer annoHasta,
+                                                         OrdenPeliculas orden, int desde, int cantidad) {
+        return ejecutor.enviar(() -> dao.listarDesde(genero, annoDesde, annoHasta, orden, desde, cantidad));
+    }
+
+    /** @see PeliculaDAO#contarPeliculas(Genero, Integer, Integer) */
+    public CompletableFuture<Integer> contarPeliculas(Genero genero, Integer annoDesde, Integer annoHasta) {
+        return ejecutor.enviar(() -> dao.contarPeliculas(genero, annoDesde, annoHasta));
+    }
+
+    /**
+     * El consumidor se invoca desde el hilo virtual que recorre el resultado.
+     *
+     * @see PeliculaDAO#recorrerPeliculas(Genero, Integer, Integer, Consumer)
+     */
+    public CompletableFuture<Integer> recorrerPeliculas(Genero genero, Integer annoDesde, Integer annoHasta,
+                                                        Consumer<Pelicula> consumidor) {
+        return ejecutor.enviar(() -> dao.recorrerPeliculas(genero, annoDesde, annoHasta, consumidor));
+    }
+}
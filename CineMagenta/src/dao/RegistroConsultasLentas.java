@@ -0,0 +1,269 @@
+package dao;
+
+import util.ConexionDB;
+import util.ManejadorLogAsincrono;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Registro de las consultas de {@link PeliculaDAO} que superan un umbral de duración.
+ *
+ * <p>Cada consulta lenta se escribe en una línea de un log propio con la operación, la duración,
+ * las filas, los parámetros enlazados (redactados: de los textos solo se conserva su longitud y los
+ * comodines {@code %} de los extremos) y la forma de la sentencia SQL. Además se acumulan cantidad,
+ * tiempo total y máximo por forma de sentencia, de modo que {@link #resumen()} muestra qué filtros o
+ * patrones de búsqueda son lentos con los datos reales.</p>
+ *
+ * <p>Opcionalmente, la primera vez que una forma de sentencia resulta lenta se obtiene su plan con
+ * {@code EXPLAIN} en segundo plano (usando los parámetros reales, que no se registran) y se agrega al log.</p>
+ *
+ * <p>Propiedades:</p>
+ * <ul>
+ *   <li>{@code cinemagenta.consultasLentas.umbralMs}: umbral en milisegundos (por defecto 500; negativo desactiva el registro).</li>
+ *   <li>{@code cinemagenta.consultasLentas.archivo}: patrón del {@link FileHandler} rotativo
+ *       (por defecto {@code logs/consultas-lentas.%g.log}).</li>
+ *   <li>{@code cinemagenta.consultasLentas.explain}: {@code true} para capturar los planes.</li>
+ * </ul>
+ *
+ * @author Miguel
+ */
+public class RegistroConsultasLentas {
+
+    private static final Logger logger = Logger.getLogger(RegistroConsultasLentas.class.getName());
+
+    /** Tamaño máximo de cada archivo del log rotativo, en bytes. */
+    private static final int LIMITE_ARCHIVO = 5 * 1024 * 1024;
+    /** Cantidad de archivos que conserva el log rotativo. */
+    private static final int ARCHIVOS = 5;
+
+    private final long umbralNanos;
+    private final Logger destino;
+    private final String patronArchivo;
+    private final boolean capturarPlanes;
+    private final AtomicBoolean archivoAbierto = new AtomicBoolean();
+    private final ConcurrentHashMap<String, Agregado> porForma = new ConcurrentHashMap<>();
+
+    /**
+     * @param umbralMs       Duración a partir de la cual una consulta se registra; negativo para desactivar
+     * @param destino        Logger en el que se escriben las consultas lentas
+     * @param patronArchivo  Patrón del log rotativo que se agrega a {@code destino} la primera vez que se
+     *                       registra una consulta, o {@code null} para usar solo los manejadores de {@code destino}
+     * @param capturarPlanes {@code true} para obtener con {@code EXPLAIN} el plan de cada forma de sentencia lenta
+     */
+    RegistroConsultasLentas(long umbralMs, Logger destino, String patronArchivo, boolean capturarPlanes) {
+        this.umbralNanos = umbralMs < 0 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(umbralMs);
+        this.destino = destino;
+        this.patronArchivo = patronArchivo;
+        this.capturarPlanes = capturarPlanes;
+    }
+
+    /**
+     * Crea el registro configurado con las propiedades del sistema.
+     *
+     * @return registro que escribe en el logger {@code cinemagenta.consultasLentas}
+     */
+    static RegistroConsultasLentas desdePropiedades() {
+        Logger destino = Logger.getLogger("cinemagenta.consultasLentas");
+        destino.setUseParentHandlers(false);
+        return new RegistroConsultasLentas(
+                Long.getLong("cinemagenta.consultasLentas.umbralMs", 500L),
+                destino,
+                System.getProperty("cinemagenta.consultasLentas.archivo", "logs/consultas-lentas.%g.log"),
+                Boolean.getBoolean("cinemagenta.consultasLentas.explain"));
+    }
+
+    /**
+     * Indica si una consulta iniciada en el instante indicado ya superó el umbral. No reserva memoria,
+     * por lo que los parámetros de {@link #registrar} solo se arman para las consultas lentas.
+     *
+     * @param inicioNanos Valor de {@link System#nanoTime()} al comenzar la consulta
+     * @return {@code true} si la consulta debe registrarse
+     */
+    boolean esLenta(long inicioNanos) {
+        return System.nanoTime() - inicioNanos >= umbralNanos;
+    }
+
+    /**
+     * Registra una consulta lenta y la acumula en su forma de sentencia.
+     *
+     * @param operacion   Nombre del método del DAO
+     * @param sql         Sentencia ejecutada, con sus parámetros como {@code ?}
+     * @param inicioNanos Valor de {@link System#nanoTime()} al comenzar la consulta
+     * @param filas       Filas obtenidas o afectadas
+     * @param parametros  Parámetros enlazados, en el orden de la sentencia
+     */
+    void registrar(String operacion, String sql, long inicioNanos, long filas, List<Object> parametros) {
+        long nanos = System.nanoTime() - inicioNanos;
+        Agregado agregado = porForma.computeIfAbsent(sql, s -> new Agregado(operacion, s));
+        agregado.cantidad.increment();
+        agregado.totalNanos.add(nanos);
+        agregado.maximoNanos.accumulate(nanos);
+
+        abrirArchivo();
+        destino.warning(String.format(Locale.ROOT, "operacion=%s duracionMs=%.1f filas=%d parametros=%s sql=%s",
+                operacion, nanos / 1e6, filas, redactar(parametros), sql));
+
+        if (capturarPlanes && agregado.planSolicitado.compareAndSet(false, true)) {
+            ConexionDB.getEjecutor().enviar(() -> {
+                try (Connection conn = ConexionDB.getConnection()) {
+                    agregado.plan = explicar(conn, sql, parametros);
+                }
+                destino.info("plan operacion=" + operacion + " sql=" + sql + System.lineSeparator() + agregado.plan);
+                return null;
+            }).exceptionally(ex -> {
+                logger.log(Level.WARNING, "No se pudo obtener el plan de " + operacion, ex);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Agrega al logger de destino el log rotativo la primera vez que se registra una consulta,
+     * para no crear archivos si ninguna consulta es lenta.
+     */
+    private void abrirArchivo() {
+        if (patronArchivo == null || !archivoAbierto.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            File carpeta = new File(patronArchivo).getAbsoluteFile().getParentFile();
+            if (carpeta != null) {
+                carpeta.mkdirs();
+            }
+            FileHandler archivo = new FileHandler(patronArchivo, LIMITE_ARCHIVO, ARCHIVOS, true);
+            archivo.setEncoding("UTF-8");
+            archivo.setFormatter(new Formatter() {
+                @Override
+                public String format(LogRecord registro) {
+                    return String.format("%1$tF %1$tT.%1$tL %2$s %3$s%n",
+                            registro.getMillis(), registro.getLevel().getName(), formatMessage(registro));
+                }
+            });
+            destino.addHandler(new ManejadorLogAsincrono(archivo, 1_024));
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "No se pudo abrir el registro de consultas lentas " + patronArchivo, e);
+        }
+    }
+
+    /**
+     * Obtiene el plan de una sentencia con {@code EXPLAIN}.
+     *
+     * @return una línea por fila del plan, con todas sus columnas
+     */
+    static String explicar(Connection conn, String sql, List<Object> parametros) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < parametros.size(); i++) {
+                stmt.setObject(i + 1, parametros.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    if (plan.length() > 0) {
+                        plan.append(System.lineSeparator());
+                    }
+                    plan.append("  ");
+                    for (int c = 1; c <= meta.getColumnCount(); c++) {
+                        plan.append(c > 1 ? " " : "").append(meta.getColumnLabel(c)).append('=').append(rs.getString(c));
+                    }
+                }
+            }
+        }
+        return plan.toString();
+    }
+
+    /**
+     * Describe los parámetros sin exponer su contenido textual. Los números, lógicos y nulos se
+     * conservan; cada texto se reemplaza por su longitud, manteniendo los comodines {@code %}
+     * de los extremos para distinguir búsquedas por prefijo de búsquedas por contenido.
+     *
+     * @param parametros Parámetros enlazados
+     * @return descripción como {@code [3, 1990, '%…(6)%']}
+     */
+    static String redactar(List<Object> parametros) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < parametros.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            Object p = parametros.get(i);
+            if (p instanceof CharSequence texto) {
+                String s = texto.toString();
+                boolean inicial = s.startsWith("%");
+                boolean fin = s.length() > 1 && s.endsWith("%");
+                int largo = s.length() - (inicial ? 1 : 0) - (fin ? 1 : 0);
+                sb.append('\'').append(inicial ? "%" : "").append("…(").append(largo).append(')')
+                        .append(fin ? "%" : "").append('\'');
+            } else if (p == null || p instanceof Number || p instanceof Boolean) {
+                sb.append(p);
+            } else {
+                sb.append('<').append(p.getClass().getSimpleName()).append('>');
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * @return consultas lentas acumuladas por forma de sentencia, de mayor a menor tiempo total
+     */
+    List<Agregado> getAgregados() {
+        List<Agregado> lista = new ArrayList<>(porForma.values());
+        lista.sort(Comparator.comparingLong((Agregado a) -> a.totalNanos.sum()).reversed());
+        return lista;
+    }
+
+    /**
+     * @return una línea por forma de sentencia lenta, de mayor a menor tiempo total
+     */
+    public String resumen() {
+        StringBuilder sb = new StringBuilder();
+        for (Agregado a : getAgregados()) {
+            sb.append(a).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Consultas lentas acumuladas de una forma de sentencia.
+     */
+    static final class Agregado {
+        final String operacion;
+        final String sql;
+        final LongAdder cantidad = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maximoNanos = new LongAccumulator(Math::max, 0);
+        final AtomicBoolean planSolicitado = new AtomicBoolean();
+        volatile String plan;
+
+        Agregado(String operacion, String sql) {
+            this.operacion = operacion;
+            this.sql = sql;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s lentas=%d totalMs=%.1f maxMs=%.1f sql=%s", operacion,
+                    cantidad.sum(), totalNanos.sum() / 1e6, maximoNanos.get() / 1e6, sql);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package dao;
+
+import util.ConexionDB;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Comprueba con {@code EXPLAIN} que las consultas de {@link PeliculaDAO} que deberían usar un índice
+ * no recorran la tabla completa.
+ *
+ * <p>Un plan se considera una regresión cuando MySQL informa un recorrido completo
+ * ({@code type = ALL}) y además no hay ningún índice utilizable ({@code possible_keys} vacío)
+ * o la tabla tiene al menos {@code cinemagenta.planes.filasMinimas} filas estimadas. En tablas
+ * pequeñas el optimizador puede preferir leerlas completas aunque exista un índice, lo que no
+ * indica un problema.</p>
+ *
+ * <p>Puede ejecutarse como programa; termina con código 1 si encuentra regresiones.</p>
+ *
+ * @author Miguel
+ */
+public final class VerificadorPlanes {
+
+    private static final Logger logger = Logger.getLogger(VerificadorPlanes.class.getName());
+
+    private static final long FILAS_MINIMAS = Long.getLong("cinemagenta.planes.filasMinimas", 1_000L);
+
+    /**
+     * Constructor privado para evitar instanciación de la clase utilitaria.
+     */
+    private VerificadorPlanes() {
+
+    }
+
+    /**
+     * Obtiene el plan de cada consulta indexada de {@link PeliculaDAO}.
+     *
+     * @param conn Conexión a utilizar
+     * @return Descripción de cada consulta con un recorrido completo; vacía si todas usan índices
+     * @throws SQLException si no se puede obtener algún plan
+     */
+    public static List<String> verificar(Connection conn) throws SQLException {
+        List<String> regresiones = new ArrayList<>();
+        for (Map.Entry<String, List<Object>> consulta : PeliculaDAO.consultasConIndice().entrySet()) {
+            try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + consulta.getKey())) {
+                List<Object> parametros = consulta.getValue();
+                for (int i = 0; i < parametros.size(); i++) {
+                    stmt.setObject(i + 1, parametros.get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        String tipo = rs.getString("type");
+                        String clavesPosibles = rs.getString("possible_keys");
+                        long filas = rs.getLong("rows");
+                        if (esRegresion(tipo, clavesPosibles, filas, FILAS_MINIMAS)) {
+                            regresiones.add(consulta.getKey() + " → type=" + tipo
+                                    + ", possible_keys=" + clavesPosibles + ", rows=" + filas);
+                        }
+                    }
+                }
+            }
+        }
+        logger.info("Planes verificados: " + PeliculaDAO.consultasConIndice().size()
+                + " consulta(s), " + regresiones.size() + " regresión(es)");
+        return regresiones;
+    }
+
+    /**
+     * @param tipo          Columna {@code type} del plan
+     * @param clavesPosibles Columna {@code possible_keys} del plan (puede ser {@code null})
+     * @param filas         Filas estimadas por el plan
+     * @param filasMinimas  Tamaño a partir del cual un recorrido completo es siempre una regresión
+     * @return {@code true} si el plan recorre la tabla completa sin justificación
+     */
+    static boolean esRegresion(String tipo, String clavesPosibles, long filas, long filasMinimas) {
+        if (!"ALL".equals(tipo)) {
+            return false;
+        }
+        return clavesPosibles == null || clavesPosibles.isEmpty() || filas >= filasMinimas;
+    }
+
+    /**
+     * Verifica los planes contra la base de datos configurada en {@link ConexionDB}.
+     *
+     * @param args no utilizados
+     * @throws SQLException si no se puede conectar u obtener algún plan
+     */
+    public static void main(String[] args) throws SQLException {
+        List<String> regresiones;
+        try (Connection conn = ConexionDB.getConnection()) {
+            regresiones = verificar(conn);
+        }
+        regresiones.forEach(r -> System.err.println("Recorrido completo: " + r));
+        System.exit(regresiones.isEmpty() ? 0 : 1);
+    }
+}
@@ -1,5 +1,9 @@
 package model;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * Enumeración que representa los géneros disponibles para las películas en el sistema CineMagenta.
  * Cada género tiene una etiqueta legible en español que se utiliza en la interfaz gráfica.
@@ -7,6 +11,11 @@ package model;
  * Este enum permite una representación tipada y segura de los géneros, evitando errores por cadenas mal escritas.
  * También incluye métodos utilitarios para obtener etiquetas y convertir desde texto.
  * 
+ * En la base de datos cada género se guarda como su {@link #getCodigo() código} entero. Los códigos
+ * ya asignados no deben cambiar; un género nuevo recibe el siguiente código libre. Los códigos
+ * actuales siguen el orden alfabético de las etiquetas, de modo que ordenar por código equivale
+ * a ordenar por etiqueta.
+ * 
  * Ejemplo de uso:
  * <pre>
  *     Genero g = Genero.ACCION;
@@ -16,28 +25,55 @@ package model;
  * @author Miguel
  */
 public enum Genero {
-    ACCION("Acción"),
-    CIENCIA_FICCION("Ciencia Ficción"),
-    COMEDIA("Comedia"),
-    DRAMA("Drama"),
-    SUSPENSO("Suspenso"),
-    TERROR("Terror"),
-    ANIMACION("Animación"),
-    MUSICAL("Musical"),
-    DOCUMENTAL("Documental"),
-    ROMANCE("Romance");
+    ACCION(1, "Acción"),
+    ANIMACION(2, "Animación"),
+    CIENCIA_FICCION(3, "Ciencia Ficción"),
+    COMEDIA(4, "Comedia"),
+    DOCUMENTAL(5, "Documental"),
+    DRAMA(6, "Drama"),
+    MUSICAL(7, "Musical"),
+    ROMANCE(8, "Romance"),
+    SUSPENSO(9, "Suspenso"),
+    TERROR(10, "Terror");
+
+    private static final Genero[] POR_CODIGO;
+    private static final Map<String, Genero> POR_ETIQUETA = new HashMap<>();
 
+    static {
+        int maximo = 0;
+        for (Genero g : values()) {
+            maximo = Math.max(maximo, g.codigo);
+        }
+        POR_CODIGO = new Genero[maximo + 1];
+        for (Genero g : values()) {
+            POR_CODIGO[g.codigo] = g;
+            POR_ETIQUETA.put(g.etiqueta.toLowerCase(Locale.ROOT), g);
+        }
+    }
+
+    private final int codigo;
     private final String etiqueta;
 
     /**
-     * Constructor privado que asigna la etiqueta legible al género.
+     * Constructor privado que asigna el código persistido y la etiqueta legible al género.
      * 
+     * @param codigo   Código guardado en la base de datos
      * @param etiqueta Texto descriptivo del género
      */
-    Genero(String etiqueta) {
+    Genero(int codigo, String etiqueta) {
+        this.codigo = codigo;
         this.etiqueta = etiqueta;
     }
 
+    /**
+     * Devuelve el código con el que el género se guarda en la base de datos.
+     * 
+     * @return Código entero mayor a cero
+     */
+    public int getCodigo() {
+        return codigo;
+    }
+
     /**
      * Devuelve la etiqueta legible del género.
      * 
@@ -57,6 +93,17 @@ public enum Genero {
         return etiqueta;
     }
 
+    /**
+     * Convierte un código de la base de datos en su correspondiente valor del enum.
+     * 
+     * @param codigo Código guardado (ej. 6)
+     * @return Instancia de {@code Genero} correspondiente, o {@code null} si el código no existe
+     *         (incluido {@code 0}, que es lo que JDBC devuelve para una columna {@code NULL})
+     */
+    public static Genero desdeCodigo(int codigo) {
+        return codigo > 0 && codigo < POR_CODIGO.length ? POR_CODIGO[codigo] : null;
+    }
+
     /**
      * Convierte una etiqueta textual en su correspondiente valor del enum.
      * 
@@ -64,11 +111,6 @@ public enum Genero {
      * @return Instancia de {@code Genero} correspondiente, o {@code null} si no coincide
      */
     public static Genero desdeEtiqueta(String texto) {
-        for (Genero g : values()) {
-            if (g.etiqueta.equalsIgnoreCase(texto.trim())) {
-                return g;
-            }
-        }
-        return null;
+        return POR_ETIQUETA.get(texto.trim().toLowerCase(Locale.ROOT));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,223 @@
+package service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Caché de lectura (read-through) para consultas del catálogo de películas.
+ *
+ * <p>Las entradas se desalojan por antigüedad de uso (LRU) cuando se supera la cantidad máxima
+ * de entradas o el peso total (por ejemplo, la suma de filas de los listados), y expiran
+ * tras un tiempo de vida (TTL). Si una entrada se invalida mientras se está cargando,
+ * el valor cargado se entrega al llamador pero no se guarda, para no reintroducir datos obsoletos.</p>
+ *
+ * <p>Expone métricas de aciertos, fallos, desalojos y tiempo de carga.</p>
+ *
+ * @param <K> Tipo de la clave
+ * @param <V> Tipo del valor
+ * @author Miguel
+ */
+public class CacheCatalogo<K, V> {
+
+    private final String nombre;
+    private final int maxEntradas;
+    private final long maxPeso;
+    private final long ttlNanos;
+    private final ToIntFunction<V> pesador;
+    private final Map<K, Entrada<V>> entradas = new LinkedHashMap<>(16, 0.75f, true);
+    private long pesoTotal;
+    private long generacion;
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder desalojos = new LongAdder();
+    private final LongAdder tiempoCargaNanos = new LongAdder();
+
+    /**
+     * Crea una caché acotada.
+     *
+     * @param nombre      Nombre utilizado en métricas y logs
+     * @param maxEntradas Cantidad máxima de entradas
+     * @param maxPeso     Peso total máximo según {@code pesador}
+     * @param ttlMs       Tiempo de vida de cada entrada, en milisegundos
+     * @param pesador     Calcula el peso de un valor (por ejemplo, la cantidad de filas)
+     */
+    public CacheCatalogo(String nombre, int maxEntradas, long maxPeso, long ttlMs, ToIntFunction<V> pesador) {
+        this.nombre = nombre;
+        this.maxEntradas = maxEntradas;
+        this.maxPeso = maxPeso;
+        this.ttlNanos = ttlMs * 1_000_000L;
+        this.pesador = pesador;
+    }
+
+    /**
+     * Devuelve el valor asociado a la clave, cargándolo con {@code cargador} si no está en la caché
+     * o si expiró. La carga se realiza fuera del bloqueo de la caché.
+     *
+     * @param clave    Clave a buscar
+     * @param cargador Obtiene el valor desde la fuente original
+     * @return Valor en caché o recién cargado
+     */
+    public V obtener(K clave, Supplier<V> cargador) {
+        long generacionInicial;
+        synchronized (this) {
+            Entrada<V> entrada = entradas.get(clave);
+            if (entrada != null && System.nanoTime() < entrada.expiraEn) {
+                aciertos.increment();
+                return entrada.valor;
+            }
+            if (entrada != null) {
+                quitar(clave);
+            }
+            generacionInicial = generacion;
+        }
+
+        fallos.increment();
+        long inicio = System.nanoTime();
+        V valor = cargador.get();
+        tiempoCargaNanos.add(System.nanoTime() - inicio);
+
+        synchronized (this) {
+            if (generacion == generacionInicial) {
+                guardar(clave, valor);
+            }
+        }
+        return valor;
+    }
+
+    private void guardar(K clave, V valor) {
+        quitar(clave);
+        Entrada<V> entrada = new Entrada<>(valor, pesador.applyAsInt(valor), System.nanoTime() + ttlNanos);
+        if (entrada.peso > maxPeso) {
+            return;
+        }
+        entradas.put(clave, entrada);
+        pesoTotal += entrada.peso;
+
+        Iterator<Entrada<V>> it = entradas.values().iterator();
+        while ((entradas.size() > maxEntradas || pesoTotal > maxPeso) && it.hasNext()) {
+            pesoTotal -= it.next().peso;
+            it.remove();
+            desalojos.increment();
+        }
+    }
+
+    private void quitar(K clave) {
+        Entrada<V> anterior = entradas.remove(clave);
+        if (anterior != null) {
+            pesoTotal -= anterior.peso;
+        }
+    }
+
+    /**
+     * Invalida la entrada de una clave.
+     *
+     * @param clave Clave a invalidar
+     */
+    public synchronized void invalidar(K clave) {
+        generacion++;
+        quitar(clave);
+    }
+
+    /**
+     * Invalida todas las entradas que cumplen la condición.
+     *
+     * @param condicion Recibe la clave y el valor de cada entrada
+     */
+    public synchronized void invalidarSi(BiPredicate<K, V> condicion) {
+        generacion++;
+        Iterator<Map.Entry<K, Entrada<V>>> it = entradas.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, Entrada<V>> e = it.next();
+            if (condicion.test(e.getKey(), e.getValue().valor)) {
+                pesoTotal -= e.getValue().peso;
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Invalida todas las entradas.
+     */
+    public synchronized void invalidarTodo() {
+        generacion++;
+        entradas.clear();
+        pesoTotal = 0;
+    }
+
+    /**
+     * @return nombre de la caché
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * @return cantidad de entradas actuales
+     */
+    public synchronized int getTamano() {
+        return entradas.size();
+    }
+
+    /**
+     * @return cantidad de consultas respondidas desde la caché
+     */
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    /**
+     * @return cantidad de consultas que requirieron cargar el valor
+     */
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    /**
+     * @return cantidad de entradas desalojadas por exceder los límites
+     */
+    public long getDesalojos() {
+        return desalojos.sum();
+    }
+
+    /**
+     * @return tiempo total dedicado a cargar valores, en nanosegundos
+     */
+    public long getTiempoCargaNanos() {
+        return tiempoCargaNanos.sum();
+    }
+
+    /**
+     * @return proporción de aciertos entre 0 y 1 ({@code 0} si no hubo consultas)
+     */
+    public double getTasaAciertos() {
+        long a = getAciertos();
+        long total = a + getFallos();
+        return total == 0 ? 0 : (double) a / total;
+    }
+
+    @Override
+    public String toString() {
+        long f = getFallos();
+        return String.format("Cache{%s, entradas=%d, aciertos=%d, fallos=%d, tasa=%.2f, desalojos=%d, cargaPromedio=%.2f ms}",
+                nombre, getTamano(), getAciertos(), f, getTasaAciertos(), getDesalojos(),
+                f == 0 ? 0.0 : getTiempoCargaNanos() / 1_000_000.0 / f);
+    }
+
+    private static final class Entrada<V> {
+        final V valor;
+        final int peso;
+        final long expiraEn;
+
+        Entrada(V valor, int peso, long expiraEn) {
+            this.valor = valor;
+            this.peso = peso;
+            this.expiraEn = expiraEn;
+        }
+    }
+}
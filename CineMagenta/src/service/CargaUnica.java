@@ -0,0 +1,151 @@
+package service;
+
+import util.EjecutorAcotado;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa las cargas simultáneas de una misma clave (single-flight): mientras una carga está en curso,
+ * los demás llamadores con la misma clave esperan su resultado en lugar de repetirla.
+ *
+ * <p>Pensado para consultas idénticas que llegan a la vez dentro de esta aplicación, por ejemplo
+ * varios formularios que cargan el catálogo de títulos al mismo tiempo. Solo se agrupan las llamadas
+ * de un mismo proceso: cada terminal ejecuta su propia carga. La clave debe identificar la operación
+ * y sus argumentos (ver {@link #clave(String, Object...)}). El resultado no se guarda: al terminar la
+ * carga, la siguiente llamada vuelve a cargar, por lo que se combina con {@link CacheCatalogo} para
+ * retenerlo.</p>
+ *
+ * <p>La carga compartida se ejecuta en un {@link EjecutorAcotado}, no en el hilo de ninguno de los
+ * llamadores: si se interrumpe a un llamador (por ejemplo, porque su solicitud de la interfaz se
+ * canceló), solo ese llamador deja de esperar y los demás reciben el resultado. Si la carga falla,
+ * todos los que la esperaban reciben la misma excepción. Tras una escritura, {@link #olvidar()} hace
+ * que las llamadas siguientes no se unan a cargas iniciadas antes del cambio.</p>
+ *
+ * @param <K> Tipo de la clave
+ * @author Miguel
+ */
+public class CargaUnica<K> {
+
+    private final EjecutorAcotado ejecutor;
+    private final Map<K, CompletableFuture<Object>> enCurso = new ConcurrentHashMap<>();
+
+    private final LongAdder cargas = new LongAdder();
+    private final LongAdder compartidas = new LongAdder();
+
+    /**
+     * @param ejecutor Ejecutor en el que se realizan las cargas compartidas
+     */
+    public CargaUnica(EjecutorAcotado ejecutor) {
+        this.ejecutor = ejecutor;
+    }
+
+    /**
+     * Arma una clave a partir del nombre de la operación y sus argumentos, que pueden ser {@code null}.
+     *
+     * @param operacion  Nombre de la operación
+     * @param argumentos Argumentos de la operación
+     * @return Clave con igualdad por valor
+     */
+    public static List<Object> clave(String operacion, Object... argumentos) {
+        Object[] partes = new Object[argumentos.length + 1];
+        partes[0] = operacion;
+        System.arraycopy(argumentos, 0, partes, 1, argumentos.length);
+        return Arrays.asList(partes);
+    }
+
+    /**
+     * Inicia la carga con {@code cargador}, o se une a la carga en curso con la misma clave, y espera
+     * su resultado. Los llamadores que reutilizan una clave deben esperar siempre el mismo tipo de resultado.
+     *
+     * @param clave    Operación y argumentos
+     * @param cargador Obtiene el valor desde la fuente original
+     * @param <V>      Tipo del resultado
+     * @return Resultado de la carga compartida
+     * @throws CancellationException si el hilo llamador se interrumpe mientras espera; la carga continúa
+     *                               para los demás llamadores
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V obtener(K clave, Supplier<V> cargador) {
+        boolean[] iniciada = {false};
+        // Una carga ya terminada puede seguir en el mapa un instante; en ese caso se inicia otra
+        CompletableFuture<Object> carga = enCurso.compute(clave, (k, actual) -> {
+            if (actual != null && !actual.isDone()) {
+                return actual;
+            }
+            iniciada[0] = true;
+            return ejecutor.<Object>enviar(cargador::get);
+        });
+        if (iniciada[0]) {
+            cargas.increment();
+            carga.whenComplete((valor, error) -> enCurso.remove(clave, carga));
+        } else {
+            compartidas.increment();
+        }
+        return (V) esperar(carga);
+    }
+
+    /**
+     * Espera la carga y relanza su excepción original, como si se hubiera ejecutado en este hilo.
+     */
+    private Object esperar(CompletableFuture<Object> carga) {
+        try {
+            return ejecutor.esperar(carga);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            CancellationException cancelada = new CancellationException("Espera de la carga interrumpida");
+            cancelada.initCause(e);
+            throw cancelada;
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            if (causa instanceof Error) {
+                throw (Error) causa;
+            }
+            throw new IllegalStateException(causa);
+        }
+    }
+
+    /**
+     * Desvincula las cargas en curso: quienes ya las esperan reciben su resultado, pero las
+     * llamadas siguientes inician una carga nueva.
+     */
+    public void olvidar() {
+        enCurso.clear();
+    }
+
+    /**
+     * @return cantidad de cargas ejecutadas
+     */
+    public long getCargas() {
+        return cargas.sum();
+    }
+
+    /**
+     * @return cantidad de llamadas que esperaron una carga ya en curso en lugar de ejecutarla
+     */
+    public long getCompartidas() {
+        return compartidas.sum();
+    }
+
+    /**
+     * @return cantidad de cargas en curso en este momento
+     */
+    public int getEnCurso() {
+        return enCurso.size();
+    }
+
+    @Override
+    public String toString() {
+        return "CargaUnica{cargas=" + getCargas() + ", compartidas=" + getCompartidas() + ", enCurso=" + getEnCurso() + "}";
+    }
+}
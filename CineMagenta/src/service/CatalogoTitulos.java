@@ -0,0 +1,282 @@
+package service;
+
+import dao.IndiceTitulos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Catálogo ordenado de los títulos de películas, compartido por los combos de búsqueda.
+ *
+ * <p>Los títulos se guardan sin repetir en un arreglo ordenado por su forma normalizada
+ * ({@link IndiceTitulos#normalizar(String)}), de modo que los títulos que comienzan con un
+ * prefijo ocupan un tramo contiguo que se ubica con dos búsquedas binarias
+ * ({@link Instantanea#rango(String)}).</p>
+ *
+ * <p>Las lecturas trabajan sobre una {@link Instantanea} inmutable y no se bloquean. Las
+ * escrituras del servicio actualizan el catálogo de forma incremental, publicando una nueva
+ * instantánea, en lugar de volver a consultar todos los títulos. Cuando no es posible
+ * (por ejemplo, al modificar una película cuyo título anterior se desconoce) el catálogo se
+ * marca como no vigente y el servicio lo recarga en la siguiente solicitud.</p>
+ *
+ * @author Miguel
+ */
+public class CatalogoTitulos {
+
+    /**
+     * Estado del catálogo en un momento dado. Es inmutable y puede compartirse entre hilos.
+     */
+    public static final class Instantanea {
+
+        private final String[] titulos;
+        private final String[] claves;
+
+        private Instantanea(String[] titulos, String[] claves) {
+            this.titulos = titulos;
+            this.claves = claves;
+        }
+
+        /**
+         * @return cantidad de títulos
+         */
+        public int getTamano() {
+            return titulos.length;
+        }
+
+        /**
+         * @param indice Posición entre {@code 0} y {@link #getTamano()} - 1
+         * @return título en esa posición
+         */
+        public String getTitulo(int indice) {
+            return titulos[indice];
+        }
+
+        /**
+         * Ubica el tramo de títulos que comienzan con un prefijo, sin distinguir mayúsculas ni tildes.
+         *
+         * @param prefijo Texto escrito por el usuario
+         * @return {@code {desde, hasta}}, con {@code hasta} exclusivo; el tramo está vacío si no hay coincidencias
+         */
+        public int[] rango(String prefijo) {
+            String clave = IndiceTitulos.normalizar(prefijo.trim());
+            if (clave.isEmpty()) {
+                return new int[]{0, claves.length};
+            }
+            return new int[]{primeraPosicion(clave), primeraPosicion(clave + Character.MAX_VALUE)};
+        }
+
+        /**
+         * @return primera posición cuya clave es mayor o igual a la indicada
+         */
+        private int primeraPosicion(String clave) {
+            int bajo = 0;
+            int alto = claves.length;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (claves[medio].compareTo(clave) < 0) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            return bajo;
+        }
+
+        /**
+         * @return posición del título, o un valor negativo si no está
+         */
+        private int buscar(String titulo, String clave) {
+            for (int i = primeraPosicion(clave); i < claves.length && claves[i].equals(clave); i++) {
+                if (titulos[i].equals(titulo)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final Instantanea VACIA = new Instantanea(new String[0], new String[0]);
+
+    private volatile Instantanea actual = VACIA;
+    private boolean vigente;
+    private long version;
+    private long cargadoEn;
+
+    /**
+     * Devuelve el estado actual del catálogo. Si aún no se cargó, la instantánea está vacía.
+     *
+     * @return Instantánea inmutable de los títulos
+     */
+    public Instantanea instantanea() {
+        return actual;
+    }
+
+    /**
+     * @return {@code true} si el catálogo fue cargado y refleja todas las escrituras posteriores
+     */
+    public synchronized boolean estaVigente() {
+        return vigente;
+    }
+
+    /**
+     * @return instante de la última carga completa, en milisegundos desde la época
+     */
+    public synchronized long getCargadoEn() {
+        return cargadoEn;
+    }
+
+    /**
+     * Número que cambia con cada modificación del catálogo. Se obtiene antes de consultar los
+     * títulos para que {@link #cargar(Collection, long)} descarte una carga que quedó desactualizada.
+     *
+     * @return versión actual
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Reemplaza el contenido del catálogo, siempre que no haya cambiado desde que se obtuvo {@code version}.
+     *
+     * @param titulos Todos los títulos de películas, en cualquier orden y con posibles repeticiones
+     * @param version Valor de {@link #getVersion()} anterior a la consulta de los títulos
+     * @return {@code true} si se cargó; {@code false} si hubo escrituras entretanto y debe volver a consultarse
+     */
+    public synchronized boolean cargar(Collection<String> titulos, long version) {
+        if (version != this.version) {
+            return false;
+        }
+        List<String> nuevos = new ArrayList<>(titulos.size());
+        for (String titulo : titulos) {
+            if (titulo != null && !titulo.isBlank()) {
+                nuevos.add(titulo);
+            }
+        }
+        actual = combinar(VACIA, nuevos);
+        vigente = true;
+        cargadoEn = System.currentTimeMillis();
+        this.version++;
+        return true;
+    }
+
+    /**
+     * Agrega un título. Los títulos ya presentes se ignoran.
+     *
+     * @param titulo Título agregado
+     */
+    public void agregar(String titulo) {
+        agregar(List.of(titulo));
+    }
+
+    /**
+     * Agrega varios títulos combinándolos con los existentes en una sola pasada.
+     * Los títulos ya presentes se ignoran.
+     *
+     * @param titulos Títulos agregados
+     */
+    public synchronized void agregar(Collection<String> titulos) {
+        if (titulos.isEmpty()) {
+            return;
+        }
+        actual = combinar(actual, titulos);
+        version++;
+    }
+
+    /**
+     * Quita los títulos iguales al indicado, sin distinguir mayúsculas, como lo hace la
+     * eliminación por título en la base de datos.
+     *
+     * @param titulo Título eliminado
+     */
+    public synchronized void eliminar(String titulo) {
+        Instantanea anterior = actual;
+        String buscado = titulo.trim();
+        String clave = IndiceTitulos.normalizar(buscado);
+        version++;
+
+        int desde = anterior.primeraPosicion(clave);
+        int hasta = desde;
+        int coincidencias = 0;
+        for (; hasta < anterior.claves.length && anterior.claves[hasta].equals(clave); hasta++) {
+            if (anterior.titulos[hasta].equalsIgnoreCase(buscado)) {
+                coincidencias++;
+            }
+        }
+        if (coincidencias == 0) {
+            return;
+        }
+
+        String[] titulos = new String[anterior.titulos.length - coincidencias];
+        String[] claves = new String[titulos.length];
+        System.arraycopy(anterior.titulos, 0, titulos, 0, desde);
+        System.arraycopy(anterior.claves, 0, claves, 0, desde);
+        int k = desde;
+        for (int i = desde; i < hasta; i++) {
+            if (!anterior.titulos[i].equalsIgnoreCase(buscado)) {
+                titulos[k] = anterior.titulos[i];
+                claves[k++] = anterior.claves[i];
+            }
+        }
+        System.arraycopy(anterior.titulos, hasta, titulos, k, anterior.titulos.length - hasta);
+        System.arraycopy(anterior.claves, hasta, claves, k, anterior.claves.length - hasta);
+        actual = new Instantanea(titulos, claves);
+    }
+
+    /**
+     * Marca el catálogo para recargarse. Mientras tanto se sigue entregando la última instantánea.
+     */
+    public synchronized void invalidar() {
+        vigente = false;
+        version++;
+    }
+
+    /**
+     * Combina una instantánea ordenada con títulos nuevos, que se ordenan y luego se intercalan.
+     */
+    private static Instantanea combinar(Instantanea base, Collection<String> agregados) {
+        String[][] nuevos = new String[agregados.size()][];
+        int n = 0;
+        for (String titulo : agregados) {
+            String clave = IndiceTitulos.normalizar(titulo);
+            if (base.buscar(titulo, clave) < 0) {
+                nuevos[n++] = new String[]{clave, titulo};
+            }
+        }
+        if (n == 0) {
+            return base;
+        }
+        Arrays.sort(nuevos, 0, n, (a, b) -> comparar(a[0], a[1], b[0], b[1]));
+
+        String[] titulos = new String[base.titulos.length + n];
+        String[] claves = new String[titulos.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < base.titulos.length || j < n) {
+            String clave;
+            String titulo;
+            if (i == base.titulos.length
+                    || (j < n && comparar(nuevos[j][0], nuevos[j][1], base.claves[i], base.titulos[i]) < 0)) {
+                clave = nuevos[j][0];
+                titulo = nuevos[j++][1];
+            } else {
+                clave = base.claves[i];
+                titulo = base.titulos[i++];
+            }
+            // Los títulos nuevos repetidos entre sí quedan contiguos tras ordenarlos
+            if (k > 0 && titulos[k - 1].equals(titulo)) {
+                continue;
+            }
+            claves[k] = clave;
+            titulos[k++] = titulo;
+        }
+        return new Instantanea(Arrays.copyOf(titulos, k), Arrays.copyOf(claves, k));
+    }
+
+    private static int comparar(String claveA, String tituloA, String claveB, String tituloB) {
+        int porClave = claveA.compareTo(claveB);
+        return porClave != 0 ? porClave : tituloA.compareTo(tituloB);
+    }
+}
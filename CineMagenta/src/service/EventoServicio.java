@@ -0,0 +1,55 @@
+package service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de Java Flight Recorder emitido por cada operación pública de {@link PeliculaService}.
+ * Su duración incluye las cachés y las consultas del DAO, que aparecen en la grabación como
+ * eventos {@code cinemagenta.dao.Consulta} dentro del mismo intervalo e hilo.
+ *
+ * @author Miguel
+ */
+@Name("cinemagenta.servicio.Operacion")
+@Label("Operación de servicio")
+@Category({"CineMagenta", "Servicio"})
+@Description("Operación de PeliculaService y su resultado")
+@StackTrace(false)
+final class EventoServicio extends Event {
+
+    @Label("Operación")
+    String operacion;
+
+    @Label("Resultado")
+    String resultado;
+
+    /**
+     * Crea el evento y comienza a medir su duración.
+     *
+     * @param operacion Nombre del método del servicio
+     * @return evento en curso
+     */
+    static EventoServicio iniciar(String operacion) {
+        EventoServicio evento = new EventoServicio();
+        evento.operacion = operacion;
+        evento.begin();
+        return evento;
+    }
+
+    /**
+     * Finaliza el evento y lo emite si supera el umbral configurado.
+     *
+     * @param estado Desenlace de la operación
+     */
+    void terminar(ResultadoOperacion.Estado estado) {
+        end();
+        if (shouldCommit()) {
+            resultado = estado.name();
+            commit();
+        }
+    }
+}
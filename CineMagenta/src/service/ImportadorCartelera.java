@@ -0,0 +1,199 @@
+package service;
+
+import model.Genero;
+import model.Pelicula;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Importa catálogos de películas enviados por distribuidores en formato CSV.
+ *
+ * <p>El archivo se lee línea a línea y se entrega a {@link PeliculaService#agregarPeliculas(Iterable, int, Consumer)}
+ * como una fuente perezosa, por lo que el consumo de memoria no depende del tamaño del archivo.</p>
+ *
+ * <p>La primera línea debe ser un encabezado con las columnas {@code titulo}, {@code director},
+ * {@code anno}, {@code duracion}, {@code genero} y opcionalmente {@code ruta_portada}, en cualquier orden.
+ * Se acepta coma o punto y coma como separador y comillas dobles para campos con separadores.
+ * Los valores que no se pueden interpretar se dejan vacíos para que {@code PeliculaValidador}
+ * rechace la fila con un mensaje descriptivo.</p>
+ *
+ * @author Miguel
+ */
+public class ImportadorCartelera {
+
+    private static final Logger logger = Logger.getLogger(ImportadorCartelera.class.getName());
+
+    private final PeliculaService service;
+
+    /**
+     * Crea un importador que inserta las películas mediante el servicio indicado.
+     *
+     * @param service Servicio utilizado para validar e insertar
+     */
+    public ImportadorCartelera(PeliculaService service) {
+        this.service = service;
+    }
+
+    /**
+     * Importa un archivo CSV en lotes del tamaño indicado.
+     *
+     * @param archivo    Archivo CSV codificado en UTF-8
+     * @param tamanoLote Cantidad de filas por batch
+     * @param alProcesar Recibe el resultado de cada fila
+     * @return Cantidad de películas insertadas
+     * @throws IOException si no se puede leer el archivo o el encabezado es inválido
+     */
+    public int importarCsv(Path archivo, int tamanoLote, Consumer<ResultadoCarga> alProcesar) throws IOException {
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            int insertadas = service.agregarPeliculas(leerCsv(lector), tamanoLote, alProcesar);
+            logger.info("Importación de " + archivo.getFileName() + " finalizada: " + insertadas + " película(s) insertada(s)");
+            return insertadas;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Crea una fuente perezosa de películas a partir de un lector CSV.
+     * Cada iteración lee una sola línea; los errores de lectura se propagan como {@link UncheckedIOException}.
+     *
+     * @param lector Lector posicionado al inicio del archivo (incluyendo el encabezado)
+     * @return Películas leídas, una por línea de datos
+     * @throws IOException si no se puede leer el encabezado o faltan columnas obligatorias
+     */
+    public static Iterable<Pelicula> leerCsv(BufferedReader lector) throws IOException {
+        String encabezado = lector.readLine();
+        if (encabezado == null) {
+            return List.of();
+        }
+        if (encabezado.startsWith("﻿")) {
+            encabezado = encabezado.substring(1);
+        }
+        char separador = encabezado.indexOf(';') >= 0 && encabezado.indexOf(',') < 0 ? ';' : ',';
+        Columnas columnas = new Columnas(dividir(encabezado, separador));
+
+        return () -> new Iterator<>() {
+            private String siguiente = leer();
+
+            private String leer() {
+                try {
+                    String linea;
+                    do {
+                        linea = lector.readLine();
+                    } while (linea != null && linea.isBlank());
+                    return linea;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return siguiente != null;
+            }
+
+            @Override
+            public Pelicula next() {
+                if (siguiente == null) {
+                    throw new NoSuchElementException();
+                }
+                Pelicula p = columnas.convertir(dividir(siguiente, separador));
+                siguiente = leer();
+                return p;
+            }
+        };
+    }
+
+    /**
+     * Divide una línea CSV respetando comillas dobles ({@code ""} representa una comilla literal).
+     */
+    static List<String> dividir(String linea, char separador) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    actual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == separador) {
+                campos.add(actual.toString().trim());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        campos.add(actual.toString().trim());
+        return campos;
+    }
+
+    /**
+     * Posición de cada columna según el encabezado del archivo.
+     */
+    private static final class Columnas {
+        private int titulo = -1, director = -1, anno = -1, duracion = -1, genero = -1, rutaPortada = -1;
+
+        Columnas(List<String> encabezado) throws IOException {
+            for (int i = 0; i < encabezado.size(); i++) {
+                switch (encabezado.get(i).toLowerCase(Locale.ROOT)) {
+                    case "titulo", "título" -> titulo = i;
+                    case "director" -> director = i;
+                    case "anno", "año" -> anno = i;
+                    case "duracion", "duración" -> duracion = i;
+                    case "genero", "género" -> genero = i;
+                    case "ruta_portada", "portada" -> rutaPortada = i;
+                    default -> { }
+                }
+            }
+            if (titulo < 0 || director < 0 || anno < 0 || duracion < 0 || genero < 0) {
+                throw new IOException("Encabezado CSV inválido, se esperaba: titulo, director, anno, duracion, genero[, ruta_portada]");
+            }
+        }
+
+        Pelicula convertir(List<String> campos) {
+            String etiquetaGenero = campo(campos, genero);
+            String ruta = campo(campos, rutaPortada);
+            return new Pelicula(
+                    0,
+                    campo(campos, titulo),
+                    campo(campos, director),
+                    entero(campo(campos, anno)),
+                    entero(campo(campos, duracion)),
+                    etiquetaGenero.isEmpty() ? null : Genero.desdeEtiqueta(etiquetaGenero),
+                    ruta.isEmpty() ? null : ruta);
+        }
+
+        private static String campo(List<String> campos, int indice) {
+            return indice >= 0 && indice < campos.size() ? campos.get(indice) : "";
+        }
+
+        private static int entero(String texto) {
+            try {
+                return Integer.parseInt(texto);
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+    }
+}
@@ -1,13 +1,26 @@
 package service;
 
+import dao.OrdenPeliculas;
+import dao.Pagina;
 import dao.PeliculaDAO;
 import model.Genero;
 import model.Pelicula;
-import util.DialogUtils;
+import util.AlmacenPortadas;
+import util.ConexionDB;
+import util.MetricaOperacion;
+import util.Metricas;
+import util.MuestreoLog;
 import util.PeliculaValidador;
 
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -17,30 +30,182 @@ import java.util.logging.Logger;
  * Forma parte de la capa de servicio del sistema CineMagenta.
  * 
  * Utiliza {@link PeliculaValidador} para asegurar que los datos sean correctos antes de insertarlos o modificarlos.
- * Los mensajes de error e información se muestran mediante {@link DialogUtils}.
- * Los eventos importantes se registran mediante {@link Logger}.
+ * El servicio no muestra mensajes al usuario, por lo que puede usarse sin interfaz gráfica: las operaciones
+ * de búsqueda y escritura informan su desenlace con un {@link ResultadoOperacion} que cada formulario
+ * presenta a su manera, y los listados registran sus errores en el log y devuelven un resultado vacío.
+ * 
+ * Las consultas por título exacto, la lista de títulos y los listados filtrados pasan por cachés
+ * de lectura ({@link CacheCatalogo}) con tamaño acotado y tiempo de vida. Las escrituras hechas
+ * mediante este servicio invalidan las entradas afectadas. El tiempo de vida se configura con
+ * {@code cinemagenta.cache.ttlMs} y acota cuánto tarda en verse un cambio hecho desde otro equipo.
+ * Los combos de búsqueda comparten además un {@link CatalogoTitulos} que esas escrituras
+ * actualizan de forma incremental. Las consultas idénticas simultáneas que no encuentran el valor
+ * en caché se agrupan con {@link CargaUnica}, de modo que solo una llega a la base de datos.
+ * Los eventos importantes se registran mediante {@link Logger} con mensajes diferidos, que solo se arman
+ * si el nivel está habilitado; los de búsqueda se muestrean con {@link MuestreoLog}. La latencia y los
+ * errores de cada operación pública se registran en una {@link MetricaOperacion} ({@code servicio.*})
+ * y en un evento JFR {@link EventoServicio}.
  * 
  * @author Miguel
  */
 public class PeliculaService {
 
+    /**
+     * Tamaño de lote utilizado por {@link #agregarPeliculas(Iterable)}.
+     */
+    public static final int TAMANO_LOTE_PREDETERMINADO = 500;
+
+    /**
+     * Antigüedad mínima de una portada sin referencias para que {@link #recolectarPortadas()} la elimine.
+     */
+    private static final long GRACIA_PORTADAS_MS = Long.getLong("cinemagenta.portadas.graciaMs", 3_600_000L);
+
+    private static final Caches CACHES_COMPARTIDAS = new Caches();
+
+    private static final MetricaOperacion M_BUSCAR = Metricas.operacion("servicio.buscar");
+    private static final MetricaOperacion M_AGREGAR = Metricas.operacion("servicio.agregar");
+    private static final MetricaOperacion M_AGREGAR_LOTES = Metricas.operacion("servicio.agregarPeliculas");
+    private static final MetricaOperacion M_MODIFICAR = Metricas.operacion("servicio.modificar");
+    private static final MetricaOperacion M_ELIMINAR = Metricas.operacion("servicio.eliminar");
+    private static final MetricaOperacion M_TITULOS = Metricas.operacion("servicio.obtenerTodosLosTitulos");
+    private static final MetricaOperacion M_CATALOGO = Metricas.operacion("servicio.obtenerCatalogoTitulos");
+    private static final MetricaOperacion M_LISTAR = Metricas.operacion("servicio.listarPeliculas");
+    private static final MetricaOperacion M_PAGINA = Metricas.operacion("servicio.listarPagina");
+    private static final MetricaOperacion M_DESDE = Metricas.operacion("servicio.listarDesde");
+    private static final MetricaOperacion M_CONTAR = Metricas.operacion("servicio.contar");
+    private static final MetricaOperacion M_RECORRER = Metricas.operacion("servicio.recorrerPeliculas");
+    private static final MetricaOperacion M_COINCIDENCIAS = Metricas.operacion("servicio.buscarCoincidencias");
+    private static final MetricaOperacion M_RECOLECTAR = Metricas.operacion("servicio.recolectarPortadas");
+
+    /**
+     * Mensajes de búsqueda registrados por segundo como máximo; las búsquedas mientras se escribe
+     * pueden repetirse decenas de veces por segundo.
+     */
+    private static final int BUSQUEDAS_POR_SEGUNDO = Integer.getInteger("cinemagenta.log.busquedasPorSegundo", 10);
+    private static final MuestreoLog MUESTREO_BUSQUEDAS = new MuestreoLog(BUSQUEDAS_POR_SEGUNDO, 1_000);
+    private static final MuestreoLog MUESTREO_COINCIDENCIAS = new MuestreoLog(BUSQUEDAS_POR_SEGUNDO, 1_000);
+
     private final PeliculaDAO dao;
+    private final Caches caches;
     private static final Logger logger = Logger.getLogger(PeliculaService.class.getName());
 
     /**
      * Constructor principal que utiliza el DAO real.
+     * Todas las instancias creadas así comparten las mismas cachés.
      */
     public PeliculaService() {
         this.dao = new PeliculaDAO();
+        this.caches = CACHES_COMPARTIDAS;
     }
 
     /**
      * Constructor alternativo para pruebas, permite inyectar un DAO simulado.
+     * Utiliza cachés propias para no mezclar datos con el DAO real.
      *
      * @param dao DAO personalizado para pruebas
      */
     public PeliculaService(PeliculaDAO dao) {
         this.dao = dao;
+        this.caches = new Caches();
+    }
+
+    /**
+     * Cachés de lectura del catálogo, agrupadas para compartirlas entre instancias del servicio.
+     */
+    private static final class Caches {
+        private static final long TTL_MS = Long.getLong("cinemagenta.cache.ttlMs", 60_000L);
+
+        final CacheCatalogo<String, Optional<Pelicula>> porTitulo =
+                new CacheCatalogo<>("porTitulo", Integer.getInteger("cinemagenta.cache.maxTitulos", 1_000), Long.MAX_VALUE, TTL_MS, v -> 1);
+        final CacheCatalogo<String, List<String>> titulos =
+                new CacheCatalogo<>("titulos", 1, Long.MAX_VALUE, TTL_MS, List::size);
+        final CacheCatalogo<List<Object>, List<Pelicula>> listados =
+                new CacheCatalogo<>("listados", 64, Long.getLong("cinemagenta.cache.maxFilasListados", 200_000L), TTL_MS, List::size);
+        final CatalogoTitulos catalogo = new CatalogoTitulos();
+        final CargaUnica<List<Object>> enCurso = new CargaUnica<>(ConexionDB.getEjecutor());
+
+        /**
+         * Invalida las entradas afectadas por un cambio en las películas con el título o ID indicados.
+         */
+        void invalidarPelicula(String titulo, int id) {
+            // Primero se olvidan las cargas en curso: si no, una iniciada antes de la escritura podría
+            // guardarse en la caché ya invalidada como si fuera vigente
+            enCurso.olvidar();
+            String normalizado = titulo == null ? null : titulo.trim().toLowerCase();
+            porTitulo.invalidarSi((clave, valor) -> clave.toLowerCase().equals(normalizado)
+                    || valor.map(p -> p.getId() == id || p.getTitulo().trim().toLowerCase().equals(normalizado)).orElse(false));
+            titulos.invalidarTodo();
+            listados.invalidarTodo();
+        }
+
+        /**
+         * Invalida las entradas afectadas por películas nuevas, que no cambian las ya encontradas por título.
+         */
+        void invalidarAltas() {
+            enCurso.olvidar();
+            porTitulo.invalidarSi((clave, valor) -> valor.isEmpty());
+            titulos.invalidarTodo();
+            listados.invalidarTodo();
+        }
+    }
+
+    /**
+     * Devuelve las cachés de lectura utilizadas por este servicio, para consultar sus métricas.
+     *
+     * @return cachés por título, de títulos y de listados
+     */
+    public List<CacheCatalogo<?, ?>> getCaches() {
+        return List.of(caches.porTitulo, caches.titulos, caches.listados);
+    }
+
+    /**
+     * Devuelve el agrupador de consultas simultáneas, para consultar cuántas se compartieron.
+     *
+     * @return agrupador de las cargas de las cachés
+     */
+    public CargaUnica<List<Object>> getCargasCompartidas() {
+        return caches.enCurso;
+    }
+
+    /**
+     * Carga la lista de títulos desde el DAO, compartiendo la consulta con las llamadas simultáneas.
+     */
+    private List<String> cargarTitulos() {
+        return caches.enCurso.obtener(CargaUnica.clave("obtenerTodosLosTitulos"),
+                () -> Collections.unmodifiableList(cargar(dao::obtenerTodosLosTitulos)));
+    }
+
+    /**
+     * Devuelve una copia de la película para que los cambios del llamador no alteren la caché.
+     */
+    private static Pelicula copiar(Pelicula p) {
+        return p == null ? null : new Pelicula(p.getId(), p.getTitulo(), p.getDirector(), p.getAnno(),
+                p.getDuracion(), p.getGenero(), p.getRutaPortada());
+    }
+
+    /**
+     * Adapta una consulta del DAO al {@link java.util.function.Supplier} de la caché.
+     * Las excepciones se propagan sin guardar nada en la caché.
+     */
+    private interface Consulta<T> {
+        T ejecutar() throws SQLException;
+    }
+
+    private static <T> T cargar(Consulta<T> consulta) {
+        try {
+            return consulta.ejecutar();
+        } catch (SQLException e) {
+            throw new ErrorConsulta(e);
+        }
+    }
+
+    /**
+     * Transporta una {@link SQLException} a través de la carga de la caché.
+     */
+    private static final class ErrorConsulta extends RuntimeException {
+        ErrorConsulta(SQLException causa) {
+            super(causa.getMessage(), causa);
+        }
     }
 
     /**
@@ -48,17 +213,39 @@ public class PeliculaService {
      * Valida que el título no esté vacío y registra el resultado en el log.
      *
      * @param titulo Título de la película a buscar
-     * @return Instancia de {@link Pelicula} si se encuentra, {@code null} si no existe o si el título es inválido
+     * @return Instancia de {@link Pelicula} si se encuentra, {@code null} si no existe, si el título es inválido
+     *         o si ocurre un error
+     * @see #buscar(String)
      */
     public Pelicula buscarPorTitulo(String titulo) {
+        return buscar(titulo).getValorO(null);
+    }
+
+    /**
+     * Busca una película por su título exacto, informando el motivo si la búsqueda no se pudo realizar.
+     *
+     * @param titulo Título de la película a buscar
+     * @return Resultado con la película, o con {@code null} si no existe; rechazado si el título está vacío
+     */
+    public ResultadoOperacion<Pelicula> buscar(String titulo) {
+        long inicio = System.nanoTime();
+        EventoServicio evento = EventoServicio.iniciar("buscar");
         if (titulo == null || titulo.trim().isEmpty()) {
-            DialogUtils.error("El título no puede estar vacío.");
             logger.warning("Búsqueda fallida: título vacío.");
-            return null;
+            return medir(M_BUSCAR, inicio, evento, ResultadoOperacion.rechazado("El título no puede estar vacío."));
+        }
+        String clave = titulo.trim();
+        try {
+            Pelicula p = caches.porTitulo.obtener(clave, () -> caches.enCurso.obtener(CargaUnica.clave("buscarPorTitulo", clave),
+                    () -> Optional.ofNullable(cargar(() -> dao.buscarPorTitulo(clave))))).orElse(null);
+            if (MUESTREO_BUSQUEDAS.admitir(logger, Level.INFO)) {
+                String omitidos = MUESTREO_BUSQUEDAS.tomarOmitidos();
+                logger.info(() -> "Búsqueda por título: '" + titulo + "' → " + (p != null ? "encontrada" : "no encontrada") + omitidos);
+            }
+            return medir(M_BUSCAR, inicio, evento, ResultadoOperacion.exito(copiar(p)));
+        } catch (ErrorConsulta ex) {
+            return medir(M_BUSCAR, inicio, evento, registrarError("Error al buscar la película", (Exception) ex.getCause()));
         }
-        Pelicula p = dao.buscarPorTitulo(titulo.trim());
-        logger.info("Búsqueda por título: '" + titulo + "' → " + (p != null ? "encontrada" : "no encontrada"));
-        return p;
     }
 
     /**
@@ -67,21 +254,140 @@ public class PeliculaService {
      *
      * @param p Película a agregar
      * @return {@code true} si fue agregada correctamente, {@code false} si ocurrió un error o no pasó la validación
+     * @see #agregar(Pelicula)
      */
     public boolean agregarPelicula(Pelicula p) {
-        if (!validarPelicula(p)) {
-            logger.warning("Película inválida para agregar: " + p);
-            return false;
+        return agregar(p).isExito();
+    }
+
+    /**
+     * Agrega una nueva película tras validarla, informando el motivo si no se agregó.
+     *
+     * @param p Película a agregar
+     * @return Resultado con la película agregada; rechazado si no pasó la validación
+     */
+    public ResultadoOperacion<Pelicula> agregar(Pelicula p) {
+        long inicio = System.nanoTime();
+        EventoServicio evento = EventoServicio.iniciar("agregar");
+        String invalida = validarPelicula(p);
+        if (invalida != null) {
+            logger.warning(() -> "Película inválida para agregar: " + p);
+            return medir(M_AGREGAR, inicio, evento, ResultadoOperacion.rechazado(invalida));
         }
 
         try {
             boolean resultado = dao.insertar(p);
-            logger.info("Película agregada: " + p.getTitulo() + " → " + resultado);
-            return resultado;
+            caches.invalidarPelicula(p.getTitulo(), p.getId());
+            if (resultado) {
+                caches.catalogo.agregar(p.getTitulo());
+            }
+            logger.info(() -> "Película agregada: " + p.getTitulo() + " → " + resultado);
+            return medir(M_AGREGAR, inicio, evento, resultado ? ResultadoOperacion.exito(p)
+                    : ResultadoOperacion.rechazado("La base de datos no insertó la película."));
         } catch (Exception ex) {
-            mostrarError("Error al agregar la película", ex);
-            return false;
+            return medir(M_AGREGAR, inicio, evento, registrarError("Error al agregar la película", ex));
+        }
+    }
+
+    /**
+     * Agrega un conjunto de películas en lotes de {@link #TAMANO_LOTE_PREDETERMINADO}.
+     * No muestra diálogos: cada fila informa su propio resultado.
+     *
+     * @param peliculas Películas a agregar
+     * @return Resultado de cada fila, en el mismo orden de entrada
+     */
+    public List<ResultadoCarga> agregarPeliculas(Iterable<Pelicula> peliculas) {
+        List<ResultadoCarga> resultados = new ArrayList<>();
+        agregarPeliculas(peliculas, TAMANO_LOTE_PREDETERMINADO, resultados::add);
+        resultados.sort(Comparator.comparingInt(ResultadoCarga::getFila));
+        return resultados;
+    }
+
+    /**
+     * Agrega un conjunto de películas validándolas con {@link PeliculaValidador} e insertándolas
+     * en batches JDBC de {@code tamanoLote} filas, cada uno en su propia transacción.
+     *
+     * <p>Solo se mantiene en memoria un lote a la vez, por lo que {@code peliculas} puede ser
+     * una fuente perezosa de cualquier tamaño (por ejemplo, {@link ImportadorCartelera}).
+     * Las filas inválidas se informan sin detener la carga; si un lote falla en la base de datos,
+     * todas sus filas se informan como rechazadas.</p>
+     *
+     * @param peliculas  Películas a agregar
+     * @param tamanoLote Cantidad de filas por batch
+     * @param alProcesar Recibe el resultado de cada fila a medida que se procesa (las filas inválidas
+     *                   se informan de inmediato, las válidas al insertarse su lote)
+     * @return Cantidad de películas insertadas
+     */
+    public int agregarPeliculas(Iterable<Pelicula> peliculas, int tamanoLote, Consumer<ResultadoCarga> alProcesar) {
+        if (tamanoLote <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser mayor a cero.");
+        }
+        long inicio = System.nanoTime();
+        EventoServicio evento = EventoServicio.iniciar("agregarPeliculas");
+        List<Pelicula> lote = new ArrayList<>(tamanoLote);
+        int[] filasLote = new int[tamanoLote];
+        int fila = 0;
+        int insertadas = 0;
+
+        for (Pelicula p : peliculas) {
+            fila++;
+            try {
+                PeliculaValidador.validar(p);
+            } catch (IllegalArgumentException ex) {
+                alProcesar.accept(new ResultadoCarga(fila, p, false, ex.getMessage()));
+                continue;
+            }
+            filasLote[lote.size()] = fila;
+            lote.add(p);
+            if (lote.size() == tamanoLote) {
+                insertadas += insertarLote(lote, filasLote, alProcesar);
+            }
+        }
+        insertadas += insertarLote(lote, filasLote, alProcesar);
+        int procesadas = fila;
+        int total = insertadas;
+        logger.info(() -> "Carga masiva: " + procesadas + " fila(s) procesada(s), " + total + " insertada(s)");
+        M_AGREGAR_LOTES.registrar(inicio, total);
+        evento.terminar(ResultadoOperacion.Estado.EXITO);
+        return total;
+    }
+
+    /**
+     * Inserta un lote validado, informa el resultado de cada fila y vacía el lote.
+     * Como las filas rechazadas por validación no forman parte del lote, {@code filasLote}
+     * guarda la posición de origen de cada película.
+     */
+    private int insertarLote(List<Pelicula> lote, int[] filasLote, Consumer<ResultadoCarga> alProcesar) {
+        if (lote.isEmpty()) {
+            return 0;
         }
+        int insertadas = 0;
+        try {
+            int[] filas = dao.insertarLote(lote);
+            List<String> titulos = new ArrayList<>(lote.size());
+            for (int i = 0; i < lote.size(); i++) {
+                // SUCCESS_NO_INFO (-2) indica éxito cuando el driver reescribe el batch
+                boolean exito = filas[i] > 0 || filas[i] == Statement.SUCCESS_NO_INFO;
+                if (exito) {
+                    insertadas++;
+                    titulos.add(lote.get(i).getTitulo());
+                }
+                alProcesar.accept(new ResultadoCarga(filasLote[i], lote.get(i), exito,
+                        exito ? null : "La base de datos no insertó la fila."));
+            }
+            if (insertadas > 0) {
+                caches.invalidarAltas();
+            }
+            caches.catalogo.agregar(titulos);
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, ex, () -> "Error al insertar lote desde la fila " + filasLote[0]);
+            for (int i = 0; i < lote.size(); i++) {
+                alProcesar.accept(new ResultadoCarga(filasLote[i], lote.get(i), false,
+                        "Lote revertido: " + ex.getMessage()));
+            }
+        }
+        lote.clear();
+        return insertadas;
     }
 
     /**
@@ -90,25 +396,43 @@ public class PeliculaService {
      *
      * @param p Película con los datos actualizados
      * @return {@code true} si fue modificada correctamente, {@code false} si ocurrió un error o no pasó la validación
+     * @see #modificar(Pelicula)
      */
     public boolean modificarPelicula(Pelicula p) {
+        return modificar(p).isExito();
+    }
+
+    /**
+     * Modifica una película existente tras validarla, informando el motivo si no se modificó.
+     *
+     * @param p Película con los datos actualizados
+     * @return Resultado con la película modificada; rechazado si no pasó la validación o no existe
+     */
+    public ResultadoOperacion<Pelicula> modificar(Pelicula p) {
+        long inicio = System.nanoTime();
+        EventoServicio evento = EventoServicio.iniciar("modificar");
         if (p.getId() <= 0) {
-            DialogUtils.error("La película debe tener un ID válido para modificar.");
-            logger.warning("Modificación fallida: ID inválido para " + p.getTitulo());
-            return false;
+            logger.warning(() -> "Modificación fallida: ID inválido para " + p.getTitulo());
+            return medir(M_MODIFICAR, inicio, evento, ResultadoOperacion.rechazado("La película debe tener un ID válido para modificar."));
         }
-        if (!validarPelicula(p)) {
-            logger.warning("Película inválida para modificar: " + p);
-            return false;
+        String invalida = validarPelicula(p);
+        if (invalida != null) {
+            logger.warning(() -> "Película inválida para modificar: " + p);
+            return medir(M_MODIFICAR, inicio, evento, ResultadoOperacion.rechazado(invalida));
         }
 
         try {
             boolean resultado = dao.actualizarPelicula(p);
-            logger.info("Película modificada: " + p.getTitulo() + " → " + resultado);
-            return resultado;
+            caches.invalidarPelicula(p.getTitulo(), p.getId());
+            if (resultado) {
+                // El título anterior no se conoce aquí, por lo que el catálogo se recarga completo
+                caches.catalogo.invalidar();
+            }
+            logger.info(() -> "Película modificada: " + p.getTitulo() + " → " + resultado);
+            return medir(M_MODIFICAR, inicio, evento, resultado ? ResultadoOperacion.exito(p)
+                    : ResultadoOperacion.rechazado("La película ya no existe."));
         } catch (Exception ex) {
-            mostrarError("Error al modificar la película", ex);
-            return false;
+            return medir(M_MODIFICAR, inicio, evento, registrarError("Error al modificar la película", ex));
         }
     }
 
@@ -118,21 +442,37 @@ public class PeliculaService {
      *
      * @param titulo Título de la película a eliminar
      * @return {@code true} si fue eliminada correctamente, {@code false} si no se encontró o el título es inválido
+     * @see #eliminar(String)
      */
     public boolean eliminarPorTitulo(String titulo) {
+        return eliminar(titulo).isExito();
+    }
+
+    /**
+     * Elimina una película por su título, informando el motivo si no se eliminó.
+     *
+     * @param titulo Título de la película a eliminar
+     * @return Resultado con el título eliminado; rechazado si el título está vacío o no existe
+     */
+    public ResultadoOperacion<String> eliminar(String titulo) {
+        long inicio = System.nanoTime();
+        EventoServicio evento = EventoServicio.iniciar("eliminar");
         if (titulo == null || titulo.trim().isEmpty()) {
-            DialogUtils.error("Debes ingresar un título válido para eliminar.");
             logger.warning("Eliminación fallida: título vacío.");
-            return false;
+            return medir(M_ELIMINAR, inicio, evento, ResultadoOperacion.rechazado("Debes ingresar un título válido para eliminar."));
         }
 
         try {
             boolean resultado = dao.eliminarPorTitulo(titulo.trim());
-            logger.info("Película eliminada: " + titulo + " → " + resultado);
-            return resultado;
+            caches.invalidarPelicula(titulo, -1);
+            if (resultado) {
+                caches.catalogo.eliminar(titulo);
+            }
+            logger.info(() -> "Película eliminada: " + titulo + " → " + resultado);
+            return medir(M_ELIMINAR, inicio, evento, resultado ? ResultadoOperacion.exito(titulo.trim())
+                    : ResultadoOperacion.rechazado("No existe una película con ese título."));
         } catch (Exception ex) {
-            mostrarError("Error al eliminar la película", ex);
-            return false;
+            return medir(M_ELIMINAR, inicio, evento, registrarError("Error al eliminar la película", ex));
         }
     }
 
@@ -140,44 +480,108 @@ public class PeliculaService {
      * Obtiene una lista de todos los títulos de películas en el sistema.
      * Registra la cantidad obtenida en el log.
      *
-     * @return Lista de títulos de películas
+     * @return Lista de solo lectura con los títulos de películas, o una lista vacía si ocurre un error
      */
     public List<String> obtenerTodosLosTitulos() {
-        List<String> titulos = dao.obtenerTodosLosTitulos();
-        logger.info("Títulos obtenidos: " + titulos.size());
-        return titulos;
+        long inicio = System.nanoTime();
+        EventoServicio evento = EventoServicio.iniciar("obtenerTodosLosTitulos");
+        try {
+            List<String> titulos = caches.titulos.obtener("*", this::cargarTitulos);
+            logger.info(() -> "Títulos obtenidos: " + titulos.size());
+            M_TITULOS.registrar(inicio);
+            evento.terminar(ResultadoOperacion.Estado.EXITO);
+            return titulos;
+        } catch (ErrorConsulta ex) {
+            M_TITULOS.registrarError(inicio);
+            evento.terminar(ResultadoOperacion.Estado.ERROR);
+            registrarError("Error al obtener los títulos", (Exception) ex.getCause());
+            return List.of();
+        }
+    }
+
+    /**
+     * Obtiene el catálogo ordenado de títulos compartido por los combos de búsqueda,
+     * cargándolo si aún no se cargó o si una modificación lo dejó desactualizado.
+     * Las altas y bajas hechas mediante este servicio lo actualizan sin volver a consultarlo.
+     *
+     * @return Catálogo de títulos; si ocurre un error conserva su contenido anterior
+     */
+    public CatalogoTitulos obtenerCatalogoTitulos() {
+        CatalogoTitulos catalogo = caches.catalogo;
+        long inicio = System.nanoTime();
+        EventoServicio evento = EventoServicio.iniciar("obtenerCatalogoTitulos");
+        try {
+            // Si hubo escrituras durante la consulta, la carga se descarta y se repite
+            for (int intento = 0; intento < 3 && !estaVigente(catalogo); intento++) {
+                long version = catalogo.getVersion();
+                List<String> titulos = caches.titulos.obtener("*", this::cargarTitulos);
+                catalogo.cargar(titulos, version);
+            }
+            logger.info(() -> "Catálogo de títulos: " + catalogo.instantanea().getTamano() + " título(s)");
+            M_CATALOGO.registrar(inicio);
+            evento.terminar(ResultadoOperacion.Estado.EXITO);
+        } catch (ErrorConsulta ex) {
+            M_CATALOGO.registrarError(inicio);
+            evento.terminar(ResultadoOperacion.Estado.ERROR);
+            registrarError("Error al obtener los títulos", (Exception) ex.getCause());
+        }
+        return catalogo;
+    }
+
+    /**
+     * Un catálogo cargado hace más de {@code cinemagenta.cache.ttlMs} se recarga, igual que
+     * las cachés, para ver los títulos agregados desde otro equipo.
+     */
+    private static boolean estaVigente(CatalogoTitulos catalogo) {
+        return catalogo.estaVigente() && System.currentTimeMillis() - catalogo.getCargadoEn() < Caches.TTL_MS;
     }
 
     /**
      * Valida los datos de una película antes de insertarla o modificarla.
-     * Muestra mensajes al usuario y registra advertencias en el log si los datos son inválidos.
+     * Registra advertencias en el log si los datos son inválidos.
      *
      * @param p La película a validar
-     * @return {@code true} si los datos son válidos, {@code false} en caso contrario
+     * @return Motivo por el que los datos no son válidos, o {@code null} si son válidos
      */
-    private boolean validarPelicula(Pelicula p) {
+    private String validarPelicula(Pelicula p) {
         if (p.getTitulo().isEmpty() || p.getDirector().isEmpty()) {
-            DialogUtils.error("Título y director son obligatorios.");
             logger.warning("Validación fallida: título/director vacío.");
-            return false;
+            return "Título y director son obligatorios.";
         }
         if (p.getAnno() <= 1800 || p.getDuracion() <= 0) {
-            DialogUtils.error("Año y duración deben ser valores válidos.");
             logger.warning("Validación fallida: año/duración inválidos.");
-            return false;
+            return "Año y duración deben ser valores válidos.";
         }
-        return true;
+        return null;
     }
 
     /**
-     * Muestra un mensaje de error en un cuadro de diálogo y registra la excepción en el log.
+     * Registra la excepción en el log y la informa como resultado de la operación.
      *
-     * @param mensaje Mensaje a mostrar al usuario
+     * @param mensaje Descripción de la operación que falló
      * @param ex Excepción que causó el error
+     * @return Resultado con error
      */
-    private void mostrarError(String mensaje, Exception ex) {
-        DialogUtils.error(mensaje + ": " + ex.getMessage());
+    private static <T> ResultadoOperacion<T> registrarError(String mensaje, Exception ex) {
         logger.log(Level.SEVERE, mensaje, ex);
+        return ResultadoOperacion.error(mensaje, ex);
+    }
+
+    /**
+     * Registra la duración de la operación en su métrica, como error si el resultado lo es,
+     * y finaliza su evento JFR con el desenlace.
+     *
+     * @return el mismo resultado
+     */
+    private static <T> ResultadoOperacion<T> medir(MetricaOperacion metrica, long inicio, EventoServicio evento,
+                                                   ResultadoOperacion<T> resultado) {
+        evento.terminar(resultado.getEstado());
+        if (resultado.getEstado() == ResultadoOperacion.Estado.ERROR) {
+            metrica.registrarError(inicio);
+        } else {
+            metrica.registrar(inicio);
+        }
+        return resultado;
     }
 
     /**
@@ -187,34 +591,252 @@ public class PeliculaService {
      * @param genero    Género a filtrar (puede ser {@code null} para no aplicar filtro)
      * @param annoDesde Año inicial del rango (puede ser {@code null} para no aplicar filtro)
      * @param annoHasta Año final del rango (puede ser {@code null} para no aplicar filtro)
-     * @return Lista de películas que cumplen con los filtros especificados, o una lista vacía si ocurre un error
+     * @return Lista de solo lectura con las películas que cumplen con los filtros especificados,
+     *         o una lista vacía si ocurre un error
      */
     public List<Pelicula> listarPeliculas(Genero genero, Integer annoDesde, Integer annoHasta) {
+        long inicio = System.nanoTime();
+        EventoServicio evento = EventoServicio.iniciar("listarPeliculas");
         try {
-            List<Pelicula> lista = dao.listarPeliculas(genero, annoDesde, annoHasta);
-            logger.info("Listado de películas: genero=" + genero + ", desde=" + annoDesde + ", hasta=" + annoHasta + " → " + lista.size() + " resultado(s)");
+            List<Pelicula> lista = caches.listados.obtener(Arrays.asList(genero, annoDesde, annoHasta),
+                    () -> caches.enCurso.obtener(CargaUnica.clave("listarPeliculas", genero, annoDesde, annoHasta),
+                            () -> Collections.unmodifiableList(cargar(() -> dao.listarPeliculas(genero, annoDesde, annoHasta)))));
+            logger.info(() -> "Listado de películas: genero=" + genero + ", desde=" + annoDesde + ", hasta=" + annoHasta + " → " + lista.size() + " resultado(s)");
+            M_LISTAR.registrar(inicio);
+            evento.terminar(ResultadoOperacion.Estado.EXITO);
             return lista;
-        } catch (Exception ex) {
-            mostrarError("Error al listar películas", ex);
+        } catch (ErrorConsulta ex) {
+            M_LISTAR.registrarError(inicio);
+            evento.terminar(ResultadoOperacion.Estado.ERROR);
+            registrarError("Error al listar películas", (Exception) ex.getCause());
             return new ArrayList<>();
         }
     }
 
+    /**
+     * Obtiene una página de películas ordenadas por título, aplicando filtros opcionales por género y rango de años.
+     * Para obtener la página siguiente se entrega como cursor el último elemento de la página anterior.
+     *
+     * @param genero    Género a filtrar (puede ser {@code null} para no aplicar filtro)
+     * @param annoDesde Año inicial del rango (puede ser {@code null} para no aplicar filtro)
+     * @param annoHasta Año final del rango (puede ser {@code null} para no aplicar filtro)
+     * @param despuesDe Última película de la página anterior, o {@code null} para la primera página
+     * @param tamano    Cantidad máxima de películas por página
+     * @return Página de películas, o una página vacía si ocurre un error
+     */
+    public Pagina<Pelicula> listarPagina(Genero genero, Integer annoDesde, Integer annoHasta, Pelicula despuesDe, int tamano) {
+        return listarPagina(genero, annoDesde, annoHasta, OrdenPeliculas.PREDETERMINADO, despuesDe, tamano);
+    }
+
+    /**
+     * Obtiene una página de películas en el orden indicado, aplicando filtros opcionales.
+     * El ordenamiento lo resuelve la base de datos.
+     *
+     * @param genero    Género a filtrar (puede ser {@code null} para no aplicar filtro)
+     * @param annoDesde Año inicial del rango (puede ser {@code null} para no aplicar filtro)
+     * @param annoHasta Año final del rango (puede ser {@code null} para no aplicar filtro)
+     * @param orden     Columna y dirección del ordenamiento
+     * @param despuesDe Última película de la página anterior, o {@code null} para la primera página
+     * @param tamano    Cantidad máxima de películas por página
+     * @return Página de películas, o una página vacía si ocurre un error
+     * @see #obtenerPagina(Genero, Integer, Integer, OrdenPeliculas, Pelicula, int)
+     */
+    public Pagina<Pelicula> listarPagina(Genero genero, Integer annoDesde, Integer annoHasta, OrdenPeliculas orden,
+                                         Pelicula despuesDe, int tamano) {
+        return obtenerPagina(genero, annoDesde, annoHasta, orden, despuesDe, tamano).getValorO(new Pagina<>(List.of(), false));
+    }
+
+    /**
+     * Obtiene una página de películas en el orden indicado, informando el error si la consulta falla,
+     * para que quien guarda las páginas no confunda un error con una página vacía.
+     *
+     * @param genero    Género a filtrar (puede ser {@code null} para no aplicar filtro)
+     * @param annoDesde Año inicial del rango (puede ser {@code null} para no aplicar filtro)
+     * @param annoHasta Año final del rango (puede ser {@code null} para no aplicar filtro)
+     * @param orden     Columna y dirección del ordenamiento
+     * @param despuesDe Última película de la página anterior, o {@code null} para la primera página
+     * @param tamano    Cantidad máxima de películas por página
+     * @return Resultado con la página de películas
+     */
+    public ResultadoOperacion<Pagina<Pelicula>> obtenerPagina(Genero genero, Integer annoDesde, Integer annoHasta,
+                                                             OrdenPeliculas orden, Pelicula despuesDe, int tamano) {
+        long inicio = System.nanoTime();
+        EventoServicio evento = EventoServicio.iniciar("listarPagina");
+        try {
+            return medir(M_PAGINA, inicio, evento,
+                    ResultadoOperacion.exito(dao.listarPagina(genero, annoDesde, annoHasta, orden, despuesDe, tamano)));
+        } catch (Exception ex) {
+            return medir(M_PAGINA, inicio, evento, registrarError("Error al listar películas", ex));
+        }
+    }
+
+    /**
+     * Obtiene las películas a partir de una posición del listado ordenado por título.
+     * Pensado para saltar a una posición arbitraria; para avanzar de forma secuencial conviene
+     * {@link #listarPagina}, que no recorre las filas anteriores.
+     *
+     * @param genero    Género a filtrar (puede ser {@code null} para no aplicar filtro)
+     * @param annoDesde Año inicial del rango (puede ser {@code null} para no aplicar filtro)
+     * @param annoHasta Año final del rango (puede ser {@code null} para no aplicar filtro)
+     * @param desde     Posición de la primera película, comenzando en 0
+     * @param cantidad  Cantidad máxima de películas
+     * @return Películas en orden de título, o una lista vacía si ocurre un error
+     */
+    public List<Pelicula> listarDesde(Genero genero, Integer annoDesde, Integer annoHasta, int desde, int cantidad) {
+        return listarDesde(genero, annoDesde, annoHasta, OrdenPeliculas.PREDETERMINADO, desde, cantidad);
+    }
+
+    /**
+     * Obtiene las películas a partir de una posición del listado en el orden indicado.
+     *
+     * @param genero    Género a filtrar (puede ser {@code null} para no aplicar filtro)
+     * @param annoDesde Año inicial del rango (puede ser {@code null} para no aplicar filtro)
+     * @param annoHasta Año final del rango (puede ser {@code null} para no aplicar filtro)
+     * @param orden     Columna y dirección del ordenamiento
+     * @param desde     Posición de la primera película, comenzando en 0
+     * @param cantidad  Cantidad máxima de películas
+     * @return Películas en el orden indicado, o una lista vacía si ocurre un error
+     * @see #obtenerDesde(Genero, Integer, Integer, OrdenPeliculas, int, int)
+     */
+    public List<Pelicula> listarDesde(Genero genero, Integer annoDesde, Integer annoHasta, OrdenPeliculas orden,
+                                      int desde, int cantidad) {
+        return obtenerDesde(genero, annoDesde, annoHasta, orden, desde, cantidad).getValorO(List.of());
+    }
+
+    /**
+     * Obtiene las películas a partir de una posición del listado en el orden indicado, informando el error
+     * si la consulta falla.
+     *
+     * @param genero    Género a filtrar (puede ser {@code null} para no aplicar filtro)
+     * @param annoDesde Año inicial del rango (puede ser {@code null} para no aplicar filtro)
+     * @param annoHasta Año final del rango (puede ser {@code null} para no aplicar filtro)
+     * @param orden     Columna y dirección del ordenamiento
+     * @param desde     Posición de la primera película, comenzando en 0
+     * @param cantidad  Cantidad máxima de películas
+     * @return Resultado con las películas en el orden indicado
+     */
+    public ResultadoOperacion<List<Pelicula>> obtenerDesde(Genero genero, Integer annoDesde, Integer annoHasta,
+                                                          OrdenPeliculas orden, int desde, int cantidad) {
+        long inicio = System.nanoTime();
+        EventoServicio evento = EventoServicio.iniciar("listarDesde");
+        try {
+            return medir(M_DESDE, inicio, evento,
+                    ResultadoOperacion.exito(dao.listarDesde(genero, annoDesde, annoHasta, orden, desde, cantidad)));
+        } catch (Exception ex) {
+            return medir(M_DESDE, inicio, evento, registrarError("Error al listar películas", ex));
+        }
+    }
+
+    /**
+     * Cuenta las películas que cumplen los filtros.
+     *
+     * @param genero    Género a filtrar (puede ser {@code null} para no aplicar filtro)
+     * @param annoDesde Año inicial del rango (puede ser {@code null} para no aplicar filtro)
+     * @param annoHasta Año final del rango (puede ser {@code null} para no aplicar filtro)
+     * @return Cantidad de películas, o {@code 0} si ocurre un error
+     * @see #contar(Genero, Integer, Integer)
+     */
+    public int contarPeliculas(Genero genero, Integer annoDesde, Integer annoHasta) {
+        return contar(genero, annoDesde, annoHasta).getValorO(0);
+    }
+
+    /**
+     * Cuenta las películas que cumplen los filtros, informando el error si la consulta falla.
+     *
+     * @param genero    Género a filtrar (puede ser {@code null} para no aplicar filtro)
+     * @param annoDesde Año inicial del rango (puede ser {@code null} para no aplicar filtro)
+     * @param annoHasta Año final del rango (puede ser {@code null} para no aplicar filtro)
+     * @return Resultado con la cantidad de películas
+     */
+    public ResultadoOperacion<Integer> contar(Genero genero, Integer annoDesde, Integer annoHasta) {
+        long inicio = System.nanoTime();
+        EventoServicio evento = EventoServicio.iniciar("contar");
+        try {
+            return medir(M_CONTAR, inicio, evento, ResultadoOperacion.exito(dao.contarPeliculas(genero, annoDesde, annoHasta)));
+        } catch (Exception ex) {
+            return medir(M_CONTAR, inicio, evento, registrarError("Error al contar películas", ex));
+        }
+    }
+
+    /**
+     * Recorre todas las películas que cumplen los filtros sin cargarlas completas en memoria.
+     * Cada película se entrega al consumidor a medida que llega desde la base de datos.
+     *
+     * @param genero     Género a filtrar (puede ser {@code null} para no aplicar filtro)
+     * @param annoDesde  Año inicial del rango (puede ser {@code null} para no aplicar filtro)
+     * @param annoHasta  Año final del rango (puede ser {@code null} para no aplicar filtro)
+     * @param consumidor Recibe cada película en orden de título
+     * @return Cantidad de películas entregadas
+     */
+    public int recorrerPeliculas(Genero genero, Integer annoDesde, Integer annoHasta, Consumer<Pelicula> consumidor) {
+        long inicio = System.nanoTime();
+        EventoServicio evento = EventoServicio.iniciar("recorrerPeliculas");
+        try {
+            int total = dao.recorrerPeliculas(genero, annoDesde, annoHasta, consumidor);
+            M_RECORRER.registrar(inicio);
+            evento.terminar(ResultadoOperacion.Estado.EXITO);
+            return total;
+        } catch (Exception ex) {
+            M_RECORRER.registrarError(inicio);
+            evento.terminar(ResultadoOperacion.Estado.ERROR);
+            registrarError("Error al recorrer películas", ex);
+            return 0;
+        }
+    }
+
+    /**
+     * Elimina de la carpeta de portadas las imágenes almacenadas por contenido que ninguna película
+     * referencia, por ejemplo las reemplazadas al modificar una película. Pensado para ejecutarse
+     * en segundo plano, por lo que los errores solo se registran en el log.
+     *
+     * @return Cantidad de portadas eliminadas
+     */
+    public int recolectarPortadas() {
+        long inicio = System.nanoTime();
+        EventoServicio evento = EventoServicio.iniciar("recolectarPortadas");
+        try {
+            int eliminadas = AlmacenPortadas.recolectar(AlmacenPortadas.CARPETA, dao.obtenerRutasPortada(), GRACIA_PORTADAS_MS);
+            M_RECOLECTAR.registrar(inicio);
+            evento.terminar(ResultadoOperacion.Estado.EXITO);
+            return eliminadas;
+        } catch (Exception ex) {
+            M_RECOLECTAR.registrarError(inicio);
+            evento.terminar(ResultadoOperacion.Estado.ERROR);
+            logger.log(Level.WARNING, "No se pudo completar la recolección de portadas", ex);
+            return 0;
+        }
+    }
+
     /**
      * Busca películas cuyo título contenga el texto indicado (búsqueda parcial).
      * Registra el texto buscado y la cantidad de resultados en el log.
      *
      * @param texto Texto a buscar dentro del título
      * @return Lista de películas que coinciden parcial o totalmente, o una lista vacía si ocurre un error
+     * @see #buscarCoincidencias(String)
      */
     public List<Pelicula> buscarPeliculasPorTitulo(String texto) {
+        return buscarCoincidencias(texto).getValorO(List.of());
+    }
+
+    /**
+     * Busca películas cuyo título contenga el texto indicado, informando el error si la consulta falla.
+     *
+     * @param texto Texto a buscar dentro del título
+     * @return Resultado con las películas que coinciden parcial o totalmente
+     */
+    public ResultadoOperacion<List<Pelicula>> buscarCoincidencias(String texto) {
+        long inicio = System.nanoTime();
+        EventoServicio evento = EventoServicio.iniciar("buscarCoincidencias");
         try {
             List<Pelicula> resultados = dao.buscarPorTituloParcial(texto);
-            logger.info("Búsqueda parcial por título='" + texto + "' → " + resultados.size() + " resultado(s)");
-            return resultados;
+            if (MUESTREO_COINCIDENCIAS.admitir(logger, Level.INFO)) {
+                String omitidos = MUESTREO_COINCIDENCIAS.tomarOmitidos();
+                logger.info(() -> "Búsqueda parcial por título='" + texto + "' → " + resultados.size() + " resultado(s)" + omitidos);
+            }
+            return medir(M_COINCIDENCIAS, inicio, evento, ResultadoOperacion.exito(resultados));
         } catch (Exception ex) {
-            mostrarError("Error al buscar películas", ex);
-            return List.of();
+            return medir(M_COINCIDENCIAS, inicio, evento, registrarError("Error al buscar películas", ex));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package service;
+
+import dao.OrdenPeliculas;
+import dao.Pagina;
+import model.Genero;
+import model.Pelicula;
+import util.ConexionDB;
+import util.EjecutorAcotado;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Variante asíncrona de {@link PeliculaService}: cada operación se ejecuta en un hilo virtual y
+ * devuelve un {@link CompletableFuture} con el mismo resultado que la versión bloqueante.
+ *
+ * <p>Las operaciones se delegan en un {@link PeliculaService} (con sus cachés y validaciones)
+ * mediante un {@link EjecutorAcotado}. El ejecutor predeterminado es el mismo que usa
+ * {@link dao.PeliculaDAOAsync} y {@link util.EjecutorUI}, por lo que entre todos nunca hay más
+ * operaciones en curso que conexiones en el pool.</p>
+ *
+ * @author Miguel
+ */
+public class PeliculaServiceAsync {
+
+    private final PeliculaService servicio;
+    private final EjecutorAcotado ejecutor;
+
+    /**
+     * Crea la variante asíncrona del servicio real, con el ejecutor compartido de base de datos.
+     */
+    public PeliculaServiceAsync() {
+        this(new PeliculaService(), ConexionDB.getEjecutor());
+    }
+
+    /**
+     * Constructor alternativo para pruebas, permite inyectar el servicio y el ejecutor.
+     *
+     * @param servicio Servicio bloqueante al que se delegan las operaciones
+     * @param ejecutor Ejecutor que limita las operaciones simultáneas
+     */
+    public PeliculaServiceAsync(PeliculaService servicio, EjecutorAcotado ejecutor) {
+        this.servicio = servicio;
+        this.ejecutor = ejecutor;
+    }
+
+    /** @see PeliculaService#buscarPorTitulo(String) */
+    public CompletableFuture<Pelicula> buscarPorTitulo(String titulo) {
+        return ejecutor.enviar(() -> servicio.buscarPorTitulo(titulo));
+    }
+
+    /** @see PeliculaService#buscar(String) */
+    public CompletableFuture<ResultadoOperacion<Pelicula>> buscar(String titulo) {
+        return ejecutor.enviar(() -> servicio.buscar(titulo));
+    }
+
+    /** @see PeliculaService#buscarCoincidencias(String) */
+    public CompletableFuture<ResultadoOperacion<List<Pelicula>>> buscarCoincidencias(String texto) {
+        return ejecutor.enviar(() -> servicio.buscarCoincidencias(texto));
+    }
+
+    /** @see PeliculaService#buscarPeliculasPorTitulo(String) */
+    public CompletableFuture<List<Pelicula>> buscarPeliculasPorTitulo(String texto) {
+        return ejecutor.enviar(() -> servicio.buscarPeliculasPorTitulo(texto));
+    }
+
+    /** @see PeliculaService#agregarPelicula(Pelicula) */
+    public CompletableFuture<Boolean> agregarPelicula(Pelicula p) {
+        return ejecutor.enviar(() -> servicio.agregarPelicula(p));
+    }
+
+    /** @see PeliculaService#agregar(Pelicula) */
+    public CompletableFuture<ResultadoOperacion<Pelicula>> agregar(Pelicula p) {
+        return ejecutor.enviar(() -> servicio.agregar(p));
+    }
+
+    /** @see PeliculaService#agregarPeliculas(Iterable) */
+    public CompletableFuture<List<ResultadoCarga>> agregarPeliculas(Iterable<Pelicula> peliculas) {
+        return ejecutor.enviar(() -> servicio.agregarPeliculas(peliculas));
+    }
+
+    /** @see PeliculaService#modificarPelicula(Pelicula) */
+    public CompletableFuture<Boolean> modificarPelicula(Pelicula p) {
+        return ejecutor.enviar(() -> servicio.modificarPelicula(p));
+    }
+
+    /** @see PeliculaService#modificar(Pelicula) */
+    public CompletableFuture<ResultadoOperacion<Pelicula>> modificar(Pelicula p) {
+        return ejecutor.enviar(() -> servicio.modificar(p));
+    }
+
+    /** @see PeliculaService#eliminarPorTitulo(String) */
+    public CompletableFuture<Boolean> eliminarPorTitulo(String titulo) {
+        return ejecutor.enviar(() -> servicio.eliminarPorTitulo(titulo));
+    }
+
+    /** @see PeliculaService#eliminar(String) */
+    public CompletableFuture<ResultadoOperacion<String>> eliminar(String titulo) {
+        return ejecutor.enviar(() -> servicio.eliminar(titulo));
+    }
+
+    /** @see PeliculaService#obtenerTodosLosTitulos() */
+    public CompletableFuture<List<String>> obtenerTodosLosTitulos() {
+        return ejecutor.enviar(servicio::obtenerTodosLosTitulos);
+    }
+
+    /** @see PeliculaService#obtenerCatalogoTitulos() */
+    public CompletableFuture<CatalogoTitulos> obtenerCatalogoTitulos() {
+        return ejecutor.enviar(servicio::obtenerCatalogoTitulos);
+    }
+
+    /** @see PeliculaService#listarPeliculas(Genero, Integer, Integer) */
+    public CompletableFuture<List<Pelicula>> listarPeliculas(Genero genero, Integer annoDesde, Integer annoHasta) {
+        return ejecutor.enviar(() -> servicio.listarPeliculas(genero, annoDesde, annoHasta));
+    }
+
+    /** @see PeliculaService#listarPagina(Genero, Integer, Integer, OrdenPeliculas, Pelicula, int) */
+    public CompletableFuture<Pagina<Pelicula>> listarPagina(Genero genero, Integer annoDesde, Integer annoHasta,
+                                                            OrdenPeliculas orden, Pelicula despuesDe, int tamano) {
+        return ejecutor.enviar(() -> servicio.listarPagina(genero, annoDesde, annoHasta, orden, despuesDe, tamano));
+    }
+
+    /** @see PeliculaService#listarDesde(Genero, Integer, Integer, OrdenPeliculas, int, int) */
+    public CompletableFuture<List<Pelicula>> listarDesde(Genero genero, Integer annoDesde, Integer annoHasta,
+                                                         OrdenPeliculas orden, int desde, int cantidad) {
+        return ejecutor.enviar(() -> servicio.listarDesde(genero, annoDesde, annoHasta, orden, desde, cantidad));
+    }
+
+    /** @see PeliculaService#contar(Genero, Integer, Integer) */
+    public CompletableFuture<ResultadoOperacion<Integer>> contar(Genero genero, Integer annoDesde, Integer annoHasta) {
+        return ejecutor.enviar(() -> servicio.contar(genero, annoDesde, annoHasta));
+    }
+
+    /** @see PeliculaService#contarPeliculas(Genero, Integer, Integer) */
+    public CompletableFuture<Integer> contarPeliculas(Genero genero, Integer annoDesde, Integer annoHasta) {
+        return ejecutor.enviar(() -> servicio.contarPeliculas(genero, annoDesde, annoHasta));
+    }
+
+    /**
+     * El consumidor se invoca desde el hilo virtual que recorre el resultado.
+     *
+     * @see PeliculaService#recorrerPeliculas(Genero, Integer, Integer, Consumer)
+     */
+    public CompletableFuture<Integer> recorrerPeliculas(Genero genero, Integer annoDesde, Integer annoHasta,
+                                                        Consumer<Pelicula> consumidor) {
+        return ejecutor.enviar(() -> servicio.recorrerPeliculas(genero, annoDesde, annoHasta, consumidor));
+    }
+
+    /** @see PeliculaService#recolectarPortadas() */
+    public CompletableFuture<Integer> recolectarPortadas() {
+        return ejecutor.enviar(servicio::recolectarPortadas);
+    }
+}
@@ -0,0 +1,65 @@
+package service;
+
+import model.Pelicula;
+
+/**
+ * Resultado de procesar una fila en una carga masiva de películas.
+ * Indica la posición de la fila, la película leída y si fue insertada o el motivo del rechazo.
+ *
+ * @author Miguel
+ */
+public class ResultadoCarga {
+
+    private final int fila;
+    private final Pelicula pelicula;
+    private final boolean exito;
+    private final String mensaje;
+
+    /**
+     * Crea el resultado de una fila.
+     *
+     * @param fila     Posición de la fila dentro de la carga (comienza en 1)
+     * @param pelicula Película procesada (puede ser {@code null} si la fila era nula)
+     * @param exito    {@code true} si la película fue insertada
+     * @param mensaje  Motivo del rechazo, o {@code null} si fue insertada
+     */
+    public ResultadoCarga(int fila, Pelicula pelicula, boolean exito, String mensaje) {
+        this.fila = fila;
+        this.pelicula = pelicula;
+        this.exito = exito;
+        this.mensaje = mensaje;
+    }
+
+    /**
+     * @return posición de la fila dentro de la carga (comienza en 1)
+     */
+    public int getFila() {
+        return fila;
+    }
+
+    /**
+     * @return película procesada
+     */
+    public Pelicula getPelicula() {
+        return pelicula;
+    }
+
+    /**
+     * @return {@code true} si la película fue insertada
+     */
+    public boolean isExito() {
+        return exito;
+    }
+
+    /**
+     * @return motivo del rechazo, o {@code null} si la película fue insertada
+     */
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    @Override
+    public String toString() {
+        return "Fila " + fila + ": " + (exito ? "insertada" : "rechazada (" + mensaje + ")");
+    }
+}
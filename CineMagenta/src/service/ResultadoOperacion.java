@@ -0,0 +1,128 @@
+package service;
+
+/**
+ * Resultado de una operación de {@link PeliculaService}: el valor obtenido, o el motivo por el que
+ * la operación no se completó.
+ *
+ * <p>El servicio no muestra mensajes al usuario; cada interfaz decide cómo presentar el resultado
+ * (los formularios Swing lo muestran en un diálogo, un proceso por lotes lo puede registrar en el log).</p>
+ *
+ * @param <T> Tipo del valor obtenido
+ * @author Miguel
+ */
+public final class ResultadoOperacion<T> {
+
+    /**
+     * Desenlace de la operación.
+     */
+    public enum Estado {
+        /** La operación se completó. */
+        EXITO,
+        /** Los datos no son válidos o la operación no afectó ningún registro. */
+        RECHAZADO,
+        /** Ocurrió un error al acceder a los datos. */
+        ERROR
+    }
+
+    private final Estado estado;
+    private final T valor;
+    private final String mensaje;
+    private final Exception causa;
+
+    private ResultadoOperacion(Estado estado, T valor, String mensaje, Exception causa) {
+        this.estado = estado;
+        this.valor = valor;
+        this.mensaje = mensaje;
+        this.causa = causa;
+    }
+
+    /**
+     * @param valor Valor obtenido (puede ser {@code null}, por ejemplo si una búsqueda no encontró resultados)
+     * @param <T>   Tipo del valor
+     * @return resultado exitoso
+     */
+    public static <T> ResultadoOperacion<T> exito(T valor) {
+        return new ResultadoOperacion<>(Estado.EXITO, valor, null, null);
+    }
+
+    /**
+     * @param mensaje Motivo del rechazo, apto para mostrar al usuario
+     * @param <T>     Tipo del valor
+     * @return resultado rechazado
+     */
+    public static <T> ResultadoOperacion<T> rechazado(String mensaje) {
+        return new ResultadoOperacion<>(Estado.RECHAZADO, null, mensaje, null);
+    }
+
+    /**
+     * @param mensaje Descripción de la operación que falló
+     * @param causa   Excepción que causó el error
+     * @param <T>     Tipo del valor
+     * @return resultado con error; su mensaje incluye el de la excepción
+     */
+    public static <T> ResultadoOperacion<T> error(String mensaje, Exception causa) {
+        return new ResultadoOperacion<>(Estado.ERROR, null, mensaje + ": " + causa.getMessage(), causa);
+    }
+
+    /**
+     * @return desenlace de la operación
+     */
+    public Estado getEstado() {
+        return estado;
+    }
+
+    /**
+     * @return {@code true} si la operación se completó
+     */
+    public boolean isExito() {
+        return estado == Estado.EXITO;
+    }
+
+    /**
+     * @return valor obtenido, o {@code null} si la operación no se completó
+     */
+    public T getValor() {
+        return valor;
+    }
+
+    /**
+     * @param alternativo Valor a devolver si la operación no se completó
+     * @return valor obtenido, o {@code alternativo}
+     */
+    public T getValorO(T alternativo) {
+        return isExito() ? valor : alternativo;
+    }
+
+    /**
+     * Devuelve el valor obtenido o lanza el fallo como excepción, para los llamadores que
+     * manejan los errores con excepciones (por ejemplo, las tareas en segundo plano).
+     *
+     * @return valor obtenido
+     * @throws IllegalStateException si la operación no se completó, con su mensaje y su causa
+     */
+    public T obtener() {
+        if (!isExito()) {
+            throw new IllegalStateException(mensaje, causa);
+        }
+        return valor;
+    }
+
+    /**
+     * @return motivo por el que la operación no se completó, o {@code null} si se completó
+     */
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    /**
+     * @return excepción que causó el error, o {@code null} si no hubo error de acceso a datos
+     */
+    public Exception getCausa() {
+        return causa;
+    }
+
+    @Override
+    public String toString() {
+        return isExito() ? "ResultadoOperacion{EXITO, " + valor + "}" : "ResultadoOperacion{" + estado + ", " + mensaje + "}";
+    }
+}
@@ -0,0 +1,225 @@
+package util;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Almacén en disco de miniaturas de portadas.
+ *
+ * <p>Junto a cada portada se guarda una miniatura ya escalada de
+ * {@link CacheMiniaturas#ANCHO} x {@link CacheMiniaturas#ALTO} píxeles con el sufijo
+ * {@value #SUFIJO} (por ejemplo, {@code matrix.jpg} genera {@code matrix.mini.jpg}).
+ * Mostrar una portada solo requiere leer ese archivo pequeño; la miniatura se vuelve a
+ * generar si la portada es más reciente que ella.</p>
+ *
+ * <p>Al generar una miniatura la portada original se lee con submuestreo
+ * ({@link ImageReadParam#setSourceSubsampling}), de modo que los afiches de gran tamaño
+ * nunca se decodifican completos en memoria.</p>
+ *
+ * @author Miguel
+ */
+public class AlmacenMiniaturas {
+
+    private static final Logger logger = Logger.getLogger(AlmacenMiniaturas.class.getName());
+
+    /** Sufijo de los archivos de miniatura. */
+    public static final String SUFIJO = ".mini.jpg";
+
+    private static final String[] EXTENSIONES = {".jpg", ".jpeg", ".png", ".gif"};
+
+    /**
+     * Constructor privado para evitar instanciación de la clase utilitaria.
+     */
+    private AlmacenMiniaturas() {
+
+    }
+
+    /**
+     * Devuelve el archivo de miniatura correspondiente a una portada.
+     *
+     * @param portada Portada original
+     * @return Archivo de miniatura, exista o no
+     */
+    public static File rutaMiniatura(File portada) {
+        String nombre = portada.getName();
+        int punto = nombre.lastIndexOf('.');
+        String base = punto > 0 ? nombre.substring(0, punto) : nombre;
+        return new File(portada.getAbsoluteFile().getParentFile(), base + SUFIJO);
+    }
+
+    /**
+     * @param portada Portada original
+     * @return {@code true} si existe una miniatura igual o más reciente que la portada
+     */
+    public static boolean estaActualizada(File portada) {
+        File miniatura = rutaMiniatura(portada);
+        return miniatura.isFile() && miniatura.lastModified() >= portada.lastModified();
+    }
+
+    /**
+     * Devuelve la miniatura de una portada, leyéndola desde disco si está actualizada
+     * o generándola (y guardándola) en caso contrario.
+     *
+     * @param portada Portada original
+     * @return Miniatura escalada
+     * @throws IOException si no se puede leer la portada o su formato no es soportado
+     */
+    public static BufferedImage obtener(File portada) throws IOException {
+        if (estaActualizada(portada)) {
+            BufferedImage miniatura = ImageIO.read(rutaMiniatura(portada));
+            if (miniatura != null) {
+                return miniatura;
+            }
+        }
+        return generar(portada);
+    }
+
+    /**
+     * Genera la miniatura de una portada y la guarda junto a ella.
+     * Si no se puede escribir, la miniatura se devuelve igualmente.
+     *
+     * @param portada Portada original
+     * @return Miniatura escalada
+     * @throws IOException si no se puede leer la portada o su formato no es soportado
+     */
+    public static BufferedImage generar(File portada) throws IOException {
+        BufferedImage reducida = leerSubmuestreada(portada, CacheMiniaturas.ANCHO, CacheMiniaturas.ALTO);
+        BufferedImage miniatura = CacheMiniaturas.escalar(reducida, CacheMiniaturas.ANCHO, CacheMiniaturas.ALTO);
+
+        File destino = rutaMiniatura(portada);
+        Path temporal = null;
+        try {
+            // Un temporal único por escritura, para que dos hilos que generan la misma miniatura no se pisen
+            temporal = Files.createTempFile(destino.getAbsoluteFile().getParentFile().toPath(), destino.getName(), ".tmp");
+            if (!ImageIO.write(miniatura, "jpg", temporal.toFile())) {
+                throw new IOException("No hay un escritor JPEG disponible");
+            }
+            Files.move(temporal, destino.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "No se pudo guardar la miniatura de " + portada.getName(), e);
+            if (temporal != null) {
+                temporal.toFile().delete();
+            }
+        }
+        return miniatura;
+    }
+
+    /**
+     * Lee una imagen descartando filas y columnas de modo que el resultado siga siendo
+     * al menos del tamaño indicado. Evita decodificar la imagen completa cuando es mucho mayor.
+     *
+     * @param archivo Imagen a leer
+     * @param ancho   Ancho mínimo deseado
+     * @param alto    Alto mínimo deseado
+     * @return Imagen reducida
+     * @throws IOException si no se puede leer la imagen o su formato no es soportado
+     */
+    public static BufferedImage leerSubmuestreada(File archivo, int ancho, int alto) throws IOException {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(archivo)) {
+            Iterator<ImageReader> lectores = entrada != null ? ImageIO.getImageReaders(entrada) : null;
+            if (lectores == null || !lectores.hasNext()) {
+                throw new IOException("Formato de imagen no soportado: " + archivo.getName());
+            }
+            ImageReader lector = lectores.next();
+            try {
+                lector.setInput(entrada, true, true);
+                int factor = Math.max(1, Math.min(lector.getWidth(0) / ancho, lector.getHeight(0) / alto));
+                ImageReadParam parametros = lector.getDefaultReadParam();
+                parametros.setSourceSubsampling(factor, factor, 0, 0);
+                return lector.read(0, parametros);
+            } finally {
+                lector.dispose();
+            }
+        }
+    }
+
+    /**
+     * Genera en paralelo las miniaturas de todas las portadas de una carpeta.
+     *
+     * @param carpeta Carpeta de portadas
+     * @param forzar  {@code true} para regenerar también las miniaturas actualizadas
+     * @return Cantidad de miniaturas generadas
+     */
+    public static int regenerarCarpeta(File carpeta, boolean forzar) {
+        File[] archivos = carpeta.listFiles(AlmacenMiniaturas::esPortada);
+        if (archivos == null || archivos.length == 0) {
+            return 0;
+        }
+
+        List<Callable<Boolean>> tareas = new ArrayList<>();
+        for (File portada : archivos) {
+            if (forzar || !estaActualizada(portada)) {
+                tareas.add(() -> {
+                    generar(portada);
+                    return true;
+                });
+            }
+        }
+        if (tareas.isEmpty()) {
+            return 0;
+        }
+
+        int hilos = Math.min(tareas.size(), Runtime.getRuntime().availableProcessors());
+        int generadas = 0;
+        try (ExecutorService ejecutor = Executors.newFixedThreadPool(hilos)) {
+            for (Future<Boolean> f : ejecutor.invokeAll(tareas)) {
+                try {
+                    f.get();
+                    generadas++;
+                } catch (ExecutionException e) {
+                    logger.log(Level.WARNING, "No se pudo generar una miniatura", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Miniaturas generadas en " + carpeta + ": " + generadas);
+        return generadas;
+    }
+
+    /**
+     * Genera en un hilo de fondo las miniaturas que falten o estén desactualizadas,
+     * para que la navegación posterior solo lea archivos pequeños.
+     *
+     * @param carpeta Carpeta de portadas
+     */
+    public static void generarPendientesEnSegundoPlano(File carpeta) {
+        Thread hilo = new Thread(() -> regenerarCarpeta(carpeta, false), "miniaturas-pendientes");
+        hilo.setDaemon(true);
+        hilo.setPriority(Thread.MIN_PRIORITY);
+        hilo.start();
+    }
+
+    private static boolean esPortada(File archivo) {
+        String nombre = archivo.getName().toLowerCase(Locale.ROOT);
+        if (!archivo.isFile() || nombre.endsWith(SUFIJO)) {
+            return false;
+        }
+        for (String extension : EXTENSIONES) {
+            if (nombre.endsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
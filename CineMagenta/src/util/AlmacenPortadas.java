@@ -0,0 +1,187 @@
+package util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Almacén de portadas direccionado por contenido.
+ *
+ * <p>Cada portada se guarda con el hash SHA-256 de su contenido como nombre
+ * (por ejemplo, {@code docs/portadas/9f86d0...0a08.jpg}). Dos archivos distintos con el mismo
+ * nombre ya no se sobrescriben, y una misma imagen importada varias veces se guarda una sola vez.</p>
+ *
+ * <p>El hash se calcula leyendo el archivo por bloques y la copia se realiza con
+ * {@link FileChannel#transferTo}, sin pasar el contenido por la memoria de la aplicación.
+ * Las portadas que ninguna película referencia se eliminan con el barrido
+ * {@link #recolectar(String, Set, long)}; solo se eliminan archivos con nombre de hash,
+ * nunca portadas antiguas ni la imagen por defecto.</p>
+ *
+ * @author Miguel
+ */
+public class AlmacenPortadas {
+
+    private static final Logger logger = Logger.getLogger(AlmacenPortadas.class.getName());
+
+    /** Carpeta de portadas de la aplicación. */
+    public static final String CARPETA = "docs/portadas";
+
+    private static final Pattern NOMBRE_HASH = Pattern.compile("[0-9a-f]{64}\\.[a-z0-9]+");
+    private static final int TAMANO_BLOQUE = 64 * 1024;
+
+    /**
+     * Constructor privado para evitar instanciación de la clase utilitaria.
+     */
+    private AlmacenPortadas() {
+
+    }
+
+    /**
+     * Guarda una portada en la carpeta de la aplicación.
+     *
+     * @param origen Imagen seleccionada por el usuario
+     * @return Ruta relativa de la portada almacenada, para guardar en {@code ruta_portada}
+     * @throws IOException si no se puede leer el origen o escribir la copia
+     * @see #guardar(Path, String)
+     */
+    public static String guardar(Path origen) throws IOException {
+        return guardar(origen, CARPETA);
+    }
+
+    /**
+     * Guarda una portada nombrándola por su contenido. Si ya existe una portada idéntica
+     * no se copia nuevamente y se devuelve su ruta.
+     *
+     * @param origen  Imagen a almacenar
+     * @param carpeta Carpeta de destino
+     * @return Ruta de la portada almacenada ({@code carpeta/<hash>.<extensión>})
+     * @throws IOException si no se puede leer el origen o escribir la copia
+     */
+    public static String guardar(Path origen, String carpeta) throws IOException {
+        String nombre = calcularHash(origen) + "." + extension(origen);
+        String ruta = carpeta + "/" + nombre;
+        Path destino = Paths.get(ruta);
+
+        if (Files.isRegularFile(destino) && Files.size(destino) == Files.size(origen)) {
+            // Se renueva la fecha para que el barrido no la elimine antes de guardar la película
+            Files.setLastModifiedTime(destino, FileTime.fromMillis(System.currentTimeMillis()));
+            logger.info("Portada ya almacenada, se reutiliza: " + nombre);
+            return ruta;
+        }
+
+        Files.createDirectories(destino.getParent());
+        // Temporal con nombre único: dos guardados simultáneos de la misma imagen no comparten archivo
+        Path temporal = Files.createTempFile(destino.getParent(), nombre, ".tmp");
+        try {
+            try (FileChannel entrada = FileChannel.open(origen, StandardOpenOption.READ);
+                 FileChannel salida = FileChannel.open(temporal, StandardOpenOption.WRITE)) {
+                long tamano = entrada.size();
+                long copiados = 0;
+                while (copiados < tamano) {
+                    copiados += entrada.transferTo(copiados, tamano - copiados, salida);
+                }
+            }
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            temporal.toFile().delete();
+            throw e;
+        }
+        logger.info("Portada almacenada: " + origen.getFileName() + " → " + nombre);
+        return ruta;
+    }
+
+    /**
+     * Calcula el hash SHA-256 de un archivo leyéndolo por bloques.
+     *
+     * @param archivo Archivo a procesar
+     * @return Hash en hexadecimal (64 caracteres en minúsculas)
+     * @throws IOException si no se puede leer el archivo
+     */
+    public static String calcularHash(Path archivo) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+        ByteBuffer bloque = ByteBuffer.allocateDirect(TAMANO_BLOQUE);
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            while (canal.read(bloque) != -1) {
+                bloque.flip();
+                digest.update(bloque);
+                bloque.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * @param ruta Ruta de una portada (puede ser {@code null})
+     * @return {@code true} si la portada fue almacenada por contenido y puede recolectarse
+     */
+    public static boolean esDireccionadaPorContenido(String ruta) {
+        return ruta != null && NOMBRE_HASH.matcher(new File(ruta).getName()).matches();
+    }
+
+    /**
+     * Elimina de la carpeta las portadas almacenadas por contenido que no están referenciadas.
+     * Se respeta un período de gracia para no eliminar portadas recién importadas cuya
+     * película aún no se ha guardado.
+     *
+     * @param carpeta      Carpeta de portadas
+     * @param referenciadas Rutas de portada referenciadas por alguna película
+     * @param graciaMs     Antigüedad mínima, en milisegundos, de las portadas a eliminar
+     * @return Cantidad de portadas eliminadas
+     */
+    public static int recolectar(String carpeta, Set<String> referenciadas, long graciaMs) {
+        Set<String> nombres = new HashSet<>();
+        for (String ruta : referenciadas) {
+            if (ruta != null) {
+                nombres.add(new File(ruta).getName());
+            }
+        }
+
+        File[] archivos = new File(carpeta).listFiles(f -> f.isFile() && NOMBRE_HASH.matcher(f.getName()).matches());
+        if (archivos == null) {
+            return 0;
+        }
+        long limite = System.currentTimeMillis() - graciaMs;
+        int eliminadas = 0;
+        for (File archivo : archivos) {
+            if (!nombres.contains(archivo.getName()) && archivo.lastModified() < limite) {
+                try {
+                    Files.deleteIfExists(AlmacenMiniaturas.rutaMiniatura(archivo).toPath());
+                    Files.delete(archivo.toPath());
+                    eliminadas++;
+                } catch (IOException e) {
+                    logger.log(Level.WARNING, "No se pudo eliminar la portada " + archivo.getName(), e);
+                }
+            }
+        }
+        logger.info("Recolección de portadas en " + carpeta + ": " + eliminadas + " eliminada(s)");
+        return eliminadas;
+    }
+
+    private static String extension(Path archivo) {
+        String nombre = archivo.getFileName().toString().toLowerCase(Locale.ROOT);
+        int punto = nombre.lastIndexOf('.');
+        String extension = punto >= 0 ? nombre.substring(punto + 1) : "";
+        return extension.equals("jpeg") ? "jpg" : extension.isEmpty() ? "img" : extension;
+    }
+}
@@ -0,0 +1,151 @@
+package util;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché en memoria de miniaturas de portadas ya escaladas.
+ *
+ * <p>Cada miniatura se identifica por la ruta absoluta del archivo junto con su fecha de
+ * modificación y tamaño, de modo que reemplazar la imagen en disco invalida la entrada anterior.
+ * Las entradas se guardan mediante {@link SoftReference}, por lo que el recolector de basura
+ * puede liberarlas si falta memoria, y se limitan en cantidad desalojando las menos usadas.</p>
+ *
+ * <p>{@link #obtener(File)} solo consulta la caché y es apto para el hilo de eventos;
+ * {@link #cargar(File)} lee la miniatura desde {@link AlmacenMiniaturas} (generándola si falta),
+ * y debe ejecutarse en segundo plano. Cada lectura emite un evento JFR {@code cinemagenta.Miniatura}.</p>
+ *
+ * @author Miguel
+ */
+public class CacheMiniaturas {
+
+    /** Ancho de las miniaturas, en píxeles. */
+    public static final int ANCHO = 120;
+    /** Alto de las miniaturas, en píxeles. */
+    public static final int ALTO = 180;
+
+    private final Map<String, SoftReference<BufferedImage>> entradas;
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    /**
+     * Crea una caché con capacidad para la cantidad de miniaturas indicada.
+     *
+     * @param maxEntradas Cantidad máxima de miniaturas retenidas
+     */
+    public CacheMiniaturas(int maxEntradas) {
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SoftReference<BufferedImage>> eldest) {
+                return size() > maxEntradas;
+            }
+        };
+    }
+
+    /**
+     * Devuelve la miniatura de la imagen si ya está en la caché, sin acceder a su contenido.
+     *
+     * @param archivo Imagen original
+     * @return Miniatura escalada, o {@code null} si no está disponible
+     */
+    public BufferedImage obtener(File archivo) {
+        String clave = clave(archivo);
+        synchronized (entradas) {
+            SoftReference<BufferedImage> ref = entradas.get(clave);
+            BufferedImage imagen = ref != null ? ref.get() : null;
+            if (imagen != null) {
+                aciertos.increment();
+                return imagen;
+            }
+            if (ref != null) {
+                entradas.remove(clave);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Devuelve la miniatura de la imagen, leyéndola desde disco si no está en la caché.
+     *
+     * @param archivo Imagen original
+     * @return Miniatura de {@link #ANCHO} x {@link #ALTO} píxeles
+     * @throws IOException si no se puede leer la imagen o su formato no es soportado
+     */
+    public BufferedImage cargar(File archivo) throws IOException {
+        BufferedImage imagen = obtener(archivo);
+        if (imagen != null) {
+            return imagen;
+        }
+        fallos.increment();
+        String clave = clave(archivo);
+
+        EventoMiniatura evento = EventoMiniatura.iniciar(archivo);
+        try {
+            imagen = AlmacenMiniaturas.obtener(archivo);
+        } catch (IOException | RuntimeException e) {
+            evento.terminar(false);
+            throw e;
+        }
+        evento.terminar(true);
+
+        synchronized (entradas) {
+            entradas.put(clave, new SoftReference<>(imagen));
+        }
+        return imagen;
+    }
+
+    /**
+     * Escala una imagen a las dimensiones indicadas con interpolación bilineal.
+     *
+     * @param original Imagen a escalar
+     * @param ancho    Ancho de destino
+     * @param alto     Alto de destino
+     * @return Imagen escalada
+     */
+    public static BufferedImage escalar(BufferedImage original, int ancho, int alto) {
+        BufferedImage escalada = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = escalada.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(original, 0, 0, ancho, alto, null);
+        } finally {
+            g.dispose();
+        }
+        return escalada;
+    }
+
+    private static String clave(File archivo) {
+        return archivo.getAbsolutePath() + "|" + archivo.lastModified() + "|" + archivo.length();
+    }
+
+    /**
+     * @return cantidad de miniaturas retenidas (algunas pueden haber sido liberadas por el recolector)
+     */
+    public int getTamano() {
+        synchronized (entradas) {
+            return entradas.size();
+        }
+    }
+
+    /**
+     * @return cantidad de miniaturas entregadas desde la caché
+     */
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    /**
+     * @return cantidad de miniaturas que debieron decodificarse
+     */
+    public long getFallos() {
+        return fallos.sum();
+    }
+}
@@ -0,0 +1,215 @@
+package util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Caché de sentencias preparadas asociada a una conexión física del {@link PoolConexiones}.
+ *
+ * <p>Las sentencias se indexan por el texto SQL (y por si solicitan claves generadas).
+ * Al cerrar la sentencia entregada al DAO no se cierra la sentencia real: se limpian sus
+ * parámetros, se cierra el último {@link ResultSet} y queda disponible para el siguiente
+ * préstamo de la misma conexión. Así el análisis y el plan de la consulta se realizan
+ * una sola vez por conexión.</p>
+ *
+ * <p>La caché es LRU y acotada; las sentencias desalojadas se cierran. Una sentencia en uso no se
+ * desaloja: mientras haya préstamos la caché puede superar su capacidad, y vuelve a ella desalojando
+ * las sentencias libres menos usadas en cuanto se prepara otra o se devuelve la conexión. Los contadores de
+ * aciertos y fallos son globales a todas las conexiones.</p>
+ *
+ * @author Miguel
+ */
+public class CacheSentencias {
+
+    private static final Logger logger = Logger.getLogger(CacheSentencias.class.getName());
+
+    private static final LongAdder aciertos = new LongAdder();
+    private static final LongAdder fallos = new LongAdder();
+
+    private final Connection conexion;
+    private final int capacidad;
+    private final Map<String, Entrada> sentencias = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Crea una caché para la conexión física indicada.
+     *
+     * @param conexion  Conexión física dueña de las sentencias
+     * @param capacidad Cantidad máxima de sentencias retenidas
+     */
+    CacheSentencias(Connection conexion, int capacidad) {
+        this.conexion = conexion;
+        this.capacidad = capacidad;
+    }
+
+    /**
+     * Devuelve una sentencia preparada para el SQL indicado, reutilizando la de la caché si está libre.
+     *
+     * @param propietaria    Conexión prestada que verá el llamador mediante {@code getConnection()}
+     * @param sql            Texto SQL de la sentencia
+     * @param clavesGeneradas Valor de {@code autoGeneratedKeys}, o {@code null} si no se indicó
+     * @return sentencia envuelta cuyo {@code close()} la devuelve a la caché
+     * @throws SQLException si falla la preparación
+     */
+    PreparedStatement preparar(Connection propietaria, String sql, Integer clavesGeneradas) throws SQLException {
+        String clave = clavesGeneradas == null ? sql : sql + "#" + clavesGeneradas;
+        Entrada entrada = sentencias.get(clave);
+
+        if (entrada != null && !entrada.enUso) {
+            aciertos.increment();
+        } else {
+            fallos.increment();
+            PreparedStatement real = clavesGeneradas == null
+                    ? conexion.prepareStatement(sql)
+                    : conexion.prepareStatement(sql, clavesGeneradas);
+            if (entrada != null) {
+                // La misma sentencia ya está en uso en esta conexión: se entrega una sin caché.
+                return real;
+            }
+            entrada = new Entrada(real);
+            sentencias.put(clave, entrada);
+        }
+        entrada.enUso = true;
+        desalojar();
+        Entrada enPrestamo = entrada;
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, metodo, args) -> enPrestamo.invocar(proxy, propietaria, metodo, args));
+    }
+
+    /**
+     * Libera las sentencias que el llamador no cerró antes de devolver la conexión al pool.
+     *
+     * @throws SQLException si falla la limpieza de alguna sentencia
+     */
+    void liberarPendientes() throws SQLException {
+        for (Entrada entrada : sentencias.values()) {
+            if (entrada.enUso) {
+                entrada.liberar();
+            }
+        }
+        desalojar();
+    }
+
+    /**
+     * Cierra las sentencias libres menos usadas hasta volver a la capacidad. Las que están en uso se saltan.
+     */
+    private void desalojar() {
+        for (Iterator<Entrada> it = sentencias.values().iterator(); sentencias.size() > capacidad && it.hasNext(); ) {
+            Entrada entrada = it.next();
+            if (!entrada.enUso) {
+                cerrarSilencioso(entrada.sentencia);
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Cierra todas las sentencias retenidas.
+     */
+    void cerrar() {
+        for (Iterator<Entrada> it = sentencias.values().iterator(); it.hasNext(); ) {
+            cerrarSilencioso(it.next().sentencia);
+            it.remove();
+        }
+    }
+
+    private static void cerrarSilencioso(PreparedStatement sentencia) {
+        try {
+            sentencia.close();
+        } catch (SQLException e) {
+            logger.log(Level.FINE, "Error al cerrar sentencia en caché", e);
+        }
+    }
+
+    /**
+     * @return cantidad de veces que se reutilizó una sentencia de la caché
+     */
+    public static long getAciertos() {
+        return aciertos.sum();
+    }
+
+    /**
+     * @return cantidad de veces que fue necesario preparar una sentencia nueva
+     */
+    public static long getFallos() {
+        return fallos.sum();
+    }
+
+    /**
+     * Sentencia retenida y su estado de préstamo.
+     */
+    private static final class Entrada {
+        final PreparedStatement sentencia;
+        boolean enUso;
+        ResultSet ultimoResultado;
+        boolean ajustoFilasPorViaje;
+
+        Entrada(PreparedStatement sentencia) {
+            this.sentencia = sentencia;
+        }
+
+        Object invocar(Object proxy, Connection propietaria, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "close":
+                    if (enUso) {
+                        liberar();
+                    }
+                    return null;
+                case "isClosed":
+                    return !enUso || sentencia.isClosed();
+                case "getConnection":
+                    return propietaria;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "SentenciaEnCache[" + sentencia + "]";
+                default:
+                    break;
+            }
+            if (!enUso) {
+                throw new SQLException("La sentencia ya fue cerrada.");
+            }
+            if (metodo.getName().equals("setFetchSize")) {
+                // Se restablece al liberar para no afectar al siguiente uso de la misma sentencia
+                ajustoFilasPorViaje = true;
+            }
+            try {
+                Object resultado = metodo.invoke(sentencia, args);
+                if (resultado instanceof ResultSet rs) {
+                    ultimoResultado = rs;
+                }
+                return resultado;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void liberar() throws SQLException {
+            enUso = false;
+            if (ultimoResultado != null) {
+                ultimoResultado.close();
+                ultimoResultado = null;
+            }
+            sentencia.clearParameters();
+            sentencia.clearBatch();
+            if (ajustoFilasPorViaje) {
+                sentencia.setFetchSize(0);
+                ajustoFilasPorViaje = false;
+            }
+        }
+    }
+}
@@ -12,6 +12,12 @@ import java.sql.SQLException;
  * Clase utilitaria para gestionar la conexión con la base de datos MySQL del sistema CineMagenta.
  * Proporciona un método estático para obtener una instancia de {@link Connection} utilizando JDBC.
  * 
+ * Las conexiones se obtienen de un {@link PoolConexiones} compartido; al cerrarlas se devuelven
+ * al pool en lugar de cerrar la conexión física. El pool se configura con las propiedades del sistema
+ * {@code cinemagenta.pool.minimo}, {@code cinemagenta.pool.maximo}, {@code cinemagenta.pool.esperaMs},
+ * {@code cinemagenta.pool.inactividadMs}, {@code cinemagenta.pool.fugaMs} y
+ * {@code cinemagenta.pool.sentencias} (sentencias preparadas retenidas por conexión).
+ * 
  * Esta clase utiliza un constructor privado para evitar instanciación directa.
  * 
  * <p><strong>Base de datos:</strong> Cine_DB</p>
@@ -22,10 +28,13 @@ import java.sql.SQLException;
  */
 public class ConexionDB {
 
-    private static final String URL = "jdbc:mysql://localhost:3306/Cine_DB";
+    private static final String URL = "jdbc:mysql://localhost:3306/Cine_DB?useServerPrepStmts=true&rewriteBatchedStatements=true&useCursorFetch=true";
     private static final String USER = "root";
     private static final String PASSWORD = "duoc_2025";
 
+    private static final PoolConexiones POOL = crearPool();
+    private static final EjecutorAcotado EJECUTOR = new EjecutorAcotado(POOL.getMaximo());
+
     /**
      * Constructor privado para evitar instanciación de la clase utilitaria.
      */
@@ -33,18 +42,51 @@ public class ConexionDB {
 
     }
 
+    private static PoolConexiones crearPool() {
+        PoolConexiones pool = new PoolConexiones(
+                () -> DriverManager.getConnection(URL, USER, PASSWORD),
+                Integer.getInteger("cinemagenta.pool.minimo", 2),
+                Integer.getInteger("cinemagenta.pool.maximo", 10),
+                Long.getLong("cinemagenta.pool.esperaMs", 5_000L),
+                Long.getLong("cinemagenta.pool.inactividadMs", 300_000L),
+                Long.getLong("cinemagenta.pool.fugaMs", 60_000L),
+                Integer.getInteger("cinemagenta.pool.sentencias", 32));
+        Runtime.getRuntime().addShutdownHook(new Thread(pool::cerrar, "pool-conexiones-cierre"));
+        return pool;
+    }
+
     /**
-     * Establece y devuelve una conexión activa con la base de datos.
+     * Obtiene una conexión activa con la base de datos desde el pool compartido.
+     * Al cerrarla se devuelve al pool.
      *
      * @return objeto {@link Connection} conectado a la base de datos
-     * @throws SQLException si ocurre un error al intentar conectarse
+     * @throws SQLException si ocurre un error al intentar conectarse o se agota el tiempo de espera
      */
     public static Connection getConnection() throws SQLException {
         try {
-            return DriverManager.getConnection(URL, USER, PASSWORD);
+            return POOL.obtener();
         } catch (SQLException e) {
             System.err.println("Error al conectar con la base de datos: " + e.getMessage());
             throw e;
         }
     }
+
+    /**
+     * Devuelve el pool de conexiones compartido, por ejemplo para consultar su estado.
+     *
+     * @return pool de conexiones de la aplicación
+     */
+    public static PoolConexiones getPool() {
+        return POOL;
+    }
+
+    /**
+     * Devuelve el ejecutor compartido de las operaciones asíncronas de base de datos.
+     * Admite tantas tareas simultáneas como conexiones tiene el pool.
+     *
+     * @return ejecutor en hilos virtuales con concurrencia acotada
+     */
+    public static EjecutorAcotado getEjecutor() {
+        return EJECUTOR;
+    }
 }
\ No newline at end of file
@@ -1,11 +1,16 @@
 package util;
 
 import javax.swing.*;
+import java.lang.reflect.InvocationTargetException;
+import java.util.function.Supplier;
 
 /**
  * Utilidad para mostrar diálogos estandarizados en el sistema.
  * Centraliza los mensajes de información, advertencia, error y confirmación.
  * 
+ * Los métodos pueden invocarse desde cualquier hilo: si no se está en el hilo de eventos
+ * de Swing, el diálogo se muestra en él y el llamador espera hasta que se cierre.
+ * 
  * @author Miguel
  */
 public class DialogUtils {
@@ -16,7 +21,7 @@ public class DialogUtils {
      * @param mensaje Texto del mensaje
      */
     public static void info(String mensaje) {
-        JOptionPane.showMessageDialog(null, mensaje, "Información", JOptionPane.INFORMATION_MESSAGE);
+        enEDT(() -> JOptionPane.showMessageDialog(null, mensaje, "Información", JOptionPane.INFORMATION_MESSAGE));
     }
 
     /**
@@ -25,7 +30,7 @@ public class DialogUtils {
      * @param mensaje Texto del mensaje
      */
     public static void warning(String mensaje) {
-        JOptionPane.showMessageDialog(null, mensaje, "Advertencia", JOptionPane.WARNING_MESSAGE);
+        enEDT(() -> JOptionPane.showMessageDialog(null, mensaje, "Advertencia", JOptionPane.WARNING_MESSAGE));
     }
 
     /**
@@ -34,7 +39,7 @@ public class DialogUtils {
      * @param mensaje Texto del mensaje
      */
     public static void error(String mensaje) {
-        JOptionPane.showMessageDialog(null, mensaje, "Error", JOptionPane.ERROR_MESSAGE);
+        enEDT(() -> JOptionPane.showMessageDialog(null, mensaje, "Error", JOptionPane.ERROR_MESSAGE));
     }
 
     /**
@@ -44,7 +49,7 @@ public class DialogUtils {
      * @return {@code true} si el usuario confirma, {@code false} si cancela
      */
     public static boolean confirmar(String mensaje) {
-        int opcion = JOptionPane.showConfirmDialog(null, mensaje, "Confirmar", JOptionPane.YES_NO_OPTION);
+        int opcion = enEDT(() -> JOptionPane.showConfirmDialog(null, mensaje, "Confirmar", JOptionPane.YES_NO_OPTION));
         return opcion == JOptionPane.YES_OPTION;
     }
 
@@ -55,6 +60,33 @@ public class DialogUtils {
      * @return Texto ingresado por el usuario, o {@code null} si cancela
      */
     public static String input(String mensaje) {
-        return JOptionPane.showInputDialog(null, mensaje);
+        return enEDT(() -> JOptionPane.showInputDialog(null, mensaje));
+    }
+
+    private static void enEDT(Runnable dialogo) {
+        enEDT(() -> {
+            dialogo.run();
+            return null;
+        });
+    }
+
+    /**
+     * Ejecuta el diálogo en el hilo de eventos de Swing y devuelve su resultado.
+     */
+    private static <T> T enEDT(Supplier<T> dialogo) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            return dialogo.get();
+        }
+        Object[] resultado = new Object[1];
+        try {
+            SwingUtilities.invokeAndWait(() -> resultado[0] = dialogo.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        @SuppressWarnings("unchecked")
+        T valor = (T) resultado[0];
+        return valor;
     }
 }
\ No newline at end of file
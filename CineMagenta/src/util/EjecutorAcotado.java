@@ -0,0 +1,140 @@
+package util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Ejecuta tareas bloqueantes en hilos virtuales, uno por tarea, limitando cuántas se ejecutan a la vez.
+ *
+ * <p>Las tareas que superan el límite esperan su turno dentro de su propio hilo virtual, sin ocupar
+ * hilos de plataforma. Para el acceso a datos el límite coincide con el tamaño del pool de conexiones
+ * (ver {@link ConexionDB#getEjecutor()}), de modo que las tareas esperan aquí y no en el pool.</p>
+ *
+ * <p>Cada tarea entrega su resultado mediante un {@link CompletableFuture}; si falla, el futuro se
+ * completa con la excepción original (por ejemplo, una {@link java.sql.SQLException}). Una tarea
+ * cancelada antes de comenzar no llega a ejecutarse.</p>
+ *
+ * <p>Una tarea que necesita el resultado de otra enviada a este mismo ejecutor debe esperarlo con
+ * {@link #esperar(CompletableFuture)}, que cede el turno mientras espera: si todas las tareas en curso
+ * esperaran reteniendo su turno, la tarea esperada nunca podría comenzar.</p>
+ *
+ * @author Miguel
+ */
+public class EjecutorAcotado {
+
+    private static final ExecutorService HILOS_VIRTUALES = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Trabajo a ejecutar, que puede lanzar excepciones comprobadas.
+     *
+     * @param <T> Tipo del resultado
+     */
+    @FunctionalInterface
+    public interface Tarea<T> {
+        T ejecutar() throws Exception;
+    }
+
+    private final int maximo;
+    private final Semaphore permisos;
+    /** Indica si el hilo actual ejecuta una tarea de este ejecutor y retiene un turno. */
+    private final ThreadLocal<Boolean> conTurno = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Crea un ejecutor que permite la cantidad indicada de tareas simultáneas.
+     *
+     * @param maximo Cantidad máxima de tareas en ejecución
+     */
+    public EjecutorAcotado(int maximo) {
+        if (maximo <= 0) {
+            throw new IllegalArgumentException("El máximo de tareas simultáneas debe ser mayor a cero.");
+        }
+        this.maximo = maximo;
+        this.permisos = new Semaphore(maximo, true);
+    }
+
+    /**
+     * Envía una tarea para ejecutarla en un hilo virtual en cuanto haya un turno libre.
+     *
+     * @param tarea Trabajo a ejecutar
+     * @param <T>   Tipo del resultado
+     * @return Futuro que se completa con el resultado o con la excepción de la tarea
+     */
+    public <T> CompletableFuture<T> enviar(Tarea<T> tarea) {
+        CompletableFuture<T> futuro = new CompletableFuture<>();
+        HILOS_VIRTUALES.execute(() -> {
+            try {
+                permisos.acquire();
+            } catch (InterruptedException e) {
+                futuro.completeExceptionally(e);
+                return;
+            }
+            T resultado = null;
+            Throwable error = null;
+            conTurno.set(true);
+            try {
+                if (!futuro.isDone()) {
+                    resultado = tarea.ejecutar();
+                }
+            } catch (Throwable t) {
+                error = t;
+            } finally {
+                conTurno.remove();
+                permisos.release();
+            }
+            // Se completa después de liberar el turno: las etapas dependientes se ejecutan en este hilo
+            // y podrían enviar tareas que esperen ese mismo turno
+            if (error != null) {
+                futuro.completeExceptionally(error);
+            } else {
+                futuro.complete(resultado);
+            }
+        });
+        return futuro;
+    }
+
+    /**
+     * Espera el resultado de un futuro. Si el hilo actual ejecuta una tarea de este ejecutor, cede su
+     * turno mientras espera y lo recupera antes de volver.
+     *
+     * @param futuro Futuro a esperar, normalmente de una tarea enviada a este ejecutor
+     * @param <T>    Tipo del resultado
+     * @return Resultado del futuro
+     * @throws InterruptedException si el hilo se interrumpe mientras espera
+     * @throws ExecutionException   si el futuro se completó con una excepción
+     */
+    public <T> T esperar(CompletableFuture<T> futuro) throws InterruptedException, ExecutionException {
+        if (!conTurno.get()) {
+            return futuro.get();
+        }
+        permisos.release();
+        try {
+            return futuro.get();
+        } finally {
+            permisos.acquireUninterruptibly();
+        }
+    }
+
+    /**
+     * @return cantidad máxima de tareas simultáneas
+     */
+    public int getMaximo() {
+        return maximo;
+    }
+
+    /**
+     * @return cantidad de tareas en ejecución en este momento
+     */
+    public int getEnCurso() {
+        return maximo - permisos.availablePermits();
+    }
+
+    /**
+     * @return cantidad aproximada de tareas esperando turno
+     */
+    public int getEnEspera() {
+        return permisos.getQueueLength();
+    }
+}
@@ -0,0 +1,225 @@
+package util;
+
+import javax.swing.SwingUtilities;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Ejecuta fuera del hilo de eventos de Swing (EDT) las operaciones lentas de la interfaz,
+ * como las consultas a la base de datos, y publica sus resultados de vuelta en el EDT.
+ *
+ * <p>Cada solicitud se identifica con una clave (por ejemplo, el formulario y la operación).
+ * Al iniciar una nueva solicitud con la misma clave, la anterior se cancela y su resultado
+ * se descarta, de modo que la interfaz solo muestra la respuesta más reciente.</p>
+ *
+ * <p>Las tareas se ejecutan en el ejecutor compartido de acceso a datos ({@link ConexionDB#getEjecutor()}),
+ * en hilos virtuales, por lo que nunca hay más tareas de la interfaz en curso que conexiones en el pool;
+ * las demás esperan su turno sin agotar el tiempo de espera del pool. Las escrituras iniciadas con
+ * {@link #ejecutarEscritura} no se interrumpen al cancelarse: terminan igualmente y solo se descarta
+ * su resultado, porque interrumpir una sentencia JDBC deja sin saber si se aplicó.</p>
+ *
+ * @author Miguel
+ */
+public class EjecutorUI {
+
+    private static final Logger logger = Logger.getLogger(EjecutorUI.class.getName());
+
+    private static final EjecutorAcotado EJECUTOR = ConexionDB.getEjecutor();
+    private static final Map<Object, Solicitud> vigentes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor privado para evitar instanciación de la clase utilitaria.
+     */
+    private EjecutorUI() {
+
+    }
+
+    /**
+     * Trabajo a ejecutar fuera del EDT. Recibe su propia solicitud para poder publicar
+     * resultados parciales o consultar si fue reemplazada.
+     *
+     * @param <T> Tipo del resultado
+     */
+    @FunctionalInterface
+    public interface Tarea<T> {
+
+        /**
+         * Ejecuta el trabajo.
+         *
+         * @param solicitud Solicitud en curso
+         * @return Resultado que se entregará en el EDT
+         * @throws Exception si el trabajo falla
+         */
+        T ejecutar(Solicitud solicitud) throws Exception;
+    }
+
+    /**
+     * Observa el inicio y fin de las solicitudes, por ejemplo para mostrar un indicador de carga.
+     * Ambos métodos se invocan en el EDT.
+     */
+    public interface Observador {
+
+        /**
+         * Se invoca al iniciar una solicitud.
+         */
+        void alIniciar();
+
+        /**
+         * Se invoca al terminar una solicitud, con éxito, con error o cancelada.
+         */
+        void alTerminar();
+    }
+
+    /**
+     * Solicitud en curso. Permite cancelarla y publicar trabajo en el EDT solo mientras siga vigente.
+     */
+    public static final class Solicitud {
+        private final Object clave;
+        private final Observador observador;
+        private final boolean interrumpible;
+        private volatile Future<?> futuro;
+        private volatile Thread hilo;
+        private volatile boolean cancelada;
+        private boolean terminada;
+
+        private Solicitud(Object clave, Observador observador, boolean interrumpible) {
+            this.clave = clave;
+            this.observador = observador;
+            this.interrumpible = interrumpible;
+        }
+
+        /**
+         * @return {@code true} si la solicitud no fue cancelada ni reemplazada por otra con la misma clave
+         */
+        public boolean estaVigente() {
+            return !cancelada && vigentes.get(clave) == this;
+        }
+
+        /**
+         * Ejecuta una acción en el EDT si, al momento de ejecutarse, la solicitud sigue vigente.
+         *
+         * @param accion Acción sobre la interfaz
+         */
+        public void publicar(Runnable accion) {
+            SwingUtilities.invokeLater(() -> {
+                if (estaVigente()) {
+                    accion.run();
+                }
+            });
+        }
+
+        /**
+         * Cancela la solicitud. Su resultado no se publicará. Las lecturas se interrumpen; las escrituras
+         * siguen hasta terminar.
+         */
+        public void cancelar() {
+            cancelada = true;
+            Future<?> f = futuro;
+            if (f != null && interrumpible) {
+                // Si aún no comenzó, no llega a ejecutarse; si está en curso, se interrumpe su hilo
+                f.cancel(false);
+                Thread h = hilo;
+                if (h != null) {
+                    h.interrupt();
+                }
+            }
+            vigentes.remove(clave, this);
+            SwingUtilities.invokeLater(this::notificarFin);
+        }
+
+        private void notificarFin() {
+            if (!terminada) {
+                terminada = true;
+                if (observador != null) {
+                    observador.alTerminar();
+                }
+            }
+        }
+    }
+
+    /**
+     * Ejecuta una tarea fuera del EDT, reemplazando cualquier solicitud anterior con la misma clave.
+     * Debe invocarse desde el EDT.
+     *
+     * @param clave      Identifica la operación; las solicitudes anteriores con la misma clave se cancelan
+     * @param tarea      Trabajo a ejecutar en segundo plano
+     * @param alTerminar Recibe el resultado en el EDT, solo si la solicitud sigue vigente
+     * @param alFallar   Recibe el error en el EDT, solo si la solicitud sigue vigente
+     * @param observador Observador de inicio y fin (puede ser {@code null})
+     * @param <T>        Tipo del resultado
+     * @return Solicitud iniciada
+     */
+    public static <T> Solicitud ejecutar(Object clave, Tarea<T> tarea, Consumer<T> alTerminar,
+                                         Consumer<Exception> alFallar, Observador observador) {
+        return ejecutar(new Solicitud(clave, observador, true), tarea, alTerminar, alFallar);
+    }
+
+    /**
+     * Igual que {@link #ejecutar}, para tareas que modifican datos: si la solicitud se cancela o se
+     * reemplaza, la tarea no se interrumpe y termina normalmente, pero su resultado no se entrega.
+     *
+     * @param clave      Identifica la operación; las solicitudes anteriores con la misma clave se cancelan
+     * @param tarea      Trabajo a ejecutar en segundo plano
+     * @param alTerminar Recibe el resultado en el EDT, solo si la solicitud sigue vigente
+     * @param alFallar   Recibe el error en el EDT, solo si la solicitud sigue vigente
+     * @param observador Observador de inicio y fin (puede ser {@code null})
+     * @param <T>        Tipo del resultado
+     * @return Solicitud iniciada
+     */
+    public static <T> Solicitud ejecutarEscritura(Object clave, Tarea<T> tarea, Consumer<T> alTerminar,
+                                                  Consumer<Exception> alFallar, Observador observador) {
+        return ejecutar(new Solicitud(clave, observador, false), tarea, alTerminar, alFallar);
+    }
+
+    private static <T> Solicitud ejecutar(Solicitud solicitud, Tarea<T> tarea, Consumer<T> alTerminar,
+                                          Consumer<Exception> alFallar) {
+        Object clave = solicitud.clave;
+        Observador observador = solicitud.observador;
+        Solicitud anterior = vigentes.put(clave, solicitud);
+        if (anterior != null) {
+            anterior.cancelar();
+        }
+        if (observador != null) {
+            observador.alIniciar();
+        }
+
+        solicitud.futuro = EJECUTOR.enviar(() -> {
+            solicitud.hilo = Thread.currentThread();
+            try {
+                if (solicitud.cancelada && solicitud.interrumpible) {
+                    return null;
+                }
+                T resultado = tarea.ejecutar(solicitud);
+                SwingUtilities.invokeLater(() -> {
+                    if (solicitud.estaVigente()) {
+                        vigentes.remove(clave, solicitud);
+                        solicitud.notificarFin();
+                        alTerminar.accept(resultado);
+                    }
+                });
+            } catch (Exception e) {
+                if (!solicitud.estaVigente()) {
+                    // Cancelada o reemplazada: el error (normalmente una interrupción) se descarta
+                    logger.fine(() -> "Solicitud descartada: " + clave);
+                    return null;
+                }
+                logger.log(Level.SEVERE, "Error en tarea de segundo plano: " + clave, e);
+                SwingUtilities.invokeLater(() -> {
+                    if (solicitud.estaVigente()) {
+                        vigentes.remove(clave, solicitud);
+                        solicitud.notificarFin();
+                        alFallar.accept(e);
+                    }
+                });
+            } finally {
+                solicitud.hilo = null;
+            }
+            return null;
+        });
+        return solicitud;
+    }
+}
@@ -0,0 +1,61 @@
+package util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.io.File;
+
+/**
+ * Evento de Java Flight Recorder emitido al cargar una miniatura que no estaba en {@link CacheMiniaturas}:
+ * su lectura desde disco o, si no existe o está desactualizada, la decodificación de la portada original.
+ *
+ * @author Miguel
+ */
+@Name("cinemagenta.Miniatura")
+@Label("Carga de miniatura")
+@Category({"CineMagenta", "Imágenes"})
+@Description("Lectura o generación de la miniatura de una portada")
+final class EventoMiniatura extends Event {
+
+    @Label("Archivo")
+    String archivo;
+
+    @Label("Generada")
+    @Description("true si se decodificó la portada original porque la miniatura no existía o estaba desactualizada")
+    boolean generada;
+
+    @Label("Exitosa")
+    boolean exitosa;
+
+    /**
+     * Crea el evento y comienza a medir su duración.
+     *
+     * @param portada Portada original
+     * @return evento en curso
+     */
+    static EventoMiniatura iniciar(File portada) {
+        EventoMiniatura evento = new EventoMiniatura();
+        evento.begin();
+        if (evento.isEnabled()) {
+            evento.archivo = portada.getName();
+            evento.generada = !AlmacenMiniaturas.estaActualizada(portada);
+        }
+        return evento;
+    }
+
+    /**
+     * Finaliza el evento y lo emite si supera el umbral configurado.
+     *
+     * @param exitosa {@code false} si la imagen no se pudo leer
+     */
+    void terminar(boolean exitosa) {
+        end();
+        if (shouldCommit()) {
+            this.exitosa = exitosa;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Histograma de latencias en nanosegundos con cubetas logarítmicas de tamaño fijo.
+ *
+ * <p>Cada potencia de dos se divide en {@value #SUBCUBETAS} cubetas iguales, por lo que el valor
+ * informado de un percentil tiene un error relativo menor al 12,5 %. Los valores menores a
+ * {@value #SUBCUBETAS} ns se guardan exactos y los mayores a ~9,7 horas se acumulan en la última cubeta.</p>
+ *
+ * <p>Registrar un valor no reserva memoria ni toma bloqueos: solo incrementa un contador atómico,
+ * por lo que puede usarse en cada llamada de una ruta frecuente.</p>
+ *
+ * @author Miguel
+ */
+public class HistogramaLatencias {
+
+    private static final int BITS_SUBCUBETA = 3;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+    private static final int EXPONENTE_MAXIMO = 45;
+    private static final int CUBETAS = (EXPONENTE_MAXIMO - BITS_SUBCUBETA + 2) * SUBCUBETAS;
+
+    private final AtomicLongArray cubetas = new AtomicLongArray(CUBETAS);
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Registra una latencia.
+     *
+     * @param nanos Duración en nanosegundos; los valores negativos se registran como cero
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        cubetas.incrementAndGet(indice(valor));
+        maximo.accumulate(valor);
+    }
+
+    /**
+     * @param valor Duración en nanosegundos, no negativa
+     * @return cubeta que contiene el valor
+     */
+    static int indice(long valor) {
+        if (valor < SUBCUBETAS) {
+            return (int) valor;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        int sub = (int) (valor >>> (exponente - BITS_SUBCUBETA)) & (SUBCUBETAS - 1);
+        return Math.min((exponente - BITS_SUBCUBETA + 1) * SUBCUBETAS + sub, CUBETAS - 1);
+    }
+
+    /**
+     * @param indice Cubeta
+     * @return mayor valor que contiene la cubeta, en nanosegundos
+     */
+    static long limiteSuperior(int indice) {
+        if (indice < SUBCUBETAS) {
+            return indice;
+        }
+        int exponente = indice / SUBCUBETAS + BITS_SUBCUBETA - 1;
+        long ancho = 1L << (exponente - BITS_SUBCUBETA);
+        return ((long) (SUBCUBETAS + indice % SUBCUBETAS) << (exponente - BITS_SUBCUBETA)) + ancho - 1;
+    }
+
+    /**
+     * @return cantidad de valores registrados
+     */
+    public long getCantidad() {
+        long total = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            total += cubetas.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Calcula un percentil a partir de las cubetas. Se informa el límite superior de la cubeta,
+     * de modo que el valor real nunca es mayor al informado (salvo en la última cubeta).
+     *
+     * @param fraccion Percentil entre 0 y 1 (por ejemplo, {@code 0.99})
+     * @return latencia en nanosegundos, o {@code 0} si no hay valores registrados
+     */
+    public long percentil(double fraccion) {
+        long[] copia = new long[CUBETAS];
+        long total = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            copia[i] = cubetas.get(i);
+            total += copia[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long posicion = Math.max(1, (long) Math.ceil(fraccion * total));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += copia[i];
+            if (acumulado >= posicion) {
+                return Math.min(limiteSuperior(i), getMaximo());
+            }
+        }
+        return getMaximo();
+    }
+
+    /**
+     * @return mayor latencia registrada, en nanosegundos
+     */
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /**
+     * Descarta los valores registrados. Los valores registrados durante el reinicio pueden conservarse.
+     */
+    public void reiniciar() {
+        for (int i = 0; i < CUBETAS; i++) {
+            cubetas.set(i, 0);
+        }
+        maximo.reset();
+    }
+}
@@ -0,0 +1,200 @@
+package util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * {@link Handler} que entrega los registros de log a otro manejador desde un hilo propio, de modo que
+ * quien registra un mensaje nunca espera la escritura en consola o en archivo.
+ *
+ * <p>Los registros se encolan en un búfer circular acotado. Si el búfer está lleno, el registro se
+ * descarta y se cuenta; cuando el hilo de escritura vacía el búfer informa cuántos se descartaron.
+ * Registrar nunca bloquea al llamador.</p>
+ *
+ * <p>{@link #instalar(Logger, int)} reemplaza los manejadores de un logger (normalmente el raíz) por
+ * versiones asíncronas de sí mismos. Al cerrarlo se escriben los registros pendientes.</p>
+ *
+ * @author Miguel
+ */
+public class ManejadorLogAsincrono extends Handler {
+
+    private static final Logger logger = Logger.getLogger(ManejadorLogAsincrono.class.getName());
+
+    private final Handler destino;
+    private final ArrayBlockingQueue<LogRecord> bufer;
+    private final Thread escritor;
+    private final LongAdder descartados = new LongAdder();
+    private final AtomicLong descartadosSinInformar = new AtomicLong();
+    private final AtomicLong encolados = new AtomicLong();
+    private final AtomicLong escritos = new AtomicLong();
+    private final AtomicInteger esperandoFlush = new AtomicInteger();
+    private final Object monitorEscritos = new Object();
+    private volatile boolean cerrado;
+
+    /**
+     * Crea el manejador e inicia su hilo de escritura.
+     *
+     * @param destino   Manejador que escribe los registros (consola, archivo, etc.)
+     * @param capacidad Cantidad máxima de registros pendientes
+     */
+    public ManejadorLogAsincrono(Handler destino, int capacidad) {
+        this.destino = destino;
+        this.bufer = new ArrayBlockingQueue<>(capacidad);
+        setLevel(destino.getLevel());
+        this.escritor = new Thread(this::escribir, "log-asincrono");
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    /**
+     * Reemplaza cada manejador del logger por un {@link ManejadorLogAsincrono} que lo envuelve.
+     * Los manejadores que ya son asíncronos se conservan.
+     *
+     * @param destino   Logger cuyos manejadores se reemplazan
+     * @param capacidad Registros pendientes admitidos por cada manejador
+     */
+    public static void instalar(Logger destino, int capacidad) {
+        for (Handler h : destino.getHandlers()) {
+            if (h instanceof ManejadorLogAsincrono) {
+                continue;
+            }
+            destino.removeHandler(h);
+            destino.addHandler(new ManejadorLogAsincrono(h, capacidad));
+        }
+    }
+
+    @Override
+    public void publish(LogRecord registro) {
+        if (cerrado || !isLoggable(registro)) {
+            return;
+        }
+        // La clase y el método de origen se deducen de la pila, por lo que deben fijarse en este hilo
+        registro.getSourceClassName();
+        if (bufer.offer(registro)) {
+            encolados.incrementAndGet();
+        } else {
+            descartados.increment();
+            descartadosSinInformar.incrementAndGet();
+        }
+    }
+
+    @Override
+    public boolean isLoggable(LogRecord registro) {
+        return registro != null && destino.isLoggable(registro) && super.isLoggable(registro);
+    }
+
+    private void escribir() {
+        try {
+            while (!cerrado) {
+                LogRecord registro = bufer.poll(1, TimeUnit.SECONDS);
+                if (registro != null) {
+                    entregar(registro);
+                    registrarEscrito();
+                }
+                if (bufer.isEmpty()) {
+                    informarDescartados();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void entregar(LogRecord registro) {
+        try {
+            destino.publish(registro);
+        } catch (RuntimeException e) {
+            reportError("No se pudo escribir el registro de log", e, ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+    /**
+     * Cuenta un registro encolado ya escrito y despierta a quien espere en {@link #flush()}.
+     */
+    private void registrarEscrito() {
+        escritos.incrementAndGet();
+        if (esperandoFlush.get() > 0) {
+            synchronized (monitorEscritos) {
+                monitorEscritos.notifyAll();
+            }
+        }
+    }
+
+    private void informarDescartados() {
+        long cantidad = descartadosSinInformar.getAndSet(0);
+        if (cantidad > 0) {
+            LogRecord aviso = new LogRecord(Level.WARNING,
+                    cantidad + " registro(s) de log descartado(s): el búfer asíncrono estaba lleno");
+            aviso.setLoggerName(logger.getName());
+            entregar(aviso);
+        }
+    }
+
+    /**
+     * Espera, como máximo un segundo, a que el hilo de escritura termine de escribir los registros
+     * encolados hasta ahora (incluido el que tenga en curso) y vacía el manejador de destino.
+     */
+    @Override
+    public void flush() {
+        long objetivo = encolados.get();
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        esperandoFlush.incrementAndGet();
+        try {
+            synchronized (monitorEscritos) {
+                long restante;
+                while (escritos.get() < objetivo && escritor.isAlive()
+                        && (restante = limite - System.nanoTime()) > 0) {
+                    TimeUnit.NANOSECONDS.timedWait(monitorEscritos, restante);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            esperandoFlush.decrementAndGet();
+        }
+        destino.flush();
+    }
+
+    /**
+     * Detiene el hilo de escritura, escribe los registros pendientes y cierra el manejador de destino.
+     */
+    @Override
+    public void close() {
+        cerrado = true;
+        escritor.interrupt();
+        try {
+            escritor.join(1_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LogRecord registro;
+        while ((registro = bufer.poll()) != null) {
+            entregar(registro);
+            registrarEscrito();
+        }
+        informarDescartados();
+        destino.close();
+    }
+
+    /**
+     * @return cantidad total de registros descartados por tener el búfer lleno
+     */
+    public long getDescartados() {
+        return descartados.sum();
+    }
+
+    /**
+     * @return cantidad de registros pendientes de escribir
+     */
+    public int getPendientes() {
+        return bufer.size();
+    }
+}
@@ -0,0 +1,115 @@
+package util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas de una operación: cantidad de llamadas, errores, filas devueltas y distribución de latencias.
+ *
+ * <p>Se obtiene una vez con {@link Metricas#operacion(String)} y se guarda en un campo estático;
+ * luego cada llamada toma el instante de inicio con {@link System#nanoTime()} y al terminar invoca
+ * {@link #registrar(long, int)} o {@link #registrarError(long)}. Registrar no reserva memoria.</p>
+ *
+ * @author Miguel
+ */
+public class MetricaOperacion {
+
+    private final String nombre;
+    private final LongAdder llamadas = new LongAdder();
+    private final LongAdder errores = new LongAdder();
+    private final LongAdder filas = new LongAdder();
+    private final HistogramaLatencias latencias = new HistogramaLatencias();
+
+    /**
+     * @param nombre Nombre de la operación, por ejemplo {@code dao.listarPeliculas}
+     */
+    MetricaOperacion(String nombre) {
+        this.nombre = nombre;
+    }
+
+    /**
+     * Registra una llamada terminada sin error y sin filas asociadas.
+     *
+     * @param inicioNanos Valor de {@link System#nanoTime()} al comenzar la llamada
+     */
+    public void registrar(long inicioNanos) {
+        registrar(inicioNanos, 0);
+    }
+
+    /**
+     * Registra una llamada terminada sin error.
+     *
+     * @param inicioNanos Valor de {@link System#nanoTime()} al comenzar la llamada
+     * @param filas       Filas devueltas o afectadas
+     */
+    public void registrar(long inicioNanos, int filas) {
+        latencias.registrar(System.nanoTime() - inicioNanos);
+        llamadas.increment();
+        if (filas > 0) {
+            this.filas.add(filas);
+        }
+    }
+
+    /**
+     * Registra una llamada terminada con error. Su duración también forma parte del histograma.
+     *
+     * @param inicioNanos Valor de {@link System#nanoTime()} al comenzar la llamada
+     */
+    public void registrarError(long inicioNanos) {
+        latencias.registrar(System.nanoTime() - inicioNanos);
+        llamadas.increment();
+        errores.increment();
+    }
+
+    /**
+     * @return nombre de la operación
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * @return cantidad de llamadas registradas, incluidas las que terminaron con error
+     */
+    public long getLlamadas() {
+        return llamadas.sum();
+    }
+
+    /**
+     * @return cantidad de llamadas que terminaron con error
+     */
+    public long getErrores() {
+        return errores.sum();
+    }
+
+    /**
+     * @return total de filas devueltas o afectadas
+     */
+    public long getFilas() {
+        return filas.sum();
+    }
+
+    /**
+     * @return distribución de latencias de las llamadas
+     */
+    public HistogramaLatencias getLatencias() {
+        return latencias;
+    }
+
+    /**
+     * Descarta los valores registrados.
+     */
+    public void reiniciar() {
+        llamadas.reset();
+        errores.reset();
+        filas.reset();
+        latencias.reiniciar();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-36s llamadas=%-8d errores=%-6d filas=%-10d p50=%.3f ms p99=%.3f ms p999=%.3f ms max=%.3f ms",
+                nombre, getLlamadas(), getErrores(), getFilas(),
+                latencias.percentil(0.5) / 1e6, latencias.percentil(0.99) / 1e6,
+                latencias.percentil(0.999) / 1e6, latencias.getMaximo() / 1e6);
+    }
+}
@@ -0,0 +1,184 @@
+package util;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registro central de métricas de la aplicación: una {@link MetricaOperacion} por operación medida
+ * (métodos del DAO y del servicio, obtención de conexiones del pool).
+ *
+ * <p>Las métricas se pueden consultar por JMX ({@link #registrarJmx()}) o escribir en un archivo con
+ * {@link #volcar(Path)}. Si se define la propiedad {@code cinemagenta.metricas.archivo}, el resumen
+ * se escribe además en ese archivo al cerrar la aplicación.</p>
+ *
+ * <p>Convención de nombres: {@code pool.*}, {@code dao.*} y {@code servicio.*}, seguidos del nombre del método.</p>
+ *
+ * @author Miguel
+ */
+public final class Metricas {
+
+    private static final Logger logger = Logger.getLogger(Metricas.class.getName());
+
+    /** Nombre con que se registran las métricas en JMX. */
+    public static final String NOMBRE_JMX = "cinemagenta:type=Metricas";
+
+    private static final ConcurrentSkipListMap<String, MetricaOperacion> OPERACIONES = new ConcurrentSkipListMap<>();
+
+    /**
+     * Constructor privado para evitar instanciación de la clase utilitaria.
+     */
+    private Metricas() {
+
+    }
+
+    /**
+     * Devuelve las métricas de una operación, creándolas la primera vez.
+     * Pensado para inicializar un campo estático, no para invocarse en cada llamada.
+     *
+     * @param nombre Nombre de la operación
+     * @return métricas de la operación
+     */
+    public static MetricaOperacion operacion(String nombre) {
+        return OPERACIONES.computeIfAbsent(nombre, MetricaOperacion::new);
+    }
+
+    /**
+     * @param nombre Nombre de la operación
+     * @return métricas de la operación, o {@code null} si aún no se registró
+     */
+    public static MetricaOperacion buscar(String nombre) {
+        return OPERACIONES.get(nombre);
+    }
+
+    /**
+     * @return métricas de todas las operaciones, ordenadas por nombre
+     */
+    public static Collection<MetricaOperacion> getOperaciones() {
+        return OPERACIONES.values();
+    }
+
+    /**
+     * @return una línea por operación con llamadas, errores, filas y percentiles
+     */
+    public static String resumen() {
+        StringBuilder sb = new StringBuilder();
+        for (MetricaOperacion m : OPERACIONES.values()) {
+            sb.append(m).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Escribe el resumen de métricas en un archivo, reemplazándolo si existe.
+     *
+     * @param archivo Archivo de destino
+     * @throws IOException si no se puede escribir
+     */
+    public static void volcar(Path archivo) throws IOException {
+        Path carpeta = archivo.toAbsolutePath().getParent();
+        if (carpeta != null) {
+            Files.createDirectories(carpeta);
+        }
+        Files.writeString(archivo, "# Métricas CineMagenta " + LocalDateTime.now() + System.lineSeparator() + resumen(),
+                StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Descarta los valores registrados de todas las operaciones.
+     */
+    public static void reiniciar() {
+        OPERACIONES.values().forEach(MetricaOperacion::reiniciar);
+    }
+
+    /**
+     * Registra las métricas en el servidor JMX de la plataforma como {@value #NOMBRE_JMX} y, si se definió
+     * {@code cinemagenta.metricas.archivo}, programa su volcado al cerrar la aplicación.
+     * Invocarlo más de una vez no tiene efecto.
+     */
+    public static synchronized void registrarJmx() {
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            ObjectName nombre = new ObjectName(NOMBRE_JMX);
+            if (servidor.isRegistered(nombre)) {
+                return;
+            }
+            servidor.registerMBean(new StandardMBean(new Jmx(), MetricasMBean.class), nombre);
+        } catch (JMException e) {
+            logger.log(Level.WARNING, "No se pudieron registrar las métricas en JMX", e);
+            return;
+        }
+        String archivo = System.getProperty("cinemagenta.metricas.archivo");
+        if (archivo != null && !archivo.isBlank()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    volcar(Paths.get(archivo));
+                } catch (IOException e) {
+                    logger.log(Level.WARNING, "No se pudieron volcar las métricas en " + archivo, e);
+                }
+            }, "metricas-volcado"));
+        }
+    }
+
+    /**
+     * Adaptador JMX del registro.
+     */
+    private static final class Jmx implements MetricasMBean {
+
+        @Override
+        public String[] getOperaciones() {
+            return OPERACIONES.keySet().toArray(new String[0]);
+        }
+
+        @Override
+        public String getResumen() {
+            return resumen();
+        }
+
+        @Override
+        public long llamadas(String operacion) {
+            MetricaOperacion m = buscar(operacion);
+            return m == null ? 0 : m.getLlamadas();
+        }
+
+        @Override
+        public long errores(String operacion) {
+            MetricaOperacion m = buscar(operacion);
+            return m == null ? 0 : m.getErrores();
+        }
+
+        @Override
+        public double percentilMs(String operacion, double fraccion) {
+            MetricaOperacion m = buscar(operacion);
+            return m == null ? 0 : m.getLatencias().percentil(fraccion) / 1e6;
+        }
+
+        @Override
+        public String volcar(String ruta) {
+            Path archivo = Paths.get(ruta).toAbsolutePath();
+            try {
+                Metricas.volcar(archivo);
+            } catch (IOException e) {
+                throw new IllegalStateException("No se pudo escribir " + archivo + ": " + e.getMessage(), e);
+            }
+            return archivo.toString();
+        }
+
+        @Override
+        public void reiniciar() {
+            Metricas.reiniciar();
+        }
+    }
+}
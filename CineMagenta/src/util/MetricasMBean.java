@@ -0,0 +1,52 @@
+package util;
+
+/**
+ * Interfaz de administración (JMX) de las métricas de la aplicación, registrada como
+ * {@value Metricas#NOMBRE_JMX}. Permite consultarlas con JConsole o VisualVM sin detener el programa.
+ *
+ * @author Miguel
+ */
+public interface MetricasMBean {
+
+    /**
+     * @return nombres de las operaciones medidas
+     */
+    String[] getOperaciones();
+
+    /**
+     * @return una línea por operación con llamadas, errores, filas y percentiles
+     */
+    String getResumen();
+
+    /**
+     * @param operacion Nombre de la operación
+     * @return cantidad de llamadas, o {@code 0} si la operación no existe
+     */
+    long llamadas(String operacion);
+
+    /**
+     * @param operacion Nombre de la operación
+     * @return cantidad de errores, o {@code 0} si la operación no existe
+     */
+    long errores(String operacion);
+
+    /**
+     * @param operacion Nombre de la operación
+     * @param fraccion  Percentil entre 0 y 1
+     * @return latencia en milisegundos, o {@code 0} si la operación no existe
+     */
+    double percentilMs(String operacion, double fraccion);
+
+    /**
+     * Escribe el resumen de métricas en un archivo.
+     *
+     * @param ruta Ruta del archivo
+     * @return ruta absoluta del archivo escrito
+     */
+    String volcar(String ruta);
+
+    /**
+     * Descarta los valores registrados de todas las operaciones.
+     */
+    void reiniciar();
+}
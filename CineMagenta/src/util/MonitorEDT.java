@@ -0,0 +1,304 @@
+package util;
+
+import javax.swing.AbstractButton;
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.EventQueue;
+import java.awt.GraphicsEnvironment;
+import java.awt.Toolkit;
+import java.awt.event.ActionEvent;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Mide cuánto tarda el hilo de eventos de Swing (EDT) en despachar cada evento y detecta los bloqueos.
+ *
+ * <p>{@link #instalar()} reemplaza la cola de eventos del sistema por una que registra el inicio y
+ * el fin de cada despacho, y arranca un hilo vigilante. Si un despacho supera el umbral
+ * ({@code cinemagenta.edt.umbralMs}, por defecto 200 ms) mientras aún está en curso, el vigilante
+ * registra en el log la pila del EDT en ese momento, el componente que originó el evento y la acción;
+ * al terminar se registra su duración total.</p>
+ *
+ * <p>La duración de los despachos se acumula en la métrica {@code ui.despacho} y la de los bloqueos en
+ * {@code ui.bloqueo} (ver {@link Metricas}), cuyos histogramas describen la respuesta de la interfaz.
+ * Los despachos que abren un bucle de eventos propio (por ejemplo, un diálogo modal) no se miden
+ * completos: mientras el diálogo está abierto el EDT espera o atiende otros eventos, que se miden por
+ * separado. Cada vez que el bucle anidado termina de despachar un evento, el despacho externo se vuelve
+ * a medir desde ese instante, de modo que el resto del manejador, una vez cerrado el diálogo, se vigila
+ * y se registra como un despacho más.</p>
+ *
+ * @author Miguel
+ */
+public class MonitorEDT {
+
+    private static final Logger logger = Logger.getLogger(MonitorEDT.class.getName());
+
+    private static MonitorEDT instalado;
+
+    private final long umbralNanos;
+    private final MetricaOperacion despachos;
+    private final MetricaOperacion bloqueos;
+    private final LongAdder detectados = new LongAdder();
+
+    /** Despachos en curso; solo la usa el EDT. */
+    private final Deque<Despacho> pila = new ArrayDeque<>();
+    private long secuencia;
+    private volatile Despacho actual;
+    private volatile Thread hiloEdt;
+
+    /** Último despacho informado por el vigilante; solo lo usa el vigilante. */
+    private long ultimoInformado;
+
+    /**
+     * Tramo del despacho de un evento. {@code anidado} indica que durante el tramo se atendieron otros
+     * eventos o se esperó uno, por lo que su duración no corresponde solo a este evento.
+     */
+    private static final class Despacho {
+        final AWTEvent evento;
+        final long secuencia;
+        final long inicio;
+        boolean anidado;
+
+        Despacho(AWTEvent evento, long secuencia, long inicio) {
+            this.evento = evento;
+            this.secuencia = secuencia;
+            this.inicio = inicio;
+        }
+    }
+
+    /**
+     * @param umbralMs  Duración a partir de la cual un despacho se considera un bloqueo
+     * @param despachos Métrica de la duración de los despachos
+     * @param bloqueos  Métrica de la duración de los despachos que superaron el umbral
+     */
+    MonitorEDT(long umbralMs, MetricaOperacion despachos, MetricaOperacion bloqueos) {
+        this.umbralNanos = TimeUnit.MILLISECONDS.toNanos(umbralMs);
+        this.despachos = despachos;
+        this.bloqueos = bloqueos;
+    }
+
+    /**
+     * Instala la cola de eventos medida y el hilo vigilante. No tiene efecto sin entorno gráfico
+     * ni si ya se instaló.
+     *
+     * @return monitor instalado, o {@code null} si no hay entorno gráfico
+     */
+    public static synchronized MonitorEDT instalar() {
+        if (instalado != null || GraphicsEnvironment.isHeadless()) {
+            return instalado;
+        }
+        long umbralMs = Long.getLong("cinemagenta.edt.umbralMs", 200L);
+        MonitorEDT monitor = new MonitorEDT(umbralMs, Metricas.operacion("ui.despacho"), Metricas.operacion("ui.bloqueo"));
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new ColaMedida(monitor));
+
+        long intervaloMs = Math.max(10, umbralMs / 4);
+        Thread vigilante = new Thread(() -> {
+            try {
+                while (true) {
+                    Thread.sleep(intervaloMs);
+                    monitor.revisar();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "monitor-edt");
+        vigilante.setDaemon(true);
+        vigilante.start();
+        logger.info(() -> "Monitor del EDT instalado (umbral " + umbralMs + " ms)");
+        instalado = monitor;
+        return monitor;
+    }
+
+    /**
+     * Cola de eventos que informa al monitor el inicio y el fin de cada despacho.
+     */
+    private static final class ColaMedida extends EventQueue {
+        private final MonitorEDT monitor;
+
+        ColaMedida(MonitorEDT monitor) {
+            this.monitor = monitor;
+        }
+
+        @Override
+        public AWTEvent getNextEvent() throws InterruptedException {
+            monitor.alEsperar();
+            try {
+                return super.getNextEvent();
+            } finally {
+                monitor.alReanudar();
+            }
+        }
+
+        @Override
+        protected void dispatchEvent(AWTEvent evento) {
+            monitor.alIniciar(evento);
+            try {
+                super.dispatchEvent(evento);
+            } finally {
+                monitor.alTerminar();
+            }
+        }
+    }
+
+    /**
+     * Registra el inicio del despacho de un evento. Se invoca en el EDT.
+     */
+    void alIniciar(AWTEvent evento) {
+        if (hiloEdt != Thread.currentThread()) {
+            hiloEdt = Thread.currentThread();
+        }
+        Despacho externo = pila.peek();
+        if (externo != null) {
+            externo.anidado = true;
+        }
+        Despacho despacho = new Despacho(evento, ++secuencia, System.nanoTime());
+        pila.push(despacho);
+        actual = despacho;
+    }
+
+    /**
+     * Registra que el EDT espera el próximo evento, por ejemplo dentro del bucle de un diálogo modal:
+     * esa espera no es un bloqueo. Se invoca en el EDT.
+     */
+    void alEsperar() {
+        Despacho externo = pila.peek();
+        if (externo != null && hiloEdt == Thread.currentThread()) {
+            externo.anidado = true;
+        }
+        actual = null;
+    }
+
+    /**
+     * Registra que el EDT dejó de esperar. Si la espera ocurrió dentro de un despacho (un bucle anidado),
+     * ese despacho se vuelve a medir desde ahora. Se invoca en el EDT.
+     */
+    void alReanudar() {
+        if (hiloEdt != Thread.currentThread() || pila.isEmpty()) {
+            return;
+        }
+        reanudar(pila.pop());
+    }
+
+    /**
+     * Reemplaza el tramo en curso de un despacho externo por uno que comienza ahora, ya que el tiempo
+     * anterior incluye esperas o eventos anidados.
+     */
+    private void reanudar(Despacho externo) {
+        Despacho reanudado = new Despacho(externo.evento, ++secuencia, System.nanoTime());
+        pila.push(reanudado);
+        actual = reanudado;
+    }
+
+    /**
+     * Registra el fin del despacho en curso. Se invoca en el EDT.
+     */
+    void alTerminar() {
+        Despacho despacho = pila.pop();
+        long nanos = System.nanoTime() - despacho.inicio;
+        if (!despacho.anidado) {
+            despachos.registrar(despacho.inicio);
+            if (nanos >= umbralNanos) {
+                bloqueos.registrar(despacho.inicio);
+                logger.warning(() -> String.format("EDT bloqueado %d ms despachando %s",
+                        TimeUnit.NANOSECONDS.toMillis(nanos), describirEvento(despacho.evento)));
+            }
+        }
+        Despacho externo = pila.poll();
+        if (externo == null) {
+            actual = null;
+            return;
+        }
+        // Si el bucle anidado termina aquí, el resto del despacho externo se mide desde ahora
+        reanudar(externo);
+    }
+
+    /**
+     * Comprueba si el despacho en curso superó el umbral y, la primera vez que lo hace,
+     * registra la pila del EDT. Se invoca desde el hilo vigilante.
+     *
+     * @return descripción del bloqueo detectado, o {@code null} si no hay uno nuevo
+     */
+    String revisar() {
+        Despacho despacho = actual;
+        Thread hilo = hiloEdt;
+        if (despacho == null || hilo == null || despacho.secuencia == ultimoInformado) {
+            return null;
+        }
+        long nanos = System.nanoTime() - despacho.inicio;
+        if (nanos < umbralNanos) {
+            return null;
+        }
+        ultimoInformado = despacho.secuencia;
+        detectados.increment();
+
+        StringBuilder sb = new StringBuilder("EDT sin responder hace ")
+                .append(TimeUnit.NANOSECONDS.toMillis(nanos)).append(" ms despachando ")
+                .append(describirEvento(despacho.evento));
+        for (StackTraceElement elemento : hilo.getStackTrace()) {
+            sb.append(System.lineSeparator()).append("\tat ").append(elemento);
+        }
+        String informe = sb.toString();
+        logger.log(Level.WARNING, informe);
+        return informe;
+    }
+
+    /**
+     * Describe un evento con su tipo, el componente que lo originó y su acción.
+     *
+     * @param evento Evento despachado
+     * @return descripción como {@code ActionEvent componente=JButton[Buscar] accion=Buscar}
+     */
+    static String describirEvento(AWTEvent evento) {
+        String parametros = evento.paramString();
+        int coma = parametros.indexOf(',');
+        String accion = evento instanceof ActionEvent a ? a.getActionCommand()
+                : (coma >= 0 ? parametros.substring(0, coma) : parametros);
+        return evento.getClass().getSimpleName() + " componente=" + describir(evento.getSource()) + " accion=" + accion;
+    }
+
+    /**
+     * Describe un componente para identificarlo en un evento o un registro.
+     *
+     * @param origen Componente u objeto que originó el evento
+     * @return nombre del componente si tiene uno; si no, su clase y, en los botones, su texto
+     */
+    public static String describir(Object origen) {
+        if (origen == null) {
+            return null;
+        }
+        if (origen instanceof Component c && c.getName() != null) {
+            return c.getName();
+        }
+        String clase = origen.getClass().getSimpleName().isEmpty()
+                ? origen.getClass().getName() : origen.getClass().getSimpleName();
+        if (origen instanceof AbstractButton b && b.getText() != null) {
+            return clase + "[" + b.getText() + "]";
+        }
+        return clase;
+    }
+
+    /**
+     * @return cantidad de bloqueos detectados mientras estaban en curso
+     */
+    public long getBloqueosDetectados() {
+        return detectados.sum();
+    }
+
+    /**
+     * @return métrica con la duración de los despachos
+     */
+    public MetricaOperacion getDespachos() {
+        return despachos;
+    }
+
+    /**
+     * @return métrica con la duración de los despachos que superaron el umbral
+     */
+    public MetricaOperacion getBloqueos() {
+        return bloqueos;
+    }
+}
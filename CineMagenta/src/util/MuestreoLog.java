@@ -0,0 +1,85 @@
+package util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Limita cuántos mensajes de un mismo tipo se registran por intervalo, para que las operaciones
+ * muy frecuentes (por ejemplo, la búsqueda mientras se escribe) no saturen el log.
+ *
+ * <p>Uso típico, con una instancia estática por mensaje:</p>
+ * <pre>
+ * if (MUESTREO.admitir(logger, Level.INFO)) {
+ *     String omitidos = MUESTREO.tomarOmitidos();
+ *     logger.info(() -&gt; "Búsqueda ..." + omitidos);
+ * }
+ * </pre>
+ *
+ * <p>Los mensajes que superan el máximo del intervalo se descartan y se cuentan; el siguiente mensaje
+ * admitido informa cuántos se omitieron.</p>
+ *
+ * @author Miguel
+ */
+public class MuestreoLog {
+
+    private final int maximoPorIntervalo;
+    private final long intervaloNanos;
+    private final AtomicLong inicioIntervalo = new AtomicLong(System.nanoTime());
+    private final AtomicInteger admitidosEnIntervalo = new AtomicInteger();
+    private final AtomicLong omitidosPendientes = new AtomicLong();
+    private final LongAdder omitidos = new LongAdder();
+
+    /**
+     * @param maximoPorIntervalo Cantidad máxima de mensajes registrados por intervalo
+     * @param intervaloMs        Duración del intervalo, en milisegundos
+     */
+    public MuestreoLog(int maximoPorIntervalo, long intervaloMs) {
+        this.maximoPorIntervalo = maximoPorIntervalo;
+        this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(intervaloMs);
+    }
+
+    /**
+     * Indica si el mensaje debe registrarse. Si el nivel no está habilitado no consume cupo.
+     *
+     * @param logger Logger en el que se registraría el mensaje
+     * @param nivel  Nivel del mensaje
+     * @return {@code true} si el nivel está habilitado y queda cupo en el intervalo actual
+     */
+    public boolean admitir(Logger logger, Level nivel) {
+        if (!logger.isLoggable(nivel)) {
+            return false;
+        }
+        long ahora = System.nanoTime();
+        long inicio = inicioIntervalo.get();
+        if (ahora - inicio >= intervaloNanos && inicioIntervalo.compareAndSet(inicio, ahora)) {
+            admitidosEnIntervalo.set(0);
+        }
+        if (admitidosEnIntervalo.incrementAndGet() <= maximoPorIntervalo) {
+            return true;
+        }
+        omitidos.increment();
+        omitidosPendientes.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Devuelve el aviso de mensajes omitidos desde el último mensaje admitido, para agregarlo al mensaje.
+     *
+     * @return texto como {@code " [12 similares omitidos]"}, o una cadena vacía si no se omitió ninguno
+     */
+    public String tomarOmitidos() {
+        long cantidad = omitidosPendientes.getAndSet(0);
+        return cantidad == 0 ? "" : " [" + cantidad + " similares omitidos]";
+    }
+
+    /**
+     * @return cantidad total de mensajes omitidos
+     */
+    public long getOmitidos() {
+        return omitidos.sum();
+    }
+}
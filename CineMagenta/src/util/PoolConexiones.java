@@ -0,0 +1,407 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pool acotado de conexiones JDBC utilizado por {@link ConexionDB}.
+ *
+ * <p>Mantiene un conjunto de conexiones físicas abiertas y entrega a los llamadores
+ * un envoltorio de {@link Connection} cuyo {@code close()} devuelve la conexión al pool
+ * en lugar de cerrarla. De esta forma el código DAO sigue usando try-with-resources
+ * sin ningún cambio.</p>
+ *
+ * <p>Cada conexión física mantiene además una {@link CacheSentencias}: las llamadas a
+ * {@code prepareStatement} reutilizan la sentencia ya preparada para el mismo SQL.</p>
+ *
+ * <p>Características:</p>
+ * <ul>
+ *   <li>Tamaño mínimo y máximo configurable; nunca hay más de {@code maximo} conexiones prestadas.</li>
+ *   <li>Validación al prestar mediante {@link Connection#isValid(int)}.</li>
+ *   <li>Tiempo máximo de espera al pedir una conexión cuando el pool está agotado.</li>
+ *   <li>Cierre de conexiones inactivas por sobre el mínimo. El relleno hasta el mínimo comienza tras el
+ *       primer préstamo exitoso, de modo que crear el pool no abre conexiones por sí solo.</li>
+ *   <li>Detección de fugas: registra en el log el origen de las conexiones prestadas por demasiado tiempo.</li>
+ *   <li>Tiempo de obtención de cada conexión en la métrica {@code pool.obtener} ({@link Metricas}).</li>
+ * </ul>
+ *
+ * @author Miguel
+ */
+public class PoolConexiones {
+
+    private static final Logger logger = Logger.getLogger(PoolConexiones.class.getName());
+
+    /**
+     * Fuente de conexiones físicas del pool.
+     */
+    @FunctionalInterface
+    public interface FabricaConexiones {
+
+        /**
+         * Abre una nueva conexión física.
+         *
+         * @return conexión abierta
+         * @throws SQLException si no se puede establecer la conexión
+         */
+        Connection crear() throws SQLException;
+    }
+
+    private static final int SEGUNDOS_VALIDACION = 2;
+
+    private static final MetricaOperacion M_OBTENER = Metricas.operacion("pool.obtener");
+
+    private final FabricaConexiones fabrica;
+    private final int minimo;
+    private final int maximo;
+    private final long esperaMaximaMs;
+    private final long inactividadMaximaMs;
+    private final long umbralFugaMs;
+    private final int sentenciasPorConexion;
+
+    private final Semaphore permisos;
+    private final LinkedBlockingDeque<ConexionFisica> libres = new LinkedBlockingDeque<>();
+    private final Set<ConexionFisica> prestadas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger total = new AtomicInteger();
+    private final ScheduledExecutorService mantenimiento;
+    private final AtomicBoolean enUso = new AtomicBoolean();
+    private boolean falloRelleno;
+    private volatile boolean cerrado;
+
+    /**
+     * Crea un pool con la configuración indicada e inicia la tarea de mantenimiento.
+     *
+     * @param fabrica             Fuente de conexiones físicas
+     * @param minimo              Cantidad de conexiones que se mantienen abiertas aunque estén inactivas
+     * @param maximo              Cantidad máxima de conexiones simultáneas
+     * @param esperaMaximaMs      Tiempo máximo de espera al pedir una conexión, en milisegundos
+     * @param inactividadMaximaMs Tiempo tras el cual se cierra una conexión inactiva sobre el mínimo
+     * @param umbralFugaMs        Tiempo de préstamo tras el cual se informa una posible fuga ({@code 0} para desactivar)
+     * @param sentenciasPorConexion Cantidad de sentencias preparadas retenidas por conexión ({@code 0} para desactivar)
+     */
+    public PoolConexiones(FabricaConexiones fabrica, int minimo, int maximo,
+                          long esperaMaximaMs, long inactividadMaximaMs, long umbralFugaMs,
+                          int sentenciasPorConexion) {
+        if (maximo <= 0 || minimo < 0 || minimo > maximo) {
+            throw new IllegalArgumentException("Tamaño de pool inválido: minimo=" + minimo + ", maximo=" + maximo);
+        }
+        this.fabrica = fabrica;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.inactividadMaximaMs = inactividadMaximaMs;
+        this.umbralFugaMs = umbralFugaMs;
+        this.sentenciasPorConexion = sentenciasPorConexion;
+        this.permisos = new Semaphore(maximo, true);
+
+        this.mantenimiento = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "pool-conexiones-mantenimiento");
+            t.setDaemon(true);
+            return t;
+        });
+        long periodo = Math.max(1000, Math.min(inactividadMaximaMs, umbralFugaMs > 0 ? umbralFugaMs : inactividadMaximaMs) / 2);
+        mantenimiento.scheduleWithFixedDelay(this::mantener, periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Obtiene una conexión del pool, esperando como máximo el tiempo configurado.
+     * La conexión debe cerrarse (idealmente con try-with-resources) para devolverla al pool.
+     *
+     * @return conexión prestada
+     * @throws SQLException si el pool está cerrado, se agota el tiempo de espera o falla la conexión
+     */
+    public Connection obtener() throws SQLException {
+        if (cerrado) {
+            throw new SQLException("El pool de conexiones está cerrado.");
+        }
+        long inicio = System.nanoTime();
+        try {
+            if (!permisos.tryAcquire(esperaMaximaMs, TimeUnit.MILLISECONDS)) {
+                M_OBTENER.registrarError(inicio);
+                throw new SQLTransientConnectionException("Tiempo de espera agotado: las " + maximo
+                        + " conexiones del pool están en uso.");
+            }
+        } catch (InterruptedException e) {
+            M_OBTENER.registrarError(inicio);
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido mientras se esperaba una conexión.", e);
+        }
+
+        try {
+            ConexionFisica fisica = tomarValida();
+            fisica.prestadaDesde = System.currentTimeMillis();
+            fisica.origen = umbralFugaMs > 0 ? new Throwable("Conexión obtenida aquí") : null;
+            fisica.fugaInformada = false;
+            prestadas.add(fisica);
+            if (minimo > 0 && enUso.compareAndSet(false, true)) {
+                // Primer préstamo: la base de datos responde, se rellena hasta el mínimo sin esperar al período
+                mantenimiento.execute(this::mantener);
+            }
+            Connection prestada = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new ConexionPrestada(fisica));
+            M_OBTENER.registrar(inicio);
+            return prestada;
+        } catch (SQLException | RuntimeException e) {
+            M_OBTENER.registrarError(inicio);
+            permisos.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Toma una conexión libre que pase la validación o, si no hay, abre una nueva.
+     */
+    private ConexionFisica tomarValida() throws SQLException {
+        ConexionFisica fisica;
+        while ((fisica = libres.pollFirst()) != null) {
+            if (esValida(fisica)) {
+                return fisica;
+            }
+            destruir(fisica);
+        }
+        return abrir();
+    }
+
+    private boolean esValida(ConexionFisica fisica) {
+        try {
+            return fisica.conexion.isValid(SEGUNDOS_VALIDACION);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private ConexionFisica abrir() throws SQLException {
+        total.incrementAndGet();
+        try {
+            Connection conexion = fabrica.crear();
+            return new ConexionFisica(conexion,
+                    sentenciasPorConexion > 0 ? new CacheSentencias(conexion, sentenciasPorConexion) : null);
+        } catch (SQLException | RuntimeException e) {
+            total.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Devuelve una conexión al pool, restableciendo su estado de transacción.
+     */
+    private void devolver(ConexionFisica fisica) {
+        prestadas.remove(fisica);
+        fisica.origen = null;
+        try {
+            if (fisica.sentencias != null) {
+                fisica.sentencias.liberarPendientes();
+            }
+            if (!fisica.rota && !fisica.conexion.getAutoCommit()) {
+                fisica.conexion.rollback();
+                fisica.conexion.setAutoCommit(true);
+            }
+            fisica.conexion.clearWarnings();
+        } catch (SQLException e) {
+            fisica.rota = true;
+        }
+
+        if (cerrado || fisica.rota) {
+            destruir(fisica);
+        } else {
+            fisica.ultimoUso = System.currentTimeMillis();
+            libres.offerFirst(fisica);
+        }
+        permisos.release();
+    }
+
+    private void destruir(ConexionFisica fisica) {
+        total.decrementAndGet();
+        try {
+            if (fisica.sentencias != null) {
+                fisica.sentencias.cerrar();
+            }
+            fisica.conexion.close();
+        } catch (SQLException e) {
+            logger.log(Level.FINE, "Error al cerrar conexión física", e);
+        }
+    }
+
+    /**
+     * Tarea periódica: cierra conexiones inactivas, informa posibles fugas y, una vez que el pool se
+     * usó, rellena hasta el mínimo. Si el relleno falla (por ejemplo, con la base de datos caída) se
+     * informa solo el primer fallo de cada racha y el restablecimiento.
+     */
+    private void mantener() {
+        try {
+            long ahora = System.currentTimeMillis();
+
+            for (ConexionFisica fisica : libres) {
+                if (total.get() <= minimo) break;
+                if (ahora - fisica.ultimoUso > inactividadMaximaMs && libres.remove(fisica)) {
+                    destruir(fisica);
+                }
+            }
+
+            if (umbralFugaMs > 0) {
+                for (ConexionFisica fisica : prestadas) {
+                    Throwable origen = fisica.origen;
+                    if (!fisica.fugaInformada && origen != null && ahora - fisica.prestadaDesde > umbralFugaMs) {
+                        fisica.fugaInformada = true;
+                        logger.log(Level.WARNING, "Posible fuga de conexión: prestada hace "
+                                + (ahora - fisica.prestadaDesde) + " ms sin devolverse.", origen);
+                    }
+                }
+            }
+
+            if (enUso.get()) {
+                rellenar();
+            }
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Error en el mantenimiento del pool de conexiones", e);
+        }
+    }
+
+    private void rellenar() {
+        try {
+            while (!cerrado && total.get() < minimo) {
+                libres.offerLast(abrir());
+            }
+            if (falloRelleno) {
+                falloRelleno = false;
+                logger.info("Pool de conexiones: relleno hasta el mínimo restablecido.");
+            }
+        } catch (SQLException | RuntimeException e) {
+            if (!falloRelleno) {
+                falloRelleno = true;
+                logger.log(Level.WARNING, "No se pudo rellenar el pool de conexiones hasta el mínimo; "
+                        + "se reintentará en silencio en cada mantenimiento.", e);
+            } else {
+                logger.log(Level.FINE, "El relleno del pool de conexiones sigue fallando: {0}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Cierra el pool: detiene el mantenimiento y cierra las conexiones libres.
+     * Las conexiones prestadas se cierran al ser devueltas.
+     */
+    public void cerrar() {
+        cerrado = true;
+        mantenimiento.shutdownNow();
+        ConexionFisica fisica;
+        while ((fisica = libres.pollFirst()) != null) {
+            destruir(fisica);
+        }
+    }
+
+    /**
+     * @return cantidad de conexiones actualmente prestadas
+     */
+    public int getPrestadas() {
+        return prestadas.size();
+    }
+
+    /**
+     * @return cantidad de conexiones abiertas y disponibles
+     */
+    public int getLibres() {
+        return libres.size();
+    }
+
+    /**
+     * @return cantidad total de conexiones físicas abiertas
+     */
+    public int getTotal() {
+        return total.get();
+    }
+
+    /**
+     * @return cantidad máxima de conexiones simultáneas
+     */
+    public int getMaximo() {
+        return maximo;
+    }
+
+    /**
+     * Conexión física administrada por el pool junto con su estado de préstamo.
+     */
+    private static final class ConexionFisica {
+        final Connection conexion;
+        final CacheSentencias sentencias;
+        volatile long ultimoUso = System.currentTimeMillis();
+        volatile long prestadaDesde;
+        volatile Throwable origen;
+        volatile boolean fugaInformada;
+        volatile boolean rota;
+
+        ConexionFisica(Connection conexion, CacheSentencias sentencias) {
+            this.conexion = conexion;
+            this.sentencias = sentencias;
+        }
+    }
+
+    /**
+     * Envoltorio entregado al llamador. {@code close()} devuelve la conexión al pool
+     * y cualquier uso posterior del envoltorio falla.
+     */
+    private final class ConexionPrestada implements InvocationHandler {
+        private final ConexionFisica fisica;
+        private boolean devuelta;
+
+        ConexionPrestada(ConexionFisica fisica) {
+            this.fisica = fisica;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "close":
+                    if (!devuelta) {
+                        devuelta = true;
+                        devolver(fisica);
+                    }
+                    return null;
+                case "isClosed":
+                    return devuelta || fisica.conexion.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ConexionPrestada[" + fisica.conexion + "]";
+                default:
+                    break;
+            }
+            if (devuelta) {
+                throw new SQLException("La conexión ya fue devuelta al pool.");
+            }
+            if (fisica.sentencias != null && metodo.getName().equals("prepareStatement")
+                    && (args.length == 1 || (args.length == 2 && args[1] instanceof Integer))) {
+                return fisica.sentencias.preparar((Connection) proxy, (String) args[0],
+                        args.length == 2 ? (Integer) args[1] : null);
+            }
+            try {
+                return metodo.invoke(fisica.conexion, args);
+            } catch (InvocationTargetException e) {
+                Throwable causa = e.getCause();
+                if (causa instanceof SQLException sql && sql.getSQLState() != null && sql.getSQLState().startsWith("08")) {
+                    fisica.rota = true;
+                }
+                throw causa;
+            }
+        }
+    }
+}
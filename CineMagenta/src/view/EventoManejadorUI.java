@@ -0,0 +1,87 @@
+package view;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import util.MonitorEDT;
+
+import javax.swing.event.ListSelectionListener;
+import java.awt.event.ActionListener;
+
+/**
+ * Evento de Java Flight Recorder que mide cuánto tarda un manejador de eventos de la interfaz
+ * en el hilo de eventos de Swing (EDT). Mientras dura, el EDT no repinta ni atiende al usuario,
+ * por lo que los eventos largos corresponden a las pausas que percibe el usuario.
+ *
+ * <p>{@link #medir(Object, ActionListener)} y {@link #medir(Object, String, ListSelectionListener)}
+ * envuelven un listener para emitir el evento en cada invocación.</p>
+ *
+ * @author Miguel
+ */
+@Name("cinemagenta.ui.Manejador")
+@Label("Manejador de interfaz")
+@Category({"CineMagenta", "Interfaz"})
+@Description("Ejecución de un listener de la interfaz en el hilo de eventos de Swing")
+final class EventoManejadorUI extends Event {
+
+    @Label("Ventana")
+    String ventana;
+
+    @Label("Componente")
+    String componente;
+
+    @Label("Acción")
+    String accion;
+
+    /**
+     * Envuelve un {@link ActionListener} para medir cada ejecución.
+     *
+     * @param ventana  Ventana a la que pertenece el listener
+     * @param listener Listener a medir
+     * @return listener que delega en el original
+     */
+    static ActionListener medir(Object ventana, ActionListener listener) {
+        return e -> {
+            EventoManejadorUI evento = new EventoManejadorUI();
+            evento.begin();
+            try {
+                listener.actionPerformed(e);
+            } finally {
+                evento.terminar(ventana, e.getSource(), e.getActionCommand());
+            }
+        };
+    }
+
+    /**
+     * Envuelve un {@link ListSelectionListener} para medir cada ejecución.
+     *
+     * @param ventana  Ventana a la que pertenece el listener
+     * @param accion   Descripción de la acción, por ejemplo {@code "seleccion"}
+     * @param listener Listener a medir
+     * @return listener que delega en el original
+     */
+    static ListSelectionListener medir(Object ventana, String accion, ListSelectionListener listener) {
+        return e -> {
+            EventoManejadorUI evento = new EventoManejadorUI();
+            evento.begin();
+            try {
+                listener.valueChanged(e);
+            } finally {
+                evento.terminar(ventana, e.getSource(), accion);
+            }
+        };
+    }
+
+    private void terminar(Object ventana, Object origen, String accion) {
+        end();
+        if (shouldCommit()) {
+            this.ventana = ventana.getClass().getSimpleName();
+            this.componente = MonitorEDT.describir(origen);
+            this.accion = accion;
+            commit();
+        }
+    }
+}
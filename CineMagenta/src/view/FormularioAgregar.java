@@ -57,8 +57,10 @@ public class FormularioAgregar extends FormularioBase {
      * Al seleccionar una imagen válida, se muestra una miniatura en el formulario.
      */
     private void seleccionarImagen() {
-        rutaPortadaSeleccionada = seleccionarPortadaDesdeDisco();
-        mostrarMiniatura(rutaPortadaSeleccionada);
+        seleccionarPortadaDesdeDisco(ruta -> {
+            rutaPortadaSeleccionada = ruta;
+            mostrarMiniatura(ruta);
+        }, btnSeleccionarPortada, btnGuardar);
     }
 
     /**
@@ -83,12 +85,14 @@ public class FormularioAgregar extends FormularioBase {
             rutaPortadaSeleccionada
         );
 
-        if (service.agregarPelicula(p)) {
-            DialogUtils.info("Película agregada correctamente.");
-            limpiarCampos();
-        } else {
-            DialogUtils.error("No se pudo agregar la película. Verifica los datos e intenta nuevamente.");
-        }
+        escribirEnSegundoPlano("guardar", s -> service.agregar(p), resultado -> {
+            if (resultado.isExito()) {
+                DialogUtils.info("Película agregada correctamente.");
+                limpiarCampos();
+            } else {
+                mostrarFallo(resultado);
+            }
+        }, btnGuardar);
     }
 
     /**
@@ -108,6 +112,6 @@ public class FormularioAgregar extends FormularioBase {
     protected String obtenerInstrucciones() {
         return "Completa los campos obligatorios como título, director, año y duración en minutos.\n"
              + "Selecciona una portada desde tu equipo y verifica los datos ingresados. "
-             + "El nombre de la portada no debe contener espacios y debe estar en 'docs/portadas'.";
+             + "La portada se copia automáticamente a 'docs/portadas'.";
     }
 }
\ No newline at end of file
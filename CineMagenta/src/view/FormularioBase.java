@@ -1,23 +1,39 @@
 package view;
 
-import dao.PeliculaDAO;
+import service.PeliculaService;
+import service.ResultadoOperacion;
+import util.AlmacenPortadas;
+import util.CacheMiniaturas;
 import util.DialogUtils;
+import util.EjecutorUI;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.event.PopupMenuEvent;
+import javax.swing.event.PopupMenuListener;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.awt.event.ActionListener;
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Clase abstracta que define la estructura base para los formularios del sistema CineMagenta.
  * Proporciona métodos reutilizables para crear campos de texto, botones, combos y paneles,
  * así como para mostrar miniaturas de portadas seleccionadas.
  * 
+ * Las consultas al servicio se ejecutan fuera del hilo de eventos de Swing mediante
+ * {@link #enSegundoPlano(String, EjecutorUI.Tarea, Consumer, JComponent...)} (las escrituras, con
+ * {@link #escribirEnSegundoPlano(String, EjecutorUI.Tarea, Consumer, JComponent...)}), mostrando
+ * un indicador de carga mientras haya operaciones pendientes. Los resultados del servicio que no
+ * se completaron se muestran con {@link #mostrarFallo(ResultadoOperacion)}.
+ * 
  * Las clases concretas como {@link FormularioAgregar}, {@link FormularioModificar} y {@link FormularioEliminar}
  * extienden esta clase para mantener una interfaz gráfica consistente y modular.
  * 
@@ -25,8 +41,15 @@ import java.nio.file.StandardCopyOption;
  */
 public abstract class FormularioBase extends JFrame {
 
+    /** Miniaturas compartidas por todos los formularios. */
+    private static final CacheMiniaturas MINIATURAS =
+            new CacheMiniaturas(Integer.getInteger("cinemagenta.miniaturas.maximo", 200));
+
     protected JPanel panelCampos;
     protected JLabel lblMiniatura;
+    private JProgressBar barraCarga;
+    private int operacionesPendientes;
+    private final Map<String, EjecutorUI.Solicitud> solicitudes = new HashMap<>();
 
     /**
      * Constructor que inicializa el formulario con el título especificado.
@@ -74,9 +97,18 @@ public abstract class FormularioBase extends JFrame {
         txtInstrucciones.setAlignmentX(Component.CENTER_ALIGNMENT);
         txtInstrucciones.setMaximumSize(new Dimension(400, 100)); // Ajusta según tu layout
 
+        // Indicador de carga, visible solo mientras hay consultas en curso
+        barraCarga = new JProgressBar();
+        barraCarga.setIndeterminate(true);
+        barraCarga.setVisible(false);
+        barraCarga.setMaximumSize(new Dimension(400, 8));
+        barraCarga.setAlignmentX(Component.CENTER_ALIGNMENT);
+
         panelCentro.add(lblTitulo);
         panelCentro.add(Box.createVerticalStrut(10));
         panelCentro.add(txtInstrucciones);
+        panelCentro.add(Box.createVerticalStrut(10));
+        panelCentro.add(barraCarga);
 
         // Miniatura a la derecha
         lblMiniatura = new JLabel();
@@ -152,14 +184,128 @@ public abstract class FormularioBase extends JFrame {
         return combo;
     }
 
+    /**
+     * Crea un combo editable que sugiere los títulos registrados que comienzan con el texto escrito.
+     * Los títulos provienen del catálogo compartido por todos los formularios, que se carga en
+     * segundo plano la primera vez y se recarga al desplegar la lista si quedó desactualizado.
+     * 
+     * @return Combo de títulos
+     */
     protected JComboBox<String> crearComboBusquedaTitulos() {
-        JComboBox<String> combo = new JComboBox<>(new PeliculaDAO().obtenerTodosLosTitulos().toArray(new String[0]));
-        combo.setEditable(true);
+        ModeloComboTitulos modelo = new ModeloComboTitulos();
+        JComboBox<String> combo = new JComboBox<>(modelo);
+        modelo.instalarEn(combo);
+        Runnable cargarCatalogo = () -> enSegundoPlano("titulos",
+                s -> new PeliculaService().obtenerCatalogoTitulos(), modelo::setCatalogo);
+        cargarCatalogo.run();
+        combo.addPopupMenuListener(new PopupMenuListener() {
+            @Override
+            public void popupMenuWillBecomeVisible(PopupMenuEvent e) {
+                if (!modelo.catalogoVigente()) {
+                    cargarCatalogo.run();
+                }
+            }
+
+            @Override
+            public void popupMenuWillBecomeInvisible(PopupMenuEvent e) {
+            }
+
+            @Override
+            public void popupMenuCanceled(PopupMenuEvent e) {
+            }
+        });
         return combo;
     }
 
     /**
-     * Crea un botón con texto y una acción asociada.
+     * Ejecuta una operación fuera del hilo de eventos de Swing y entrega su resultado en él.
+     * Si la misma operación se vuelve a solicitar antes de terminar, la anterior se cancela
+     * y su resultado se descarta. Mientras se ejecuta se muestra el indicador de carga.
+     * 
+     * @param operacion  Nombre de la operación dentro del formulario (por ejemplo, "buscar")
+     * @param tarea      Trabajo a ejecutar en segundo plano, normalmente una llamada al servicio
+     * @param alTerminar Recibe el resultado en el hilo de eventos
+     * @param bloquear   Componentes que se deshabilitan mientras la operación está en curso
+     * @param <T>        Tipo del resultado
+     */
+    protected <T> void enSegundoPlano(String operacion, EjecutorUI.Tarea<T> tarea, Consumer<T> alTerminar,
+                                      JComponent... bloquear) {
+        solicitudes.put(operacion, EjecutorUI.ejecutar(Arrays.asList(this, operacion), tarea, alTerminar,
+                ex -> DialogUtils.error("No se pudo completar la operación: " + ex.getMessage()), observador(bloquear)));
+    }
+
+    /**
+     * Igual que {@link #enSegundoPlano}, para operaciones que modifican datos (guardar, eliminar).
+     * Si el formulario se cierra o la operación se vuelve a solicitar antes de terminar, la anterior
+     * no se interrumpe: termina en segundo plano y solo se descarta su resultado.
+     * 
+     * @param operacion  Nombre de la operación dentro del formulario (por ejemplo, "guardar")
+     * @param tarea      Escritura a ejecutar en segundo plano, normalmente una llamada al servicio
+     * @param alTerminar Recibe el resultado en el hilo de eventos
+     * @param bloquear   Componentes que se deshabilitan mientras la operación está en curso
+     * @param <T>        Tipo del resultado
+     */
+    protected <T> void escribirEnSegundoPlano(String operacion, EjecutorUI.Tarea<T> tarea, Consumer<T> alTerminar,
+                                              JComponent... bloquear) {
+        solicitudes.put(operacion, EjecutorUI.ejecutarEscritura(Arrays.asList(this, operacion), tarea, alTerminar,
+                ex -> DialogUtils.error("No se pudo completar la operación: " + ex.getMessage()), observador(bloquear)));
+    }
+
+    /**
+     * Crea el observador que deshabilita los componentes indicados y muestra el indicador de carga
+     * mientras haya operaciones pendientes.
+     */
+    private EjecutorUI.Observador observador(JComponent... bloquear) {
+        List<JComponent> componentes = Arrays.asList(bloquear);
+        return new EjecutorUI.Observador() {
+            @Override
+            public void alIniciar() {
+                componentes.forEach(c -> c.setEnabled(false));
+                if (operacionesPendientes++ == 0) {
+                    barraCarga.setVisible(true);
+                    setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+                }
+            }
+
+            @Override
+            public void alTerminar() {
+                componentes.forEach(c -> c.setEnabled(true));
+                if (--operacionesPendientes == 0) {
+                    barraCarga.setVisible(false);
+                    setCursor(Cursor.getDefaultCursor());
+                }
+            }
+        };
+    }
+
+    /**
+     * Cancela las operaciones en curso antes de cerrar la ventana, para no actualizar un formulario descartado.
+     * Las consultas se interrumpen; las escrituras terminan en segundo plano sin actualizar el formulario.
+     */
+    @Override
+    public void dispose() {
+        solicitudes.values().forEach(EjecutorUI.Solicitud::cancelar);
+        solicitudes.clear();
+        super.dispose();
+    }
+
+    /**
+     * Muestra al usuario el motivo por el que una operación del servicio no se completó:
+     * los rechazos como advertencia y los errores de acceso a datos como error.
+     *
+     * @param resultado Resultado de la operación
+     */
+    protected void mostrarFallo(ResultadoOperacion<?> resultado) {
+        if (resultado.getEstado() == ResultadoOperacion.Estado.ERROR) {
+            DialogUtils.error(resultado.getMensaje());
+        } else {
+            DialogUtils.warning(resultado.getMensaje());
+        }
+    }
+
+    /**
+     * Crea un botón con texto y una acción asociada. Cada ejecución de la acción emite un evento JFR
+     * {@link EventoManejadorUI} con su duración en el hilo de eventos.
      * 
      * @param texto Texto del botón
      * @param listener Acción a ejecutar al presionar el botón
@@ -167,7 +313,7 @@ public abstract class FormularioBase extends JFrame {
      */
     protected JButton crearBoton(String texto, ActionListener listener) {
         JButton boton = new JButton(texto);
-        boton.addActionListener(listener);
+        boton.addActionListener(EventoManejadorUI.medir(this, listener));
         return boton;
     }
 
@@ -182,7 +328,16 @@ public abstract class FormularioBase extends JFrame {
         }
     }
 
-    protected String seleccionarPortadaDesdeDisco() {
+    /**
+     * Abre un selector de archivos para elegir una portada y la guarda en la carpeta de portadas.
+     * El cálculo del hash y la copia se hacen en segundo plano; mientras tanto se deshabilitan
+     * los componentes indicados.
+     * 
+     * @param alGuardar Recibe en el hilo de eventos la ruta de la portada guardada,
+     *                  o {@code null} si no se eligió ninguna
+     * @param bloquear  Componentes que se deshabilitan mientras se guarda la portada
+     */
+    protected void seleccionarPortadaDesdeDisco(Consumer<String> alGuardar, JComponent... bloquear) {
         File carpetaPortadas = new File("docs/portadas");
         carpetaPortadas.mkdirs();
 
@@ -192,36 +347,54 @@ public abstract class FormularioBase extends JFrame {
         chooser.setFileFilter(new FileNameExtensionFilter("Imágenes", "jpg", "jpeg", "png", "gif"));
 
         int resultado = chooser.showOpenDialog(this);
-        if (resultado == JFileChooser.APPROVE_OPTION) {
-            File archivo = chooser.getSelectedFile();
-            String ruta = "docs/portadas/" + archivo.getName();
+        if (resultado != JFileChooser.APPROVE_OPTION) {
+            alGuardar.accept(null);
+            return;
+        }
+        File archivo = chooser.getSelectedFile();
+        // Se guarda con el hash de su contenido; la miniatura se genera al mostrarla por primera vez
+        enSegundoPlano("portada", s -> {
             try {
-                Files.copy(archivo.toPath(), new File(ruta).toPath(), StandardCopyOption.REPLACE_EXISTING);
-                return ruta;
+                return AlmacenPortadas.guardar(archivo.toPath());
             } catch (IOException ex) {
-                DialogUtils.error("Error al copiar la imagen.");
-
+                throw new IOException("Error al copiar la imagen.", ex);
             }
-        }
-        return null;
+        }, alGuardar, bloquear);
     }
 
     /**
      * Muestra una imagen en miniatura en el panel lateral del formulario.
+     * Si la miniatura no está en caché, se decodifica en segundo plano y la imagen anterior
+     * permanece visible hasta que la nueva esté lista.
      * 
      * @param ruta Ruta del archivo de imagen a mostrar
      */
     protected void mostrarMiniatura(String ruta) {
         String rutaFinal = (ruta != null && !ruta.isEmpty()) ? ruta : "docs/portadas/default.jpg";
         File archivo = new File(rutaFinal);
+        if (!archivo.exists()) {
+            archivo = new File("docs/portadas/default.jpg");
+        }
 
-        if (archivo.exists()) {
-            ImageIcon icon = new ImageIcon(archivo.getAbsolutePath());
-            Image img = icon.getImage().getScaledInstance(120, 180, Image.SCALE_SMOOTH);
-            lblMiniatura.setIcon(new ImageIcon(img));
-        } else {
-            lblMiniatura.setIcon(new ImageIcon("docs/portadas/default.jpg"));
+        EjecutorUI.Solicitud pendiente = solicitudes.remove("miniatura");
+        if (pendiente != null) {
+            pendiente.cancelar();
         }
+        BufferedImage enCache = MINIATURAS.obtener(archivo);
+        if (enCache != null) {
+            lblMiniatura.setIcon(new ImageIcon(enCache));
+            return;
+        }
+        if (!archivo.exists()) {
+            lblMiniatura.setIcon(null);
+            return;
+        }
+
+        File imagen = archivo;
+        solicitudes.put("miniatura", EjecutorUI.ejecutar(Arrays.asList(this, "miniatura"),
+                s -> MINIATURAS.cargar(imagen),
+                miniatura -> lblMiniatura.setIcon(new ImageIcon(miniatura)),
+                ex -> lblMiniatura.setIcon(null), null));
     }
 
     protected ImageIcon cargarLogo() {
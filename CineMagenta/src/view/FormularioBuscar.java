@@ -1,14 +1,16 @@
 package view;
 
+import dao.IndiceTitulos;
 import model.Pelicula;
 import service.PeliculaService;
 import util.DialogUtils;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableRowSorter;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.awt.event.ActionEvent;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -17,6 +19,8 @@ import java.util.List;
  * 
  * Características:
  * - Permite ingresar un texto de búsqueda (título parcial).
+ * - Busca mientras se escribe, tras una breve pausa; las búsquedas que quedan obsoletas se cancelan.
+ * - Si el nuevo texto contiene al anterior, filtra en memoria los resultados previos en lugar de consultar.
  * - Muestra en una tabla todas las coincidencias encontradas.
  * - Permite ordenar las columnas haciendo clic en los encabezados.
  * - Muestra la portada de la película seleccionada en el panel derecho.
@@ -28,12 +32,19 @@ import java.util.List;
  */
 public class FormularioBuscar extends FormularioBase {
 
+    /** Pausa en la escritura, en milisegundos, antes de buscar automáticamente. */
+    private static final int ESPERA_ESCRITURA_MS = 250;
+
     private JTextField txtBusqueda;
     private JButton btnBuscar;
     private JTable tablaResultados;
-    private DefaultTableModel modeloTabla;
+    private ModeloTablaPeliculas modeloTabla;
     private final PeliculaService service = new PeliculaService();
-    private List<Pelicula> resultadosActuales; // lista en memoria para acceder a la portada
+    private Timer temporizadorEscritura;
+
+    // Última búsqueda completada, para refinar en memoria
+    private String textoAnterior;
+    private List<Pelicula> resultadosAnteriores = List.of();
 
     public FormularioBuscar() {
         super("Buscar Películas");
@@ -42,20 +53,38 @@ public class FormularioBuscar extends FormularioBase {
         JPanel panelBusqueda = new JPanel(new FlowLayout());
         txtBusqueda = new JTextField(20);
         btnBuscar = new JButton("Buscar");
-        btnBuscar.addActionListener(this::buscarPeliculas);
+        btnBuscar.addActionListener(EventoManejadorUI.medir(this, this::buscarPeliculas));
+
+        temporizadorEscritura = new Timer(ESPERA_ESCRITURA_MS,
+                EventoManejadorUI.medir(this, e -> buscar(txtBusqueda.getText().trim(), false)));
+        temporizadorEscritura.setRepeats(false);
+        txtBusqueda.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                temporizadorEscritura.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                temporizadorEscritura.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                temporizadorEscritura.restart();
+            }
+        });
 
         panelBusqueda.add(new JLabel("Título o parte del título:"));
         panelBusqueda.add(txtBusqueda);
         panelBusqueda.add(btnBuscar);
 
         // Tabla (sin columna de portada)
-        String[] columnas = {"ID", "Título", "Director", "Año", "Duración", "Género"};
-        modeloTabla = new DefaultTableModel(columnas, 0);
+        modeloTabla = new ModeloTablaPeliculas();
         tablaResultados = new JTable(modeloTabla);
 
-        // Habilitar ordenamiento
-        TableRowSorter<DefaultTableModel> sorter = new TableRowSorter<>(modeloTabla);
-        tablaResultados.setRowSorter(sorter);
+        // Habilitar ordenamiento por encabezado (los órdenes calculados se reutilizan)
+        modeloTabla.instalarEn(tablaResultados);
 
         JScrollPane scrollTabla = new JScrollPane(tablaResultados);
 
@@ -67,52 +96,89 @@ public class FormularioBuscar extends FormularioBase {
         agregarPanelCompleto(panelCentral);
 
         // Listener para mostrar portada
-        tablaResultados.getSelectionModel().addListSelectionListener(e -> {
+        tablaResultados.getSelectionModel().addListSelectionListener(EventoManejadorUI.medir(this, "seleccion", e -> {
             if (!e.getValueIsAdjusting() && tablaResultados.getSelectedRow() != -1) {
                 int fila = tablaResultados.convertRowIndexToModel(tablaResultados.getSelectedRow());
-                Pelicula seleccionada = resultadosActuales.get(fila);
-                mostrarMiniatura(seleccionada.getRutaPortada());
+                Pelicula seleccionada = modeloTabla.getPelicula(fila);
+                if (seleccionada != null) {
+                    mostrarMiniatura(seleccionada.getRutaPortada());
+                }
             }
-        });
+        }));
     }
 
     /**
-     * Ejecuta la búsqueda de películas según el texto ingresado.
+     * Ejecuta la búsqueda de películas según el texto ingresado, consultando siempre la base de datos.
      * Muestra advertencias si el campo está vacío y resultados informativos si no hay coincidencias.
      * 
      * @param e Evento de acción generado al presionar el botón "Buscar"
      */
     private void buscarPeliculas(ActionEvent e) {
-        String texto = txtBusqueda.getText().trim();
-        modeloTabla.setRowCount(0);
+        temporizadorEscritura.stop();
+        textoAnterior = null;
+        buscar(txtBusqueda.getText().trim(), true);
+    }
+
+    /**
+     * Busca en segundo plano, cancelando la búsqueda anterior si aún no terminó.
+     * Si el texto normalizado contiene al de la última búsqueda completada, sus resultados
+     * son un superconjunto de los nuevos y se filtran en memoria. Las coincidencias se
+     * muestran juntas al terminar la búsqueda.
+     *
+     * @param texto  Texto a buscar
+     * @param avisar {@code true} para mostrar diálogos si el texto está vacío o no hay resultados
+     */
+    private void buscar(String texto, boolean avisar) {
+        modeloTabla.mostrar(List.of());
 
         if (texto.isEmpty()) {
-            DialogUtils.warning("Ingrese un texto para buscar.");
+            textoAnterior = null;
+            resultadosAnteriores = List.of();
+            if (avisar) {
+                DialogUtils.warning("Ingrese un texto para buscar.");
+            }
             return;
         }
 
-        resultadosActuales = service.buscarPeliculasPorTitulo(texto);
-
-        if (resultadosActuales.isEmpty()) {
-            DialogUtils.info("No se encontraron películas con ese criterio.");
-        } else {
-            for (Pelicula p : resultadosActuales) {
-                modeloTabla.addRow(new Object[]{
-                    p.getId(),
-                    p.getTitulo(),
-                    p.getDirector(),
-                    p.getAnno(),
-                    p.getDuracion(),
-                    p.getGenero().getEtiqueta()
-                });
+        String normalizado = IndiceTitulos.normalizar(texto);
+        List<Pelicula> candidatos = textoAnterior != null && normalizado.contains(textoAnterior)
+                ? resultadosAnteriores
+                : null;
+
+        enSegundoPlano("buscar", s -> {
+            if (candidatos == null) {
+                return service.buscarCoincidencias(texto).obtener();
             }
-        }
+            List<Pelicula> encontradas = new ArrayList<>();
+            for (Pelicula p : candidatos) {
+                if (!s.estaVigente()) {
+                    break;
+                }
+                if (IndiceTitulos.normalizar(p.getTitulo()).contains(normalizado)) {
+                    encontradas.add(p);
+                }
+            }
+            return encontradas;
+        }, resultados -> {
+            textoAnterior = normalizado;
+            resultadosAnteriores = resultados;
+            if (resultados.isEmpty() && avisar) {
+                DialogUtils.info("No se encontraron películas con ese criterio.");
+            }
+            modeloTabla.mostrar(resultados);
+        });
+    }
+
+    @Override
+    public void dispose() {
+        temporizadorEscritura.stop();
+        super.dispose();
     }
 
     @Override
     protected String obtenerInstrucciones() {
-        return "Escribe el nombre o parte del nombre de una película, luego "
-             + "haz clic en 'Buscar' para ver todas las coincidencias.\n"
+        return "Escribe el nombre o parte del nombre de una película; las coincidencias "
+             + "aparecen mientras escribes (también puedes hacer clic en 'Buscar').\n"
              + "Selecciona una fila para ver la portada en el panel derecho.";
     }
 }
\ No newline at end of file
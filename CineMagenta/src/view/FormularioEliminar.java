@@ -8,6 +8,7 @@ import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.ActionEvent;
+import java.util.Objects;
 
 /**
  * Formulario gráfico para eliminar películas del sistema CineMagenta.
@@ -103,18 +104,23 @@ public class FormularioEliminar extends FormularioBase {
      * @param e Evento de acción generado al presionar el botón "Buscar"
      */
     private void buscarPelicula(ActionEvent e) {
-        String titulo = comboTituloBuscar.getSelectedItem().toString().trim();
-        peliculaActual = service.buscarPorTitulo(titulo);
-
-        if (peliculaActual != null) {
-            lblDirector.setText("Director: " + peliculaActual.getDirector());
-            lblAnno.setText("Año: " + peliculaActual.getAnno());
-            lblDuracion.setText("Duración: " + peliculaActual.getDuracion() + " min");
-            lblGenero.setText("Género: " + peliculaActual.getGenero().getEtiqueta());
-            mostrarMiniatura(peliculaActual.getRutaPortada());
-        } else {
-            limpiarCampos();
-        }
+        String titulo = Objects.toString(comboTituloBuscar.getSelectedItem(), "").trim();
+        enSegundoPlano("buscar", s -> service.buscar(titulo), resultado -> {
+            if (!resultado.isExito()) {
+                mostrarFallo(resultado);
+            }
+            peliculaActual = resultado.getValor();
+
+            if (peliculaActual != null) {
+                lblDirector.setText("Director: " + peliculaActual.getDirector());
+                lblAnno.setText("Año: " + peliculaActual.getAnno());
+                lblDuracion.setText("Duración: " + peliculaActual.getDuracion() + " min");
+                lblGenero.setText("Género: " + peliculaActual.getGenero().getEtiqueta());
+                mostrarMiniatura(peliculaActual.getRutaPortada());
+            } else {
+                limpiarCampos();
+            }
+        }, btnEliminar);
     }
 
     /**
@@ -128,13 +134,16 @@ public class FormularioEliminar extends FormularioBase {
 
         // Confirmación centralizada
         if (DialogUtils.confirmar("¿Estás seguro de que deseas eliminar esta película?")) {
-            if (service.eliminarPorTitulo(peliculaActual.getTitulo())) {
-                DialogUtils.info("Película eliminada correctamente.");
-                limpiarCampos();
-                peliculaActual = null;
-            } else {
-                DialogUtils.error("No se pudo eliminar la película. Intenta nuevamente.");
-            }
+            String titulo = peliculaActual.getTitulo();
+            escribirEnSegundoPlano("eliminar", s -> service.eliminar(titulo), resultado -> {
+                if (resultado.isExito()) {
+                    DialogUtils.info("Película eliminada correctamente.");
+                    limpiarCampos();
+                    peliculaActual = null;
+                } else {
+                    mostrarFallo(resultado);
+                }
+            }, btnBuscar, btnEliminar);
         }
     }
 
@@ -6,11 +6,8 @@ import service.PeliculaService;
 import util.DialogUtils;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.event.ActionEvent;
-import java.util.List;
 
 /**
  * Formulario para listar películas en un JTable con filtros por género y rango de años.
@@ -18,7 +15,9 @@ import java.util.List;
  * 
  * Características:
  * - Permite filtrar por género y rango de años.
- * - Permite ordenar las columnas haciendo clic en los encabezados.
+ * - Carga las filas por páginas a medida que se desplaza la tabla ({@link ModeloTablaPeliculas}),
+ *   por lo que abre de inmediato aun con catálogos muy grandes.
+ * - Permite ordenar haciendo clic en los encabezados; el orden lo resuelve la base de datos.
  * - Muestra la portada de la película seleccionada en el panel derecho.
  * - La tabla no incluye la columna de ruta de portada (se maneja internamente).
  * 
@@ -30,9 +29,8 @@ public class FormularioListar extends FormularioBase {
     private JTextField txtAnnoDesde, txtAnnoHasta;
     private JButton btnBuscar, btnMostrarTodo;
     private JTable tablaPeliculas;
-    private DefaultTableModel modeloTabla;
+    private ModeloTablaPeliculas modeloTabla;
     private final PeliculaService service = new PeliculaService();
-    private List<Pelicula> peliculasActuales; // lista en memoria para acceder a la portada
 
     /**
      * Constructor que inicializa el formulario de listado.
@@ -50,10 +48,10 @@ public class FormularioListar extends FormularioBase {
         txtAnnoHasta = new JTextField(5);
 
         btnBuscar = new JButton("Buscar");
-        btnBuscar.addActionListener(this::buscarPeliculas);
+        btnBuscar.addActionListener(EventoManejadorUI.medir(this, this::buscarPeliculas));
 
         btnMostrarTodo = new JButton("Mostrar Todo");
-        btnMostrarTodo.addActionListener(e -> cargarPeliculas(null, null, null));
+        btnMostrarTodo.addActionListener(EventoManejadorUI.medir(this, e -> cargarPeliculas(null, null, null)));
 
         panelFiltros.add(new JLabel("Género:"));
         panelFiltros.add(comboGenero);
@@ -65,13 +63,9 @@ public class FormularioListar extends FormularioBase {
         panelFiltros.add(btnMostrarTodo);
 
         // Tabla (sin columna de portada)
-        String[] columnas = {"ID", "Título", "Director", "Año", "Duración", "Género"};
-        modeloTabla = new DefaultTableModel(columnas, 0);
+        modeloTabla = new ModeloTablaPeliculas();
         tablaPeliculas = new JTable(modeloTabla);
-
-        // Habilitar ordenamiento
-        TableRowSorter<DefaultTableModel> sorter = new TableRowSorter<>(modeloTabla);
-        tablaPeliculas.setRowSorter(sorter);
+        modeloTabla.instalarEn(tablaPeliculas);
 
         JScrollPane scrollTabla = new JScrollPane(tablaPeliculas);
 
@@ -86,13 +80,15 @@ public class FormularioListar extends FormularioBase {
         cargarPeliculas(null, null, null);
 
         // Listener para mostrar portada
-        tablaPeliculas.getSelectionModel().addListSelectionListener(e -> {
+        tablaPeliculas.getSelectionModel().addListSelectionListener(EventoManejadorUI.medir(this, "seleccion", e -> {
             if (!e.getValueIsAdjusting() && tablaPeliculas.getSelectedRow() != -1) {
                 int fila = tablaPeliculas.convertRowIndexToModel(tablaPeliculas.getSelectedRow());
-                Pelicula seleccionada = peliculasActuales.get(fila);
-                mostrarMiniatura(seleccionada.getRutaPortada());
+                Pelicula seleccionada = modeloTabla.getPelicula(fila);
+                if (seleccionada != null) {
+                    mostrarMiniatura(seleccionada.getRutaPortada());
+                }
             }
-        });
+        }));
     }
 
     private void buscarPeliculas(ActionEvent e) {
@@ -102,20 +98,14 @@ public class FormularioListar extends FormularioBase {
         cargarPeliculas(genero, annoDesde, annoHasta);
     }
 
+    /**
+     * Cuenta en segundo plano las películas que cumplen los filtros y asigna a la tabla una fuente
+     * paginada; las filas se consultan a medida que se muestran.
+     * Si se inicia otra consulta antes de que termine, el resultado anterior se descarta.
+     */
     private void cargarPeliculas(Genero genero, Integer annoDesde, Integer annoHasta) {
-        modeloTabla.setRowCount(0);
-        peliculasActuales = service.listarPeliculas(genero, annoDesde, annoHasta);
-
-        for (Pelicula p : peliculasActuales) {
-            modeloTabla.addRow(new Object[]{
-                p.getId(),
-                p.getTitulo(),
-                p.getDirector(),
-                p.getAnno(),
-                p.getDuracion(),
-                p.getGenero().getEtiqueta()
-            });
-        }
+        ModeloTablaPeliculas.Fuente fuente = ModeloTablaPeliculas.paginada(service, genero, annoDesde, annoHasta);
+        enSegundoPlano("listar", s -> fuente.contar(), total -> modeloTabla.setFuente(fuente, total));
     }
 
     /**
@@ -6,6 +6,7 @@ import util.DialogUtils;
 
 import javax.swing.*;
 import java.awt.event.ActionEvent;
+import java.util.Objects;
 
 /**
  * Formulario gráfico para modificar los datos de una película existente en el sistema CineMagenta.
@@ -61,20 +62,25 @@ public class FormularioModificar extends FormularioBase {
      * @param e Evento de acción generado al presionar el botón "Buscar"
      */
     private void buscarPelicula(ActionEvent e) {
-        String titulo = comboTituloBuscar.getSelectedItem().toString().trim();
-        peliculaActual = service.buscarPorTitulo(titulo);
-
-        if (peliculaActual != null) {
-            txtTitulo.setText(peliculaActual.getTitulo());
-            txtDirector.setText(peliculaActual.getDirector());
-            txtAnno.setText(String.valueOf(peliculaActual.getAnno()));
-            txtDuracion.setText(String.valueOf(peliculaActual.getDuracion()));
-            comboGenero.setSelectedItem(peliculaActual.getGenero());
-            rutaPortadaSeleccionada = peliculaActual.getRutaPortada();
-            mostrarMiniatura(rutaPortadaSeleccionada);
-        } else {
-            limpiarCampos();
-        }
+        String titulo = Objects.toString(comboTituloBuscar.getSelectedItem(), "").trim();
+        enSegundoPlano("buscar", s -> service.buscar(titulo), resultado -> {
+            if (!resultado.isExito()) {
+                mostrarFallo(resultado);
+            }
+            peliculaActual = resultado.getValor();
+
+            if (peliculaActual != null) {
+                txtTitulo.setText(peliculaActual.getTitulo());
+                txtDirector.setText(peliculaActual.getDirector());
+                txtAnno.setText(String.valueOf(peliculaActual.getAnno()));
+                txtDuracion.setText(String.valueOf(peliculaActual.getDuracion()));
+                comboGenero.setSelectedItem(peliculaActual.getGenero());
+                rutaPortadaSeleccionada = peliculaActual.getRutaPortada();
+                mostrarMiniatura(rutaPortadaSeleccionada);
+            } else {
+                limpiarCampos();
+            }
+        }, btnGuardar);
     }
 
     /**
@@ -82,8 +88,10 @@ public class FormularioModificar extends FormularioBase {
      * Al seleccionar una imagen válida, se actualiza la miniatura en el formulario.
      */
     private void seleccionarImagen() {
-        rutaPortadaSeleccionada = seleccionarPortadaDesdeDisco();
-        mostrarMiniatura(rutaPortadaSeleccionada);
+        seleccionarPortadaDesdeDisco(ruta -> {
+            rutaPortadaSeleccionada = ruta;
+            mostrarMiniatura(ruta);
+        }, btnSeleccionarPortada, btnGuardar);
     }
 
     /**
@@ -104,14 +112,16 @@ public class FormularioModificar extends FormularioBase {
         peliculaActual.setGenero(generoSeleccionado);
         peliculaActual.setRutaPortada(rutaPortadaSeleccionada);
 
-        if (service.modificarPelicula(peliculaActual)) {
-            DialogUtils.info("Película modificada correctamente.");
-            limpiarCampos();
-            peliculaActual = null;
-        } else {
-            DialogUtils.error("No se pudo modificar la película. Verifica los datos e intenta nuevamente.");
-        }
-
+        Pelicula modificada = peliculaActual;
+        escribirEnSegundoPlano("guardar", s -> service.modificar(modificada), resultado -> {
+            if (resultado.isExito()) {
+                DialogUtils.info("Película modificada correctamente.");
+                limpiarCampos();
+                peliculaActual = null;
+            } else {
+                mostrarFallo(resultado);
+            }
+        }, btnBuscar, btnGuardar);
     }
 
     /**
@@ -63,41 +63,41 @@ public class MainFrame extends JFrame {
          * Acción del botón "Agregar".
          * Abre el formulario {@link FormularioAgregar} para registrar una nueva película.
          */
-        btnAgregar.addActionListener(e -> {
+        btnAgregar.addActionListener(EventoManejadorUI.medir(this, e -> {
             VentanaManager.abrirVentana(FormularioAgregar.class, FormularioAgregar::new);
-        });
+        }));
 
         /**
          * Acción del botón "Eliminar".
          * Abre el formulario {@link FormularioEliminar} para eliminar una película existente.
          */
-        btnEliminar.addActionListener(e -> {
+        btnEliminar.addActionListener(EventoManejadorUI.medir(this, e -> {
             VentanaManager.abrirVentana(FormularioEliminar.class, FormularioEliminar::new);
-        });
+        }));
 
         /**
          * Acción del botón "Modificar".
          * Abre el formulario {@link FormularioModificar} para editar los datos de una película.
          */
-        btnModificar.addActionListener(e -> {
+        btnModificar.addActionListener(EventoManejadorUI.medir(this, e -> {
             VentanaManager.abrirVentana(FormularioModificar.class, FormularioModificar::new);
-        });
+        }));
 
         /**
          * Acción del botón "Listar".
          * Abre el formulario {@link FormularioListar} para visualizar todas las películas con filtros.
          */
-        btnListar.addActionListener(e -> {
+        btnListar.addActionListener(EventoManejadorUI.medir(this, e -> {
             VentanaManager.abrirVentana(FormularioListar.class, FormularioListar::new);
-        });
+        }));
 
         /**
          * Acción del botón "Buscar".
          * Abre el formulario {@link FormularioBuscar} para localizar películas por título o fracción de título.
          */
-        btnBuscar.addActionListener(e -> {
+        btnBuscar.addActionListener(EventoManejadorUI.medir(this, e -> {
             VentanaManager.abrirVentana(FormularioBuscar.class, FormularioBuscar::new);
-        });
+        }));
 
         setVisible(true);
     }
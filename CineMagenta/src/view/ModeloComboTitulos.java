@@ -0,0 +1,172 @@
+package view;
+
+import service.CatalogoTitulos;
+
+import javax.swing.AbstractListModel;
+import javax.swing.ComboBoxModel;
+import javax.swing.JComboBox;
+import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.event.PopupMenuEvent;
+import javax.swing.event.PopupMenuListener;
+import javax.swing.plaf.basic.ComboPopup;
+import javax.swing.text.JTextComponent;
+import java.util.Objects;
+
+/**
+ * Modelo de combo que muestra los títulos del {@link CatalogoTitulos} que comienzan con el texto escrito.
+ *
+ * <p>El modelo no copia los títulos: es una vista sobre el tramo de la instantánea del catálogo
+ * que corresponde al prefijo, ubicado con búsqueda binaria. Filtrar no depende de la cantidad
+ * de películas y la lista desplegable solo dibuja las filas visibles, ya que su tamaño se
+ * calcula a partir de {@link #PROTOTIPO} y no recorriendo los títulos.</p>
+ *
+ * <p>Debe utilizarse desde el hilo de eventos de Swing.</p>
+ *
+ * @author Miguel
+ */
+public class ModeloComboTitulos extends AbstractListModel<String> implements ComboBoxModel<String> {
+
+    /** Valor de referencia para el ancho del combo y de las filas de la lista desplegable. */
+    public static final String PROTOTIPO = "Título de película de longitud habitual";
+
+    private CatalogoTitulos catalogo;
+    private CatalogoTitulos.Instantanea instantanea;
+    private int desde;
+    private int hasta;
+    private Object seleccionado;
+
+    /**
+     * Asigna el catálogo una vez cargado y aplica el texto que ya se haya escrito.
+     *
+     * @param catalogo Catálogo de títulos compartido
+     */
+    public void setCatalogo(CatalogoTitulos catalogo) {
+        this.catalogo = catalogo;
+        filtrar(Objects.toString(seleccionado, ""));
+    }
+
+    /**
+     * @return {@code true} si el catálogo ya se asignó y no requiere recargarse
+     */
+    public boolean catalogoVigente() {
+        return catalogo != null && catalogo.estaVigente();
+    }
+
+    /**
+     * Muestra solo los títulos que comienzan con el texto, tomando la versión más reciente del catálogo.
+     * El texto pasa a ser el elemento seleccionado, para que el combo no reemplace lo escrito.
+     *
+     * @param texto Prefijo escrito por el usuario
+     */
+    public void filtrar(String texto) {
+        seleccionado = texto;
+        if (catalogo == null) {
+            return;
+        }
+        int anterior = getSize();
+        instantanea = catalogo.instantanea();
+        int[] rango = instantanea.rango(texto);
+        desde = rango[0];
+        hasta = rango[1];
+
+        int actual = getSize();
+        if (actual < anterior) {
+            fireIntervalRemoved(this, actual, anterior - 1);
+        } else if (actual > anterior) {
+            fireIntervalAdded(this, anterior, actual - 1);
+        }
+        if (Math.min(anterior, actual) > 0) {
+            fireContentsChanged(this, 0, Math.min(anterior, actual) - 1);
+        }
+    }
+
+    /**
+     * Conecta el modelo con el combo: filtra al escribir en el editor, refresca el tramo al
+     * desplegar la lista y fija el prototipo de tamaño del combo y de su lista.
+     *
+     * @param combo Combo editable que utiliza este modelo
+     */
+    public void instalarEn(JComboBox<String> combo) {
+        combo.setEditable(true);
+        combo.setPrototypeDisplayValue(PROTOTIPO);
+        if (combo.getUI().getAccessibleChild(combo, 0) instanceof ComboPopup popup) {
+            popup.getList().setPrototypeCellValue(PROTOTIPO);
+        }
+
+        JTextComponent editor = (JTextComponent) combo.getEditor().getEditorComponent();
+        editor.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                alEscribir();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                alEscribir();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+
+            // El documento no puede modificarse mientras notifica, y filtrar puede reconfigurar el editor
+            private void alEscribir() {
+                SwingUtilities.invokeLater(() -> {
+                    String texto = editor.getText();
+                    // Si el texto es el elemento seleccionado, lo puso el combo y no el usuario
+                    if (texto.equals(Objects.toString(seleccionado, ""))) {
+                        return;
+                    }
+                    filtrar(texto);
+                    if (editor.isFocusOwner()) {
+                        // Se vuelve a desplegar para que la lista tome la altura del nuevo tramo
+                        combo.setPopupVisible(false);
+                        combo.setPopupVisible(!texto.isBlank() && getSize() > 0);
+                    }
+                });
+            }
+        });
+
+        combo.addPopupMenuListener(new PopupMenuListener() {
+            @Override
+            public void popupMenuWillBecomeVisible(PopupMenuEvent e) {
+                if (catalogo != null && instantanea != catalogo.instantanea()) {
+                    filtrar(editor.getText());
+                }
+            }
+
+            @Override
+            public void popupMenuWillBecomeInvisible(PopupMenuEvent e) {
+            }
+
+            @Override
+            public void popupMenuCanceled(PopupMenuEvent e) {
+            }
+        });
+    }
+
+    @Override
+    public int getSize() {
+        return hasta - desde;
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        return instantanea.getTitulo(desde + index);
+    }
+
+    @Override
+    public void setSelectedItem(Object item) {
+        if (!Objects.equals(seleccionado, item)) {
+            seleccionado = item;
+            fireContentsChanged(this, -1, -1);
+        }
+    }
+
+    @Override
+    public Object getSelectedItem() {
+        return seleccionado;
+    }
+}
@@ -0,0 +1,450 @@
+package view;
+
+import dao.OrdenPeliculas;
+import model.Genero;
+import model.Pelicula;
+import service.PeliculaService;
+import util.EjecutorUI;
+
+import javax.swing.JTable;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.JTableHeader;
+import javax.swing.table.TableColumn;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Modelo de tabla de películas que actúa como vista sobre una fuente de datos,
+ * sin copiar las películas a filas de {@code Object[]}.
+ *
+ * <p>Las filas se obtienen por páginas de {@value #TAMANO_PAGINA} a medida que la tabla las
+ * solicita al pintarse, es decir, según se desplaza el área visible. Solo se mantiene en memoria
+ * una cantidad acotada de páginas (las menos usadas se descartan) y mientras una página se carga
+ * en segundo plano sus filas muestran un texto provisional. Al solicitar una página se cancelan las
+ * cargas pendientes que quedaron fuera de la ventana visible (más de una página de distancia), de
+ * modo que un desplazamiento rápido no deja en cola las páginas por las que solo se pasó.</p>
+ *
+ * <p>El ordenamiento se delega en la fuente ({@link #ordenar(OrdenPeliculas)}): la fuente paginada
+ * lo resuelve con {@code ORDER BY} en la base de datos y la fuente en memoria ordena una permutación
+ * de índices que se guarda para volver a ese orden sin reordenar. Al hacer clic en un encabezado
+ * (ver {@link #instalarEn(JTable)}) se ordena por esa columna o se invierte la dirección.</p>
+ *
+ * <p>Debe utilizarse desde el hilo de eventos de Swing.</p>
+ *
+ * @author Miguel
+ */
+public class ModeloTablaPeliculas extends AbstractTableModel {
+
+    /** Cantidad de filas de cada página. */
+    public static final int TAMANO_PAGINA = 200;
+
+    private static final String[] COLUMNAS = {"ID", "Título", "Director", "Año", "Duración", "Género"};
+    private static final String CARGANDO = "Cargando…";
+
+    /**
+     * Origen de las filas del modelo.
+     */
+    public interface Fuente {
+
+        /**
+         * @return cantidad total de películas
+         */
+        int contar();
+
+        /**
+         * Obtiene un tramo de películas. Puede invocarse fuera del hilo de eventos.
+         *
+         * @param desde    Posición de la primera película
+         * @param cantidad Cantidad máxima de películas
+         * @return Películas del tramo, en orden
+         */
+        List<Pelicula> obtener(int desde, int cantidad);
+
+        /**
+         * @return {@code true} si los datos ya están en memoria y pueden leerse en el hilo de eventos
+         */
+        default boolean enMemoria() {
+            return false;
+        }
+
+        /**
+         * Devuelve una fuente con los mismos datos en el orden indicado.
+         *
+         * @param orden Columna y dirección
+         * @return Fuente ordenada
+         */
+        Fuente ordenada(OrdenPeliculas orden);
+    }
+
+    private final Map<Integer, List<Pelicula>> paginas;
+    private final Map<Integer, EjecutorUI.Solicitud> pendientes = new HashMap<>();
+    private Fuente fuente = desdeLista(List.of());
+    private OrdenPeliculas orden = OrdenPeliculas.PREDETERMINADO;
+    private int filas;
+    private int generacion;
+
+    /**
+     * Crea un modelo vacío que retiene como máximo la cantidad de páginas indicada.
+     *
+     * @param maxPaginas Páginas retenidas en memoria
+     */
+    public ModeloTablaPeliculas(int maxPaginas) {
+        this.paginas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Pelicula>> eldest) {
+                return size() > maxPaginas;
+            }
+        };
+    }
+
+    /**
+     * Crea un modelo vacío con la retención predeterminada de páginas
+     * (propiedad del sistema {@code cinemagenta.tabla.paginas}, 10 por defecto).
+     */
+    public ModeloTablaPeliculas() {
+        this(Integer.getInteger("cinemagenta.tabla.paginas", 10));
+    }
+
+    /**
+     * Reemplaza la fuente de datos, manteniendo el orden actual.
+     * Las cargas pendientes de la fuente anterior se descartan.
+     *
+     * @param fuente Nueva fuente
+     * @param filas  Cantidad de filas, normalmente obtenida con {@link Fuente#contar()}
+     */
+    public void setFuente(Fuente fuente, int filas) {
+        this.filas = filas;
+        reemplazar(fuente.ordenada(orden));
+    }
+
+    /**
+     * Ordena las filas según el criterio indicado.
+     *
+     * @param orden Columna y dirección
+     */
+    public void ordenar(OrdenPeliculas orden) {
+        this.orden = orden;
+        reemplazar(fuente.ordenada(orden));
+    }
+
+    /**
+     * @return criterio de orden actual
+     */
+    public OrdenPeliculas getOrden() {
+        return orden;
+    }
+
+    private void reemplazar(Fuente fuente) {
+        this.fuente = fuente;
+        generacion++;
+        paginas.clear();
+        pendientes.values().forEach(EjecutorUI.Solicitud::cancelar);
+        pendientes.clear();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Configura la tabla para que un clic en un encabezado ordene por esa columna,
+     * o invierta la dirección si ya estaba ordenada por ella.
+     *
+     * @param tabla Tabla que utiliza este modelo
+     */
+    public void instalarEn(JTable tabla) {
+        JTableHeader encabezado = tabla.getTableHeader();
+        encabezado.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int vista = encabezado.columnAtPoint(e.getPoint());
+                if (vista < 0) {
+                    return;
+                }
+                OrdenPeliculas.Columna columna = OrdenPeliculas.Columna.values()[tabla.convertColumnIndexToModel(vista)];
+                ordenar(orden.getColumna() == columna ? orden.invertir() : OrdenPeliculas.de(columna, true));
+
+                Enumeration<TableColumn> columnas = tabla.getColumnModel().getColumns();
+                while (columnas.hasMoreElements()) {
+                    TableColumn c = columnas.nextElement();
+                    c.setHeaderValue(getColumnName(c.getModelIndex()));
+                }
+                encabezado.repaint();
+            }
+        });
+    }
+
+    /**
+     * Muestra una lista de películas ya obtenida, sin copiarla.
+     *
+     * @param peliculas Películas a mostrar
+     */
+    public void mostrar(List<Pelicula> peliculas) {
+        setFuente(desdeLista(peliculas), peliculas.size());
+    }
+
+    /**
+     * Devuelve la película de una fila si su página está en memoria; en caso contrario
+     * solicita la página y devuelve {@code null}.
+     *
+     * @param fila Índice de fila del modelo
+     * @return Película de la fila, o {@code null} si aún no está cargada
+     */
+    public Pelicula getPelicula(int fila) {
+        int pagina = fila / TAMANO_PAGINA;
+        List<Pelicula> datos = paginas.get(pagina);
+        if (datos == null) {
+            datos = solicitar(pagina);
+            if (datos == null) {
+                return null;
+            }
+        }
+        int indice = fila % TAMANO_PAGINA;
+        return indice < datos.size() ? datos.get(indice) : null;
+    }
+
+    /**
+     * Obtiene la página directamente si la fuente está en memoria, o inicia su carga en segundo plano.
+     *
+     * @return Página obtenida, o {@code null} si se está cargando
+     */
+    private List<Pelicula> solicitar(int pagina) {
+        int desde = pagina * TAMANO_PAGINA;
+        int cantidad = Math.min(TAMANO_PAGINA, filas - desde);
+        if (fuente.enMemoria()) {
+            List<Pelicula> datos = fuente.obtener(desde, cantidad);
+            paginas.put(pagina, datos);
+            return datos;
+        }
+        descartarFueraDeVentana(pagina);
+        if (!pendientes.containsKey(pagina)) {
+            Fuente origen = fuente;
+            int generacionSolicitud = generacion;
+            EjecutorUI.Solicitud solicitud = EjecutorUI.ejecutar(Arrays.asList(this, pagina),
+                    s -> origen.obtener(desde, cantidad),
+                    datos -> {
+                        if (generacionSolicitud != generacion) {
+                            return;
+                        }
+                        pendientes.remove(pagina);
+                        paginas.put(pagina, datos);
+                        fireTableRowsUpdated(desde, Math.min(desde + cantidad, filas) - 1);
+                    },
+                    ex -> {
+                        if (generacionSolicitud == generacion) {
+                            pendientes.remove(pagina);
+                        }
+                    }, null);
+            pendientes.put(pagina, solicitud);
+        }
+        return null;
+    }
+
+    /**
+     * Cancela las cargas pendientes de páginas alejadas de la solicitada: la tabla ya no las muestra,
+     * y si vuelve a hacerlo se solicitan de nuevo. Las contiguas se conservan porque el área visible
+     * puede abarcar el final de una página y el comienzo de la siguiente.
+     */
+    private void descartarFueraDeVentana(int pagina) {
+        pendientes.entrySet().removeIf(e -> {
+            if (Math.abs(e.getKey() - pagina) <= 1) {
+                return false;
+            }
+            e.getValue().cancelar();
+            return true;
+        });
+    }
+
+    @Override
+    public int getRowCount() {
+        return filas;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int columna) {
+        if (orden.getColumna().ordinal() != columna) {
+            return COLUMNAS[columna];
+        }
+        return COLUMNAS[columna] + (orden.isAscendente() ? " ▲" : " ▼");
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columna) {
+        return columna == 0 || columna == 3 || columna == 4 ? Integer.class : String.class;
+    }
+
+    @Override
+    public Object getValueAt(int fila, int columna) {
+        Pelicula p = getPelicula(fila);
+        if (p == null) {
+            return columna == 1 && pendientes.containsKey(fila / TAMANO_PAGINA) ? CARGANDO : null;
+        }
+        switch (columna) {
+            case 0: return p.getId();
+            case 1: return p.getTitulo();
+            case 2: return p.getDirector();
+            case 3: return p.getAnno();
+            case 4: return p.getDuracion();
+            case 5: return p.getGenero().getEtiqueta();
+            default: return null;
+        }
+    }
+
+    /**
+     * Crea una fuente sobre una lista en memoria, por ejemplo los resultados de una búsqueda.
+     *
+     * @param peliculas Lista de películas (no se copia)
+     * @return Fuente en memoria
+     */
+    public static Fuente desdeLista(List<Pelicula> peliculas) {
+        return new FuenteLista(peliculas, null, new HashMap<>());
+    }
+
+    /**
+     * Crea una fuente paginada sobre el catálogo, con filtros opcionales.
+     *
+     * @param service   Servicio de películas
+     * @param genero    Género a filtrar (puede ser {@code null})
+     * @param annoDesde Año inicial del rango (puede ser {@code null})
+     * @param annoHasta Año final del rango (puede ser {@code null})
+     * @return Fuente paginada
+     */
+    public static Fuente paginada(PeliculaService service, Genero genero, Integer annoDesde, Integer annoHasta) {
+        return new FuentePaginada(service, genero, annoDesde, annoHasta, OrdenPeliculas.PREDETERMINADO,
+                new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Fuente sobre una lista en memoria. Cada orden se representa como una permutación de índices
+     * sobre la lista original, que se calcula una vez y se comparte entre las fuentes derivadas;
+     * la dirección opuesta de un orden ya calculado se obtiene invirtiendo la permutación.
+     */
+    private static final class FuenteLista implements Fuente {
+        private final List<Pelicula> peliculas;
+        private final int[] permutacion;
+        private final Map<OrdenPeliculas, int[]> permutaciones;
+
+        FuenteLista(List<Pelicula> peliculas, int[] permutacion, Map<OrdenPeliculas, int[]> permutaciones) {
+            this.peliculas = peliculas;
+            this.permutacion = permutacion;
+            this.permutaciones = permutaciones;
+        }
+
+        @Override
+        public int contar() {
+            return peliculas.size();
+        }
+
+        @Override
+        public List<Pelicula> obtener(int desde, int cantidad) {
+            int hasta = Math.min(desde + cantidad, peliculas.size());
+            if (permutacion == null) {
+                return peliculas.subList(desde, hasta);
+            }
+            List<Pelicula> tramo = new ArrayList<>(hasta - desde);
+            for (int i = desde; i < hasta; i++) {
+                tramo.add(peliculas.get(permutacion[i]));
+            }
+            return tramo;
+        }
+
+        @Override
+        public boolean enMemoria() {
+            return true;
+        }
+
+        @Override
+        public Fuente ordenada(OrdenPeliculas orden) {
+            int[] calculada = permutaciones.get(orden);
+            if (calculada == null) {
+                int[] opuesta = permutaciones.get(orden.invertir());
+                calculada = opuesta != null ? invertir(opuesta) : ordenar(orden);
+                permutaciones.put(orden, calculada);
+            }
+            return new FuenteLista(peliculas, calculada, permutaciones);
+        }
+
+        private int[] ordenar(OrdenPeliculas orden) {
+            Integer[] indices = new Integer[peliculas.size()];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = i;
+            }
+            Arrays.sort(indices, (a, b) -> orden.comparador().compare(peliculas.get(a), peliculas.get(b)));
+            int[] resultado = new int[indices.length];
+            for (int i = 0; i < indices.length; i++) {
+                resultado[i] = indices[i];
+            }
+            return resultado;
+        }
+
+        private static int[] invertir(int[] permutacion) {
+            int[] invertida = new int[permutacion.length];
+            for (int i = 0; i < permutacion.length; i++) {
+                invertida[i] = permutacion[permutacion.length - 1 - i];
+            }
+            return invertida;
+        }
+    }
+
+    /**
+     * Fuente que consulta el catálogo por páginas en el orden indicado. Recuerda la última película
+     * de cada página cargada para pedir la siguiente por cursor (keyset); solo los saltos a posiciones
+     * sin cursor conocido usan {@code OFFSET}. Las fuentes de cada orden se conservan, junto con sus
+     * cursores, para volver a un orden anterior sin perderlos.
+     */
+    private static final class FuentePaginada implements Fuente {
+        private final PeliculaService service;
+        private final Genero genero;
+        private final Integer annoDesde, annoHasta;
+        private final OrdenPeliculas orden;
+        private final Map<OrdenPeliculas, FuentePaginada> hermanas;
+        private final Map<Integer, Pelicula> cursores = new ConcurrentHashMap<>();
+
+        FuentePaginada(PeliculaService service, Genero genero, Integer annoDesde, Integer annoHasta,
+                       OrdenPeliculas orden, Map<OrdenPeliculas, FuentePaginada> hermanas) {
+            this.service = service;
+            this.genero = genero;
+            this.annoDesde = annoDesde;
+            this.annoHasta = annoHasta;
+            this.orden = orden;
+            this.hermanas = hermanas;
+            hermanas.put(orden, this);
+        }
+
+        @Override
+        public Fuente ordenada(OrdenPeliculas nuevo) {
+            FuentePaginada existente = hermanas.get(nuevo);
+            return existente != null ? existente
+                    : new FuentePaginada(service, genero, annoDesde, annoHasta, nuevo, hermanas);
+        }
+
+        @Override
+        public int contar() {
+            // Un error de conteo llega al formulario como excepción de la tarea en segundo plano
+            return service.contar(genero, annoDesde, annoHasta).obtener();
+        }
+
+        @Override
+        public List<Pelicula> obtener(int desde, int cantidad) {
+            Pelicula anterior = cursores.get(desde);
+            // Un error llega como excepción de la tarea, de modo que la página no se guarda vacía
+            List<Pelicula> datos = desde == 0 || anterior != null
+                    ? service.obtenerPagina(genero, annoDesde, annoHasta, orden, anterior, cantidad).obtener().getElementos()
+                    : service.obtenerDesde(genero, annoDesde, annoHasta, orden, desde, cantidad).obtener();
+            if (!datos.isEmpty()) {
+                cursores.put(desde + datos.size(), datos.get(datos.size() - 1));
+            }
+            return datos;
+        }
+    }
+}
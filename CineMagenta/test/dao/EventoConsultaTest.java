@@ -0,0 +1,62 @@
+package dao;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link EventoConsulta}.
+ *
+ * @author Miguel
+ */
+public class EventoConsultaTest {
+
+    private static List<RecordedEvent> grabar(Runnable accion) throws Exception {
+        Path archivo = Files.createTempFile("consultas", ".jfr");
+        try (Recording grabacion = new Recording()) {
+            grabacion.enable("cinemagenta.dao.Consulta");
+            grabacion.start();
+            accion.run();
+            grabacion.stop();
+            grabacion.dump(archivo);
+            return RecordingFile.readAllEvents(archivo);
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    @Test
+    public void terminar_emiteOperacionSqlYFilas() throws Exception {
+        List<RecordedEvent> eventos = grabar(() -> EventoConsulta.iniciar("listarPeliculas", "SELECT ? FROM Cartelera").terminar(7));
+
+        assertEquals(1, eventos.size());
+        RecordedEvent evento = eventos.get(0);
+        assertEquals("listarPeliculas", evento.getString("operacion"));
+        assertEquals("SELECT ? FROM Cartelera", evento.getString("sql"));
+        assertEquals(7, evento.getLong("filas"));
+        assertTrue(evento.getBoolean("exitosa"));
+    }
+
+    @Test
+    public void fallar_emiteElEventoComoNoExitoso() throws Exception {
+        List<RecordedEvent> eventos = grabar(() -> EventoConsulta.iniciar("insertar", "INSERT").fallar());
+
+        assertEquals(1, eventos.size());
+        assertFalse(eventos.get(0).getBoolean("exitosa"));
+        assertEquals(0, eventos.get(0).getLong("filas"));
+    }
+
+    @Test
+    public void sinGrabacion_noEmiteEventos() throws Exception {
+        EventoConsulta.iniciar("existeId", "SELECT").terminar(1);
+
+        assertTrue(grabar(() -> { }).isEmpty());
+    }
+}
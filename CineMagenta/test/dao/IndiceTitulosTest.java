@@ -0,0 +1,79 @@
+package dao;
+
+import model.Genero;
+import model.Pelicula;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link IndiceTitulos}.
+ * Verifica las búsquedas parciales sin tildes y la sincronización con las escrituras.
+ *
+ * @author Miguel
+ */
+public class IndiceTitulosTest {
+
+    private IndiceTitulos indice;
+
+    @Before
+    public void setUp() {
+        indice = new IndiceTitulos();
+        indice.cargar(List.of(
+                new Pelicula(1, "Amélie", "Jean-Pierre Jeunet", 2001, 122, Genero.COMEDIA, null),
+                new Pelicula(2, "Harry Potter y la Piedra Filosofal", "Chris Columbus", 2001, 152, Genero.ACCION, null),
+                new Pelicula(3, "Harry Potter y la Cámara Secreta", "Chris Columbus", 2002, 161, Genero.ACCION, null)
+        ), indice.getVersion());
+    }
+
+    @Test
+    public void indiceNuevo_estaFrio() {
+        IndiceTitulos frio = new IndiceTitulos();
+        assertFalse(frio.estaCargado());
+        assertTrue(frio.buscar("harry").isEmpty());
+    }
+
+    @Test
+    public void buscar_ignoraTildesYMayusculas() {
+        List<Pelicula> resultados = indice.buscar("AMELIE");
+        assertEquals(1, resultados.size());
+        assertEquals("Amélie", resultados.get(0).getTitulo());
+
+        assertEquals(1, indice.buscar("camara").size());
+    }
+
+    @Test
+    public void buscar_textoCorto_recorreTitulos() {
+        assertEquals(2, indice.buscar("y").size());
+    }
+
+    @Test
+    public void buscar_ordenaPorTitulo() {
+        List<Pelicula> resultados = indice.buscar("harry potter");
+        assertEquals(2, resultados.size());
+        assertEquals(3, resultados.get(0).getId());
+    }
+
+    @Test
+    public void escrituras_actualizanElIndice() {
+        indice.agregar(new Pelicula(4, "Parasite", "Bong Joon-ho", 2019, 132, Genero.SUSPENSO, null));
+        assertEquals(1, indice.buscar("rasi").size());
+
+        indice.actualizar(new Pelicula(4, "Parásitos", "Bong Joon-ho", 2019, 132, Genero.SUSPENSO, null));
+        assertEquals(1, indice.buscar("parasitos").size());
+
+        indice.eliminarPorTitulo("parásitos");
+        assertTrue(indice.buscar("rasi").isEmpty());
+    }
+
+    @Test
+    public void cargaConVersionAntigua_seDescarta() {
+        long version = indice.getVersion();
+        indice.agregar(new Pelicula(4, "Parasite", "Bong Joon-ho", 2019, 132, Genero.SUSPENSO, null));
+        assertFalse(indice.cargar(List.of(), version));
+        assertEquals(4, indice.getTamano());
+    }
+}
@@ -0,0 +1,96 @@
+package dao;
+
+import model.Genero;
+import model.Pelicula;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link MapeadorFilas}.
+ * Utiliza un {@link ResultSet} simulado con columnas en un orden distinto al del mapeador.
+ *
+ * @author Miguel
+ */
+public class MapeadorFilasTest {
+
+    private static final List<String> COLUMNAS =
+            List.of("ruta_portada", "genero_id", "duracion", "anno", "director", "titulo", "id", "genero");
+
+    private final AtomicInteger busquedasDeColumna = new AtomicInteger();
+
+    private ResultSet resultadoSimulado(Object[]... filas) {
+        int[] actual = {-1};
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, metodo, args) -> {
+                    switch (metodo.getName()) {
+                        case "next": return ++actual[0] < filas.length;
+                        case "findColumn":
+                            busquedasDeColumna.incrementAndGet();
+                            return COLUMNAS.indexOf(((String) args[0]).toLowerCase()) + 1;
+                        case "getInt": return ((Number) filas[actual[0]][(int) args[0] - 1]).intValue();
+                        case "getString": return (String) filas[actual[0]][(int) args[0] - 1];
+                        default: return null;
+                    }
+                });
+    }
+
+    private static Object[] fila(int id, String titulo, Genero genero) {
+        return new Object[]{"docs/portadas/" + id + ".jpg", genero.getCodigo(), 120, 2001, "Director", titulo, id, genero.getEtiqueta()};
+    }
+
+    @Test
+    public void todas_resuelveColumnasUnaVezPorResultado() throws Exception {
+        List<Pelicula> peliculas = MapeadorFilas.PELICULA.todas(resultadoSimulado(
+                fila(1, "Amélie", Genero.COMEDIA),
+                fila(2, "El Padrino", Genero.DRAMA),
+                fila(3, "Parasite", Genero.SUSPENSO)));
+
+        assertEquals(3, peliculas.size());
+        assertEquals(8, busquedasDeColumna.get());
+        Pelicula p = peliculas.get(1);
+        assertEquals(2, p.getId());
+        assertEquals("El Padrino", p.getTitulo());
+        assertEquals(Genero.DRAMA, p.getGenero());
+        assertEquals("docs/portadas/2.jpg", p.getRutaPortada());
+    }
+
+    @Test
+    public void leer_sinCodigoDeGenero_usaLaEtiqueta() throws Exception {
+        // Fila agregada por un equipo con la versión anterior: genero_id nulo (0 al leerlo con getInt)
+        Object[] fila = {null, 0, 120, 2001, "Director", "Amélie", 4, "comedia"};
+
+        Pelicula p = MapeadorFilas.PELICULA.primera(resultadoSimulado(fila));
+
+        assertEquals(Genero.COMEDIA, p.getGenero());
+    }
+
+    @Test
+    public void primera_sinFilas_devuelveNull() throws Exception {
+        assertNull(MapeadorFilas.PELICULA.primera(resultadoSimulado()));
+    }
+
+    @Test
+    public void proyeccion_leeSoloSusColumnas() throws Exception {
+        List<Pelicula> peliculas = MapeadorFilas.ID_TITULO.todas(resultadoSimulado(fila(7, "Alien", Genero.TERROR)));
+
+        assertEquals(2, busquedasDeColumna.get());
+        assertEquals(7, peliculas.get(0).getId());
+        assertEquals("Alien", peliculas.get(0).getTitulo());
+        assertEquals("id, titulo", MapeadorFilas.ID_TITULO.getColumnas());
+    }
+
+    @Test
+    public void getColumnas_listaColumnasDelSelect() {
+        assertEquals(Arrays.asList(MapeadorFilas.PELICULA.getColumnas().split(", ")),
+                List.of("id", "titulo", "director", "anno", "duracion", "genero_id", "ruta_portada", "genero"));
+    }
+}
@@ -0,0 +1,42 @@
+package dao;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link MigradorEsquema}.
+ *
+ * @author Miguel
+ */
+public class MigradorEsquemaTest {
+
+    @Test
+    public void migraciones_tienenVersionesCrecientesYUnicas() {
+        int anterior = 0;
+        for (MigradorEsquema.Migracion m : MigradorEsquema.MIGRACIONES) {
+            assertTrue("Versión fuera de orden: " + m.version, m.version > anterior);
+            assertFalse(m.descripcion.isBlank());
+            anterior = m.version;
+        }
+    }
+
+    @Test
+    public void pendientes_omiteVersionesAplicadas() {
+        Set<Integer> aplicadas = new HashSet<>(Set.of(1, 3));
+        List<MigradorEsquema.Migracion> pendientes = MigradorEsquema.pendientes(aplicadas);
+
+        assertEquals(MigradorEsquema.MIGRACIONES.size() - 2, pendientes.size());
+        assertEquals(2, pendientes.get(0).version);
+        pendientes.forEach(m -> assertFalse(aplicadas.contains(m.version)));
+    }
+
+    @Test
+    public void pendientes_sinVersionesAplicadas_devuelveTodas() {
+        assertEquals(MigradorEsquema.MIGRACIONES, MigradorEsquema.pendientes(Set.of()));
+    }
+}
@@ -0,0 +1,63 @@
+package dao;
+
+import model.Genero;
+import model.Pelicula;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link OrdenPeliculas}.
+ *
+ * @author Miguel
+ */
+public class OrdenPeliculasTest {
+
+    private static Pelicula pelicula(int id, String titulo, int anno) {
+        return new Pelicula(id, titulo, "Director", anno, 120, Genero.DRAMA, null);
+    }
+
+    @Test
+    public void orderBy_incluyeIdComoDesempate() {
+        assertEquals(" ORDER BY anno DESC, id DESC",
+                OrdenPeliculas.de(OrdenPeliculas.Columna.ANNO, false).orderBy());
+        assertEquals(" AND (anno, id) < (?, ?)",
+                OrdenPeliculas.de(OrdenPeliculas.Columna.ANNO, false).condicionCursor());
+        assertEquals(" ORDER BY id ASC", OrdenPeliculas.de(OrdenPeliculas.Columna.ID, true).orderBy());
+        assertEquals(" AND id > ?", OrdenPeliculas.de(OrdenPeliculas.Columna.ID, true).condicionCursor());
+    }
+
+    @Test
+    public void invertir_devuelveInstanciaCanonica() {
+        OrdenPeliculas orden = OrdenPeliculas.de(OrdenPeliculas.Columna.DIRECTOR, true);
+        assertSame(orden, orden.invertir().invertir());
+        assertFalse(orden.invertir().isAscendente());
+    }
+
+    @Test
+    public void indice_esUnicoPorCriterio() {
+        boolean[] usados = new boolean[OrdenPeliculas.cantidad()];
+        for (OrdenPeliculas.Columna c : OrdenPeliculas.Columna.values()) {
+            for (boolean asc : new boolean[]{true, false}) {
+                int indice = OrdenPeliculas.de(c, asc).indice();
+                assertFalse(usados[indice]);
+                usados[indice] = true;
+            }
+        }
+    }
+
+    @Test
+    public void comparador_desempataPorIdEnAmbasDirecciones() {
+        List<Pelicula> peliculas = new ArrayList<>(List.of(
+                pelicula(3, "B", 2000), pelicula(1, "A", 2000), pelicula(2, "C", 1990)));
+
+        peliculas.sort(OrdenPeliculas.de(OrdenPeliculas.Columna.ANNO, true).comparador());
+        assertEquals(List.of(2, 1, 3), peliculas.stream().map(Pelicula::getId).toList());
+
+        peliculas.sort(OrdenPeliculas.de(OrdenPeliculas.Columna.ANNO, false).comparador());
+        assertEquals(List.of(3, 1, 2), peliculas.stream().map(Pelicula::getId).toList());
+    }
+}
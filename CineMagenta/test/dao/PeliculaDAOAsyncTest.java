@@ -0,0 +1,58 @@
+package dao;
+
+import org.junit.Test;
+import util.EjecutorAcotado;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link PeliculaDAOAsync}.
+ * Utiliza un DAO simulado que no accede a la base de datos.
+ *
+ * @author Miguel
+ */
+public class PeliculaDAOAsyncTest {
+
+    private final AtomicInteger consultas = new AtomicInteger();
+
+    private final PeliculaDAO daoSimulado = new PeliculaDAO() {
+        @Override
+        public boolean existeId(int id) throws SQLException {
+            consultas.incrementAndGet();
+            if (id < 0) {
+                throw new SQLException("ID inválido: " + id);
+            }
+            return id % 2 == 0;
+        }
+    };
+
+    private final PeliculaDAOAsync dao = new PeliculaDAOAsync(daoSimulado, new EjecutorAcotado(2));
+
+    @Test
+    public void existenIds_consultaCadaIdUnaVezYConservaElOrden() throws Exception {
+        Map<Integer, Boolean> existencia = dao.existenIds(List.of(4, 1, 2, 4, 1)).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(4, 1, 2), List.copyOf(existencia.keySet()));
+        assertTrue(existencia.get(4));
+        assertFalse(existencia.get(1));
+        assertTrue(existencia.get(2));
+        assertEquals(3, consultas.get());
+    }
+
+    @Test
+    public void existenIds_fallaSiFallaAlgunaConsulta() throws Exception {
+        try {
+            dao.existenIds(List.of(2, -1)).get(5, TimeUnit.SECONDS);
+            fail("Se esperaba ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof SQLException);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package dao;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link RegistroConsultasLentas}.
+ *
+ * @author Miguel
+ */
+public class RegistroConsultasLentasTest {
+
+    private final List<String> lineas = new CopyOnWriteArrayList<>();
+
+    private RegistroConsultasLentas crear(long umbralMs, String nombreLogger) {
+        Logger destino = Logger.getLogger(nombreLogger);
+        destino.setUseParentHandlers(false);
+        destino.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord registro) {
+                lineas.add(registro.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        return new RegistroConsultasLentas(umbralMs, destino, null, false);
+    }
+
+    @Test
+    public void redactar_ocultaTextosYConservaComodinesYNumeros() {
+        assertEquals("['%…(6)%', 3, null, '…(4)', true]",
+                RegistroConsultasLentas.redactar(Arrays.asList("%matrix%", 3, null, "Nemo", true)));
+        assertEquals("['…(3)%']", RegistroConsultasLentas.redactar(List.of("abc%")));
+        assertEquals("[]", RegistroConsultasLentas.redactar(List.of()));
+    }
+
+    @Test
+    public void esLenta_respetaElUmbral() {
+        long inicio = System.nanoTime();
+        assertTrue(crear(0, "prueba.lentas.cero").esLenta(inicio));
+        assertFalse(crear(60_000, "prueba.lentas.alto").esLenta(inicio));
+        assertFalse(crear(-1, "prueba.lentas.desactivado").esLenta(inicio - 1_000_000_000_000L));
+    }
+
+    @Test
+    public void registrar_escribeLaConsultaRedactadaYAgrupaPorForma() {
+        RegistroConsultasLentas registro = crear(0, "prueba.lentas.registro");
+        long inicio = System.nanoTime();
+        registro.registrar("buscarPorTituloParcial", "SELECT ? parcial", inicio, 4, List.of("%star%"));
+        registro.registrar("buscarPorTituloParcial", "SELECT ? parcial", inicio, 2, List.of("%wars%"));
+        registro.registrar("listarPeliculas", "SELECT ? listar", System.nanoTime(), 10, List.of(3));
+
+        assertEquals(3, lineas.size());
+        assertTrue(lineas.get(0).contains("operacion=buscarPorTituloParcial"));
+        assertTrue(lineas.get(0).contains("parametros=['%…(4)%']"));
+        assertTrue(lineas.get(0).contains("sql=SELECT ? parcial"));
+        assertFalse(lineas.get(0).contains("star"));
+
+        List<RegistroConsultasLentas.Agregado> agregados = registro.getAgregados();
+        assertEquals(2, agregados.size());
+        assertEquals("SELECT ? parcial", agregados.get(0).sql);
+        assertEquals(2, agregados.get(0).cantidad.sum());
+        assertTrue(registro.resumen().contains("buscarPorTituloParcial lentas=2"));
+    }
+}
@@ -0,0 +1,53 @@
+package dao;
+
+import org.junit.Test;
+import util.ConexionDB;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeNoException;
+
+/**
+ * Pruebas unitarias para la clase {@link VerificadorPlanes}.
+ * La verificación contra la base de datos se omite si no hay conexión disponible.
+ *
+ * @author Miguel
+ */
+public class VerificadorPlanesTest {
+
+    @Test
+    public void recorridoCompletoSinIndicePosible_esRegresion() {
+        assertTrue(VerificadorPlanes.esRegresion("ALL", null, 7, 1_000));
+        assertTrue(VerificadorPlanes.esRegresion("ALL", "", 7, 1_000));
+    }
+
+    @Test
+    public void recorridoCompletoDeTablaPequenaConIndice_noEsRegresion() {
+        assertFalse(VerificadorPlanes.esRegresion("ALL", "idx_cartelera_anno", 7, 1_000));
+        assertTrue(VerificadorPlanes.esRegresion("ALL", "idx_cartelera_anno", 50_000, 1_000));
+    }
+
+    @Test
+    public void accesoPorIndice_noEsRegresion() {
+        assertFalse(VerificadorPlanes.esRegresion("ref", "idx_cartelera_titulo", 1, 1_000));
+        assertFalse(VerificadorPlanes.esRegresion("index", null, 50_000, 1_000));
+    }
+
+    @Test
+    public void consultasDelDao_usanIndices() throws SQLException {
+        Connection conn = null;
+        try {
+            conn = ConexionDB.getConnection();
+        } catch (SQLException e) {
+            assumeNoException(e);
+        }
+        try (Connection c = conn) {
+            MigradorEsquema.migrar(c);
+            List<String> regresiones = VerificadorPlanes.verificar(c);
+            assertTrue(String.join("\n", regresiones), regresiones.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para el enum {@link Genero}.
+ *
+ * @author Miguel
+ */
+public class GeneroTest {
+
+    @Test
+    public void codigos_sonUnicosYReversibles() {
+        Set<Integer> codigos = new HashSet<>();
+        for (Genero g : Genero.values()) {
+            assertTrue(g.getCodigo() > 0);
+            assertTrue("Código repetido: " + g.getCodigo(), codigos.add(g.getCodigo()));
+            assertSame(g, Genero.desdeCodigo(g.getCodigo()));
+        }
+    }
+
+    @Test
+    public void codigoDesconocido_devuelveNull() {
+        assertNull(Genero.desdeCodigo(0));
+        assertNull(Genero.desdeCodigo(-1));
+        assertNull(Genero.desdeCodigo(1_000));
+    }
+
+    @Test
+    public void ordenPorCodigo_coincideConOrdenPorEtiqueta() {
+        Genero[] generos = Genero.values();
+        for (int i = 1; i < generos.length; i++) {
+            assertTrue(generos[i - 1].getCodigo() < generos[i].getCodigo());
+            assertTrue(generos[i - 1].getEtiqueta().compareToIgnoreCase(generos[i].getEtiqueta()) < 0);
+        }
+    }
+
+    @Test
+    public void desdeEtiqueta_ignoraMayusculasYEspacios() {
+        assertEquals(Genero.CIENCIA_FICCION, Genero.desdeEtiqueta(" ciencia ficción "));
+        assertNull(Genero.desdeEtiqueta("Western"));
+    }
+}
@@ -0,0 +1,89 @@
+package service;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link CacheCatalogo}.
+ * Verifica la lectura a través de la caché, los límites, la expiración y la invalidación.
+ *
+ * @author Miguel
+ */
+public class CacheCatalogoTest {
+
+    private final AtomicInteger cargas = new AtomicInteger();
+
+    private String cargar(String clave) {
+        cargas.incrementAndGet();
+        return clave.toUpperCase();
+    }
+
+    @Test
+    public void segundaLectura_seRespondeDesdeLaCache() {
+        CacheCatalogo<String, String> cache = new CacheCatalogo<>("prueba", 10, Long.MAX_VALUE, 60_000, v -> 1);
+        assertEquals("MATRIX", cache.obtener("matrix", () -> cargar("matrix")));
+        assertEquals("MATRIX", cache.obtener("matrix", () -> cargar("matrix")));
+        assertEquals(1, cargas.get());
+        assertEquals(1, cache.getAciertos());
+        assertEquals(1, cache.getFallos());
+    }
+
+    @Test
+    public void excederEntradas_desalojaLaMenosUsada() {
+        CacheCatalogo<String, String> cache = new CacheCatalogo<>("prueba", 2, Long.MAX_VALUE, 60_000, v -> 1);
+        cache.obtener("a", () -> cargar("a"));
+        cache.obtener("b", () -> cargar("b"));
+        cache.obtener("a", () -> cargar("a"));
+        cache.obtener("c", () -> cargar("c"));
+
+        assertEquals(1, cache.getDesalojos());
+        cache.obtener("a", () -> cargar("a"));
+        assertEquals(3, cargas.get());
+        cache.obtener("b", () -> cargar("b"));
+        assertEquals(4, cargas.get());
+    }
+
+    @Test
+    public void excederPeso_desalojaEntradas() {
+        CacheCatalogo<String, List<Integer>> cache = new CacheCatalogo<>("prueba", 10, 5, 60_000, List::size);
+        cache.obtener("a", () -> List.of(1, 2, 3));
+        cache.obtener("b", () -> List.of(1, 2, 3));
+        assertEquals(1, cache.getTamano());
+    }
+
+    @Test
+    public void entradaExpirada_seRecarga() throws InterruptedException {
+        CacheCatalogo<String, String> cache = new CacheCatalogo<>("prueba", 10, Long.MAX_VALUE, 1, v -> 1);
+        cache.obtener("a", () -> cargar("a"));
+        Thread.sleep(5);
+        cache.obtener("a", () -> cargar("a"));
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    public void invalidar_fuerzaNuevaCarga() {
+        CacheCatalogo<String, String> cache = new CacheCatalogo<>("prueba", 10, Long.MAX_VALUE, 60_000, v -> 1);
+        cache.obtener("a", () -> cargar("a"));
+        cache.obtener("b", () -> cargar("b"));
+        cache.invalidarSi((clave, valor) -> valor.equals("A"));
+
+        cache.obtener("a", () -> cargar("a"));
+        cache.obtener("b", () -> cargar("b"));
+        assertEquals(3, cargas.get());
+    }
+
+    @Test
+    public void invalidacionDuranteCarga_noGuardaValorObsoleto() {
+        CacheCatalogo<String, String> cache = new CacheCatalogo<>("prueba", 10, Long.MAX_VALUE, 60_000, v -> 1);
+        cache.obtener("a", () -> {
+            cache.invalidar("a");
+            return cargar("a");
+        });
+        cache.obtener("a", () -> cargar("a"));
+        assertEquals(2, cargas.get());
+    }
+}
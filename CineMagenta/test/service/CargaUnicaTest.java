@@ -0,0 +1,187 @@
+package service;
+
+import org.junit.Test;
+import util.EjecutorAcotado;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link CargaUnica}.
+ * Verifica que las cargas simultáneas de una misma clave se ejecuten una sola vez.
+ *
+ * @author Miguel
+ */
+public class CargaUnicaTest {
+
+    private final CargaUnica<List<Object>> cargas = new CargaUnica<>(new EjecutorAcotado(4));
+    private final AtomicInteger ejecutadas = new AtomicInteger();
+
+    /**
+     * Lanza varios llamadores con la misma clave mientras la primera carga espera {@code liberar}.
+     */
+    private List<Future<String>> lanzar(ExecutorService hilos, int llamadores, CountDownLatch liberar) throws Exception {
+        CountDownLatch enCarga = new CountDownLatch(1);
+        List<Future<String>> resultados = new ArrayList<>();
+        resultados.add(hilos.submit(() -> cargas.obtener(CargaUnica.clave("listar", null, 2000), () -> {
+            ejecutadas.incrementAndGet();
+            enCarga.countDown();
+            esperar(liberar);
+            return "resultado";
+        })));
+        assertTrue(enCarga.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < llamadores; i++) {
+            resultados.add(hilos.submit(() -> cargas.obtener(CargaUnica.clave("listar", null, 2000), () -> {
+                ejecutadas.incrementAndGet();
+                return "otro";
+            })));
+        }
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cargas.getCompartidas() < llamadores - 1 && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        return resultados;
+    }
+
+    private static void esperar(CountDownLatch liberar) {
+        try {
+            liberar.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void llamadasSimultaneas_compartenUnaCarga() throws Exception {
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch liberar = new CountDownLatch(1);
+            List<Future<String>> resultados = lanzar(hilos, 8, liberar);
+            liberar.countDown();
+
+            for (Future<String> r : resultados) {
+                assertEquals("resultado", r.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, ejecutadas.get());
+            assertEquals(1, cargas.getCargas());
+            assertEquals(7, cargas.getCompartidas());
+            assertEquals(0, cargas.getEnCurso());
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    @Test
+    public void clavesDistintas_noSeComparten() {
+        assertEquals("a", cargas.obtener(CargaUnica.clave("listar", 1), () -> "a"));
+        assertEquals("b", cargas.obtener(CargaUnica.clave("listar", 2), () -> "b"));
+        assertEquals("c", cargas.obtener(CargaUnica.clave("contar", 1), () -> "c"));
+        assertEquals(3, cargas.getCargas());
+        assertEquals(0, cargas.getCompartidas());
+    }
+
+    @Test
+    public void cargaFallida_propagaLaMismaExcepcionALosQueEsperan() throws Exception {
+        IllegalStateException error = new IllegalStateException("sin conexión");
+        CountDownLatch enCarga = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> primera = hilos.submit(() -> cargas.obtener(CargaUnica.clave("listar"), () -> {
+                enCarga.countDown();
+                esperar(liberar);
+                throw error;
+            }));
+            assertTrue(enCarga.await(5, TimeUnit.SECONDS));
+            Future<Object> segunda = hilos.submit(() -> cargas.obtener(CargaUnica.clave("listar"), () -> "otro"));
+            while (cargas.getCompartidas() < 1) {
+                Thread.sleep(5);
+            }
+            liberar.countDown();
+
+            for (Future<Object> f : List.of(primera, segunda)) {
+                try {
+                    f.get(5, TimeUnit.SECONDS);
+                    fail("Se esperaba la excepción de la carga");
+                } catch (java.util.concurrent.ExecutionException e) {
+                    assertSame(error, e.getCause());
+                }
+            }
+        } finally {
+            hilos.shutdownNow();
+        }
+        // Una carga fallida no queda registrada
+        assertEquals("nuevo", cargas.obtener(CargaUnica.clave("listar"), () -> "nuevo"));
+    }
+
+    @Test
+    public void llamadorInterrumpido_noAfectaALosDemas() throws Exception {
+        ExecutorService hilos = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch liberar = new CountDownLatch(1);
+            List<Future<String>> resultados = lanzar(hilos, 2, liberar);
+
+            // Se cancela la solicitud que inició la carga, como hace la interfaz al reemplazarla
+            resultados.get(0).cancel(true);
+            liberar.countDown();
+
+            assertEquals("resultado", resultados.get(1).get(5, TimeUnit.SECONDS));
+            assertEquals(1, ejecutadas.get());
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    @Test
+    public void esperaInterrumpida_liberaAlLlamador() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch enCarga = new CountDownLatch(1);
+        AtomicInteger canceladas = new AtomicInteger();
+        Thread llamador = new Thread(() -> {
+            try {
+                cargas.obtener(CargaUnica.clave("listar"), () -> {
+                    enCarga.countDown();
+                    esperar(liberar);
+                    return "resultado";
+                });
+            } catch (java.util.concurrent.CancellationException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    canceladas.incrementAndGet();
+                }
+            }
+        });
+        llamador.start();
+        assertTrue(enCarga.await(5, TimeUnit.SECONDS));
+        llamador.interrupt();
+        llamador.join(5_000);
+
+        assertFalse(llamador.isAlive());
+        assertEquals(1, canceladas.get());
+        liberar.countDown();
+    }
+
+    @Test
+    public void olvidar_haceQueLasLlamadasSiguientesCarguenDeNuevo() throws Exception {
+        ExecutorService hilos = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch liberar = new CountDownLatch(1);
+            List<Future<String>> resultados = lanzar(hilos, 1, liberar);
+            cargas.olvidar();
+
+            assertEquals("nuevo", cargas.obtener(CargaUnica.clave("listar", null, 2000), () -> "nuevo"));
+            liberar.countDown();
+            assertEquals("resultado", resultados.get(0).get(5, TimeUnit.SECONDS));
+            assertEquals(2, cargas.getCargas());
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+}
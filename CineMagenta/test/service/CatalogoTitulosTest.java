@@ -0,0 +1,85 @@
+package service;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link CatalogoTitulos}.
+ * Verifica el orden, la búsqueda por prefijo y las actualizaciones incrementales.
+ *
+ * @author Miguel
+ */
+public class CatalogoTitulosTest {
+
+    private static CatalogoTitulos catalogo(String... titulos) {
+        CatalogoTitulos catalogo = new CatalogoTitulos();
+        assertTrue(catalogo.cargar(List.of(titulos), catalogo.getVersion()));
+        return catalogo;
+    }
+
+    private static List<String> conPrefijo(CatalogoTitulos catalogo, String prefijo) {
+        CatalogoTitulos.Instantanea instantanea = catalogo.instantanea();
+        int[] rango = instantanea.rango(prefijo);
+        List<String> titulos = new ArrayList<>();
+        for (int i = rango[0]; i < rango[1]; i++) {
+            titulos.add(instantanea.getTitulo(i));
+        }
+        return titulos;
+    }
+
+    @Test
+    public void rango_ignoraMayusculasYTildes() {
+        CatalogoTitulos catalogo = catalogo("Matrix", "Amélie", "matrix reloaded", "Alien", "Memento");
+        assertEquals(List.of("Matrix", "matrix reloaded"), conPrefijo(catalogo, "MAT"));
+        assertEquals(List.of("Amélie"), conPrefijo(catalogo, "ame"));
+        assertEquals(List.of(), conPrefijo(catalogo, "z"));
+        assertEquals(5, conPrefijo(catalogo, " ").size());
+    }
+
+    @Test
+    public void cargar_descartaRepetidos() {
+        CatalogoTitulos catalogo = catalogo("Alien", "Alien", "Brazil");
+        assertEquals(2, catalogo.instantanea().getTamano());
+    }
+
+    @Test
+    public void agregar_intercalaEnOrden() {
+        CatalogoTitulos catalogo = catalogo("Alien", "Memento");
+        catalogo.agregar(List.of("Zodiac", "Brazil", "Alien", "Brazil"));
+        assertEquals(List.of("Alien", "Brazil", "Memento", "Zodiac"), conPrefijo(catalogo, ""));
+    }
+
+    @Test
+    public void eliminar_quitaTitulosSinDistinguirMayusculas() {
+        CatalogoTitulos catalogo = catalogo("Alien", "ALIEN", "Aliens", "Brazil");
+        catalogo.eliminar("alien ");
+        assertEquals(List.of("Aliens", "Brazil"), conPrefijo(catalogo, ""));
+    }
+
+    @Test
+    public void instantaneaAnterior_noCambiaConEscrituras() {
+        CatalogoTitulos catalogo = catalogo("Alien");
+        CatalogoTitulos.Instantanea anterior = catalogo.instantanea();
+        catalogo.agregar("Brazil");
+        assertEquals(1, anterior.getTamano());
+        assertEquals(2, catalogo.instantanea().getTamano());
+    }
+
+    @Test
+    public void cargaDesactualizada_seDescarta() {
+        CatalogoTitulos catalogo = new CatalogoTitulos();
+        long version = catalogo.getVersion();
+        catalogo.agregar("Brazil");
+        assertFalse(catalogo.cargar(List.of("Alien"), version));
+        assertFalse(catalogo.estaVigente());
+
+        assertTrue(catalogo.cargar(List.of("Alien", "Brazil"), catalogo.getVersion()));
+        catalogo.invalidar();
+        assertFalse(catalogo.estaVigente());
+        assertEquals(2, catalogo.instantanea().getTamano());
+    }
+}
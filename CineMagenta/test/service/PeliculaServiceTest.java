@@ -24,6 +24,12 @@ public class PeliculaServiceTest {
             @Override
             public boolean eliminarPorTitulo(String titulo) { return !"inexistente".equalsIgnoreCase(titulo); }
             @Override
+            public int[] insertarLote(List<Pelicula> lote) {
+                int[] filas = new int[lote.size()];
+                java.util.Arrays.fill(filas, 1);
+                return filas;
+            }
+            @Override
             public List<Pelicula> buscarPorTituloParcial(String texto) {
                 return List.of(new Pelicula(1, "Matrix", "Wachowski", 1999, 136, Genero.ACCION, "matrix.jpg"));
             }
@@ -72,4 +78,96 @@ public class PeliculaServiceTest {
         assertEquals(1, resultados.size());
         assertEquals("Matrix", resultados.get(0).getTitulo());
     }
+
+    @Test
+    public void agregar_invalida_informaMotivoSinMostrarDialogo() {
+        Pelicula p = new Pelicula(0, "Matrix", "", 1999, 136, Genero.ACCION, "matrix.jpg");
+        ResultadoOperacion<Pelicula> resultado = service.agregar(p);
+
+        assertEquals(ResultadoOperacion.Estado.RECHAZADO, resultado.getEstado());
+        assertEquals("Título y director son obligatorios.", resultado.getMensaje());
+        assertNull(resultado.getValor());
+    }
+
+    @Test
+    public void eliminar_inexistente_esRechazado() {
+        ResultadoOperacion<String> resultado = service.eliminar("inexistente");
+        assertEquals(ResultadoOperacion.Estado.RECHAZADO, resultado.getEstado());
+        assertNotNull(resultado.getMensaje());
+    }
+
+    @Test
+    public void buscar_tituloVacio_esRechazado() {
+        assertEquals(ResultadoOperacion.Estado.RECHAZADO, service.buscar("  ").getEstado());
+        assertNull(service.buscarPorTitulo("  "));
+    }
+
+    @Test
+    public void errorDeDatos_seInformaComoResultado() {
+        PeliculaService conError = new PeliculaService(new PeliculaDAO() {
+            @Override
+            public boolean insertar(Pelicula p) throws java.sql.SQLException {
+                throw new java.sql.SQLException("sin conexión");
+            }
+        });
+        ResultadoOperacion<Pelicula> resultado =
+                conError.agregar(new Pelicula(0, "Matrix", "Wachowski", 1999, 136, Genero.ACCION, null));
+
+        assertEquals(ResultadoOperacion.Estado.ERROR, resultado.getEstado());
+        assertEquals("Error al agregar la película: sin conexión", resultado.getMensaje());
+        assertTrue(resultado.getCausa() instanceof java.sql.SQLException);
+        try {
+            resultado.obtener();
+            fail("Se esperaba IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertSame(resultado.getCausa(), e.getCause());
+        }
+    }
+
+    @Test
+    public void obtenerPagina_conErrorDeDatos_noDevuelvePaginaVacia() {
+        PeliculaService conError = new PeliculaService(new PeliculaDAO() {
+            @Override
+            public dao.Pagina<Pelicula> listarPagina(Genero genero, Integer annoDesde, Integer annoHasta,
+                                                     dao.OrdenPeliculas orden, Pelicula despuesDe, int tamano)
+                    throws java.sql.SQLException {
+                throw new java.sql.SQLException("sin conexión");
+            }
+        });
+
+        ResultadoOperacion<dao.Pagina<Pelicula>> resultado =
+                conError.obtenerPagina(null, null, null, dao.OrdenPeliculas.PREDETERMINADO, null, 50);
+
+        assertEquals(ResultadoOperacion.Estado.ERROR, resultado.getEstado());
+        assertTrue(conError.listarPagina(null, null, null, null, 50).getElementos().isEmpty());
+    }
+
+    @Test
+    public void agregarPeliculas_informaResultadoPorFila() {
+        List<ResultadoCarga> resultados = service.agregarPeliculas(List.of(
+                new Pelicula(0, "Matrix", "Wachowski", 1999, 136, Genero.ACCION, null),
+                new Pelicula(0, "", "Sin título", 2000, 90, Genero.DRAMA, null),
+                new Pelicula(0, "Amélie", "Jeunet", 2001, 122, Genero.COMEDIA, null)));
+
+        assertEquals(3, resultados.size());
+        assertTrue(resultados.get(0).isExito());
+        assertFalse(resultados.get(1).isExito());
+        assertEquals(2, resultados.get(1).getFila());
+        assertTrue(resultados.get(2).isExito());
+        assertEquals(3, resultados.get(2).getFila());
+    }
+
+    @Test
+    public void leerCsv_convierteFilasConComillas() throws Exception {
+        String csv = "titulo;director;anno;duracion;genero\n"
+                + "\"Harry Potter; la piedra\";Chris Columbus;2001;152;Acción\n"
+                + "Parasite;Bong Joon-ho;no-es-año;132;Suspenso\n";
+        List<Pelicula> peliculas = new java.util.ArrayList<>();
+        ImportadorCartelera.leerCsv(new java.io.BufferedReader(new java.io.StringReader(csv))).forEach(peliculas::add);
+
+        assertEquals(2, peliculas.size());
+        assertEquals("Harry Potter; la piedra", peliculas.get(0).getTitulo());
+        assertEquals(Genero.ACCION, peliculas.get(0).getGenero());
+        assertEquals(0, peliculas.get(1).getAnno());
+    }
 }
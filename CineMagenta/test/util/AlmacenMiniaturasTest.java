@@ -0,0 +1,75 @@
+package util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link AlmacenMiniaturas}.
+ *
+ * @author Miguel
+ */
+public class AlmacenMiniaturasTest {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    private File crearImagen(String nombre, int ancho, int alto) throws IOException {
+        File archivo = carpeta.newFile(nombre);
+        ImageIO.write(new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_RGB), "png", archivo);
+        return archivo;
+    }
+
+    @Test
+    public void generar_guardaMiniaturaJuntoALaPortada() throws IOException {
+        File portada = crearImagen("matrix.png", 600, 900);
+
+        BufferedImage miniatura = AlmacenMiniaturas.generar(portada);
+
+        File archivo = AlmacenMiniaturas.rutaMiniatura(portada);
+        assertEquals("matrix" + AlmacenMiniaturas.SUFIJO, archivo.getName());
+        assertTrue(archivo.isFile());
+        assertTrue(AlmacenMiniaturas.estaActualizada(portada));
+        assertEquals(CacheMiniaturas.ANCHO, miniatura.getWidth());
+        assertEquals(CacheMiniaturas.ALTO, ImageIO.read(archivo).getHeight());
+    }
+
+    @Test
+    public void leerSubmuestreada_imagenGrande_noBajaDelTamanoPedido() throws IOException {
+        File portada = crearImagen("afiche.png", 1300, 1900);
+
+        BufferedImage reducida = AlmacenMiniaturas.leerSubmuestreada(portada, 120, 180);
+
+        assertTrue(reducida.getWidth() >= 120 && reducida.getHeight() >= 180);
+        assertTrue(reducida.getWidth() < 1300 / 2);
+    }
+
+    @Test
+    public void estaActualizada_portadaMasReciente_retornaFalse() throws IOException {
+        File portada = crearImagen("matrix.png", 300, 450);
+        AlmacenMiniaturas.generar(portada);
+
+        portada.setLastModified(AlmacenMiniaturas.rutaMiniatura(portada).lastModified() + 2000);
+
+        assertFalse(AlmacenMiniaturas.estaActualizada(portada));
+    }
+
+    @Test
+    public void regenerarCarpeta_generaSoloPendientes() throws IOException {
+        crearImagen("a.png", 300, 450);
+        crearImagen("b.png", 300, 450);
+        AlmacenMiniaturas.generar(crearImagen("c.png", 300, 450));
+        carpeta.newFile("notas.txt");
+
+        assertEquals(2, AlmacenMiniaturas.regenerarCarpeta(carpeta.getRoot(), false));
+        assertEquals(0, AlmacenMiniaturas.regenerarCarpeta(carpeta.getRoot(), false));
+        assertEquals(3, AlmacenMiniaturas.regenerarCarpeta(carpeta.getRoot(), true));
+    }
+}
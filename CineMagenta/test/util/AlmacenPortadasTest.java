@@ -0,0 +1,81 @@
+package util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link AlmacenPortadas}.
+ *
+ * @author Miguel
+ */
+public class AlmacenPortadasTest {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    private Path crearArchivo(String nombre, String contenido) throws IOException {
+        File directorio = carpeta.newFolder();
+        return Files.write(new File(directorio, nombre).toPath(), contenido.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String destino() {
+        return carpeta.getRoot().getPath() + "/portadas";
+    }
+
+    @Test
+    public void guardar_nombraPorContenido() throws IOException {
+        String ruta = AlmacenPortadas.guardar(crearArchivo("poster.JPEG", "imagen"), destino());
+
+        assertEquals(AlmacenPortadas.calcularHash(Path.of(ruta)) + ".jpg", new File(ruta).getName());
+        assertTrue(AlmacenPortadas.esDireccionadaPorContenido(ruta));
+        assertEquals("imagen", Files.readString(Path.of(ruta)));
+    }
+
+    @Test
+    public void guardar_mismoNombreDistintoContenido_noSobrescribe() throws IOException {
+        String a = AlmacenPortadas.guardar(crearArchivo("poster.jpg", "primera"), destino());
+        String b = AlmacenPortadas.guardar(crearArchivo("poster.jpg", "segunda"), destino());
+
+        assertNotEquals(a, b);
+        assertEquals("primera", Files.readString(Path.of(a)));
+        assertEquals("segunda", Files.readString(Path.of(b)));
+    }
+
+    @Test
+    public void guardar_mismoContenido_seDeduplica() throws IOException {
+        String a = AlmacenPortadas.guardar(crearArchivo("uno.png", "igual"), destino());
+        String b = AlmacenPortadas.guardar(crearArchivo("dos.png", "igual"), destino());
+
+        assertEquals(a, b);
+        assertEquals(1, new File(destino()).list().length);
+    }
+
+    @Test
+    public void recolectar_rutaSinHash_noEliminaArchivo() throws IOException {
+        Path antigua = crearArchivo("default.jpg", "x");
+
+        assertEquals(0, AlmacenPortadas.recolectar(antigua.getParent().toString(), Set.of(), -1));
+        assertTrue(Files.exists(antigua));
+    }
+
+    @Test
+    public void recolectar_eliminaSoloNoReferenciadas() throws IOException {
+        String usada = AlmacenPortadas.guardar(crearArchivo("a.jpg", "usada"), destino());
+        String huerfana = AlmacenPortadas.guardar(crearArchivo("b.jpg", "huerfana"), destino());
+
+        assertEquals(0, AlmacenPortadas.recolectar(destino(), Set.of(usada), 60_000));
+        assertEquals(1, AlmacenPortadas.recolectar(destino(), Set.of(usada), -1));
+        assertTrue(new File(usada).exists());
+        assertFalse(new File(huerfana).exists());
+    }
+}
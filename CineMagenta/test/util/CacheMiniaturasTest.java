@@ -0,0 +1,83 @@
+package util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link CacheMiniaturas}.
+ *
+ * @author Miguel
+ */
+public class CacheMiniaturasTest {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    private File crearImagen(String nombre, int ancho, int alto) throws IOException {
+        File archivo = carpeta.newFile(nombre);
+        ImageIO.write(new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_RGB), "png", archivo);
+        return archivo;
+    }
+
+    @Test
+    public void cargar_escalaAlTamanoDeMiniatura() throws IOException {
+        CacheMiniaturas cache = new CacheMiniaturas(10);
+        BufferedImage miniatura = cache.cargar(crearImagen("portada.png", 600, 900));
+
+        assertEquals(CacheMiniaturas.ANCHO, miniatura.getWidth());
+        assertEquals(CacheMiniaturas.ALTO, miniatura.getHeight());
+    }
+
+    @Test
+    public void obtener_despuesDeCargar_retornaMismaMiniatura() throws IOException {
+        CacheMiniaturas cache = new CacheMiniaturas(10);
+        File archivo = crearImagen("portada.png", 300, 450);
+
+        assertNull(cache.obtener(archivo));
+        BufferedImage cargada = cache.cargar(archivo);
+        assertSame(cargada, cache.obtener(archivo));
+        assertSame(cargada, cache.cargar(archivo));
+        assertEquals(1, cache.getFallos());
+    }
+
+    @Test
+    public void obtener_archivoModificado_noRetornaMiniaturaAnterior() throws IOException {
+        CacheMiniaturas cache = new CacheMiniaturas(10);
+        File archivo = crearImagen("portada.png", 300, 450);
+        cache.cargar(archivo);
+
+        ImageIO.write(new BufferedImage(200, 300, BufferedImage.TYPE_INT_RGB), "png", archivo);
+        archivo.setLastModified(archivo.lastModified() + 2000);
+
+        assertNull(cache.obtener(archivo));
+    }
+
+    @Test
+    public void cargar_superaMaximo_desalojaMenosUsada() throws IOException {
+        CacheMiniaturas cache = new CacheMiniaturas(2);
+        File a = crearImagen("a.png", 10, 10);
+        File b = crearImagen("b.png", 10, 10);
+        File c = crearImagen("c.png", 10, 10);
+        cache.cargar(a);
+        cache.cargar(b);
+        cache.obtener(a);
+        cache.cargar(c);
+
+        assertEquals(2, cache.getTamano());
+        assertNotNull(cache.obtener(a));
+        assertNull(cache.obtener(b));
+    }
+
+    @Test(expected = IOException.class)
+    public void cargar_archivoNoEsImagen_lanzaExcepcion() throws IOException {
+        new CacheMiniaturas(10).cargar(carpeta.newFile("texto.png"));
+    }
+}
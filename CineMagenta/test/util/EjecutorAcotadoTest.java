@@ -0,0 +1,99 @@
+package util;
+
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link EjecutorAcotado}.
+ *
+ * @author Miguel
+ */
+public class EjecutorAcotadoTest {
+
+    @Test
+    public void enviar_noSuperaElMaximoDeTareasSimultaneas() throws Exception {
+        EjecutorAcotado ejecutor = new EjecutorAcotado(3);
+        AtomicInteger enCurso = new AtomicInteger();
+        AtomicInteger maximoObservado = new AtomicInteger();
+        CountDownLatch iniciadas = new CountDownLatch(3);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        List<CompletableFuture<Integer>> futuros = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            int n = i;
+            futuros.add(ejecutor.enviar(() -> {
+                maximoObservado.accumulateAndGet(enCurso.incrementAndGet(), Math::max);
+                iniciadas.countDown();
+                liberar.await();
+                enCurso.decrementAndGet();
+                return n;
+            }));
+        }
+        assertTrue(iniciadas.await(5, TimeUnit.SECONDS));
+        assertEquals(3, ejecutor.getEnCurso());
+        liberar.countDown();
+
+        for (int i = 0; i < futuros.size(); i++) {
+            assertEquals(Integer.valueOf(i), futuros.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(3, maximoObservado.get());
+        // El turno se libera antes de completar el futuro
+        assertEquals(0, ejecutor.getEnCurso());
+    }
+
+    @Test
+    public void enviar_completaConLaExcepcionOriginal() throws Exception {
+        EjecutorAcotado ejecutor = new EjecutorAcotado(1);
+        SQLException error = new SQLException("sin conexión");
+
+        CompletableFuture<Object> futuro = ejecutor.enviar(() -> {
+            throw error;
+        });
+
+        try {
+            futuro.get(5, TimeUnit.SECONDS);
+            fail("Se esperaba ExecutionException");
+        } catch (ExecutionException e) {
+            assertSame(error, e.getCause());
+        }
+        // El turno se libera aunque la tarea falle
+        assertEquals("ok", ejecutor.enviar(() -> "ok").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void enviar_etapaDependienteNoRetieneElTurno() throws Exception {
+        EjecutorAcotado ejecutor = new EjecutorAcotado(1);
+
+        // La etapa dependiente se ejecuta en el hilo de la primera tarea y espera una segunda con el único turno
+        CompletableFuture<String> encadenado = ejecutor.enviar(() -> "a")
+                .thenApply(a -> a + ejecutor.enviar(() -> "b").join());
+
+        assertEquals("ab", encadenado.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void esperar_cedeElTurnoMientrasEspera() throws Exception {
+        EjecutorAcotado ejecutor = new EjecutorAcotado(1);
+
+        // La tarea externa retiene el único turno y espera una tarea que lo necesita
+        CompletableFuture<String> externa = ejecutor.enviar(() -> "a" + ejecutor.esperar(ejecutor.enviar(() -> "b")));
+
+        assertEquals("ab", externa.get(5, TimeUnit.SECONDS));
+        assertEquals(0, ejecutor.getEnCurso());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_rechazaMaximoNoPositivo() {
+        new EjecutorAcotado(0);
+    }
+}
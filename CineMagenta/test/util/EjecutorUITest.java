@@ -0,0 +1,119 @@
+package util;
+
+import org.junit.Test;
+
+import javax.swing.SwingUtilities;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link EjecutorUI}.
+ * No requieren pantalla: las solicitudes se inician en el EDT con {@link SwingUtilities#invokeAndWait}
+ * y los resultados publicados se esperan vaciando la cola de eventos de la misma forma.
+ *
+ * @author Miguel
+ */
+public class EjecutorUITest {
+
+    private final List<String> entregados = new CopyOnWriteArrayList<>();
+    private final List<Exception> errores = new CopyOnWriteArrayList<>();
+
+    /**
+     * Espera a que el EDT procese los eventos ya encolados, incluidos los que estos encolen a su vez.
+     */
+    private static void vaciarEDT() throws Exception {
+        SwingUtilities.invokeAndWait(() -> { });
+        SwingUtilities.invokeAndWait(() -> { });
+    }
+
+    @Test
+    public void lecturaReemplazada_seInterrumpeYSeDescartaSuResultado() throws Exception {
+        Object clave = new Object();
+        CountDownLatch iniciada = new CountDownLatch(1);
+        CountDownLatch interrumpida = new CountDownLatch(1);
+        CountDownLatch entregada = new CountDownLatch(1);
+
+        SwingUtilities.invokeAndWait(() -> EjecutorUI.ejecutar(clave, s -> {
+            iniciada.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrumpida.countDown();
+            }
+            return "anterior";
+        }, entregados::add, errores::add, null));
+        assertTrue(iniciada.await(5, TimeUnit.SECONDS));
+
+        SwingUtilities.invokeAndWait(() -> EjecutorUI.ejecutar(clave, s -> "reciente", r -> {
+            entregados.add(r);
+            entregada.countDown();
+        }, errores::add, null));
+
+        assertTrue(interrumpida.await(5, TimeUnit.SECONDS));
+        assertTrue(entregada.await(5, TimeUnit.SECONDS));
+        vaciarEDT();
+        assertEquals(List.of("reciente"), entregados);
+        assertTrue(errores.isEmpty());
+    }
+
+    @Test
+    public void escrituraReemplazada_terminaSinInterrumpirseYSeDescartaSuResultado() throws Exception {
+        Object clave = new Object();
+        CountDownLatch iniciada = new CountDownLatch(1);
+        CountDownLatch continuar = new CountDownLatch(1);
+        CountDownLatch terminada = new CountDownLatch(1);
+        AtomicBoolean interrumpida = new AtomicBoolean();
+
+        SwingUtilities.invokeAndWait(() -> EjecutorUI.ejecutarEscritura(clave, s -> {
+            iniciada.countDown();
+            continuar.await();
+            interrumpida.set(Thread.currentThread().isInterrupted());
+            terminada.countDown();
+            return "escritura";
+        }, entregados::add, errores::add, null));
+        assertTrue(iniciada.await(5, TimeUnit.SECONDS));
+
+        // La lectura que la reemplaza cancela la escritura, pero esta debe llegar al final
+        SwingUtilities.invokeAndWait(() -> EjecutorUI.ejecutar(clave, s -> "lectura", entregados::add,
+                errores::add, null));
+        continuar.countDown();
+
+        assertTrue(terminada.await(5, TimeUnit.SECONDS));
+        assertFalse(interrumpida.get());
+        vaciarEDT();
+        assertFalse(entregados.contains("escritura"));
+        assertTrue(errores.isEmpty());
+    }
+
+    @Test
+    public void escrituraVigente_entregaSuResultadoYNotificaAlObservador() throws Exception {
+        CountDownLatch entregada = new CountDownLatch(1);
+        List<String> eventos = new CopyOnWriteArrayList<>();
+        EjecutorUI.Observador observador = new EjecutorUI.Observador() {
+            @Override
+            public void alIniciar() {
+                eventos.add("inicio");
+            }
+
+            @Override
+            public void alTerminar() {
+                eventos.add("fin");
+            }
+        };
+
+        SwingUtilities.invokeAndWait(() -> EjecutorUI.ejecutarEscritura(new Object(), s -> "guardada", r -> {
+            entregados.add(r);
+            entregada.countDown();
+        }, errores::add, observador));
+
+        assertTrue(entregada.await(5, TimeUnit.SECONDS));
+        vaciarEDT();
+        assertEquals(List.of("guardada"), entregados);
+        assertEquals(List.of("inicio", "fin"), eventos);
+    }
+}
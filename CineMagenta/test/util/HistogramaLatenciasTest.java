@@ -0,0 +1,65 @@
+package util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link HistogramaLatencias}.
+ *
+ * @author Miguel
+ */
+public class HistogramaLatenciasTest {
+
+    @Test
+    public void cadaValor_quedaDentroDeSuCubetaConErrorAcotado() {
+        long anterior = -1;
+        for (long v = 0; v < 1L << 40; v = v < 64 ? v + 1 : v + v / 7) {
+            int indice = HistogramaLatencias.indice(v);
+            long limite = HistogramaLatencias.limiteSuperior(indice);
+            assertTrue("valor " + v + " excede su cubeta", v <= limite);
+            assertTrue("error relativo excesivo para " + v, limite - v <= Math.max(0, v / 8));
+            assertTrue(indice == 0 || HistogramaLatencias.limiteSuperior(indice - 1) < v);
+            assertTrue(limite >= anterior);
+            anterior = limite;
+        }
+    }
+
+    @Test
+    public void percentiles_distribucionUniforme() {
+        HistogramaLatencias h = new HistogramaLatencias();
+        for (int ms = 1; ms <= 1000; ms++) {
+            h.registrar(ms * 1_000_000L);
+        }
+
+        assertEquals(1000, h.getCantidad());
+        assertEquals(500e6, h.percentil(0.5), 500e6 / 8);
+        assertEquals(990e6, h.percentil(0.99), 990e6 / 8);
+        assertEquals(1000_000_000L, h.getMaximo());
+        assertTrue(h.percentil(0.999) <= h.getMaximo());
+    }
+
+    @Test
+    public void percentilAlto_reflejaLaColaLenta() {
+        HistogramaLatencias h = new HistogramaLatencias();
+        for (int i = 0; i < 9_990; i++) {
+            h.registrar(100_000);
+        }
+        for (int i = 0; i < 10; i++) {
+            h.registrar(2_000_000_000L);
+        }
+
+        assertTrue(h.percentil(0.99) < 200_000);
+        assertTrue(h.percentil(0.9995) > 1_000_000_000L);
+    }
+
+    @Test
+    public void sinValores_yTrasReiniciar_informaCero() {
+        HistogramaLatencias h = new HistogramaLatencias();
+        assertEquals(0, h.percentil(0.5));
+        h.registrar(5_000);
+        h.reiniciar();
+        assertEquals(0, h.getCantidad());
+        assertEquals(0, h.getMaximo());
+    }
+}
@@ -0,0 +1,138 @@
+package util;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link ManejadorLogAsincrono}.
+ *
+ * @author Miguel
+ */
+public class ManejadorLogAsincronoTest {
+
+    /**
+     * Manejador de destino que guarda los registros y puede retener al hilo de escritura.
+     */
+    private static class Recolector extends Handler {
+        final List<LogRecord> registros = new CopyOnWriteArrayList<>();
+        final CountDownLatch liberar;
+        final CountDownLatch enEscritura = new CountDownLatch(1);
+
+        Recolector(CountDownLatch liberar) {
+            this.liberar = liberar;
+        }
+
+        @Override
+        public void publish(LogRecord registro) {
+            enEscritura.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            registros.add(registro);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Test
+    public void close_entregaLosRegistrosEnOrdenConSuOrigen() {
+        Recolector destino = new Recolector(new CountDownLatch(0));
+        ManejadorLogAsincrono manejador = new ManejadorLogAsincrono(destino, 16);
+        Logger log = Logger.getLogger("prueba.asincrono.orden");
+        log.setUseParentHandlers(false);
+        log.addHandler(manejador);
+        try {
+            log.info("uno");
+            log.info(() -> "dos");
+        } finally {
+            log.removeHandler(manejador);
+            manejador.close();
+        }
+
+        assertEquals(2, destino.registros.size());
+        assertEquals("uno", destino.registros.get(0).getMessage());
+        assertEquals("dos", destino.registros.get(1).getMessage());
+        assertEquals(ManejadorLogAsincronoTest.class.getName(), destino.registros.get(0).getSourceClassName());
+        assertEquals("close_entregaLosRegistrosEnOrdenConSuOrigen", destino.registros.get(0).getSourceMethodName());
+    }
+
+    @Test
+    public void publish_conBuferLlenoDescartaSinBloquearEInforma() throws InterruptedException {
+        CountDownLatch liberar = new CountDownLatch(1);
+        Recolector destino = new Recolector(liberar);
+        ManejadorLogAsincrono manejador = new ManejadorLogAsincrono(destino, 2);
+
+        manejador.publish(new LogRecord(Level.INFO, "retenido"));
+        destino.enEscritura.await();
+        for (int i = 0; i < 5; i++) {
+            manejador.publish(new LogRecord(Level.INFO, "r" + i));
+        }
+        assertEquals(3, manejador.getDescartados());
+        assertEquals(2, manejador.getPendientes());
+
+        liberar.countDown();
+        manejador.close();
+
+        assertEquals(4, destino.registros.size());
+        LogRecord aviso = destino.registros.get(3);
+        assertEquals(Level.WARNING, aviso.getLevel());
+        assertTrue(aviso.getMessage().startsWith("3 registro(s)"));
+    }
+
+    @Test
+    public void flush_esperaAlRegistroQueSeEstaEscribiendo() throws InterruptedException {
+        CountDownLatch liberar = new CountDownLatch(1);
+        Recolector destino = new Recolector(liberar);
+        ManejadorLogAsincrono manejador = new ManejadorLogAsincrono(destino, 4);
+        try {
+            manejador.publish(new LogRecord(Level.INFO, "en curso"));
+            destino.enEscritura.await();
+            // El búfer ya está vacío, pero el registro aún no se escribió
+            assertEquals(0, manejador.getPendientes());
+
+            Thread vaciado = new Thread(manejador::flush);
+            vaciado.start();
+            vaciado.join(200);
+            assertTrue(vaciado.isAlive());
+
+            liberar.countDown();
+            vaciado.join(5_000);
+            assertFalse(vaciado.isAlive());
+            assertEquals(1, destino.registros.size());
+        } finally {
+            liberar.countDown();
+            manejador.close();
+        }
+    }
+
+    @Test
+    public void publish_respetaElNivelDelDestino() {
+        Recolector destino = new Recolector(new CountDownLatch(0));
+        destino.setLevel(Level.WARNING);
+        ManejadorLogAsincrono manejador = new ManejadorLogAsincrono(destino, 4);
+
+        manejador.publish(new LogRecord(Level.INFO, "ignorado"));
+        manejador.publish(new LogRecord(Level.SEVERE, "escrito"));
+        manejador.close();
+
+        assertEquals(1, destino.registros.size());
+        assertEquals("escrito", destino.registros.get(0).getMessage());
+    }
+}
@@ -0,0 +1,69 @@
+package util;
+
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para las clases {@link Metricas} y {@link MetricaOperacion}.
+ *
+ * @author Miguel
+ */
+public class MetricasTest {
+
+    @Test
+    public void operacion_devuelveLaMismaInstanciaPorNombre() {
+        assertSame(Metricas.operacion("prueba.unica"), Metricas.operacion("prueba.unica"));
+        assertNull(Metricas.buscar("prueba.inexistente"));
+    }
+
+    @Test
+    public void registrar_cuentaLlamadasErroresYFilas() {
+        MetricaOperacion m = Metricas.operacion("prueba.contadores");
+        m.reiniciar();
+        long inicio = System.nanoTime();
+        m.registrar(inicio, 10);
+        m.registrar(inicio, 5);
+        m.registrarError(inicio);
+
+        assertEquals(3, m.getLlamadas());
+        assertEquals(1, m.getErrores());
+        assertEquals(15, m.getFilas());
+        assertEquals(3, m.getLatencias().getCantidad());
+    }
+
+    @Test
+    public void volcar_escribeUnaLineaPorOperacion() throws Exception {
+        Metricas.operacion("prueba.volcado").registrar(System.nanoTime(), 1);
+        Path archivo = Files.createTempFile("metricas", ".txt");
+        try {
+            Metricas.volcar(archivo);
+            String contenido = Files.readString(archivo, StandardCharsets.UTF_8);
+            assertTrue(contenido.contains("prueba.volcado"));
+            assertTrue(contenido.contains("p999="));
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    @Test
+    public void registrarJmx_exponeLasOperaciones() throws Exception {
+        Metricas.operacion("prueba.jmx").registrarError(System.nanoTime());
+        Metricas.registrarJmx();
+        Metricas.registrarJmx();
+
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        ObjectName nombre = new ObjectName(Metricas.NOMBRE_JMX);
+        String[] operaciones = (String[]) servidor.getAttribute(nombre, "Operaciones");
+        assertTrue(java.util.Arrays.asList(operaciones).contains("prueba.jmx"));
+        Object errores = servidor.invoke(nombre, "errores", new Object[]{"prueba.jmx"}, new String[]{String.class.getName()});
+        assertTrue((Long) errores >= 1);
+    }
+}
@@ -0,0 +1,100 @@
+package util;
+
+import org.junit.Test;
+
+import javax.swing.JButton;
+import java.awt.event.ActionEvent;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link MonitorEDT}. Los despachos se simulan en el hilo de la prueba.
+ *
+ * @author Miguel
+ */
+public class MonitorEDTTest {
+
+    private static MonitorEDT crear(long umbralMs, String prefijo) {
+        MetricaOperacion despachos = Metricas.operacion(prefijo + ".despacho");
+        MetricaOperacion bloqueos = Metricas.operacion(prefijo + ".bloqueo");
+        despachos.reiniciar();
+        bloqueos.reiniciar();
+        return new MonitorEDT(umbralMs, despachos, bloqueos);
+    }
+
+    private static ActionEvent clic(String texto) {
+        return new ActionEvent(new JButton(texto), ActionEvent.ACTION_PERFORMED, texto);
+    }
+
+    @Test
+    public void revisar_informaUnaVezElDespachoBloqueadoConSuPilaYComponente() {
+        MonitorEDT monitor = crear(0, "prueba.edt.revisar");
+        monitor.alIniciar(clic("Buscar"));
+
+        String informe = monitor.revisar();
+        assertNotNull(informe);
+        assertTrue(informe.contains("componente=JButton[Buscar]"));
+        assertTrue(informe.contains("accion=Buscar"));
+        assertTrue(informe.contains("revisar_informaUnaVezElDespachoBloqueadoConSuPilaYComponente"));
+        assertNull(monitor.revisar());
+        assertEquals(1, monitor.getBloqueosDetectados());
+
+        monitor.alTerminar();
+        assertNull(monitor.revisar());
+        assertEquals(1, monitor.getBloqueos().getLlamadas());
+    }
+
+    @Test
+    public void alTerminar_registraLosDespachosRapidosSinBloqueos() {
+        MonitorEDT monitor = crear(60_000, "prueba.edt.rapido");
+        monitor.alIniciar(clic("Guardar"));
+        assertNull(monitor.revisar());
+        monitor.alTerminar();
+
+        assertEquals(1, monitor.getDespachos().getLlamadas());
+        assertEquals(0, monitor.getBloqueos().getLlamadas());
+        assertEquals(0, monitor.getBloqueosDetectados());
+    }
+
+    @Test
+    public void despachoConEventosAnidados_noSeMideNiSeInformaMientrasEspera() {
+        MonitorEDT monitor = crear(0, "prueba.edt.anidado");
+        monitor.alIniciar(clic("Eliminar"));
+        monitor.alIniciar(clic("Aceptar"));
+        monitor.alTerminar();
+        monitor.alEsperar();
+        assertNull(monitor.revisar());
+        monitor.alTerminar();
+
+        // Solo se mide el despacho anidado; el externo incluye la espera del diálogo
+        assertEquals(1, monitor.getDespachos().getLlamadas());
+    }
+
+    @Test
+    public void despachoExterno_trasCerrarseElBucleAnidado_seVigilaYSeMide() {
+        MonitorEDT monitor = crear(0, "prueba.edt.reanudado");
+        monitor.alIniciar(clic("Eliminar"));
+        // El diálogo modal espera y despacha el clic que lo cierra; luego su bucle termina
+        monitor.alEsperar();
+        monitor.alReanudar();
+        monitor.alIniciar(clic("Aceptar"));
+        monitor.alTerminar();
+
+        String informe = monitor.revisar();
+        assertNotNull(informe);
+        assertTrue(informe.contains("accion=Eliminar"));
+        monitor.alTerminar();
+
+        // Se miden el despacho anidado y el resto del externo
+        assertEquals(2, monitor.getDespachos().getLlamadas());
+    }
+
+    @Test
+    public void describir_usaNombreOTextoDelBoton() {
+        JButton boton = new JButton("Listar");
+        assertEquals("JButton[Listar]", MonitorEDT.describir(boton));
+        boton.setName("btnListar");
+        assertEquals("btnListar", MonitorEDT.describir(boton));
+        assertNull(MonitorEDT.describir(null));
+    }
+}
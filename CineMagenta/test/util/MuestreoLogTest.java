@@ -0,0 +1,55 @@
+package util;
+
+import org.junit.Test;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link MuestreoLog}.
+ *
+ * @author Miguel
+ */
+public class MuestreoLogTest {
+
+    private static final Logger LOG = Logger.getLogger("prueba.muestreo");
+
+    @Test
+    public void admitir_limitaLosMensajesPorIntervaloEInformaLosOmitidos() {
+        LOG.setLevel(Level.INFO);
+        MuestreoLog muestreo = new MuestreoLog(2, 60_000);
+
+        assertTrue(muestreo.admitir(LOG, Level.INFO));
+        assertTrue(muestreo.admitir(LOG, Level.INFO));
+        assertFalse(muestreo.admitir(LOG, Level.INFO));
+        assertFalse(muestreo.admitir(LOG, Level.INFO));
+
+        assertEquals(2, muestreo.getOmitidos());
+        assertEquals(" [2 similares omitidos]", muestreo.tomarOmitidos());
+        assertEquals("", muestreo.tomarOmitidos());
+    }
+
+    @Test
+    public void admitir_renuevaElCupoAlTerminarElIntervalo() throws InterruptedException {
+        LOG.setLevel(Level.INFO);
+        MuestreoLog muestreo = new MuestreoLog(1, 20);
+
+        assertTrue(muestreo.admitir(LOG, Level.INFO));
+        assertFalse(muestreo.admitir(LOG, Level.INFO));
+        Thread.sleep(40);
+        assertTrue(muestreo.admitir(LOG, Level.INFO));
+    }
+
+    @Test
+    public void admitir_conNivelDeshabilitadoNoConsumeCupo() {
+        LOG.setLevel(Level.WARNING);
+        MuestreoLog muestreo = new MuestreoLog(1, 60_000);
+
+        assertFalse(muestreo.admitir(LOG, Level.INFO));
+        assertEquals(0, muestreo.getOmitidos());
+        LOG.setLevel(Level.INFO);
+        assertTrue(muestreo.admitir(LOG, Level.INFO));
+    }
+}
@@ -0,0 +1,169 @@
+package util;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link PoolConexiones}.
+ * Utiliza conexiones simuladas para verificar la reutilización, los límites y la validación.
+ *
+ * @author Miguel
+ */
+public class PoolConexionesTest {
+
+    private final AtomicInteger abiertas = new AtomicInteger();
+    private final AtomicInteger cerradas = new AtomicInteger();
+    private final AtomicInteger preparadas = new AtomicInteger();
+    private final AtomicInteger sentenciasCerradas = new AtomicInteger();
+    private final AtomicBoolean validas = new AtomicBoolean(true);
+    private PoolConexiones pool;
+
+    private Connection conexionSimulada() {
+        abiertas.incrementAndGet();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, metodo, args) -> {
+                    switch (metodo.getName()) {
+                        case "isValid": return validas.get();
+                        case "getAutoCommit": return true;
+                        case "close": cerradas.incrementAndGet(); return null;
+                        case "isClosed": return false;
+                        case "prepareStatement": return sentenciaSimulada();
+                        default: return null;
+                    }
+                });
+    }
+
+    private PreparedStatement sentenciaSimulada() {
+        preparadas.incrementAndGet();
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, metodo, args) -> {
+                    switch (metodo.getName()) {
+                        case "isClosed": return false;
+                        case "close": sentenciasCerradas.incrementAndGet(); return null;
+                        default: return null;
+                    }
+                });
+    }
+
+    private PoolConexiones crearPool(int maximo) {
+        return new PoolConexiones(this::conexionSimulada, 0, maximo, 100, 60_000, 0, 0);
+    }
+
+    @After
+    public void tearDown() {
+        if (pool != null) pool.cerrar();
+    }
+
+    @Test
+    public void cerrarConexion_laDevuelveAlPool() throws SQLException {
+        pool = crearPool(2);
+        try (Connection c = pool.obtener()) {
+            assertNotNull(c);
+            assertEquals(1, pool.getPrestadas());
+        }
+        assertEquals(0, pool.getPrestadas());
+        assertEquals(1, pool.getLibres());
+        assertEquals(0, cerradas.get());
+
+        try (Connection c = pool.obtener()) {
+            assertFalse(c.isClosed());
+        }
+        assertEquals(1, abiertas.get());
+    }
+
+    @Test(expected = SQLException.class)
+    public void poolAgotado_lanzaExcepcionTrasEspera() throws SQLException {
+        pool = crearPool(1);
+        Connection retenida = pool.obtener();
+        try {
+            pool.obtener();
+        } finally {
+            retenida.close();
+        }
+    }
+
+    @Test(expected = SQLException.class)
+    public void conexionDevuelta_noPuedeUsarse() throws SQLException {
+        pool = crearPool(1);
+        Connection c = pool.obtener();
+        c.close();
+        c.createStatement();
+    }
+
+    @Test
+    public void conexionInvalida_seDescartaAlPrestar() throws SQLException {
+        pool = crearPool(1);
+        pool.obtener().close();
+        validas.set(false);
+
+        pool.obtener().close();
+        assertEquals(2, abiertas.get());
+        assertEquals(1, cerradas.get());
+    }
+
+    @Test
+    public void sentenciaPreparada_seReutilizaEnLaMismaConexion() throws SQLException {
+        pool = new PoolConexiones(this::conexionSimulada, 0, 1, 100, 60_000, 0, 8);
+        long aciertosPrevios = CacheSentencias.getAciertos();
+
+        for (int i = 0; i < 3; i++) {
+            try (Connection c = pool.obtener();
+                 PreparedStatement stmt = c.prepareStatement("SELECT 1")) {
+                assertSame(c, stmt.getConnection());
+            }
+        }
+        assertEquals(1, preparadas.get());
+        assertEquals(2, CacheSentencias.getAciertos() - aciertosPrevios);
+    }
+
+    @Test
+    public void minimo_seRellenaSoloTrasElPrimerPrestamo() throws Exception {
+        CountDownLatch creadas = new CountDownLatch(2);
+        pool = new PoolConexiones(() -> {
+            creadas.countDown();
+            return conexionSimulada();
+        }, 2, 4, 100, 60_000, 0, 0);
+
+        // Sin préstamos el pool no abre conexiones por su cuenta
+        assertFalse(creadas.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(0, abiertas.get());
+
+        pool.obtener().close();
+        assertTrue(creadas.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void sentenciasEnUso_seDesalojanAlLiberarse() throws SQLException {
+        pool = new PoolConexiones(this::conexionSimulada, 0, 1, 100, 60_000, 0, 1);
+
+        try (Connection c = pool.obtener()) {
+            // Con ambas en uso la caché supera su capacidad de una sentencia
+            try (PreparedStatement a = c.prepareStatement("SELECT 1");
+                 PreparedStatement b = c.prepareStatement("SELECT 2")) {
+                assertNotSame(a, b);
+                assertEquals(0, sentenciasCerradas.get());
+            }
+            try (PreparedStatement d = c.prepareStatement("SELECT 3")) {
+                assertSame(c, d.getConnection());
+                // Al preparar otra se desalojan las dos libres, no solo la más antigua
+                assertEquals(2, sentenciasCerradas.get());
+            }
+        }
+        assertEquals(3, preparadas.get());
+    }
+}
@@ -0,0 +1,257 @@
+package view;
+
+import dao.OrdenPeliculas;
+import dao.Pagina;
+import dao.PeliculaDAO;
+import model.Genero;
+import model.Pelicula;
+import org.junit.Test;
+import service.PeliculaService;
+import service.ResultadoOperacion;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase {@link ModeloTablaPeliculas} y sus fuentes.
+ * No requieren pantalla ni base de datos: las cargas en segundo plano se observan vaciando
+ * la cola de eventos con {@link SwingUtilities#invokeAndWait} y el catálogo es un servicio simulado.
+ *
+ * @author Miguel
+ */
+public class ModeloTablaPeliculasTest {
+
+    private static final int PAGINA = ModeloTablaPeliculas.TAMANO_PAGINA;
+
+    private static List<Pelicula> catalogo(int cantidad) {
+        List<Pelicula> peliculas = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            peliculas.add(new Pelicula(i + 1, String.format("P%04d", i), "Director", 1990 + i % 30, 100,
+                    Genero.DRAMA, null));
+        }
+        return peliculas;
+    }
+
+    /**
+     * Servicio que responde las páginas desde una lista y registra cómo se pidió cada una.
+     */
+    private static class ServicioSimulado extends PeliculaService {
+        final List<Pelicula> peliculas;
+        final List<String> llamadas = new CopyOnWriteArrayList<>();
+        boolean fallar;
+
+        ServicioSimulado(List<Pelicula> peliculas) {
+            super(new PeliculaDAO());
+            this.peliculas = peliculas;
+        }
+
+        @Override
+        public ResultadoOperacion<Pagina<Pelicula>> obtenerPagina(Genero genero, Integer annoDesde, Integer annoHasta,
+                                                                 OrdenPeliculas orden, Pelicula despuesDe, int tamano) {
+            if (fallar) {
+                return ResultadoOperacion.error("sin conexión", new IllegalStateException());
+            }
+            llamadas.add("cursor:" + (despuesDe == null ? "-" : despuesDe.getTitulo()));
+            int desde = despuesDe == null ? 0 : peliculas.indexOf(despuesDe) + 1;
+            int hasta = Math.min(desde + tamano, peliculas.size());
+            return ResultadoOperacion.exito(new Pagina<>(peliculas.subList(desde, hasta), hasta < peliculas.size()));
+        }
+
+        @Override
+        public ResultadoOperacion<List<Pelicula>> obtenerDesde(Genero genero, Integer annoDesde, Integer annoHasta,
+                                                              OrdenPeliculas orden, int desde, int cantidad) {
+            llamadas.add("offset:" + desde);
+            return ResultadoOperacion.exito(peliculas.subList(desde, Math.min(desde + cantidad, peliculas.size())));
+        }
+
+        @Override
+        public ResultadoOperacion<Integer> contar(Genero genero, Integer annoDesde, Integer annoHasta) {
+            return ResultadoOperacion.exito(peliculas.size());
+        }
+    }
+
+    /**
+     * Fuente en memoria que cuenta los tramos que se le piden.
+     */
+    private static class FuenteContada implements ModeloTablaPeliculas.Fuente {
+        final List<Pelicula> peliculas;
+        final AtomicInteger lecturas = new AtomicInteger();
+
+        FuenteContada(List<Pelicula> peliculas) {
+            this.peliculas = peliculas;
+        }
+
+        @Override
+        public int contar() {
+            return peliculas.size();
+        }
+
+        @Override
+        public List<Pelicula> obtener(int desde, int cantidad) {
+            lecturas.incrementAndGet();
+            return peliculas.subList(desde, Math.min(desde + cantidad, peliculas.size()));
+        }
+
+        @Override
+        public boolean enMemoria() {
+            return true;
+        }
+
+        @Override
+        public ModeloTablaPeliculas.Fuente ordenada(OrdenPeliculas orden) {
+            return this;
+        }
+    }
+
+    @Test
+    public void fuenteLista_ordenaSinModificarLaLista() {
+        List<Pelicula> peliculas = new ArrayList<>(catalogo(5));
+        Collections.reverse(peliculas);
+        List<Pelicula> original = List.copyOf(peliculas);
+        ModeloTablaPeliculas.Fuente fuente = ModeloTablaPeliculas.desdeLista(peliculas);
+
+        ModeloTablaPeliculas.Fuente ascendente = fuente.ordenada(OrdenPeliculas.PREDETERMINADO);
+        ModeloTablaPeliculas.Fuente descendente = ascendente.ordenada(OrdenPeliculas.PREDETERMINADO.invertir());
+
+        assertTrue(fuente.enMemoria());
+        assertEquals(5, fuente.contar());
+        assertEquals("P0000", ascendente.obtener(0, 5).get(0).getTitulo());
+        assertEquals(List.of("P0001", "P0002"), ascendente.obtener(1, 2).stream().map(Pelicula::getTitulo).toList());
+        assertEquals("P0004", descendente.obtener(0, 5).get(0).getTitulo());
+        assertEquals(1, descendente.obtener(4, 10).size());
+        assertEquals(original, peliculas);
+    }
+
+    @Test
+    public void modelo_retieneComoMaximoDiezPaginas() {
+        FuenteContada fuente = new FuenteContada(catalogo(11 * PAGINA));
+        ModeloTablaPeliculas modelo = new ModeloTablaPeliculas();
+        modelo.setFuente(fuente, fuente.contar());
+
+        for (int pagina = 0; pagina < 10; pagina++) {
+            assertNotNull(modelo.getPelicula(pagina * PAGINA));
+        }
+        assertEquals(10, fuente.lecturas.get());
+
+        // La página 0 se usa de nuevo, por lo que la menos usada pasa a ser la 1
+        modelo.getPelicula(5);
+        modelo.getPelicula(10 * PAGINA);
+        assertEquals(11, fuente.lecturas.get());
+
+        modelo.getPelicula(0);
+        assertEquals(11, fuente.lecturas.get());
+        assertEquals("P0200", modelo.getValueAt(PAGINA, 1));
+        assertEquals(12, fuente.lecturas.get());
+    }
+
+    @Test
+    public void fuentePaginada_usaCursorYRecurreAOffsetSinCursor() {
+        ServicioSimulado servicio = new ServicioSimulado(catalogo(5 * PAGINA));
+        ModeloTablaPeliculas.Fuente fuente = ModeloTablaPeliculas.paginada(servicio, null, null, null);
+
+        assertEquals(5 * PAGINA, fuente.contar());
+        assertEquals("P0000", fuente.obtener(0, PAGINA).get(0).getTitulo());
+        assertEquals("P0200", fuente.obtener(PAGINA, PAGINA).get(0).getTitulo());
+        // Salto a una posición sin cursor conocido
+        assertEquals("P0800", fuente.obtener(4 * PAGINA, PAGINA).get(0).getTitulo());
+        // Hacia atrás la página 3 tampoco tiene cursor, pero la 2 sí lo tiene desde que se cargó la 1
+        assertEquals("P0600", fuente.obtener(3 * PAGINA, PAGINA).get(0).getTitulo());
+        assertEquals("P0400", fuente.obtener(2 * PAGINA, PAGINA).get(0).getTitulo());
+
+        assertEquals(List.of("cursor:-", "cursor:P0199", "offset:800", "offset:600", "cursor:P0399"),
+                servicio.llamadas);
+    }
+
+    @Test
+    public void fuentePaginada_conservaLaFuenteYLosCursoresDeCadaOrden() {
+        ServicioSimulado servicio = new ServicioSimulado(catalogo(3 * PAGINA));
+        ModeloTablaPeliculas.Fuente porTitulo = ModeloTablaPeliculas.paginada(servicio, null, null, null);
+        porTitulo.obtener(0, PAGINA);
+
+        ModeloTablaPeliculas.Fuente porAnno = porTitulo.ordenada(OrdenPeliculas.de(OrdenPeliculas.Columna.ANNO, true));
+        assertNotSame(porTitulo, porAnno);
+        assertSame(porAnno, porTitulo.ordenada(OrdenPeliculas.de(OrdenPeliculas.Columna.ANNO, true)));
+
+        ModeloTablaPeliculas.Fuente deVuelta = porAnno.ordenada(OrdenPeliculas.PREDETERMINADO);
+        assertSame(porTitulo, deVuelta);
+        deVuelta.obtener(PAGINA, PAGINA);
+        assertEquals(List.of("cursor:-", "cursor:P0199"), servicio.llamadas);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fuentePaginada_errorDelServicio_seLanza() {
+        ServicioSimulado servicio = new ServicioSimulado(catalogo(PAGINA));
+        servicio.fallar = true;
+        ModeloTablaPeliculas.paginada(servicio, null, null, null).obtener(0, PAGINA);
+    }
+
+    @Test
+    public void cargasFueraDeLaVentana_seCancelan() throws Exception {
+        List<Pelicula> peliculas = catalogo(10 * PAGINA);
+        Set<Integer> iniciadas = ConcurrentHashMap.newKeySet();
+        Set<Integer> interrumpidas = ConcurrentHashMap.newKeySet();
+        CountDownLatch dosIniciadas = new CountDownLatch(2);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch cargadas = new CountDownLatch(2);
+
+        ModeloTablaPeliculas.Fuente lenta = new ModeloTablaPeliculas.Fuente() {
+            @Override
+            public int contar() {
+                return peliculas.size();
+            }
+
+            @Override
+            public List<Pelicula> obtener(int desde, int cantidad) {
+                iniciadas.add(desde / PAGINA);
+                dosIniciadas.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    interrumpidas.add(desde / PAGINA);
+                    Thread.currentThread().interrupt();
+                }
+                return peliculas.subList(desde, desde + cantidad);
+            }
+
+            @Override
+            public ModeloTablaPeliculas.Fuente ordenada(OrdenPeliculas orden) {
+                return this;
+            }
+        };
+
+        ModeloTablaPeliculas modelo = new ModeloTablaPeliculas();
+        SwingUtilities.invokeAndWait(() -> {
+            modelo.setFuente(lenta, lenta.contar());
+            modelo.addTableModelListener(e -> {
+                if (e.getFirstRow() >= PAGINA) {
+                    cargadas.countDown();
+                }
+            });
+            assertNull(modelo.getPelicula(0));
+            assertNull(modelo.getPelicula(PAGINA));
+        });
+        assertTrue(dosIniciadas.await(5, TimeUnit.SECONDS));
+
+        // La página 2 es contigua a la 1 pero no a la 0, cuya carga ya no corresponde al área visible
+        SwingUtilities.invokeAndWait(() -> assertEquals("Cargando…", modelo.getValueAt(2 * PAGINA, 1)));
+        liberar.countDown();
+        assertTrue(cargadas.await(5, TimeUnit.SECONDS));
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertEquals(Set.of(0), interrumpidas);
+        SwingUtilities.invokeAndWait(() -> {
+            assertEquals("P0200", modelo.getValueAt(PAGINA, 1));
+            assertEquals("P0400", modelo.getValueAt(2 * PAGINA, 1));
+        });
+    }
+}
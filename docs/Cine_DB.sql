@@ -10,37 +10,45 @@ CREATE TABLE IF NOT EXISTS Cartelera (
     director VARCHAR(50) NOT NULL,
     anno INT NOT NULL,
     duracion INT NOT NULL,
-    genero VARCHAR(50) NOT NULL,
+    genero_id TINYINT UNSIGNED NULL,
+    -- Etiqueta del género que leen las versiones anteriores de la aplicación;
+    -- se eliminará en una próxima versión
+    genero VARCHAR(50) NULL,
     ruta_portada VARCHAR(255)
 );
 
+-- Códigos de género (model.Genero): 1 Acción, 2 Animación, 3 Ciencia Ficción,
+-- 4 Comedia, 5 Documental, 6 Drama, 7 Musical, 8 Romance, 9 Suspenso, 10 Terror.
+-- Los índices de búsqueda y la tabla esquema_version los aplica la aplicación
+-- al iniciar (dao.MigradorEsquema); no es necesario agregarlos aquí.
+
 -- Insertar Harry Potter y la Piedra Filosofal
-INSERT INTO Cartelera (titulo, director, anno, duracion, genero, ruta_portada)
-VALUES ('Harry Potter y la Piedra Filosofal', 'Chris Columbus', 2001, 152, 'Acción', 'docs/portadas/HarryPotter_PiedraFilosofal.jpg');
+INSERT INTO Cartelera (titulo, director, anno, duracion, genero_id, ruta_portada)
+VALUES ('Harry Potter y la Piedra Filosofal', 'Chris Columbus', 2001, 152, 1, 'docs/portadas/HarryPotter_PiedraFilosofal.jpg');
 
 -- Insertar Harry Potter y la Cámara Secreta
-INSERT INTO Cartelera (titulo, director, anno, duracion, genero, ruta_portada)
-VALUES ('Harry Potter y la Cámara Secreta', 'Chris Columbus', 2002, 161, 'Acción', 'docs/portadas/HarryPotter_CamaraSecreta.jpg');
+INSERT INTO Cartelera (titulo, director, anno, duracion, genero_id, ruta_portada)
+VALUES ('Harry Potter y la Cámara Secreta', 'Chris Columbus', 2002, 161, 1, 'docs/portadas/HarryPotter_CamaraSecreta.jpg');
 
 -- Insertar La La Land
-INSERT INTO Cartelera (titulo, director, anno, duracion, genero, ruta_portada)
-VALUES ('La La Land', 'Damien Chazelle', 2016, 128, 'Musical', 'docs/portadas/LaLaLand.jpg');
+INSERT INTO Cartelera (titulo, director, anno, duracion, genero_id, ruta_portada)
+VALUES ('La La Land', 'Damien Chazelle', 2016, 128, 7, 'docs/portadas/LaLaLand.jpg');
 
 -- Insertar El Padrino
-INSERT INTO Cartelera (titulo, director, anno, duracion, genero, ruta_portada)
-VALUES ('El Padrino', 'Francis Ford Coppola', 1972, 175, 'Drama', 'docs/portadas/ElPadrino.jpg');
+INSERT INTO Cartelera (titulo, director, anno, duracion, genero_id, ruta_portada)
+VALUES ('El Padrino', 'Francis Ford Coppola', 1972, 175, 6, 'docs/portadas/ElPadrino.jpg');
 
 -- Insertar Jurassic Park I
-INSERT INTO Cartelera (titulo, director, anno, duracion, genero, ruta_portada)
-VALUES ('Jurassic Park', 'Steven Spielberg', 1993, 127, 'Acción', 'docs/portadas/JurassicPark.jpg');
+INSERT INTO Cartelera (titulo, director, anno, duracion, genero_id, ruta_portada)
+VALUES ('Jurassic Park', 'Steven Spielberg', 1993, 127, 1, 'docs/portadas/JurassicPark.jpg');
 
 -- Insertar Amélie
-INSERT INTO Cartelera (titulo, director, anno, duracion, genero, ruta_portada)
-VALUES ('Amélie', 'Jean-Pierre Jeunet', 2001, 122, 'Comedia', 'docs/portadas/Amelie.jpg');
+INSERT INTO Cartelera (titulo, director, anno, duracion, genero_id, ruta_portada)
+VALUES ('Amélie', 'Jean-Pierre Jeunet', 2001, 122, 4, 'docs/portadas/Amelie.jpg');
 
 -- Insertar Parasite
-INSERT INTO Cartelera (titulo, director, anno, duracion, genero, ruta_portada)
-VALUES ('Parasite', 'Bong Joon-ho', 2019, 132, 'Suspenso', 'docs/portadas/Parasite.jpg');
+INSERT INTO Cartelera (titulo, director, anno, duracion, genero_id, ruta_portada)
+VALUES ('Parasite', 'Bong Joon-ho', 2019, 132, 9, 'docs/portadas/Parasite.jpg');
 
 -- verificar que se agregaron datas desde la app correctamente 
 SELECT * FROM cartelera;